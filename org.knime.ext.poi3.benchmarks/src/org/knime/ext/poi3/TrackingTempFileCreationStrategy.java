@@ -0,0 +1,137 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.poi.util.TempFile;
+import org.apache.poi.util.TempFileCreationStrategy;
+
+/**
+ * {@link KNIMEPOITempFileCreationStrategy} that creates all temporary files of POI in a dedicated directory, such that
+ * the disk space they use can be measured.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class TrackingTempFileCreationStrategy implements TempFileCreationStrategy {
+
+    private final Path m_dir;
+
+    private final KNIMEPOITempFileCreationStrategy m_delegate;
+
+    private final AtomicLong m_createdFiles = new AtomicLong();
+
+    private TrackingTempFileCreationStrategy(final Path dir) {
+        m_dir = dir;
+        m_delegate = new KNIMEPOITempFileCreationStrategy(dir);
+    }
+
+    /**
+     * Creates a strategy for a new temporary directory and installs it as strategy of POI.
+     *
+     * @return the installed strategy
+     * @throws IOException if the directory cannot be created
+     */
+    public static TrackingTempFileCreationStrategy install() throws IOException {
+        final var strategy = new TrackingTempFileCreationStrategy(Files.createTempDirectory("knime-poi-benchmark"));
+        TempFile.setTempFileCreationStrategy(strategy);
+        return strategy;
+    }
+
+    @Override
+    public File createTempFile(final String prefix, final String suffix) throws IOException {
+        m_createdFiles.incrementAndGet();
+        return m_delegate.createTempFile(prefix, suffix);
+    }
+
+    @Override
+    public File createTempDirectory(final String prefix) throws IOException {
+        return m_delegate.createTempDirectory(prefix);
+    }
+
+    /**
+     * @return the number of temporary files created so far
+     */
+    public long getCreatedFiles() {
+        return m_createdFiles.get();
+    }
+
+    /**
+     * Returns the disk space currently used by the temporary files, which may be deleted concurrently.
+     *
+     * @return the total size of the temporary files in bytes
+     * @throws IOException if the directory cannot be listed
+     */
+    public long getUsedBytes() throws IOException {
+        if (!Files.isDirectory(m_dir)) {
+            return 0;
+        }
+        try (final var files = Files.walk(m_dir)) {
+            return files.mapToLong(TrackingTempFileCreationStrategy::size).sum();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long size(final Path path) {
+        try {
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (final NoSuchFileException e) { // NOSONAR deleted since it was listed
+            return 0;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.util.Optional;
+
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.PaperSize;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetNameExistsHandling;
+
+/**
+ * {@link ExcelTableConfig} of the benchmarks, writing column headers and no row keys.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class BenchmarkTableConfig implements ExcelTableConfig {
+
+    private final ExcelFormat m_format;
+
+    private final String m_sheetName;
+
+    private final SheetNameExistsHandling m_sheetNameExistsHandling;
+
+    private final boolean m_autoSize;
+
+    private final boolean m_evaluate;
+
+    /**
+     * Constructor.
+     *
+     * @param format the format
+     * @param sheetName the name of the sheet to write
+     * @param sheetNameExistsHandling how to handle an existing sheet
+     * @param autoSize whether columns are auto-sized
+     * @param evaluate whether formulas are evaluated
+     */
+    public BenchmarkTableConfig(final ExcelFormat format, final String sheetName,
+        final SheetNameExistsHandling sheetNameExistsHandling, final boolean autoSize, final boolean evaluate) {
+        m_format = format;
+        m_sheetName = sheetName;
+        m_sheetNameExistsHandling = sheetNameExistsHandling;
+        m_autoSize = autoSize;
+        m_evaluate = evaluate;
+    }
+
+    @Override
+    public String[] getSheetNames() {
+        return new String[]{m_sheetName};
+    }
+
+    @Override
+    public Optional<String> getMissingValPattern() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean useAutoSize() {
+        return m_autoSize;
+    }
+
+    @Override
+    public boolean useLandscape() {
+        return false;
+    }
+
+    @Override
+    public short getPaperSize() {
+        return PaperSize.A4_PAPERSIZE.getPrintSetup();
+    }
+
+    @Override
+    public boolean writeRowKey() {
+        return false;
+    }
+
+    @Override
+    public boolean writeColHeaders() {
+        return true;
+    }
+
+    @Override
+    public SheetNameExistsHandling getSheetNameExistsHandling() {
+        return m_sheetNameExistsHandling;
+    }
+
+    @Override
+    public boolean evaluate() {
+        return m_evaluate;
+    }
+
+    @Override
+    public ExcelFormat getExcelFormat() {
+        return m_format;
+    }
+}
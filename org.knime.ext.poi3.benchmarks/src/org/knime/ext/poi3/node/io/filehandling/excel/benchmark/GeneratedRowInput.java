@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.util.SplittableRandom;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * {@link RowInput} whose rows are generated while they are polled, such that tables of any size can be written
+ * without materializing them. The content is pseudo-random but deterministic.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class GeneratedRowInput extends RowInput {
+
+    private static final long SEED = 0x5EED;
+
+    /** Generates the cells of a row. */
+    @FunctionalInterface
+    public interface CellGenerator {
+
+        /**
+         * @param row the index of the row
+         * @param column the index of the column
+         * @param random the source of randomness
+         * @return the cell
+         */
+        DataCell create(long row, int column, SplittableRandom random);
+    }
+
+    private final DataTableSpec m_spec;
+
+    private final long m_rows;
+
+    private final CellGenerator m_generator;
+
+    private final SplittableRandom m_random = new SplittableRandom(SEED);
+
+    private long m_row;
+
+    /**
+     * Constructor.
+     *
+     * @param spec the spec of the table
+     * @param rows the number of rows
+     * @param generator the generator of the cells
+     */
+    public GeneratedRowInput(final DataTableSpec spec, final long rows, final CellGenerator generator) {
+        m_spec = spec;
+        m_rows = rows;
+        m_generator = generator;
+    }
+
+    /**
+     * Creates the input of a table of the given schema.
+     *
+     * @param schema the schema
+     * @param columns the number of columns
+     * @param rows the number of rows
+     * @return the row input
+     */
+    public static GeneratedRowInput create(final TableSchema schema, final int columns, final long rows) {
+        return new GeneratedRowInput(schema.createSpec(columns), rows, schema);
+    }
+
+    @Override
+    public DataTableSpec getDataTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public DataRow poll() {
+        if (m_row == m_rows) {
+            return null;
+        }
+        final var cells = new DataCell[m_spec.getNumColumns()];
+        for (var c = 0; c < cells.length; c++) {
+            cells[c] = m_generator.create(m_row, c, m_random);
+        }
+        return new DefaultRow(RowKey.createRowKey(m_row++), cells);
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
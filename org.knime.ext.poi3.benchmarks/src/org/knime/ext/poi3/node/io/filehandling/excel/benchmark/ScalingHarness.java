@@ -0,0 +1,279 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.commons.io.file.PathUtils;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.ScalingRun.Status;
+
+/**
+ * Runs the {@link ScalingScenario scaling scenarios} for geometrically growing numbers of cells, from 10^4 up to 10^8,
+ * each in a new JVM with a fixed maximum heap, and writes the peak heap, the allocated bytes, the peak temp disk usage
+ * and the time per cell of every run to {@value #REPORT_FILE}.
+ * <p>
+ * The harness fails, i.e. exits with status 1, if a scenario that must need constant memory runs out of memory, fails,
+ * or its peak live heap grows with an exponent above {@value #DEFAULT_MAX_EXPONENT} in the number of cells, i.e.
+ * super-linearly. The exponent is the slope of the least squares fit in log-log space; heap sizes below a noise floor
+ * are raised to it, such that small fluctuations do not count as growth.
+ * <p>
+ * Accepts the names of the scenarios to run, all by default, and the system properties {@value #XMX_PROPERTY},
+ * {@value #MAX_CELLS_PROPERTY}, {@value #MAX_EXPONENT_PROPERTY} and {@value #NOISE_FLOOR_PROPERTY}. System properties
+ * starting with {@code knime.excel.} are passed on to the runs. Like the benchmarks, it must be run from a flat class
+ * path.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ScalingHarness {
+
+    private static final String XMX_PROPERTY = "knime.excel.benchmark.scaling.xmx";
+
+    private static final String MAX_CELLS_PROPERTY = "knime.excel.benchmark.scaling.maxCells";
+
+    private static final String MAX_EXPONENT_PROPERTY = "knime.excel.benchmark.scaling.maxExponent";
+
+    private static final String NOISE_FLOOR_PROPERTY = "knime.excel.benchmark.scaling.noiseFloorMB";
+
+    private static final String DEFAULT_XMX = "512m";
+
+    private static final long MIN_CELLS = 10_000;
+
+    private static final long DEFAULT_MAX_CELLS = 100_000_000;
+
+    private static final double DEFAULT_MAX_EXPONENT = 1.0;
+
+    private static final long DEFAULT_NOISE_FLOOR_MB = 64;
+
+    private static final String REPORT_FILE = "excel-scaling.json";
+
+    private static final String CELLS = "cells";
+
+    private final String m_xmx = System.getProperty(XMX_PROPERTY, DEFAULT_XMX);
+
+    private final long m_maxCells = Long.getLong(MAX_CELLS_PROPERTY, DEFAULT_MAX_CELLS);
+
+    private final double m_maxExponent =
+        Double.parseDouble(System.getProperty(MAX_EXPONENT_PROPERTY, Double.toString(DEFAULT_MAX_EXPONENT)));
+
+    private final long m_noiseFloor = Long.getLong(NOISE_FLOOR_PROPERTY, DEFAULT_NOISE_FLOOR_MB) << 20;
+
+    private ScalingHarness() {
+    }
+
+    /**
+     * @param args the names of the scenarios to run, all if empty
+     * @throws IOException if the files cannot be written
+     * @throws InterruptedException if interrupted while waiting for a run
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final var scenarios = args.length == 0 ? ScalingScenario.values()
+            : Arrays.stream(args).map(ScalingScenario::valueOf).toArray(ScalingScenario[]::new);
+        if (!new ScalingHarness().run(scenarios)) {
+            System.exit(1);
+        }
+    }
+
+    private boolean run(final ScalingScenario[] scenarios) throws IOException, InterruptedException {
+        final var dir = Files.createTempDirectory("excel-scaling");
+        final var report = new StringBuilder();
+        var passed = true;
+        try {
+            report.append("{\n") //
+                .append("  \"xmx\": ").append(quote(m_xmx)).append(",\n") //
+                .append("  \"columns\": ").append(ScalingScenario.COLUMNS).append(",\n") //
+                .append("  \"maxExponent\": ").append(m_maxExponent).append(",\n") //
+                .append("  \"noiseFloorBytes\": ").append(m_noiseFloor).append(",\n") //
+                .append("  \"scenarios\": [");
+            for (var i = 0; i < scenarios.length; i++) {
+                final var runs = new ArrayList<Properties>();
+                for (var cells = MIN_CELLS; cells <= m_maxCells; cells *= 10) {
+                    runs.add(run(scenarios[i], cells, dir));
+                }
+                passed &= appendScenario(report.append(i == 0 ? "\n" : ",\n"), scenarios[i], runs);
+            }
+            report.append("\n  ],\n  \"passed\": ").append(passed).append("\n}\n");
+        } finally {
+            PathUtils.deleteDirectory(dir);
+        }
+        Files.writeString(Path.of(REPORT_FILE), report, StandardCharsets.UTF_8);
+        return passed;
+    }
+
+    private Properties run(final ScalingScenario scenario, final long cells, final Path dir)
+        throws IOException, InterruptedException {
+        final var skipReason = scenario.getSkipReason(cells);
+        if (skipReason != null) {
+            return outcome(cells, Status.SKIPPED, skipReason);
+        }
+        final var result = dir.resolve("result.properties");
+        Files.deleteIfExists(result);
+        final var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + m_xmx);
+        System.getProperties().stringPropertyNames().stream()//
+            .filter(name -> name.startsWith("knime.excel."))//
+            .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), ScalingRun.class.getName(),
+            scenario.name(), Long.toString(cells), dir.toString(), result.toString()));
+        final var exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (!Files.exists(result)) {
+            return outcome(cells, Status.FAILED, "The run exited with status " + exitCode + ".");
+        }
+        final var measurements = new Properties();
+        try (final var in = Files.newInputStream(result)) {
+            measurements.load(in);
+        }
+        measurements.setProperty(CELLS, Long.toString(cells));
+        return measurements;
+    }
+
+    private static Properties outcome(final long cells, final Status status, final String message) {
+        final var measurements = new Properties();
+        measurements.setProperty(CELLS, Long.toString(cells));
+        measurements.setProperty(ScalingRun.STATUS, status.name());
+        measurements.setProperty(ScalingRun.MESSAGE, message);
+        return measurements;
+    }
+
+    /** Appends the scenario to the report and returns whether it passed. */
+    private boolean appendScenario(final StringBuilder report, final ScalingScenario scenario,
+        final List<Properties> runs) {
+        final var completed = runs.stream()//
+            .filter(run -> Status.OK.name().equals(run.getProperty(ScalingRun.STATUS)))//
+            .toList();
+        final var incomplete = runs.stream()//
+            .map(run -> Status.valueOf(run.getProperty(ScalingRun.STATUS)))//
+            .anyMatch(status -> status == Status.OUT_OF_MEMORY || status == Status.FAILED);
+        final var exponent = completed.size() < 2 ? Double.NaN : getHeapExponent(completed);
+        // a NaN exponent, i.e. too few completed runs, does not fail the scenario on its own
+        final var passed = !scenario.isConstantMemory() || (!incomplete && !(exponent > m_maxExponent));
+
+        report.append("    {\n") //
+            .append("      \"scenario\": ").append(quote(scenario.name())).append(",\n") //
+            .append("      \"constantMemory\": ").append(scenario.isConstantMemory()).append(",\n") //
+            .append("      \"heapExponent\": ").append(Double.isNaN(exponent) ? "null" : exponent).append(",\n") //
+            .append("      \"passed\": ").append(passed).append(",\n") //
+            .append("      \"runs\": [");
+        for (var i = 0; i < runs.size(); i++) {
+            appendRun(report.append(i == 0 ? "\n" : ",\n"), runs.get(i));
+        }
+        report.append("\n      ]\n    }");
+        return passed;
+    }
+
+    private static void appendRun(final StringBuilder report, final Properties run) {
+        final var cells = Long.parseLong(run.getProperty(CELLS));
+        report.append("        {").append(quote(CELLS)).append(": ").append(cells) //
+            .append(", \"status\": ").append(quote(run.getProperty(ScalingRun.STATUS)));
+        for (final var measurement : ScalingRun.MEASUREMENTS) {
+            final var value = run.getProperty(measurement);
+            if (value != null) {
+                report.append(", ").append(quote(measurement)).append(": ").append(value);
+            }
+        }
+        final var time = run.getProperty(ScalingRun.TIME_NANOS);
+        if (time != null) {
+            final var nanosPerCell = Long.parseLong(time) / (double)cells;
+            report.append(", \"nanosPerCell\": ").append(String.format(Locale.US, "%.3f", nanosPerCell));
+        }
+        final var message = run.getProperty(ScalingRun.MESSAGE);
+        if (message != null) {
+            report.append(", \"message\": ").append(quote(message));
+        }
+        report.append('}');
+    }
+
+    /** The slope of the least squares fit of log(peak live heap) over log(cells). */
+    private double getHeapExponent(final List<Properties> runs) {
+        final var n = runs.size();
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        for (final var run : runs) {
+            final var x = Math.log(Long.parseLong(run.getProperty(CELLS)));
+            final var y = Math.log(
+                Math.max(m_noiseFloor, Long.parseLong(run.getProperty(ScalingRun.PEAK_LIVE_HEAP_BYTES))));
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
+
+    private static String quote(final String value) {
+        final var quoted = new StringBuilder("\"");
+        for (final var c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int)c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
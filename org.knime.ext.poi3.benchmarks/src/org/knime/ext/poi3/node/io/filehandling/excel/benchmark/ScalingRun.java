@@ -0,0 +1,240 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * A single run of the {@link ScalingHarness}, executed in its own JVM: prepares a {@link ScalingScenario} for a number
+ * of cells, runs it once and stores the measurements as properties.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ScalingRun {
+
+    /** The outcome of a run. */
+    enum Status {
+            /** The run completed. */
+            OK,
+            /** The heap was exhausted. */
+            OUT_OF_MEMORY,
+            /** The run failed otherwise. */
+            FAILED,
+            /** The run was not attempted. */
+            SKIPPED;
+    }
+
+    static final String STATUS = "status";
+
+    static final String MESSAGE = "message";
+
+    static final String ROWS = "rows";
+
+    static final String TIME_NANOS = "timeNanos";
+
+    static final String PEAK_HEAP_BYTES = "peakHeapBytes";
+
+    static final String PEAK_LIVE_HEAP_BYTES = "peakLiveHeapBytes";
+
+    static final String ALLOCATED_BYTES = "allocatedBytes";
+
+    static final String TEMP_DISK_PEAK_BYTES = "tempDiskPeakBytes";
+
+    static final String TEMP_FILES_CREATED = "tempFilesCreated";
+
+    /** The measurements, in the order they are reported. */
+    static final List<String> MEASUREMENTS = List.of(ROWS, TIME_NANOS, PEAK_HEAP_BYTES, PEAK_LIVE_HEAP_BYTES,
+        ALLOCATED_BYTES, TEMP_DISK_PEAK_BYTES, TEMP_FILES_CREATED);
+
+    private final List<MemoryPoolMXBean> m_heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()//
+        .filter(pool -> pool.getType() == MemoryType.HEAP)//
+        .toList();
+
+    private final AtomicLong m_peakLiveHeap = new AtomicLong();
+
+    private ScalingRun() {
+    }
+
+    /**
+     * @param args the scenario, the number of cells, the directory of the files and the file to store the
+     *            measurements in
+     * @throws IOException if the measurements cannot be stored
+     */
+    public static void main(final String[] args) throws IOException {
+        final var scenario = ScalingScenario.valueOf(args[0]);
+        final var cells = Long.parseLong(args[1]);
+        final var dir = Path.of(args[2]);
+        final var measurements = new Properties();
+        try {
+            final var file = scenario.prepare(cells, dir);
+            new ScalingRun().measure(scenario, cells, file, measurements);
+            measurements.setProperty(STATUS, Status.OK.name());
+        } catch (final OutOfMemoryError e) { // NOSONAR reported as outcome of the run
+            measurements.setProperty(STATUS, Status.OUT_OF_MEMORY.name());
+        } catch (final Exception e) { // NOSONAR reported as outcome of the run
+            measurements.setProperty(STATUS, (isCausedByOutOfMemory(e) ? Status.OUT_OF_MEMORY : Status.FAILED).name());
+            measurements.setProperty(MESSAGE, String.valueOf(e));
+        }
+        try (final var out = Files.newOutputStream(Path.of(args[3]))) {
+            measurements.store(out, scenario + " with " + cells + " cells");
+        }
+        // the threads of the task scheduler would keep the JVM alive
+        System.exit(0);
+    }
+
+    private static boolean isCausedByOutOfMemory(final Throwable t) {
+        for (var cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OutOfMemoryError) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void measure(final ScalingScenario scenario, final long cells, final Path file,
+        final Properties measurements) throws Exception {
+        System.gc(); // NOSONAR the preparation must not count towards the run
+        m_heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        m_peakLiveHeap.set(getUsedHeap());
+        final var gcListener = listenToGarbageCollections();
+        final var allocatedBefore = getAllocatedBytes();
+        final var tempDisk = TempDiskSampler.start();
+        final var start = System.nanoTime();
+
+        final var rows = scenario.run(cells, file);
+
+        final var time = System.nanoTime() - start;
+        tempDisk.stop();
+        final var allocatedAfter = getAllocatedBytes();
+        removeListener(gcListener);
+        final var allocated = allocatedAfter.entrySet().stream()//
+            .mapToLong(e -> e.getValue() - allocatedBefore.getOrDefault(e.getKey(), 0L))//
+            .sum();
+        final var peakHeap = m_heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        measurements.setProperty(ROWS, Long.toString(rows));
+        measurements.setProperty(TIME_NANOS, Long.toString(time));
+        measurements.setProperty(PEAK_HEAP_BYTES, Long.toString(peakHeap));
+        measurements.setProperty(PEAK_LIVE_HEAP_BYTES, Long.toString(m_peakLiveHeap.get()));
+        measurements.setProperty(ALLOCATED_BYTES, Long.toString(allocated));
+        measurements.setProperty(TEMP_DISK_PEAK_BYTES, Long.toString(tempDisk.getPeakBytes()));
+        measurements.setProperty(TEMP_FILES_CREATED, Long.toString(tempDisk.getCreatedFiles()));
+    }
+
+    private long getUsedHeap() {
+        return m_heapPools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    /**
+     * Tracks the heap used after each garbage collection, which approximates the peak of the live objects better than
+     * the peak usage of the pools, which includes the garbage that has not been collected yet.
+     */
+    private NotificationListener listenToGarbageCollections() {
+        final Set<String> heapPoolNames =
+            m_heapPools.stream().map(MemoryPoolMXBean::getName).collect(Collectors.toSet());
+        final NotificationListener listener = (final Notification notification, final Object handback) -> {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                final var info = GarbageCollectionNotificationInfo.from((CompositeData)notification.getUserData());
+                final var used = info.getGcInfo().getMemoryUsageAfterGc().entrySet().stream()//
+                    .filter(e -> heapPoolNames.contains(e.getKey()))//
+                    .mapToLong(e -> e.getValue().getUsed())//
+                    .sum();
+                m_peakLiveHeap.accumulateAndGet(used, Math::max);
+            }
+        };
+        for (final var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter)gc).addNotificationListener(listener, null, null);
+        }
+        return listener;
+    }
+
+    private static void removeListener(final NotificationListener listener) throws ListenerNotFoundException {
+        for (final var gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter)gc).removeNotificationListener(listener);
+        }
+    }
+
+    /**
+     * The bytes allocated by the live threads, by thread id. The allocations of threads that terminate during the run
+     * are not accounted for, the threads of the task scheduler are reused though.
+     */
+    private static Map<Long, Long> getAllocatedBytes() {
+        final var threads = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+        final var ids = threads.getAllThreadIds();
+        final var bytes = threads.getThreadAllocatedBytes(ids);
+        final var allocated = new HashMap<Long, Long>();
+        for (var i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+}
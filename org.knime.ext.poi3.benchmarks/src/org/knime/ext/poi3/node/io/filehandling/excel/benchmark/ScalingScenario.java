@@ -0,0 +1,196 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMultiRowInputWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.CellMix;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.Format;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelReaderBenchmarkHelper;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReader;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ExcelWriterBenchmarkHelper;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetNameExistsHandling;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSPath;
+
+/**
+ * The workloads of the {@link ScalingHarness}, each reading or writing a single sheet of {@value #COLUMNS} columns
+ * with {@link ExcelTableReader#read} or {@link ExcelMultiRowInputWriter#writeTables}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public enum ScalingScenario {
+
+        /** Reads an xlsx file, which is streamed and must not need more memory for more cells. */
+        XLSX_READ(true, Format.XLSX, null),
+        /** Reads an xlsb file, which is streamed and must not need more memory for more cells. */
+        XLSB_READ(true, Format.XLSB, null),
+        /** Reads an xls file, which is loaded completely. */
+        XLS_READ(false, Format.XLS, null),
+        /** Writes a new xlsx file, which is streamed and must not need more memory for more cells. */
+        XLSX_WRITE(true, null, ExcelFormat.XLSX),
+        /** Writes a new xls file, which is kept in memory until it is saved. */
+        XLS_WRITE(false, null, ExcelFormat.XLS);
+
+    /** The number of columns, such that 10^8 cells fit into the rows of an xlsx sheet. */
+    static final int COLUMNS = 100;
+
+    /** The number of distinct strings of the read files. */
+    private static final int STRING_CARDINALITY = 1000;
+
+    private static final String SHEET = "data";
+
+    private final boolean m_constantMemory;
+
+    private final Format m_readFormat;
+
+    private final ExcelFormat m_writeFormat;
+
+    ScalingScenario(final boolean constantMemory, final Format readFormat, final ExcelFormat writeFormat) {
+        m_constantMemory = constantMemory;
+        m_readFormat = readFormat;
+        m_writeFormat = writeFormat;
+    }
+
+    /**
+     * @return whether the memory needed must not grow with the number of cells
+     */
+    boolean isConstantMemory() {
+        return m_constantMemory;
+    }
+
+    /**
+     * @param cells the number of cells
+     * @return the number of rows holding the cells, excluding the header row
+     */
+    private static int getRows(final long cells) {
+        return (int)Math.max(1, cells / COLUMNS);
+    }
+
+    /**
+     * @param cells the number of cells
+     * @return why the workload cannot be run for the given number of cells, {@code null} if it can
+     */
+    String getSkipReason(final long cells) {
+        final var version = m_readFormat == Format.XLS || m_writeFormat == ExcelFormat.XLS ? SpreadsheetVersion.EXCEL97
+            : SpreadsheetVersion.EXCEL2007;
+        if (getRows(cells) >= version.getMaxRows()) {
+            return "The cells do not fit into a sheet.";
+        }
+        if (m_readFormat == Format.XLSB) {
+            final var dir = System.getProperty(WorkbookGenerator.XLSB_DIR_PROPERTY);
+            if (dir == null || !Files.isRegularFile(Path.of(dir, getGenerator(cells).getFileName(Format.XLSB)))) {
+                return "The xlsb file is not available, see -D" + WorkbookGenerator.XLSB_DIR_PROPERTY + ".";
+            }
+        }
+        return null;
+    }
+
+    private WorkbookGenerator getGenerator(final long cells) {
+        return new WorkbookGenerator(getRows(cells), COLUMNS, CellMix.MIXED, STRING_CARDINALITY, 0, 0);
+    }
+
+    /**
+     * Prepares the workload, i.e. generates the file to read, unless it exists already.
+     *
+     * @param cells the number of cells
+     * @param dir the directory of the files
+     * @return the file to read or write
+     * @throws IOException if the file cannot be generated
+     */
+    Path prepare(final long cells, final Path dir) throws IOException {
+        if (m_readFormat != null) {
+            return getGenerator(cells).generate(m_readFormat, dir);
+        }
+        return dir.resolve(name().toLowerCase(Locale.ROOT) + "-" + cells + m_writeFormat.getFileExtension());
+    }
+
+    /**
+     * Runs the workload.
+     *
+     * @param cells the number of cells
+     * @param file the prepared file
+     * @return the number of rows read or written
+     * @throws Exception if reading or writing fails
+     */
+    long run(final long cells, final Path file) throws Exception {
+        try (final var connection = DefaultFSConnectionFactory.createLocalFSConnection()) {
+            final var path = connection.getFileSystem().getPath(file.toString());
+            if (m_readFormat != null) {
+                return read(path);
+            }
+            final var rows = getRows(cells);
+            final var cfg = new BenchmarkTableConfig(m_writeFormat, SHEET, SheetNameExistsHandling.FAIL, false, false);
+            try (final var handler = ExcelWriterBenchmarkHelper.createWorkbookHandler(m_writeFormat, null)) {
+                new ExcelMultiRowInputWriter(cfg).writeTables(path,
+                    new RowInput[]{GeneratedRowInput.create(TableSchema.MISSING, COLUMNS, rows)}, handler,
+                    BenchmarkExecutionContext.create(), BenchmarkExecutionContext.createProgressMonitor());
+            }
+            return rows;
+        }
+    }
+
+    private static long read(final FSPath path) throws IOException {
+        final var config = ExcelReaderBenchmarkHelper.createReadConfig(false, true, null);
+        var rows = 0L;
+        try (final var read = new ExcelTableReader().read(path, config)) {
+            while (read.next() != null) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+
+import javax.imageio.ImageIO;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.image.png.PNGImageContent;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.GeneratedRowInput.CellGenerator;
+
+/**
+ * The schemas of the tables written by the benchmarks. The columns of a schema cycle through its types.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public enum TableSchema implements CellGenerator {
+
+        /** Double, integer and long columns. */
+        NUMERIC(DoubleCell.TYPE, IntCell.TYPE, LongCell.TYPE),
+        /** String columns with many distinct values. */
+        STRINGS(StringCell.TYPE),
+        /** Local date, local date time and local time columns. */
+        DATES(LocalDateCellFactory.TYPE, LocalDateTimeCellFactory.TYPE, LocalTimeCellFactory.TYPE),
+        /** An image column, whose few distinct images repeat, followed by double columns. */
+        IMAGES(PNGImageContent.TYPE, DoubleCell.TYPE, DoubleCell.TYPE, DoubleCell.TYPE),
+        /** Double, string and integer columns, half of whose cells are missing. */
+        MISSING(DoubleCell.TYPE, StringCell.TYPE, IntCell.TYPE);
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final int DISTINCT_IMAGES = 4;
+
+    private final DataType[] m_types;
+
+    TableSchema(final DataType... types) {
+        m_types = types;
+    }
+
+    /**
+     * @param columns the number of columns
+     * @return the spec of a table of this schema
+     */
+    public DataTableSpec createSpec(final int columns) {
+        final var specs = new DataColumnSpec[columns];
+        for (var c = 0; c < columns; c++) {
+            specs[c] = new DataColumnSpecCreator("column " + c, m_types[c % m_types.length]).createSpec();
+        }
+        return new DataTableSpec(specs);
+    }
+
+    @Override
+    public DataCell create(final long row, final int column, final SplittableRandom random) {
+        if (this == MISSING && random.nextBoolean()) {
+            return DataType.getMissingCell();
+        }
+        final var type = m_types[column % m_types.length];
+        if (type.equals(DoubleCell.TYPE)) {
+            return new DoubleCell(random.nextDouble() * 1e6);
+        } else if (type.equals(IntCell.TYPE)) {
+            return new IntCell(random.nextInt(1_000_000));
+        } else if (type.equals(LongCell.TYPE)) {
+            return new LongCell(random.nextLong());
+        } else if (type.equals(StringCell.TYPE)) {
+            return new StringCell("string value " + random.nextInt(1_000_000) + " of row " + row);
+        } else if (type.equals(LocalDateCellFactory.TYPE)) {
+            return LocalDateCellFactory.create(LocalDate.ofEpochDay(random.nextInt(30_000)));
+        } else if (type.equals(LocalDateTimeCellFactory.TYPE)) {
+            return LocalDateTimeCellFactory.create(EPOCH.plusSeconds(random.nextInt(1_000_000_000)));
+        } else if (type.equals(LocalTimeCellFactory.TYPE)) {
+            return LocalTimeCellFactory.create(LocalTime.ofSecondOfDay(random.nextInt(86_400)));
+        }
+        return Images.CELLS[random.nextInt(DISTINCT_IMAGES)];
+    }
+
+    /** The distinct images, created on first use. */
+    private static final class Images {
+
+        private static final DataCell[] CELLS = createImages();
+
+        private static DataCell[] createImages() {
+            final var cells = new DataCell[DISTINCT_IMAGES];
+            for (var i = 0; i < DISTINCT_IMAGES; i++) {
+                final var image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+                final var graphics = image.createGraphics();
+                graphics.setColor(Color.getHSBColor(i / (float)DISTINCT_IMAGES, 1, 1));
+                graphics.fillRect(0, 0, 32, 32);
+                graphics.dispose();
+                try (final var out = new ByteArrayOutputStream()) {
+                    ImageIO.write(image, "png", out);
+                    cells[i] = new PNGImageContent(out.toByteArray()).toImageCell();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return cells;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.ext.poi3.TrackingTempFileCreationStrategy;
+
+/**
+ * Samples the disk usage of the temporary files POI creates, e.g. for the rows of streamed sheets, via a
+ * {@link TrackingTempFileCreationStrategy}. The disk usage is sampled periodically, hence short-lived peaks may be
+ * missed.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class TempDiskSampler {
+
+    private static final long SAMPLE_INTERVAL_MS = 10;
+
+    private final AtomicLong m_peakBytes = new AtomicLong();
+
+    private final long m_createdFilesBefore;
+
+    private final ScheduledExecutorService m_sampler;
+
+    private long m_createdFiles;
+
+    private TempDiskSampler() {
+        m_createdFilesBefore = getStrategy().getCreatedFiles();
+        m_sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r, "temp-disk-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        m_sampler.scheduleWithFixedDelay(this::sample, 0, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts sampling, installing the tracking strategy on first use. The strategy stays installed for the lifetime
+     * of the JVM.
+     *
+     * @return the started sampler
+     */
+    static TempDiskSampler start() {
+        return new TempDiskSampler();
+    }
+
+    /**
+     * Stops sampling after taking a last sample.
+     */
+    void stop() {
+        m_sampler.shutdownNow();
+        try {
+            m_sampler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sample();
+        m_createdFiles = getStrategy().getCreatedFiles() - m_createdFilesBefore;
+    }
+
+    /**
+     * @return the peak disk usage of the temporary files in bytes
+     */
+    long getPeakBytes() {
+        return m_peakBytes.get();
+    }
+
+    /**
+     * @return the number of temporary files created while sampling, available once stopped
+     */
+    long getCreatedFiles() {
+        return m_createdFiles;
+    }
+
+    private void sample() {
+        try {
+            m_peakBytes.accumulateAndGet(getStrategy().getUsedBytes(), Math::max);
+        } catch (final IOException e) { // NOSONAR a file or directory vanished while listing, skip the sample
+        }
+    }
+
+    private static TrackingTempFileCreationStrategy getStrategy() {
+        return StrategyHolder.STRATEGY;
+    }
+
+    /** Installs the strategy once. */
+    private static final class StrategyHolder {
+
+        private static final TrackingTempFileCreationStrategy STRATEGY = install();
+
+        private static TrackingTempFileCreationStrategy install() {
+            try {
+                return TrackingTempFileCreationStrategy.install();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
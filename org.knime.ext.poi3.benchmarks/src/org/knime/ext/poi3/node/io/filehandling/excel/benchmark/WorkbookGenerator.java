@@ -0,0 +1,330 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Generates synthetic workbooks of a given shape for the benchmarks. The content is pseudo-random but deterministic,
+ * i.e. the same shape always results in the same cells.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class WorkbookGenerator {
+
+    /**
+     * The system property pointing to a directory with XLSB files, which cannot be written with POI. The files must be
+     * named like the ones generated for the other formats, see {@link #getFileName(Format)}.
+     */
+    public static final String XLSB_DIR_PROPERTY = "knime.excel.benchmark.xlsbDir";
+
+    /** The password of {@link Format#ENCRYPTED_XLSX} workbooks. */
+    public static final String PASSWORD = "benchmark";
+
+    private static final long SEED = 0x5EED;
+
+    private static final int ROW_ACCESS_WINDOW = 100;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    /** The file formats. */
+    public enum Format {
+            /** Office Open XML workbook. */
+            XLSX("xlsx"),
+            /** Binary workbook, taken from {@link WorkbookGenerator#XLSB_DIR_PROPERTY}. */
+            XLSB("xlsb"),
+            /** Excel 97-2003 workbook. */
+            XLS("xls"),
+            /** Agile encrypted Office Open XML workbook, protected by {@link WorkbookGenerator#PASSWORD}. */
+            ENCRYPTED_XLSX("xlsx");
+
+        private final String m_extension;
+
+        Format(final String extension) {
+            m_extension = extension;
+        }
+    }
+
+    /** The types of the generated cells. */
+    public enum CellMix {
+            /** Doubles and integers. */
+            NUMERIC,
+            /** Strings drawn from a pool of the configured cardinality. */
+            STRING,
+            /** Date and time values. */
+            DATES,
+            /** All of the above plus booleans, alternating per column. */
+            MIXED;
+    }
+
+    private enum CellKind {
+            DOUBLE, INT, STRING, DATE, BOOLEAN;
+    }
+
+    private final int m_rows;
+
+    private final int m_columns;
+
+    private final CellMix m_cellMix;
+
+    private final int m_stringCardinality;
+
+    private final int m_hiddenEvery;
+
+    private final double m_sparsity;
+
+    /**
+     * Constructor.
+     *
+     * @param rows the number of rows, excluding the header row
+     * @param columns the number of columns
+     * @param cellMix the types of the cells
+     * @param stringCardinality the number of distinct strings, i.e. of shared strings table entries
+     * @param hiddenEvery every how many rows and columns one is hidden, {@code 0} to hide none
+     * @param sparsity the fraction of cells that are left empty, between 0 and 1
+     */
+    public WorkbookGenerator(final int rows, final int columns, final CellMix cellMix, final int stringCardinality,
+        final int hiddenEvery, final double sparsity) {
+        if (rows < 0 || columns < 1 || cellMix == null || stringCardinality < 1 || hiddenEvery < 0 || sparsity < 0
+            || sparsity > 1) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                "Invalid workbook shape: %d rows, %d columns, %s cells, %d distinct strings, every %d hidden, "
+                    + "sparsity %f",
+                rows, columns, cellMix, stringCardinality, hiddenEvery, sparsity));
+        }
+        m_rows = rows;
+        m_columns = columns;
+        m_cellMix = cellMix;
+        m_stringCardinality = stringCardinality;
+        m_hiddenEvery = hiddenEvery;
+        m_sparsity = sparsity;
+    }
+
+    /**
+     * @return the number of cells including the header row
+     */
+    public long getNumCells() {
+        return (m_rows + 1L) * m_columns;
+    }
+
+    /**
+     * Returns the name of the file generated for the given format. It encodes the shape, such that files can be reused
+     * across benchmark runs.
+     *
+     * @param format the format
+     * @return the file name
+     */
+    public String getFileName(final Format format) {
+        final var prefix = format == Format.ENCRYPTED_XLSX ? "encrypted-" : "";
+        return prefix + describe() + "." + format.m_extension;
+    }
+
+    private String describe() {
+        return String.format(Locale.US, "%dx%d-%s-sst%d-hidden%d-sparse%.2f", m_rows, m_columns,
+            m_cellMix.name().toLowerCase(Locale.US), m_stringCardinality, m_hiddenEvery, m_sparsity);
+    }
+
+    /**
+     * Generates the workbook in the given directory, unless it exists already. {@link Format#XLSB} workbooks are
+     * resolved from {@link #XLSB_DIR_PROPERTY} instead.
+     *
+     * @param format the format
+     * @param dir the directory to generate the workbook in
+     * @return the path of the workbook
+     * @throws IOException if the workbook cannot be written or an XLSB workbook is not available
+     */
+    public Path generate(final Format format, final Path dir) throws IOException {
+        if (format == Format.XLSB) {
+            return resolveXlsb();
+        }
+        final var file = dir.resolve(getFileName(format));
+        if (Files.exists(file)) {
+            return file;
+        }
+        final var tmp = Files.createTempFile(dir, "generating", "." + format.m_extension);
+        try {
+            switch (format) {
+                case XLS -> writeXls(tmp);
+                case XLSX -> writeXlsx(tmp);
+                case ENCRYPTED_XLSX -> writeEncryptedXlsx(tmp);
+                default -> throw new IllegalArgumentException("Unsupported format: " + format);
+            }
+            return Files.move(tmp, file);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path resolveXlsb() throws IOException {
+        final var dir = System.getProperty(XLSB_DIR_PROPERTY);
+        if (dir == null) {
+            throw new IOException("POI cannot write XLSB files, provide them via -D" + XLSB_DIR_PROPERTY);
+        }
+        final var file = Path.of(dir, getFileName(Format.XLSB));
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("The XLSB file '" + file + "' does not exist.");
+        }
+        return file;
+    }
+
+    private void writeXls(final Path file) throws IOException {
+        final var version = SpreadsheetVersion.EXCEL97;
+        if (m_rows >= version.getMaxRows() || m_columns > version.getMaxColumns()) {
+            throw new IllegalArgumentException("XLS files are limited to " + version.getMaxRows() + " rows and "
+                + version.getMaxColumns() + " columns: " + describe());
+        }
+        try (final var wb = new HSSFWorkbook(); final var out = Files.newOutputStream(file)) {
+            fill(wb);
+            wb.write(out);
+        }
+    }
+
+    private void writeXlsx(final Path file) throws IOException {
+        try (final var out = Files.newOutputStream(file)) {
+            writeXlsx(out);
+        }
+    }
+
+    private void writeXlsx(final OutputStream out) throws IOException {
+        // the shared strings table is required to generate the configured SST cardinality
+        final var wb = new SXSSFWorkbook(new XSSFWorkbook(), ROW_ACCESS_WINDOW, true, true);
+        try {
+            fill(wb);
+            wb.write(out);
+        } finally {
+            wb.dispose();
+            wb.close();
+        }
+    }
+
+    private void writeEncryptedXlsx(final Path file) throws IOException {
+        try (final var fs = new POIFSFileSystem()) {
+            final var encryptor = new EncryptionInfo(EncryptionMode.agile).getEncryptor();
+            encryptor.confirmPassword(PASSWORD);
+            try (final var out = encryptor.getDataStream(fs)) {
+                writeXlsx(out);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Could not encrypt the workbook: " + e.getMessage(), e);
+            }
+            try (final var out = Files.newOutputStream(file)) {
+                fs.writeFilesystem(out);
+            }
+        }
+    }
+
+    private void fill(final Workbook wb) {
+        final var sheet = wb.createSheet("data");
+        final var dateStyle = wb.createCellStyle();
+        dateStyle.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        final var header = sheet.createRow(0);
+        for (var c = 0; c < m_columns; c++) {
+            header.createCell(c).setCellValue("column " + c);
+            if (isHidden(c + 1)) {
+                sheet.setColumnHidden(c, true);
+            }
+        }
+        final var random = new SplittableRandom(SEED);
+        for (var r = 1; r <= m_rows; r++) {
+            final var row = sheet.createRow(r);
+            if (isHidden(r)) {
+                row.setZeroHeight(true);
+            }
+            for (var c = 0; c < m_columns; c++) {
+                if (m_sparsity == 0 || random.nextDouble() >= m_sparsity) {
+                    fillCell(row, c, random, dateStyle);
+                }
+            }
+        }
+    }
+
+    private boolean isHidden(final int idx) {
+        return m_hiddenEvery > 0 && idx % m_hiddenEvery == 0;
+    }
+
+    private void fillCell(final Row row, final int column, final SplittableRandom random, final CellStyle dateStyle) {
+        final var cell = row.createCell(column);
+        switch (getKind(column)) {
+            case DOUBLE -> cell.setCellValue(random.nextDouble() * 1e6);
+            case INT -> cell.setCellValue(random.nextInt(1_000_000));
+            case STRING -> cell.setCellValue("value " + random.nextInt(m_stringCardinality));
+            case DATE -> {
+                cell.setCellValue(EPOCH.plusSeconds(random.nextInt(1_000_000_000)));
+                cell.setCellStyle(dateStyle);
+            }
+            case BOOLEAN -> cell.setCellValue(random.nextBoolean());
+        }
+    }
+
+    private CellKind getKind(final int column) {
+        return switch (m_cellMix) {
+            case NUMERIC -> (column & 1) == 0 ? CellKind.DOUBLE : CellKind.INT;
+            case STRING -> CellKind.STRING;
+            case DATES -> CellKind.DATE;
+            case MIXED -> CellKind.values()[column % CellKind.values().length];
+        };
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.data.convert.map.CellValueProducer;
+import org.knime.core.data.convert.map.MappingException;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelReaderBenchmarkHelper;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.streamed.KNIMEDataFormatter;
+import org.knime.filehandling.core.node.table.reader.ReadAdapter.ReadAdapterParams;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessibleUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the creation of cells in isolation, i.e. the {@link KNIMEDataFormatter} used by the streamed reads, the
+ * {@link ExcelCellUtils} and the producers of the {@link ExcelReadAdapterFactory}. One operation is one cell.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class ExcelCellBenchmark {
+
+    private static final int CELLS = 1024;
+
+    /** The built-in format index of "m/d/yy h:mm". */
+    private static final int DATE_TIME_FORMAT_INDEX = 0x16;
+
+    private static final String DATE_TIME_FORMAT = "m/d/yy h:mm";
+
+    private static final String GENERAL_FORMAT = "General";
+
+    private final double[] m_numbers = new double[CELLS];
+
+    private final double[] m_integers = new double[CELLS];
+
+    private final double[] m_dates = new double[CELLS];
+
+    private final double[] m_booleans = new double[CELLS];
+
+    private final KNIMEDataFormatter m_formatter = new KNIMEDataFormatter(false, true);
+
+    /**
+     * Creates the values.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final var random = new SplittableRandom(CELLS);
+        for (var i = 0; i < CELLS; i++) {
+            m_numbers[i] = random.nextDouble() * 1e6;
+            m_integers[i] = random.nextInt(1_000_000);
+            // days since 1900, i.e. dates between 1982 and 2010
+            m_dates[i] = 30_000 + random.nextDouble() * 10_000;
+            m_booleans[i] = random.nextInt(2);
+        }
+    }
+
+    /**
+     * The cells of one type and the producer of their KNIME values.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+
+        // the parameter is named without prefix, as its name is used on the command line
+
+        /** The type of the cells. */
+        @Param({"STRING", "DOUBLE", "INT", "LONG", "BOOLEAN", "LOCAL_DATE_TIME"})
+        public KNIMECellType type;
+
+        private final ExcelReadAdapter m_adapter = new ExcelReadAdapter();
+
+        private CellValueProducer<ExcelReadAdapter, ?, ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>> //
+        m_producer;
+
+        private ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>[] m_params;
+
+        /**
+         * Creates the cells and the producer.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            final var random = new SplittableRandom(CELLS);
+            final var cells = new ExcelCell[CELLS];
+            for (var i = 0; i < CELLS; i++) {
+                cells[i] = createCell(random);
+            }
+            m_adapter.setSource(RandomAccessibleUtils.createFromArray(cells));
+            m_producer = ExcelReadAdapterBenchmarkHelper.createProducers()[type.ordinal()];
+            m_params = ExcelReadAdapterBenchmarkHelper.createParams(CELLS,
+                ExcelReaderBenchmarkHelper.createReadConfig(false, true, null).getReaderSpecificConfig());
+        }
+
+        private ExcelCell createCell(final SplittableRandom random) {
+            final Object value = switch (type) {
+                case STRING -> "value " + random.nextInt(1000);
+                case DOUBLE -> random.nextDouble();
+                case INT -> random.nextInt();
+                case LONG -> random.nextLong();
+                case BOOLEAN -> random.nextBoolean();
+                case LOCAL_TIME -> LocalTime.ofSecondOfDay(random.nextInt(86_400));
+                case LOCAL_DATE -> LocalDate.ofEpochDay(random.nextInt(20_000));
+                case LOCAL_DATE_TIME -> LocalDateTime.of(2000, 1, 1, 0, 0).plusSeconds(random.nextInt(1_000_000_000));
+            };
+            return new ExcelCell(type, value);
+        }
+    }
+
+    /**
+     * Formats numbers with the general format.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void formatNumbers(final Blackhole blackhole) {
+        format(m_numbers, 0, GENERAL_FORMAT, blackhole);
+    }
+
+    /**
+     * Formats integral numbers with the general format.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void formatIntegers(final Blackhole blackhole) {
+        format(m_integers, 0, GENERAL_FORMAT, blackhole);
+    }
+
+    /**
+     * Formats zeros and ones, which might be booleans and are therefore formatted by POI as well.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void formatBooleanCandidates(final Blackhole blackhole) {
+        format(m_booleans, 0, GENERAL_FORMAT, blackhole);
+    }
+
+    /**
+     * Formats date and time values.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void formatDates(final Blackhole blackhole) {
+        format(m_dates, DATE_TIME_FORMAT_INDEX, DATE_TIME_FORMAT, blackhole);
+    }
+
+    private void format(final double[] values, final int formatIndex, final String formatString,
+        final Blackhole blackhole) {
+        for (final var value : values) {
+            m_formatter.formatRawCellContents(value, formatIndex, formatString, false);
+            blackhole.consume(m_formatter.getAndResetExcelCell());
+        }
+    }
+
+    /**
+     * Creates numeric cells with 15 digits precision.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void createNumericCellsWith15Digits(final Blackhole blackhole) {
+        for (final var value : m_numbers) {
+            blackhole.consume(ExcelCellUtils.createNumericExcelCellUsing15DigitsPrecision(value));
+        }
+    }
+
+    /**
+     * Creates numeric cells with full precision.
+     *
+     * @param blackhole the blackhole consuming the cells
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void createNumericCells(final Blackhole blackhole) {
+        for (final var value : m_numbers) {
+            blackhole.consume(ExcelCellUtils.createNumericExcelCell(value));
+        }
+    }
+
+    /**
+     * Produces the KNIME values of cells of one type.
+     *
+     * @param producer the cells and their producer
+     * @param blackhole the blackhole consuming the values
+     * @throws MappingException if a value cannot be produced
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void produce(final Producer producer, final Blackhole blackhole) throws MappingException {
+        for (final var params : producer.m_params) {
+            blackhole.consume(producer.m_producer.produceCellValue(producer.m_adapter, params));
+        }
+    }
+}
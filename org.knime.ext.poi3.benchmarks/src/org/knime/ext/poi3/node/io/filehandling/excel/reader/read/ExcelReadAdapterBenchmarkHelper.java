@@ -0,0 +1,96 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import org.knime.core.data.convert.map.CellValueProducer;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
+import org.knime.filehandling.core.node.table.reader.ReadAdapter.ReadAdapterParams;
+
+/**
+ * Creates the producers of the {@link ExcelReadAdapterFactory} and their parameters for the benchmarks.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ExcelReadAdapterBenchmarkHelper {
+
+    private ExcelReadAdapterBenchmarkHelper() {
+    }
+
+    /**
+     * @return the producer of each {@link KNIMECellType}, indexed by ordinal
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static CellValueProducer<ExcelReadAdapter, ?, ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>>[]
+        createProducers() {
+        final var types = KNIMECellType.values();
+        final CellValueProducer[] producers = new CellValueProducer[types.length];
+        for (final var type : types) {
+            producers[type.ordinal()] =
+                ExcelReadAdapterFactory.INSTANCE.getProducerRegistry().getFactoriesForSourceType(type).iterator()
+                    .next().create();
+        }
+        return producers;
+    }
+
+    /**
+     * @param columns the number of columns
+     * @param config the reader config
+     * @return the parameters of the producers of each column
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>[] createParams(final int columns,
+        final ExcelTableReaderConfig config) {
+        final ReadAdapterParams[] params = new ReadAdapterParams[columns];
+        for (var i = 0; i < columns; i++) {
+            params[i] = new ReadAdapterParams<>(i, config);
+        }
+        return params;
+    }
+}
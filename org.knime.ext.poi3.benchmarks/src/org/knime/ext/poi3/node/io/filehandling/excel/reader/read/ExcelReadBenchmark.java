@@ -0,0 +1,253 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.file.PathUtils;
+import org.knime.core.data.convert.map.CellValueProducer;
+import org.knime.core.data.convert.map.MappingException;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.CellMix;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.Format;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelReaderBenchmarkHelper;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.streamed.xlsb.XLSBRead;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.streamed.xlsx.XLSXRead;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.xls.XLSRead;
+import org.knime.filehandling.core.node.table.reader.ReadAdapter.ReadAdapterParams;
+import org.knime.filehandling.core.node.table.reader.config.TableReadConfig;
+import org.knime.filehandling.core.node.table.reader.read.Read;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks reading whole sheets of synthetic workbooks with {@link XLSXRead}, {@link XLSBRead} and {@link XLSRead},
+ * once only parsing the rows and once end to end, i.e. including the row filters and the conversion of every cell
+ * to its KNIME value via the producers of the {@link ExcelReadAdapterFactory}. Besides the reads per second, the
+ * rows and file bytes per second are reported.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class ExcelReadBenchmark {
+
+    // the parameters are named without prefix, as their names are used on the command line
+
+    /** The file format. */
+    @Param({"XLSX", "XLS", "ENCRYPTED_XLSX"})
+    public Format format;
+
+    /** The number of rows. */
+    @Param({"10000", "60000"})
+    public int rows;
+
+    /** The number of columns. */
+    @Param({"20"})
+    public int columns;
+
+    /** The types of the cells. */
+    @Param({"NUMERIC", "STRING", "MIXED"})
+    public CellMix cellMix;
+
+    /** The number of distinct strings. */
+    @Param({"1000"})
+    public int sstCardinality;
+
+    /** Every how many rows and columns one is hidden. */
+    @Param({"0"})
+    public int hiddenEvery;
+
+    /** The fraction of empty cells. */
+    @Param({"0.0"})
+    public double sparsity;
+
+    /** Whether hidden rows and columns are skipped. */
+    @Param({"false"})
+    public boolean skipHidden;
+
+    private Path m_dir;
+
+    private Path m_file;
+
+    private long m_fileSize;
+
+    private TableReadConfig<ExcelTableReaderConfig> m_config;
+
+    private CellValueProducer<ExcelReadAdapter, ?, ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>>[] //
+    m_producers;
+
+    private ReadAdapterParams<ExcelReadAdapter, ExcelTableReaderConfig>[] m_params;
+
+    /**
+     * The rows and bytes read, reported as rates.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+
+        /** The rows read. */
+        public long rows; // NOSONAR reported by JMH
+
+        /** The file bytes read. */
+        public long bytes; // NOSONAR reported by JMH
+
+        /** Resets the counters. */
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    /**
+     * Generates the workbook.
+     *
+     * @throws IOException if the workbook cannot be generated
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        m_dir = Files.createTempDirectory("excel-read-benchmark");
+        m_file = new WorkbookGenerator(rows, columns, cellMix, sstCardinality, hiddenEvery, sparsity)
+            .generate(format, m_dir);
+        m_fileSize = Files.size(m_file);
+        m_config = ExcelReaderBenchmarkHelper.createReadConfig(skipHidden, true,
+            format == Format.ENCRYPTED_XLSX ? WorkbookGenerator.PASSWORD : null);
+        m_producers = ExcelReadAdapterBenchmarkHelper.createProducers();
+        m_params = ExcelReadAdapterBenchmarkHelper.createParams(columns, m_config.getReaderSpecificConfig());
+    }
+
+    /**
+     * Deletes the workbook.
+     *
+     * @throws IOException if the workbook cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        PathUtils.deleteDirectory(m_dir);
+    }
+
+    /**
+     * Parses all rows of the sheet.
+     *
+     * @param counters the counters
+     * @param blackhole the blackhole consuming the cells
+     * @throws IOException if reading fails
+     */
+    @Benchmark
+    public void parse(final Counters counters, final Blackhole blackhole) throws IOException {
+        try (final var read = createRead()) {
+            for (var row = read.next(); row != null; row = read.next()) {
+                for (var i = 0; i < row.size(); i++) {
+                    blackhole.consume(row.get(i));
+                }
+                counters.rows++;
+            }
+        }
+        counters.bytes += m_fileSize;
+    }
+
+    /**
+     * Reads all rows of the sheet as the Excel Reader does, and converts every cell to its KNIME value.
+     *
+     * @param counters the counters
+     * @param blackhole the blackhole consuming the values
+     * @throws IOException if reading fails
+     * @throws MappingException if a value cannot be converted
+     */
+    @Benchmark
+    public void readAndConvert(final Counters counters, final Blackhole blackhole)
+        throws IOException, MappingException {
+        final var adapter = new ExcelReadAdapter();
+        try (final var read = ExcelUtils.decorateRowFilterReads(createRead(), m_config)) {
+            for (var row = read.next(); row != null; row = read.next()) {
+                adapter.setSource(row);
+                for (var i = 0; i < row.size(); i++) {
+                    final var cell = row.get(i);
+                    if (cell != null) {
+                        blackhole.consume(
+                            m_producers[cell.getType().ordinal()].produceCellValue(adapter, m_params[i]));
+                    }
+                }
+                counters.rows++;
+            }
+        }
+        counters.bytes += m_fileSize;
+    }
+
+    private Read<ExcelCell> createRead() throws IOException {
+        return switch (format) {
+            case XLSX, ENCRYPTED_XLSX -> new XLSXRead(m_file, m_config, null, new ExcelMetrics());
+            case XLSB -> new XLSBRead(m_file, m_config, null, new ExcelMetrics());
+            case XLS -> new XLSRead(m_file, m_config, null, new ExcelMetrics());
+        };
+    }
+}
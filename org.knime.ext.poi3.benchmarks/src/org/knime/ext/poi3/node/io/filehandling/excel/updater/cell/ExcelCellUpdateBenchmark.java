@@ -0,0 +1,245 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.updater.cell;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.file.PathUtils;
+import org.apache.poi.ss.util.CellReference;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.StringCell;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.BenchmarkExecutionContext;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.BenchmarkTableConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.GeneratedRowInput;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.TableSchema;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.CellMix;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator.Format;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WriteCounters;
+import org.knime.ext.poi3.node.io.filehandling.excel.updater.cell.ExcelCellUpdaterNodeModel.AppendWorkbookHandler;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetNameExistsHandling;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks updating the cells of an existing sheet as the Excel Cell Updater does, i.e. with the cell coordinate
+ * writers of the table writers and {@link AppendWorkbookHandler#saveFile(Path)}. The updated cells are spread evenly
+ * over the sheet, either in the order of their addresses or shuffled. Every cell is updated at most once, since only
+ * the last update of a cell is written. The workbook is restored before every invocation.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ExcelCellUpdateBenchmark {
+
+    private static final String SHEET = "data";
+
+    // the parameters are named without prefix, as their names are used on the command line
+
+    /** The file format, one of XLSX, XLS and ENCRYPTED_XLSX. */
+    @Param({"XLSX", "XLS"})
+    public Format format;
+
+    /** The number of rows of the existing sheet. */
+    @Param({"60000"})
+    public int rows;
+
+    /** The number of columns of the existing sheet. */
+    @Param({"20"})
+    public int columns;
+
+    /** The number of updated cells. */
+    @Param({"1000", "100000"})
+    public int updates;
+
+    /** Whether the updated cells are in the order of their addresses. */
+    @Param({"true", "false"})
+    public boolean ordered;
+
+    /** The schema of the new values, one of NUMERIC, STRINGS, DATES and MISSING. */
+    @Param({"NUMERIC", "STRINGS"})
+    public TableSchema values;
+
+    /** Whether xlsx files are updated without loading them where the node would do so. */
+    @Param({"true"})
+    public boolean streamingUpdate;
+
+    private Path m_dir;
+
+    private Path m_existing;
+
+    private Path m_target;
+
+    private ExcelProgressMonitor m_monitor;
+
+    /**
+     * Generates the existing workbook.
+     *
+     * @throws IOException if the workbook cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (format == Format.XLSB) {
+            throw new IllegalArgumentException("Binary workbooks cannot be updated.");
+        }
+        if (values == TableSchema.IMAGES) {
+            throw new IllegalArgumentException("Images cannot be written to existing cells.");
+        }
+        if (updates > (long)rows * columns) {
+            throw new IllegalArgumentException("There are more updates than cells.");
+        }
+        m_dir = Files.createTempDirectory("excel-cell-update-benchmark");
+        m_existing = new WorkbookGenerator(rows, columns, CellMix.MIXED, 1000, 0, 0).generate(format, m_dir);
+        m_target = m_dir.resolve("target-" + m_existing.getFileName());
+        m_monitor = BenchmarkExecutionContext.createProgressMonitor();
+    }
+
+    /**
+     * Restores the existing workbook.
+     *
+     * @throws IOException if the file cannot be copied
+     */
+    @Setup(Level.Invocation)
+    public void restoreExisting() throws IOException {
+        Files.copy(m_existing, m_target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Deletes the files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        PathUtils.deleteDirectory(m_dir);
+    }
+
+    /**
+     * Updates the cells and saves the workbook.
+     *
+     * @param counters the counters
+     * @throws Exception if updating fails
+     */
+    @Benchmark
+    public void update(final WriteCounters counters) throws Exception {
+        final var password = format == Format.ENCRYPTED_XLSX ? WorkbookGenerator.PASSWORD : null;
+        final var excelFormat = format == Format.XLS ? ExcelFormat.XLS : ExcelFormat.XLSX;
+        final var cfg = new BenchmarkTableConfig(excelFormat, SHEET, SheetNameExistsHandling.APPEND, false, false);
+        // the node model only streams unencrypted files
+        try (final var handler =
+            new AppendWorkbookHandler(m_target, password, streamingUpdate && password == null, SHEET)) {
+            final var wb = handler.getWorkbook();
+            handler.createTableWriter(cfg, ExcelCellWriterFactory.createFactory(wb, null))
+                .writeCellsFromCoordinates(wb, SHEET, createUpdates(), 0, m_monitor);
+            handler.saveFile(m_target);
+        }
+        counters.rows += updates;
+        counters.cells += updates;
+        counters.bytes += Files.size(m_target);
+    }
+
+    /** The addresses, followed by the new values. */
+    private GeneratedRowInput createUpdates() {
+        final var spec = new DataTableSpec(new DataColumnSpecCreator("address", StringCell.TYPE).createSpec(),
+            values.createSpec(1).getColumnSpec(0));
+        final var cells = (long)rows * columns;
+        final var step = cells / updates;
+        final var order = ordered ? null : shuffle(updates);
+        return new GeneratedRowInput(spec, updates, (row, column, random) -> {
+            if (column == 1) {
+                return values.create(row, 0, random);
+            }
+            final var cell = (order == null ? row : order[(int)row]) * step;
+            // the header occupies the first row
+            return new StringCell(new CellReference((int)(cell / columns) + 1, (int)(cell % columns))
+                .formatAsString());
+        });
+    }
+
+    /** Returns the numbers from 0 to n - 1 in random order. */
+    private static long[] shuffle(final int n) {
+        final var numbers = new long[n];
+        for (var i = 0; i < n; i++) {
+            numbers[i] = i;
+        }
+        final var random = new SplittableRandom(n);
+        for (var i = n - 1; i > 0; i--) {
+            final var j = random.nextInt(i + 1);
+            final var number = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = number;
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.file.PathUtils;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.BenchmarkExecutionContext;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.BenchmarkTableConfig;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.GeneratedRowInput;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.TableSchema;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WorkbookGenerator;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.WriteCounters;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ExcelTableWriterNodeModel.WriteWorkbookHandler;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.WorkbookHandler;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetNameExistsHandling;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks writing a generated table as the Excel Writer does, i.e. with the sheet writers of the xlsx and xls
+ * table writers and {@link WorkbookHandler#saveFile(Path)}: into a new file, into a new sheet of an existing file,
+ * appended to an existing sheet, and replacing an existing sheet. The existing file holds a table of the same shape and
+ * is restored before every invocation.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ExcelWriteBenchmark {
+
+    private static final String SHEET = "data";
+
+    // the parameters are named without prefix, as their names are used on the command line
+
+    /** The file format. */
+    @Param({"XLSX", "XLS"})
+    public ExcelFormat format;
+
+    /** The schema of the written table. */
+    @Param({"NUMERIC", "STRINGS", "DATES", "IMAGES", "MISSING"})
+    public TableSchema schema;
+
+    /** The number of rows. */
+    @Param({"10000", "60000"})
+    public int rows;
+
+    /** The number of columns. */
+    @Param({"20"})
+    public int columns;
+
+    /** Whether the file is encrypted. */
+    @Param({"false"})
+    public boolean encrypted;
+
+    /** Whether the columns are auto-sized. */
+    @Param({"false"})
+    public boolean autoSize;
+
+    /** Whether rows are appended to xlsx files without loading them where the node would do so. */
+    @Param({"false"})
+    public boolean streamingAppend;
+
+    private Path m_dir;
+
+    private Path m_existing;
+
+    private Path m_target;
+
+    private ExcelProgressMonitor m_monitor;
+
+    /**
+     * Writes the existing file.
+     *
+     * @throws Exception if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        m_dir = Files.createTempDirectory("excel-write-benchmark");
+        m_existing = m_dir.resolve("existing" + format.getFileExtension());
+        m_target = m_dir.resolve("target" + format.getFileExtension());
+        m_monitor = BenchmarkExecutionContext.createProgressMonitor();
+        write(new WriteWorkbookHandler(format, false, getPassword()), m_existing, SHEET, SheetNameExistsHandling.FAIL,
+            new WriteCounters());
+    }
+
+    /**
+     * Restores the existing file.
+     *
+     * @throws IOException if the file cannot be copied
+     */
+    @Setup(Level.Invocation)
+    public void restoreExisting() throws IOException {
+        Files.copy(m_existing, m_target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Deletes the files.
+     *
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        PathUtils.deleteDirectory(m_dir);
+    }
+
+    /**
+     * Writes the table into a new file.
+     *
+     * @param counters the counters
+     * @throws Exception if writing fails
+     */
+    @Benchmark
+    public void create(final WriteCounters counters) throws Exception {
+        Files.delete(m_target);
+        write(new WriteWorkbookHandler(format, false, getPassword()), m_target, SHEET, SheetNameExistsHandling.FAIL,
+            counters);
+    }
+
+    /**
+     * Writes the table into a new sheet of the existing file.
+     *
+     * @param counters the counters
+     * @throws Exception if writing fails
+     */
+    @Benchmark
+    public void appendSheet(final WriteCounters counters) throws Exception {
+        write(createAppendingHandler(), m_target, "appended", SheetNameExistsHandling.FAIL, counters);
+    }
+
+    /**
+     * Appends the rows of the table to the sheet of the existing file.
+     *
+     * @param counters the counters
+     * @throws Exception if writing fails
+     */
+    @Benchmark
+    public void appendRows(final WriteCounters counters) throws Exception {
+        write(createAppendingHandler(), m_target, SHEET, SheetNameExistsHandling.APPEND, counters);
+    }
+
+    /**
+     * Replaces the sheet of the existing file with the table.
+     *
+     * @param counters the counters
+     * @throws Exception if writing fails
+     */
+    @Benchmark
+    public void overwriteSheet(final WriteCounters counters) throws Exception {
+        write(createAppendingHandler(), m_target, SHEET, SheetNameExistsHandling.OVERWRITE, counters);
+    }
+
+    /** Appends without loading the file under the conditions of the node model, the parameter replacing the flag. */
+    private WorkbookHandler createAppendingHandler() {
+        final var streaming = streamingAppend && format == ExcelFormat.XLSX && !encrypted && !autoSize
+            && schema != TableSchema.IMAGES;
+        return new WriteWorkbookHandler(format, m_target, false, getPassword(), streaming);
+    }
+
+    private String getPassword() {
+        return encrypted ? WorkbookGenerator.PASSWORD : null;
+    }
+
+    private void write(final WorkbookHandler handler, final Path target, final String sheetName,
+        final SheetNameExistsHandling sheetNameExistsHandling, final WriteCounters counters)
+        throws IOException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        final var cfg = new BenchmarkTableConfig(format, sheetName, sheetNameExistsHandling, autoSize, false);
+        try (handler) {
+            final var wb = handler.getWorkbook();
+            handler.createTableWriter(cfg, ExcelCellWriterFactory.createFactory(wb, null)).writeTable(wb, sheetName,
+                GeneratedRowInput.create(schema, columns, rows), m_monitor);
+            handler.saveFile(target);
+        }
+        counters.rows += rows;
+        counters.cells += (long)rows * columns;
+        counters.bytes += Files.size(target);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cell;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.knime.core.data.DataCell;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.TableSchema;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link ExcelCellWriter ExcelCellWriters} in isolation, i.e. without the sheet writers and without
+ * saving, by repeatedly writing the same row of cells.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class ExcelCellWriterBenchmark {
+
+    /** The number of cells written per operation, which fits into a row of an xls sheet. */
+    private static final int CELLS = 256;
+
+    // the parameters are named without prefix, as their names are used on the command line
+
+    /** The format of the workbook. */
+    @Param({"XLSX", "XLS"})
+    public ExcelFormat format;
+
+    /** The schema of the written cells. */
+    @Param({"NUMERIC", "STRINGS", "DATES", "MISSING"})
+    public TableSchema schema;
+
+    private Workbook m_workbook;
+
+    private Row m_row;
+
+    private final DataCell[] m_cells = new DataCell[CELLS];
+
+    private final ExcelCellWriter[] m_writers = new ExcelCellWriter[CELLS];
+
+    private final CellCreationContext m_context = new CellCreationContext();
+
+    /**
+     * Creates the workbook, the cells and their writers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        m_workbook = format.getWorkbook();
+        m_row = m_workbook.createSheet("data").createRow(0);
+        final var factory = ExcelCellWriterFactory.createFactory(m_workbook, "missing");
+        final var spec = schema.createSpec(CELLS);
+        final var random = new SplittableRandom(0);
+        for (var c = 0; c < CELLS; c++) {
+            m_cells[c] = schema.create(0, c, random);
+            m_writers[c] = factory.createCellWriter(spec.getColumnSpec(c).getType());
+        }
+    }
+
+    /**
+     * Closes the workbook.
+     *
+     * @throws IOException if the workbook cannot be closed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        m_workbook.close();
+    }
+
+    /**
+     * Writes the cells, replacing those written before.
+     *
+     * @return the row, such that the writes are not eliminated
+     * @throws IOException if a cell cannot be written
+     */
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public Row write() throws IOException {
+        for (var c = 0; c < CELLS; c++) {
+            m_writers[c].write(m_cells[c], m_context.at(m_row, c));
+        }
+        return m_row;
+    }
+}
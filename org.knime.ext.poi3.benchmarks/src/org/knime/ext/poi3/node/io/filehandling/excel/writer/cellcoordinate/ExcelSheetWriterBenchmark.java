@@ -0,0 +1,167 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.knime.core.data.DataRow;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.GeneratedRowInput;
+import org.knime.ext.poi3.node.io.filehandling.excel.benchmark.TableSchema;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.XlsImageWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.XlsxImageWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the row loop of the {@link ExcelSheetWriter}, i.e. writing rows into a sheet without saving the workbook.
+ * Every invocation writes the same rows into a new workbook, the score is the time per cell.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(3)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class ExcelSheetWriterBenchmark {
+
+    private static final int ROWS = 5000;
+
+    private static final int COLUMNS = 20;
+
+    // the parameters are named without prefix, as their names are used on the command line
+
+    /** The format of the workbook. */
+    @Param({"XLSX", "XLS"})
+    public ExcelFormat format;
+
+    /** The schema of the written rows. */
+    @Param({"NUMERIC", "STRINGS", "MISSING"})
+    public TableSchema schema;
+
+    private final DataRow[] m_rows = new DataRow[ROWS];
+
+    private Workbook m_workbook;
+
+    private Sheet m_sheet;
+
+    private ExcelSheetWriter m_writer;
+
+    /**
+     * Generates the rows.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final var input = GeneratedRowInput.create(schema, COLUMNS, ROWS);
+        for (var r = 0; r < ROWS; r++) {
+            m_rows[r] = input.poll();
+        }
+        input.close();
+    }
+
+    /**
+     * Creates the workbook and the sheet writer, as the table writer of the format does.
+     */
+    @Setup(Level.Invocation)
+    public void createWorkbook() {
+        m_workbook = format.getWorkbook();
+        m_sheet = m_workbook.createSheet("data");
+        final var spec = schema.createSpec(COLUMNS);
+        final var imageWriter = format == ExcelFormat.XLS ? new XlsImageWriter(spec) : new XlsxImageWriter(spec);
+        m_writer = new ExcelSheetWriter(spec, imageWriter, ExcelCellWriterFactory.createFactory(m_workbook, null),
+            false);
+    }
+
+    /**
+     * Discards the workbook.
+     *
+     * @throws IOException if the workbook cannot be closed
+     */
+    @TearDown(Level.Invocation)
+    public void discardWorkbook() throws IOException {
+        if (m_workbook instanceof SXSSFWorkbook streamingWorkbook) {
+            streamingWorkbook.dispose();
+        }
+        m_workbook.close();
+    }
+
+    /**
+     * Writes the rows.
+     *
+     * @return the sheet, such that the writes are not eliminated
+     * @throws IOException if a row cannot be written
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public Sheet writeRows() throws IOException {
+        for (final var row : m_rows) {
+            m_writer.writeRowToSheet(m_sheet, row);
+        }
+        return m_sheet;
+    }
+}
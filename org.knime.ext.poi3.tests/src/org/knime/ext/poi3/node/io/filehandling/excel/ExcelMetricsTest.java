@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Scope;
+
+/**
+ * Tests for {@link ExcelMetrics}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelMetricsTest {
+
+    @Test
+    void testAdd() {
+        final var metrics = new ExcelMetrics();
+        metrics.add(Metric.ROWS_PARSED, 3);
+        metrics.add(Metric.ROWS_PARSED, 4);
+        assertThat(metrics.get(Metric.ROWS_PARSED)).as("added rows").isEqualTo(7);
+        assertThat(metrics.get(Metric.ROWS_SKIPPED)).as("untouched counter").isZero();
+    }
+
+    @Test
+    void testFlowVariablesOfScope() {
+        final var metrics = new ExcelMetrics();
+        metrics.add(Metric.SAVE_TIME, TimeUnit.MILLISECONDS.toNanos(42));
+        metrics.add(Metric.SAVED_BYTES, 1024);
+        metrics.add(Metric.ROWS_PARSED, 5);
+
+        final var variables = metrics.getFlowVariables(Scope.WRITE);
+        assertThat(variables).as("write variables") //
+            .containsEntry("excel_save_ms", 42L) //
+            .containsEntry("excel_saved_bytes", 1024L) //
+            .containsEntry("excel_rows_written", 0L) //
+            .doesNotContainKey("excel_rows_parsed");
+        assertThat(metrics.getFlowVariables(Scope.READ)).as("read variables") //
+            .containsEntry("excel_rows_parsed", 5L) //
+            .doesNotContainKey("excel_saved_bytes");
+    }
+
+    @Test
+    void testSummarize() {
+        final var metrics = new ExcelMetrics();
+        metrics.add(Metric.PARSER_BLOCKED, TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.add(Metric.SHARED_STRINGS, 12);
+        assertThat(metrics.summarize(Scope.READ)).as("summary") //
+            .contains("parser blocked: 7 ms") //
+            .contains("shared strings: 12") //
+            .doesNotContain("save");
+    }
+}
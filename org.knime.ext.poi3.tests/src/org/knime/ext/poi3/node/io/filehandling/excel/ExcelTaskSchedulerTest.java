@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.FairLane;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+
+/**
+ * Tests for {@link ExcelTaskScheduler}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelTaskSchedulerTest {
+
+    @Test
+    void testConcurrencyIsBoundedAndQueuedTasksCanBeCanceled() throws Exception {
+        final var maxConcurrency = ExcelTaskScheduler.getStatistics(Lane.IO).getMaxConcurrency();
+        final var release = new CountDownLatch(1);
+        final var started = new CountDownLatch(maxConcurrency);
+        final var running = new ArrayList<Future<?>>();
+        try {
+            for (var i = 0; i < maxConcurrency; i++) {
+                running.add(ExcelTaskScheduler.submit(Lane.IO, () -> {
+                    started.countDown();
+                    release.await();
+                    return null;
+                }));
+            }
+            assertThat(started.await(10, TimeUnit.SECONDS)).as("all slots in use").isTrue();
+
+            final var queued = ExcelTaskScheduler.submit(Lane.IO, () -> "queued");
+            final var stats = ExcelTaskScheduler.getStatistics(Lane.IO);
+            assertThat(stats.getActiveCount()).as("active tasks").isEqualTo(maxConcurrency);
+            assertThat(stats.getQueueLength()).as("queued tasks").isEqualTo(1);
+
+            assertThat(queued.cancel(true)).as("queued task can be canceled").isTrue();
+            assertThat(ExcelTaskScheduler.getStatistics(Lane.IO).getQueueLength()).as("queued tasks").isZero();
+        } finally {
+            release.countDown();
+        }
+        for (final var future : running) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(ExcelTaskScheduler.submit(Lane.IO, () -> "done").get(10, TimeUnit.SECONDS))
+            .as("slots are released after completion").isEqualTo("done");
+    }
+
+    @Test
+    void testParseConcurrencyDependsOnCoresOnly() {
+        final var cores = Runtime.getRuntime().availableProcessors();
+        assertThat(Lane.PARSE.getConcurrency(true)).as("parse concurrency on virtual threads")
+            .isEqualTo(Lane.PARSE.getConcurrency(false)).isEqualTo(Math.max(2, 2 * cores));
+        assertThat(Lane.IO.getConcurrency(true)).as("I/O concurrency on virtual threads")
+            .isGreaterThanOrEqualTo(Lane.IO.getConcurrency(false));
+    }
+
+    @Test
+    void testQueuedTasksAreStartedRoundRobinAcrossWorkflows() throws Exception {
+        final var lane = new FairLane(Lane.IO, false, 1, r -> new Thread(r).start());
+        final var release = new CountDownLatch(1);
+        final var started = new CountDownLatch(1);
+        final var blocker = lane.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }, "wf1", "node1");
+        assertThat(started.await(10, TimeUnit.SECONDS)).as("slot in use").isTrue();
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final var queued = new ArrayList<Future<?>>();
+        for (var i = 0; i < 3; i++) {
+            queued.add(lane.submit(addTo(order, "wf1"), "wf1", "node1"));
+        }
+        queued.add(lane.submit(addTo(order, "wf2"), "wf2", "node2"));
+        assertThat(lane.getStatistics().getQueueLength()).as("queued tasks").isEqualTo(4);
+
+        release.countDown();
+        blocker.get(10, TimeUnit.SECONDS);
+        for (final var future : queued) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(order).as("start order").containsExactly("wf1", "wf2", "wf1", "wf1");
+    }
+
+    @Test
+    void testStartedTasksKeepTheirSlotsAndFreedSlotsGoToOtherWorkflows() throws Exception {
+        final var lane = new FairLane(Lane.PARSE, false, 2, r -> new Thread(r).start());
+        final var releaseFirst = new CountDownLatch(1);
+        final var releaseSecond = new CountDownLatch(1);
+        final var started = new CountDownLatch(2);
+        final var first = lane.submit(block(started, releaseFirst), "wf1", "node1");
+        final var second = lane.submit(block(started, releaseSecond), "wf1", "node1");
+        assertThat(started.await(10, TimeUnit.SECONDS)).as("all slots in use by one workflow").isTrue();
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final var queuedOwn = lane.submit(addTo(order, "wf1"), "wf1", "node1");
+        final var queuedOther = lane.submit(addTo(order, "wf2"), "wf2", "node2");
+        // running tasks are never preempted, the other workflow has to wait for a free slot
+        assertThat(lane.getStatistics().getQueueLength()).as("queued tasks").isEqualTo(2);
+        assertThat(queuedOther.isDone()).as("other workflow waits while all slots are held").isFalse();
+
+        try {
+            releaseFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            queuedOther.get(10, TimeUnit.SECONDS);
+        } finally {
+            releaseSecond.countDown();
+        }
+        second.get(10, TimeUnit.SECONDS);
+        queuedOwn.get(10, TimeUnit.SECONDS);
+        assertThat(order).as("freed slot goes to the workflow with fewer running tasks").containsExactly("wf2", "wf1");
+    }
+
+    @Test
+    void testTasksSubmittedFromTheSameLaneRunRightAway() throws Exception {
+        final var lane = new FairLane(Lane.IO, false, 1, r -> new Thread(r).start());
+        final var outer = lane.submit(() -> lane.submit(() -> "nested", "wf1", "node1").get(10, TimeUnit.SECONDS),
+            "wf1", "node1");
+        assertThat(outer.get(10, TimeUnit.SECONDS)).as("nested task does not wait for a free slot")
+            .isEqualTo("nested");
+        assertThat(lane.getStatistics().getStartedCount()).as("started tasks").isEqualTo(1);
+    }
+
+    private static Callable<Void> block(final CountDownLatch started, final CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            release.await();
+            return null;
+        };
+    }
+
+    private static Callable<Boolean> addTo(final List<String> order, final String workflow) {
+        return () -> order.add(workflow);
+    }
+}
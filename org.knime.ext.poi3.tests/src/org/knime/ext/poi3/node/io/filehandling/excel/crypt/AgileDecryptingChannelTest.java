@@ -0,0 +1,112 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link AgileDecryptingChannel}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class AgileDecryptingChannelTest {
+
+    private static final String PASSWORD = "secret";
+
+    @Test
+    void testReadAtRandomPositions(@TempDir final Path dir) throws IOException, GeneralSecurityException {
+        final var data = new byte[1_000_003];
+        new Random(42).nextBytes(data);
+        final var file = dir.resolve("encrypted.xlsx");
+        try (final var out = Files.newOutputStream(file);
+                final var enc = new AgileEncryptingOutputStream(out, PASSWORD)) {
+            enc.write(data);
+            enc.finish();
+        }
+
+        try (final var fs = new POIFSFileSystem(file.toFile(), true)) {
+            final var info = new EncryptionInfo(fs);
+            final var decryptor = Decryptor.getInstance(info);
+            assertThat(decryptor.verifyPassword(PASSWORD)).as("password verified").isTrue();
+            try (final var channel = AgileDecryptingChannel.open(file, info, decryptor.getSecretKey())) {
+                assertThat(channel).as("channel").isNotNull();
+                assertThat(channel.size()).as("size").isEqualTo(data.length);
+                final var random = new Random(7);
+                for (var i = 0; i < 100; i++) {
+                    final var position = random.nextInt(data.length);
+                    final var length = Math.min(random.nextInt(200_000), data.length - position);
+                    final var buffer = ByteBuffer.allocate(length);
+                    channel.position(position);
+                    while (buffer.hasRemaining()) {
+                        channel.read(buffer);
+                    }
+                    assertThat(buffer.array()).as("data at %d", position)
+                        .isEqualTo(Arrays.copyOfRange(data, position, position + length));
+                }
+                channel.position(data.length);
+                assertThat(channel.read(ByteBuffer.allocate(1))).as("read at end").isEqualTo(-1);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.filesystem.DirectoryEntry;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link AgileEncryptingOutputStream}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class AgileEncryptingOutputStreamTest {
+
+    private static final String PASSWORD = "pässwörd";
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100, AgileEncryptingOutputStream.SEGMENT_SIZE, 5000, 1_000_000})
+    void testDecryptWithPoi(final int size) throws IOException, GeneralSecurityException {
+        final var data = new byte[size];
+        new Random(size).nextBytes(data);
+        final var encrypted = new ByteArrayOutputStream();
+        try (final var out = new AgileEncryptingOutputStream(encrypted, PASSWORD)) {
+            // odd chunk sizes to cross the segment boundaries
+            for (var offset = 0; offset < size; offset += 3001) {
+                out.write(data, offset, Math.min(3001, size - offset));
+            }
+            out.finish();
+        }
+
+        try (final var fs = new POIFSFileSystem(new ByteArrayInputStream(encrypted.toByteArray()))) {
+            assertThat(fs.getRoot().hasEntry("\u0006DataSpaces")).as("has data spaces").isTrue();
+            final var decryptor = Decryptor.getInstance(new EncryptionInfo(fs));
+            assertThat(decryptor.verifyPassword("wrong")).as("wrong password verified").isFalse();
+            assertThat(decryptor.verifyPassword(PASSWORD)).as("password verified").isTrue();
+            try (final var in = decryptor.getDataStream(fs)) {
+                assertThat(in.readAllBytes()).as("decrypted data").isEqualTo(data);
+            }
+        }
+    }
+
+    /**
+     * Tests that the data spaces are the ones written by POI's encryptor. The only difference is the transform info
+     * following the header of the transform, for which POI writes an IRM transform info instead of the encryption
+     * transform info required by [MS-OFFCRYPTO] 2.1.8 (and written by Excel).
+     */
+    @Test
+    void testDataSpacesMatchPoi() throws IOException, GeneralSecurityException {
+        final var data = new byte[1000];
+        new Random(0).nextBytes(data);
+        try (final var fs = new POIFSFileSystem(new ByteArrayInputStream(encrypt(data)));
+                final var poiFs = new POIFSFileSystem(new ByteArrayInputStream(encryptWithPoi(data)))) {
+            for (final var path : new String[][]{{"Version"}, {"DataSpaceMap"},
+                {"DataSpaceInfo", "StrongEncryptionDataSpace"}}) {
+                assertThat(readDataSpace(fs, path)).as("%s", Arrays.toString(path))
+                    .isEqualTo(readDataSpace(poiFs, path));
+            }
+            final var primary = readDataSpace(fs, "TransformInfo", "StrongEncryptionTransform", "\u0006Primary");
+            final var poiPrimary =
+                readDataSpace(poiFs, "TransformInfo", "StrongEncryptionTransform", "\u0006Primary");
+            // POI's IRM transform info consists of three empty integers
+            final var headerLength = poiPrimary.length - 3 * Integer.BYTES;
+            assertThat(Arrays.copyOf(primary, headerLength)).as("transform info header")
+                .isEqualTo(Arrays.copyOf(poiPrimary, headerLength));
+            assertThat(primary[0]).as("transform info header length").isEqualTo((byte)0x58);
+            assertThat(Arrays.copyOfRange(primary, headerLength, primary.length)).as("encryption transform info")
+                .containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 4, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Tests that the HMAC of the encrypted package matches the one decrypted by POI, i.e. that the integrity check of
+     * [MS-OFFCRYPTO] 2.3.4.14 succeeds. The check is applied to POI's encryptor as well, to verify the check itself.
+     */
+    @Test
+    void testDataIntegrity() throws IOException, GeneralSecurityException {
+        final var data = new byte[10_000];
+        new Random(1).nextBytes(data);
+        for (final var encrypted : new byte[][]{encrypt(data), encryptWithPoi(data)}) {
+            try (final var fs = new POIFSFileSystem(new ByteArrayInputStream(encrypted))) {
+                final var decryptor = Decryptor.getInstance(new EncryptionInfo(fs));
+                assertThat(decryptor.verifyPassword(PASSWORD)).as("password verified").isTrue();
+                final var hmac = Mac.getInstance("HmacSHA1");
+                hmac.init(new SecretKeySpec(decryptor.getIntegrityHmacKey(), "HmacSHA1"));
+                try (final var in = fs.createDocumentInputStream("EncryptedPackage")) {
+                    assertThat(hmac.doFinal(in.readAllBytes())).as("HMAC of the encrypted package")
+                        .isEqualTo(decryptor.getIntegrityHmacValue());
+                }
+            }
+        }
+    }
+
+    private static byte[] encrypt(final byte[] data) throws IOException {
+        final var encrypted = new ByteArrayOutputStream();
+        try (final var out = new AgileEncryptingOutputStream(encrypted, PASSWORD)) {
+            out.write(data);
+            out.finish();
+        }
+        return encrypted.toByteArray();
+    }
+
+    private static byte[] encryptWithPoi(final byte[] data) throws IOException, GeneralSecurityException {
+        final var encryptor = new EncryptionInfo(EncryptionMode.agile).getEncryptor();
+        encryptor.confirmPassword(PASSWORD);
+        try (final var fs = new POIFSFileSystem()) {
+            try (final var out = encryptor.getDataStream(fs)) {
+                out.write(data);
+            }
+            final var encrypted = new ByteArrayOutputStream();
+            fs.writeFilesystem(encrypted);
+            return encrypted.toByteArray();
+        }
+    }
+
+    private static byte[] readDataSpace(final POIFSFileSystem fs, final String... path) throws IOException {
+        var storage = (DirectoryEntry)fs.getRoot().getEntry("\u0006DataSpaces");
+        for (var i = 0; i < path.length - 1; i++) {
+            storage = (DirectoryEntry)storage.getEntry(path[i]);
+        }
+        try (final var in = storage.createDocumentInputStream(path[path.length - 1])) {
+            return in.readAllBytes();
+        }
+    }
+}
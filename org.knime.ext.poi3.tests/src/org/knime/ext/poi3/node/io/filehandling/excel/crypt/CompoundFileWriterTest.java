@@ -0,0 +1,205 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.poi.poifs.filesystem.DirectoryEntry;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link CompoundFileWriter}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class CompoundFileWriterTest {
+
+    private static final int SECTOR_SIZE = 512;
+
+    private static final int END_OF_CHAIN = 0xFFFFFFFE;
+
+    private static final int NO_STREAM = 0xFFFFFFFF;
+
+    /**
+     * Tests that the siblings of each storage form a valid red-black tree as required by [MS-CFB] 2.6.4, which strict
+     * readers like Excel rely on, and that POI reads all entries.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 7, 8, 9, 15, 16, 17, 31, 100})
+    void testDirectoryIsRedBlackTree(final int count) throws IOException {
+        final var writer = new CompoundFileWriter();
+        final var storage = writer.addStorage(writer.getRoot(), "storage");
+        for (var i = 0; i < count; i++) {
+            writer.addStream(storage, "stream" + i, new byte[i]);
+        }
+        writer.addStream(writer.getRoot(), "large", new byte[5000]);
+        final var out = new ByteArrayOutputStream();
+        writer.write(out);
+        final var file = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+        final var entries = readDirectory(file);
+        final var root = entries.get(0);
+        assertThat(root.m_name).as("name of the root").isEqualTo("Root Entry");
+        assertThat(countTree(entries, root.m_child)).as("entries of the root").isEqualTo(2);
+        final var storageEntry = entries.stream().filter(e -> e.m_name.equals("storage")).findFirst().orElseThrow();
+        assertThat(countTree(entries, storageEntry.m_child)).as("entries of the storage").isEqualTo(count);
+
+        try (final var fs = new POIFSFileSystem(new ByteArrayInputStream(out.toByteArray()))) {
+            final var poiStorage = (DirectoryEntry)fs.getRoot().getEntry("storage");
+            assertThat(poiStorage.getEntryCount()).as("entries read by POI").isEqualTo(count);
+        }
+    }
+
+    /**
+     * Checks the red-black tree of siblings rooted at the given entry and returns the number of its entries.
+     */
+    private static int countTree(final List<Node> entries, final int rootId) {
+        if (rootId == NO_STREAM) {
+            return 0;
+        }
+        assertThat(entries.get(rootId).m_red).as("root of the tree is red").isFalse();
+        final var inOrder = new ArrayList<Node>();
+        checkSubtree(entries, rootId, inOrder);
+        for (var i = 1; i < inOrder.size(); i++) {
+            assertThat(compare(inOrder.get(i - 1).m_name, inOrder.get(i).m_name)).as("order of the siblings")
+                .isNegative();
+        }
+        return inOrder.size();
+    }
+
+    /** Checks the colors of the subtree and returns its black height. */
+    private static int checkSubtree(final List<Node> entries, final int id,
+        final List<Node> inOrder) {
+        if (id == NO_STREAM) {
+            return 1;
+        }
+        final var entry = entries.get(id);
+        for (final var childId : new int[]{entry.m_left, entry.m_right}) {
+            if (entry.m_red && childId != NO_STREAM) {
+                assertThat(entries.get(childId).m_red).as("red child of the red entry '%s'", entry.m_name).isFalse();
+            }
+        }
+        final var leftHeight = checkSubtree(entries, entry.m_left, inOrder);
+        inOrder.add(entry);
+        final var rightHeight = checkSubtree(entries, entry.m_right, inOrder);
+        assertThat(leftHeight).as("black heights below '%s'", entry.m_name).isEqualTo(rightHeight);
+        return leftHeight + (entry.m_red ? 0 : 1);
+    }
+
+    /** Compares names by length first and then case-insensitively, see [MS-CFB] 2.6.4. */
+    private static int compare(final String name, final String other) {
+        return name.length() != other.length() ? Integer.compare(name.length(), other.length())
+            : name.toUpperCase(Locale.ROOT).compareTo(other.toUpperCase(Locale.ROOT));
+    }
+
+    private static List<Node> readDirectory(final ByteBuffer file) {
+        // the FAT sectors are listed in the header, the tested files have no DIFAT sectors
+        final Map<Integer, Integer> fat = new HashMap<>();
+        for (var i = 0; i < file.getInt(44); i++) {
+            final var fatSector = file.getInt(76 + i * Integer.BYTES);
+            for (var j = 0; j < SECTOR_SIZE / Integer.BYTES; j++) {
+                fat.put(i * SECTOR_SIZE / Integer.BYTES + j, file.getInt(offset(fatSector) + j * Integer.BYTES));
+            }
+        }
+        final var entries = new ArrayList<Node>();
+        for (int sector = file.getInt(48); sector != END_OF_CHAIN; sector = fat.get(sector)) {
+            for (var i = 0; i < SECTOR_SIZE / 128; i++) {
+                final var start = offset(sector) + i * 128;
+                final var nameLength = Math.max(0, file.getShort(start + 64) - 2);
+                final var name = new byte[nameLength];
+                file.get(start, name);
+                entries.add(new Node(new String(name, StandardCharsets.UTF_16LE),
+                    file.get(start + 67) == 0, file.getInt(start + 68), file.getInt(start + 72),
+                    file.getInt(start + 76)));
+            }
+        }
+        return entries;
+    }
+
+    private static int offset(final int sector) {
+        return (sector + 1) * SECTOR_SIZE;
+    }
+
+    /** A directory entry as read from the file. */
+    private static final class Node {
+
+        private final String m_name;
+
+        private final boolean m_red;
+
+        private final int m_left;
+
+        private final int m_right;
+
+        private final int m_child;
+
+        Node(final String name, final boolean red, final int left, final int right, final int child) {
+            m_name = name;
+            m_red = red;
+            m_left = left;
+            m_right = right;
+            m_child = child;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Tests for {@link SecretKeyCache}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class SecretKeyCacheTest {
+
+    private static final NodeID WORKFLOW = NodeID.ROOTID.createChild(1);
+
+    private static final NodeID OTHER_WORKFLOW = NodeID.ROOTID.createChild(2);
+
+    @AfterEach
+    void clearCache() {
+        SecretKeyCache.clear();
+    }
+
+    @Test
+    void testKeyIsCachedPerFileAndPassword() {
+        final var info = createEncryptionInfo("secret");
+        final var key = info.getEncryptor().getSecretKey();
+        assertThat(SecretKeyCache.get(info, "secret", WORKFLOW)).as("key before caching").isNull();
+
+        SecretKeyCache.put(info, "secret", key, WORKFLOW);
+        assertThat(SecretKeyCache.get(info, "secret", WORKFLOW).getEncoded()).as("cached key")
+            .isEqualTo(key.getEncoded());
+        assertThat(SecretKeyCache.get(info, "other", WORKFLOW)).as("key for other password").isNull();
+        assertThat(SecretKeyCache.get(createEncryptionInfo("secret"), "secret", WORKFLOW)).as("key for other file")
+            .isNull();
+        assertThat(SecretKeyCache.get(info, "secret", OTHER_WORKFLOW)).as("key for other workflow").isNull();
+
+        SecretKeyCache.clear();
+        assertThat(SecretKeyCache.get(info, "secret", WORKFLOW)).as("key after clearing").isNull();
+    }
+
+    @Test
+    void testClosingWorkflowInvalidatesItsKeys() {
+        final var info = createEncryptionInfo("secret");
+        final var key = info.getEncryptor().getSecretKey();
+        SecretKeyCache.put(info, "secret", key, WORKFLOW);
+        SecretKeyCache.put(info, "secret", key, OTHER_WORKFLOW);
+
+        SecretKeyCache.invalidateWorkflow(WORKFLOW);
+        assertThat(SecretKeyCache.get(info, "secret", WORKFLOW)).as("key of the closed workflow").isNull();
+        assertThat(SecretKeyCache.get(info, "secret", OTHER_WORKFLOW)).as("key of the open workflow").isNotNull();
+    }
+
+    @Test
+    void testReturnedKeysAreNotWiped() {
+        final var info = createEncryptionInfo("secret");
+        final var key = info.getEncryptor().getSecretKey();
+        SecretKeyCache.put(info, "secret", key, WORKFLOW);
+        final var cached = SecretKeyCache.get(info, "secret", WORKFLOW);
+
+        SecretKeyCache.clear();
+        assertThat(cached.getEncoded()).as("key returned before its entry was removed").isEqualTo(key.getEncoded());
+    }
+
+    @Test
+    void testKeysOutsideOfWorkflowsAreNotCached() {
+        final var info = createEncryptionInfo("secret");
+        SecretKeyCache.put(info, "secret", info.getEncryptor().getSecretKey());
+        assertThat(SecretKeyCache.get(info, "secret")).as("key without workflow").isNull();
+    }
+
+    private static EncryptionInfo createEncryptionInfo(final String password) {
+        final var info = new EncryptionInfo(EncryptionMode.agile);
+        info.getEncryptor().confirmPassword(password);
+        return info;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.ext.poi3.Fixtures;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelReaderTestHelper;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReader;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Tests that reading a file records its phases as {@link ExcelReadEvent}s.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelReadEventTest {
+
+    @Test
+    void testReadPhasesAreRecorded(@TempDir final Path tempDir) throws IOException {
+        final var file = tempDir.resolve("recorded.xlsx");
+        try (final var in = ExcelReadEventTest.class.getResourceAsStream(Fixtures.XLSX)) {
+            Files.copy(in, file);
+        }
+        final var rows = new long[1];
+        try (final var connection = DefaultFSConnectionFactory.createLocalFSConnection()) {
+            final var path = connection.getFileSystem().getPath(file.toString());
+            final var config = ExcelReaderTestHelper.createReadConfig();
+            final var reader = new ExcelTableReader();
+            final var events = RecordingTestHelper.record(ExcelReadEvent.class, tempDir, () -> {
+                reader.readSpec(path, config, new ExecutionMonitor());
+                try (final var read = reader.read(path, config)) {
+                    while (read.next() != null) {
+                        rows[0]++;
+                    }
+                }
+            }).stream().filter(e -> e.getString("file").endsWith("recorded.xlsx")).toList();
+
+            assertThat(events).as("recorded phases").extracting(e -> e.getString("phase")).contains("Open package",
+                "Load shared strings", "Load styles", "Scan sheets", "Parse sheet", "Consume rows");
+            assertThat(rows[0]).as("read rows").isPositive();
+            assertThat(events).as("consumed rows of the read").filteredOn(e -> isPhase(e, "Consume rows"))
+                .extracting(e -> e.getLong("count")).contains(rows[0]);
+            assertThat(events).as("package bytes").filteredOn(e -> isPhase(e, "Open package"))
+                .extracting(e -> e.getLong("bytes")).containsOnly(Files.size(file));
+        }
+    }
+
+    private static boolean isPhase(final RecordedEvent event, final String phase) {
+        return phase.equals(event.getString("phase"));
+    }
+}
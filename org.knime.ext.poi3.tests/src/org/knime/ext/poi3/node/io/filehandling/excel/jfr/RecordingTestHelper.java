@@ -0,0 +1,107 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test helper that records the flight recorder events of an action.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class RecordingTestHelper {
+
+    /** An action that is recorded. */
+    @FunctionalInterface
+    public interface RecordedAction {
+        /**
+         * Runs the action.
+         *
+         * @throws IOException if the action fails
+         */
+        void run() throws IOException;
+    }
+
+    private RecordingTestHelper() {
+        // utility class
+    }
+
+    /**
+     * Runs the action while the events of the given type are recorded.
+     *
+     * @param eventClass the type of the events to record
+     * @param dir the directory to dump the recording to
+     * @param action the action to run
+     * @return the recorded events of the given type, including those of other threads
+     * @throws IOException if the action fails or the recording cannot be read
+     */
+    public static List<RecordedEvent> record(final Class<? extends Event> eventClass, final Path dir,
+        final RecordedAction action) throws IOException {
+        try (final var recording = new Recording()) {
+            recording.enable(eventClass).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            final var file = dir.resolve("recording.jfr");
+            recording.dump(file);
+            final var eventName = EventType.getEventType(eventClass).getName();
+            return RecordingFile.readAllEvents(file).stream() //
+                .filter(e -> e.getEventType().getName().equals(eventName)) //
+                .toList();
+        }
+    }
+}
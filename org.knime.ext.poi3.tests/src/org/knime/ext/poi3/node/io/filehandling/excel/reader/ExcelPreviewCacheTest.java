@@ -0,0 +1,216 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.defaultnodesettings.SettingsModelAuthentication;
+import org.knime.core.node.defaultnodesettings.SettingsModelAuthentication.AuthenticationType;
+import org.knime.ext.poi3.Fixtures;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.streamed.xlsx.XLSXRead;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.node.table.reader.config.DefaultTableReadConfig;
+import org.knime.filehandling.core.node.table.reader.config.TableReadConfig;
+
+/**
+ * Tests for {@link ExcelPreviewCache}. Each test reads its own copy of a fixture, so the entries of other tests are
+ * never hit.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ExcelPreviewCacheTest {
+
+    private Path m_tempDir;
+
+    private FSConnection m_connection;
+
+    /** How often a file was parsed instead of replayed from the cache. */
+    private int m_parsed;
+
+    @BeforeEach
+    void createConnection(@TempDir final Path tempDir) {
+        m_tempDir = tempDir;
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+    }
+
+    @AfterEach
+    void closeConnection() {
+        m_connection.close();
+    }
+
+    @Test
+    void testSameFileAndSettingsHitTheCache() throws IOException {
+        final var path = copyFixture(Fixtures.XLSX);
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        final var parsedRows = readRows(path, config);
+        final var replayedRows = readRows(path, config);
+        assertThat(m_parsed).as("parsed files").isEqualTo(1);
+        assertThat(replayedRows).as("replayed rows").isEqualTo(parsedRows).isNotEmpty();
+    }
+
+    @Test
+    void testChangedFileMissesTheCache() throws IOException {
+        final var path = copyFixture(Fixtures.XLSX);
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        assertThat(readRows(path, config)).as("rows before the change").contains("column1");
+
+        final var bytes = new ByteArrayOutputStream();
+        try (final var in = Files.newInputStream(path); final var wb = new XSSFWorkbook(in)) {
+            wb.getSheet("knime").getRow(0).getCell(0).setCellValue("changed");
+            wb.write(bytes);
+        }
+        Files.write(path, bytes.toByteArray());
+
+        assertThat(readRows(path, config)).as("rows after the change").contains("changed")
+            .doesNotContain("column1");
+        assertThat(m_parsed).as("parsed files").isEqualTo(2);
+    }
+
+    @Test
+    void testDifferentSettingsMissTheCache() throws IOException {
+        final var path = copyFixture(Fixtures.XLSX);
+        final var rows = readRows(path, createConfig(config -> {
+            config.setSheetSelection(SheetSelection.NAME);
+            config.setSheetName("knime");
+        }));
+        final var otherRows = readRows(path, createConfig(config -> {
+            config.setSheetSelection(SheetSelection.NAME);
+            config.setSheetName("knime2");
+        }));
+        assertThat(m_parsed).as("parsed files").isEqualTo(2);
+        assertThat(rows).as("rows of the first sheet").contains("column1");
+        assertThat(otherRows).as("rows of the second sheet").contains("Sheet2Col").doesNotContain("column1");
+    }
+
+    @Test
+    void testDifferentPasswordMissesTheCache() throws IOException {
+        final var path = copyFixture(Fixtures.XLSX_ENC);
+        assertThat(readRows(path, createConfig(Fixtures.TEST_PW))).as("rows read with the password")
+            .contains("column1");
+        assertThatThrownBy(() -> readRows(path, createConfig("wrong"))).as("read with a wrong password")
+            .hasStackTraceContaining("password is incorrect");
+        assertThat(m_parsed).as("parsed files").isEqualTo(2);
+    }
+
+    @Test
+    void testNothingOfProtectedFilesIsRetained() throws IOException {
+        final var path = copyFixture(Fixtures.XLSX_ENC);
+        final var config = createConfig(Fixtures.TEST_PW);
+        final var rows = readRows(path, config);
+        // the first read is closed, as it is when the dialog is closed, hence nothing of it must be replayed
+        assertThat(readRows(path, config)).as("rows of the second read").isEqualTo(rows);
+        assertThat(m_parsed).as("parsed files").isEqualTo(2);
+    }
+
+    private FSPath copyFixture(final String fixture) throws IOException {
+        final var file = m_tempDir.resolve(Path.of(fixture).getFileName().toString());
+        try (final var in = ExcelPreviewCacheTest.class.getResourceAsStream(fixture)) {
+            Files.copy(in, file);
+        }
+        return m_connection.getFileSystem().getPath(file.toString());
+    }
+
+    private static TableReadConfig<ExcelTableReaderConfig> createConfig(final String password) {
+        return createConfig(config -> {
+            final var authModel =
+                new SettingsModelAuthentication(ExcelTableReaderConfig.CFG_PASSWORD, AuthenticationType.NONE);
+            authModel.setValues(AuthenticationType.PWD, null, "", password);
+            config.setAuthenticationSettingsModel(authModel);
+        });
+    }
+
+    private static TableReadConfig<ExcelTableReaderConfig> createConfig(
+        final Consumer<ExcelTableReaderConfig> configurer) {
+        final var config = ExcelReaderTestHelper.createReaderConfig();
+        configurer.accept(config);
+        return new DefaultTableReadConfig<>(config);
+    }
+
+    /** Reads all rows through the cache, returning the string values of their cells. */
+    private List<String> readRows(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config)
+        throws IOException {
+        final List<String> values = new ArrayList<>();
+        try (final var read = ExcelPreviewCache.open(path, config, null, this::parse)) {
+            for (var row = read.next(); row != null; row = read.next()) {
+                for (var i = 0; i < row.size(); i++) {
+                    final var cell = row.get(i);
+                    if (cell != null) {
+                        values.add(cell.getStringValue());
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private ExcelRead parse(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
+        m_parsed++;
+        return new XLSXRead(path, config, sheetNamesConsumer, new ExcelMetrics());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.ext.poi3.Fixtures;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.node.table.reader.config.DefaultTableReadConfig;
+import org.knime.filehandling.core.node.table.reader.config.TableReadConfig;
+import org.knime.filehandling.core.node.table.reader.spec.TypedReaderTableSpec;
+
+/**
+ * Tests for the spec check and the metrics of {@link ExcelTableReader}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ExcelTableReaderTest {
+
+    private static final TypedReaderTableSpec<KNIMECellType> OTHER_SPEC =
+        TypedReaderTableSpec.create(List.of("other"), List.of(KNIMECellType.STRING), List.of(Boolean.TRUE));
+
+    private FSConnection m_connection;
+
+    private FSPath m_path;
+
+    @BeforeEach
+    void copyFixture(@TempDir final Path tempDir) throws IOException {
+        final var file = tempDir.resolve("test.xlsx");
+        try (final var in = ExcelTableReaderTest.class.getResourceAsStream(Fixtures.XLSX)) {
+            Files.copy(in, file);
+        }
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+        m_path = m_connection.getFileSystem().getPath(file.toString());
+    }
+
+    @AfterEach
+    void closeConnection() {
+        m_connection.close();
+    }
+
+    @Test
+    void testCheckSpecsAcceptsTheGuessedSpec() throws IOException {
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        final var reader = new ExcelTableReader();
+        final var spec = reader.readSpec(m_path, config, new ExecutionMonitor());
+        assertThatCode(() -> reader.checkSpecs(spec, m_path, config, new ExecutionMonitor()))
+            .as("check of the guessed spec").doesNotThrowAnyException();
+    }
+
+    @Test
+    void testCheckSpecsFailsBeforeTheFileIsRead() {
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        final var reader = new ExcelTableReader();
+        // the mismatch must be reported by checkSpecs itself, before any row is handed out by a read
+        assertThatThrownBy(() -> reader.checkSpecs(OTHER_SPEC, m_path, config, new ExecutionMonitor()))
+            .as("check of a different spec").isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void testReadClosedEarlyAfterCheck() throws IOException {
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        final var reader = new ExcelTableReader();
+        final var spec = reader.readSpec(m_path, config, new ExecutionMonitor());
+        reader.checkSpecs(spec, m_path, config, new ExecutionMonitor());
+        try (final var read = reader.read(m_path, config)) {
+            assertThat(read.next()).as("first row").isNotNull();
+        } // closing before the end must neither skip nor fail a check
+        assertThatThrownBy(() -> reader.checkSpecs(OTHER_SPEC, m_path, config, new ExecutionMonitor()))
+            .as("check of a different spec after an early close").isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void testCheckSpecsOfPartialRead() throws IOException {
+        final var config = (DefaultTableReadConfig<ExcelTableReaderConfig>)ExcelReaderTestHelper.createReadConfig();
+        config.setLimitRows(true);
+        config.setMaxRows(1);
+        final var reader = new ExcelTableReader();
+        final var spec = reader.readSpec(m_path, config, new ExecutionMonitor());
+        assertThatCode(() -> reader.checkSpecs(spec, m_path, config, new ExecutionMonitor()))
+            .as("check of the guessed spec of a partial read").doesNotThrowAnyException();
+        assertThatThrownBy(() -> reader.checkSpecs(OTHER_SPEC, m_path, config, new ExecutionMonitor()))
+            .as("check of a different spec of a partial read").isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void testReadsCountIntoTheMetricsOfTheExecution() throws IOException {
+        final var config = ExcelReaderTestHelper.createReadConfig();
+        final var reader = new ExcelTableReader();
+        final var metrics = new ExcelMetrics();
+        reader.setMetrics(metrics);
+        readAll(reader, config);
+        final var parsedRows = metrics.get(Metric.ROWS_PARSED);
+        assertThat(parsedRows).as("rows parsed during the execution").isPositive();
+
+        reader.setMetrics(null);
+        readAll(reader, config);
+        assertThat(metrics.get(Metric.ROWS_PARSED)).as("rows parsed after the execution").isEqualTo(parsedRows);
+    }
+
+    private void readAll(final ExcelTableReader reader,
+        final TableReadConfig<ExcelTableReaderConfig> config) throws IOException {
+        try (final var read = reader.read(m_path, config)) {
+            while (read.next() != null) {
+                // only the counters are of interest
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSPath;
+
+/**
+ * Tests for {@link FileFingerprint}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class FileFingerprintTest {
+
+    private static final FileTime MODIFIED = FileTime.from(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private Path m_file;
+
+    private FSConnection m_connection;
+
+    private FSPath m_path;
+
+    @BeforeEach
+    void createFile(@TempDir final Path tempDir) throws IOException {
+        m_file = Files.writeString(tempDir.resolve("file.xlsx"), "content");
+        Files.setLastModifiedTime(m_file, MODIFIED);
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+        m_path = m_connection.getFileSystem().getPath(m_file.toString());
+    }
+
+    @AfterEach
+    void closeConnection() {
+        m_connection.close();
+    }
+
+    @Test
+    void testUnchangedFile() throws IOException {
+        final var fingerprint = FileFingerprint.of(m_path);
+        assertThat(FileFingerprint.of(m_path)).as("fingerprint of the unchanged file").isEqualTo(fingerprint)
+            .hasSameHashCodeAs(fingerprint);
+    }
+
+    @Test
+    void testChangedContent() throws IOException {
+        final var fingerprint = FileFingerprint.of(m_path);
+        Files.writeString(m_file, "changed content");
+        Files.setLastModifiedTime(m_file, MODIFIED);
+        assertThat(FileFingerprint.of(m_path)).as("fingerprint of a file with another size")
+            .isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void testChangedModificationTime() throws IOException {
+        final var fingerprint = FileFingerprint.of(m_path);
+        Files.setLastModifiedTime(m_file, FileTime.from(MODIFIED.toInstant().plusSeconds(1)));
+        assertThat(FileFingerprint.of(m_path)).as("fingerprint of a file modified later").isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void testOtherFile() throws IOException {
+        final var other = Files.writeString(m_file.resolveSibling("other.xlsx"), "content");
+        Files.setLastModifiedTime(other, MODIFIED);
+        assertThat(FileFingerprint.of(m_connection.getFileSystem().getPath(other.toString())))
+            .as("fingerprint of another file with the same size and modification time")
+            .isNotEqualTo(FileFingerprint.of(m_path));
+    }
+}
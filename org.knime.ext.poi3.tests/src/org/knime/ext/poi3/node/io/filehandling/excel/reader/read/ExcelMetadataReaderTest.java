@@ -0,0 +1,164 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.knime.ext.poi3.Fixtures;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.Format;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.SheetMetadata;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.Visibility;
+
+/**
+ * Tests for {@link ExcelMetadataReader}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelMetadataReaderTest {
+
+    private static ExcelFileMetadata read(final String filePath, final String password) throws IOException {
+        try (final var in = ExcelMetadataReaderTest.class.getResourceAsStream(filePath);
+                final var channel = new SeekableInMemoryByteChannel(in.readAllBytes())) {
+            return ExcelMetadataReader.read(channel, password);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { Fixtures.XLSX, Fixtures.XLS, Fixtures.XLSX_ENC, Fixtures.XLS_ENC })
+    void testReadSheetNames(final String filePath) throws IOException {
+        final var metadata = read(filePath, Fixtures.TEST_PW);
+        assertThat(metadata.getSheetNames()).as("sheet names").isEqualTo(List.of("knime", "knime2"));
+        assertThat(metadata.getSheets()).extracting(SheetMetadata::getVisibility).as("sheet visibility")
+            .containsOnly(Visibility.VISIBLE);
+    }
+
+    @Test
+    void testReadXLSX() throws IOException {
+        final var metadata = read(Fixtures.XLSX, null);
+        assertThat(metadata.getFormat()).as("format").isEqualTo(Format.XLSX);
+        assertThat(metadata.isEncrypted()).as("encrypted").isFalse();
+        assertThat(metadata.getSheets().get(0).getDimension()).as("dimension")
+            .contains(CellRangeAddress.valueOf("A1:A7"));
+    }
+
+    @Test
+    void testOnlySheetRelationshipsAreRead() throws IOException {
+        final var xlsx = new ByteArrayOutputStream();
+        try (final var wb = new XSSFWorkbook()) {
+            wb.createSheet("worksheet");
+            wb.createSheet("dialog sheet");
+            wb.createSheet("macro sheet");
+            wb.write(xlsx);
+        }
+        // POI does not create dialog and macro sheets, hence the types of the relationships are changed
+        final var patched = new ByteArrayOutputStream();
+        try (final var in = new ZipInputStream(new ByteArrayInputStream(xlsx.toByteArray()));
+                final var out = new ZipOutputStream(patched)) {
+            for (var entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                var data = in.readAllBytes();
+                if ("xl/_rels/workbook.xml.rels".equals(entry.getName())) {
+                    final var rels = new String(data, StandardCharsets.UTF_8);
+                    final var changed = rels
+                        .replaceFirst("(Target=\"worksheets/sheet2.xml\" Type=\")[^\"]*\"",
+                            "$1http://schemas.openxmlformats.org/officeDocument/2006/relationships/dialogsheet\"")
+                        .replaceFirst("(Target=\"worksheets/sheet3.xml\" Type=\")[^\"]*\"",
+                            "$1http://schemas.microsoft.com/office/2006/relationships/xlMacrosheet\"");
+                    assertThat(changed).as("relationships").contains("/dialogsheet", "/xlMacrosheet");
+                    data = changed.getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+
+        try (final var channel = new SeekableInMemoryByteChannel(patched.toByteArray())) {
+            assertThat(ExcelMetadataReader.read(channel, null).getSheetNames()).as("sheet names")
+                .isEqualTo(List.of("worksheet", "macro sheet"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { Fixtures.XLSX_ENC, Fixtures.XLS_ENC })
+    void testReadEncrypted(final String filePath) throws IOException {
+        assertThat(read(filePath, Fixtures.TEST_PW).isEncrypted()).as("encrypted").isTrue();
+    }
+
+    @Test
+    void testReadXLS() throws IOException {
+        final var metadata = read(Fixtures.XLS, null);
+        assertThat(metadata.getFormat()).as("format").isEqualTo(Format.XLS);
+        assertThat(metadata.isEncrypted()).as("encrypted").isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { Fixtures.XLSX_ENC, Fixtures.XLS_ENC })
+    void testReadPasswordMissing(final String filePath) {
+        assertThatThrownBy(() -> read(filePath, null)).isInstanceOf(EncryptedDocumentException.class)
+            .hasMessageContaining("The password is missing");
+    }
+}
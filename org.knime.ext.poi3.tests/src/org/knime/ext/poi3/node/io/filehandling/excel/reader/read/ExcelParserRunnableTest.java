@@ -65,6 +65,7 @@
 import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelReaderTestHelper;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
@@ -172,7 +173,7 @@ private abstract static class TestRead extends ExcelRead {
 
         protected TestRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
             final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
-            super(path, config, sheetNamesConsumer);
+            super(path, config, sheetNamesConsumer, new ExcelMetrics());
         }
 
         void throwNow() {
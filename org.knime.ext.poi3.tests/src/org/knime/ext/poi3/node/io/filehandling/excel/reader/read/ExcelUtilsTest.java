@@ -53,15 +53,22 @@
 import java.io.IOException;
 import java.util.List;
 
+import javax.xml.parsers.ParserConfigurationException;
+
 import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.knime.ext.poi3.Fixtures;
+import org.xml.sax.SAXException;
 
 /**
  * Tests for {@link ExcelUtils}.
@@ -98,4 +105,38 @@ void testListSheetNamesOLE2() throws EncryptedDocumentException, IOException {
             assertThat(names).as("sheet names").isEqualTo(List.of("knime", "knime2"));
         }
     }
+
+    @Test
+    void testGetSheetNamesUsesGivenStyles()
+        throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        try (final var in = ExcelUtilsTest.class.getResourceAsStream(Fixtures.XLSX);
+                final var pkg = OPCPackage.open(in)) {
+            final var reader = new CountingXSSFReader(pkg);
+            final var sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            final var expected = ExcelUtils.getSheetNames(XMLHelper.newXMLReader(), reader, sharedStrings);
+            assertThat(reader.m_stylesRequests).as("styles requests without given styles").isEqualTo(1);
+
+            final var styles = reader.getStylesTable();
+            reader.m_stylesRequests = 0;
+            final var names = ExcelUtils.getSheetNames(XMLHelper.newXMLReader(), reader, styles, sharedStrings);
+            assertThat(reader.m_stylesRequests).as("styles requests with given styles").isZero();
+            assertThat(names).as("sheet names").isEqualTo(expected).containsOnlyKeys("knime", "knime2");
+        }
+    }
+
+    /** Counts how often the styles, which it parses anew on every request, are requested. */
+    private static final class CountingXSSFReader extends XSSFReader {
+
+        private int m_stylesRequests;
+
+        CountingXSSFReader(final OPCPackage pkg) throws IOException, OpenXML4JException {
+            super(pkg);
+        }
+
+        @Override
+        public StylesTable getStylesTable() throws IOException, InvalidFormatException {
+            m_stylesRequests++;
+            return super.getStylesTable();
+        }
+    }
 }
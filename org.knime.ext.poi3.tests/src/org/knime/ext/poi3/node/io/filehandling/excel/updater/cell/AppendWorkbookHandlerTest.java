@@ -0,0 +1,146 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.updater.cell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.ext.poi3.node.io.filehandling.excel.updater.cell.ExcelCellUpdaterNodeModel.AppendWorkbookHandler;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.CellUpdateBatch;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.ExcelSheetCellCoordinateWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.XlsxImageWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.AppendingXlsxWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
+
+/**
+ * Tests for {@link AppendWorkbookHandler}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class AppendWorkbookHandlerTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("address", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private static Path createWorkbook(final Path tempPath) throws IOException {
+        final var file = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(file)) {
+            addSharedFormula(wb.createSheet("shared"));
+            wb.createSheet("plain").createRow(0).createCell(0).setCellValue(1);
+            wb.write(out);
+        }
+        return file;
+    }
+
+    /** Adds the values 1 to 3 in A1:A3 and the formula A1*2 in B1, shared by B2 and B3. */
+    private static void addSharedFormula(final XSSFSheet sheet) {
+        for (var i = 0; i < 3; i++) {
+            final var row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i + 1d);
+            final var formula = row.createCell(1).getCTCell().addNewF();
+            formula.setT(STCellFormulaType.SHARED);
+            formula.setSi(0);
+            if (i == 0) {
+                formula.setRef("B1:B3");
+                formula.setStringValue("A1*2");
+            }
+        }
+    }
+
+    @Test
+    void testStreamsSheetsWithoutSharedFormulas(@TempDir final Path tempPath) throws IOException {
+        try (final var handler = new AppendWorkbookHandler(createWorkbook(tempPath), null, true, "plain")) {
+            assertThat(handler.getWorkbook()).as("Workbook updating a sheet without shared formulas")
+                .isInstanceOf(AppendingXlsxWorkbook.class);
+        }
+    }
+
+    @Test
+    void testUpdateFirstCellOfSharedFormula(@TempDir final Path tempPath)
+        throws IOException, InvalidSettingsException, InvalidFormatException {
+        final var result = tempPath.resolve("result.xlsx");
+        try (final var handler = new AppendWorkbookHandler(createWorkbook(tempPath), null, true, "plain", "shared")) {
+            final var wb = handler.getWorkbook();
+            assertThat(wb).as("Workbook updating a sheet with shared formulas")
+                .isNotInstanceOf(AppendingXlsxWorkbook.class);
+            final var batch = new CellUpdateBatch(0, SPEC, wb.getSpreadsheetVersion());
+            batch.add(new DefaultRow("Row0", new StringCell("B1"), new IntCell(10)));
+            batch.sort();
+            new ExcelSheetCellCoordinateWriter(SPEC, new XlsxImageWriter(SPEC),
+                ExcelCellWriterFactory.createFactory(wb, null)).writeCells(wb.getSheet("shared"), batch);
+            handler.saveFile(result);
+        }
+
+        try (final var wb = new XSSFWorkbook(result.toFile())) {
+            final var sheet = wb.getSheet("shared");
+            assertThat(sheet.getRow(0).getCell(1).getNumericCellValue()).as("Updated first cell").isEqualTo(10);
+            assertThat(sheet.getRow(1).getCell(1).getCellFormula()).as("Formula of the second cell")
+                .isEqualTo("A2*2");
+            assertThat(sheet.getRow(2).getCell(1).getCellFormula()).as("Formula of the third cell")
+                .isEqualTo("A3*2");
+        }
+    }
+}
@@ -62,6 +62,8 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.knime.ext.poi3.Fixtures;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.RecordingTestHelper;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.ExcelTableWriterNodeModel.WriteWorkbookHandler;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
 
@@ -117,6 +119,21 @@ void testAppendExistingWorkbook(@TempDir final Path tempPath) throws IOException
         });
     }
 
+    @SuppressWarnings("static-method")
+    @Test
+    void testSaveIsRecorded(@TempDir final Path tempPath) throws IOException {
+        final var file = tempPath.resolve("testWorkbook.xlsx");
+        final var events = RecordingTestHelper.record(ExcelWriteEvent.class, tempPath, () -> {
+            try (final var handler = new WriteWorkbookHandler(ExcelFormat.XLSX, null, false, null);
+                    final var wb = handler.getWorkbook()) {
+                handler.saveFile(file);
+            }
+        });
+        // the workbook may be saved to a temporary file first, whose size equals the size of the written file
+        assertThat(events).as("recorded saves").filteredOn(e -> "Save".equals(e.getString("phase")))
+            .extracting(e -> e.getLong("bytes")).contains(Files.size(file));
+    }
+
     /**
      * Access to the core properties of an XLSX file.
      *
@@ -0,0 +1,113 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+
+/**
+ * Tests for the cell writers created by the {@link ExcelCellWriterFactory}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelCellWriterFactoryTest {
+
+    private static final DataCell[] VALUES = {LocalDateCellFactory.create(LocalDate.of(2024, 2, 29)),
+        LocalDateTimeCellFactory.create(LocalDateTime.of(2024, 2, 29, 12, 30)),
+        LocalTimeCellFactory.create(LocalTime.of(12, 30))};
+
+    /**
+     * Tests that the local date and time writers add their styles to the workbook only once a value is written.
+     *
+     * @throws IOException if a cell cannot be written
+     */
+    @Test
+    void testStylesAreCreatedOnFirstValue() throws IOException {
+        try (final var wb = new XSSFWorkbook()) {
+            final var row = wb.createSheet().createRow(0);
+            final var context = new CellCreationContext();
+            final var initialStyles = wb.getNumCellStyles();
+            final var factory = ExcelCellWriterFactory.createFactory(wb, null);
+            final var writers = new ExcelCellWriter[VALUES.length];
+            for (var i = 0; i < VALUES.length; i++) {
+                writers[i] = factory.createCellWriter(VALUES[i].getType());
+            }
+            assertThat(wb.getNumCellStyles()).as("Styles after creating the writers").isEqualTo(initialStyles);
+
+            for (var i = 0; i < VALUES.length; i++) {
+                writers[i].write(DataType.getMissingCell(), context.at(row, i));
+            }
+            assertThat(wb.getNumCellStyles()).as("Styles after writing missing values").isEqualTo(initialStyles);
+
+            for (var i = 0; i < VALUES.length; i++) {
+                writers[i].write(VALUES[i], context.at(row, i));
+                assertThat(wb.getNumCellStyles()).as("Styles after writing %s", VALUES[i])
+                    .isEqualTo(initialStyles + i + 1);
+                writers[i].write(VALUES[i], context.at(row, i));
+                assertThat(wb.getNumCellStyles()).as("Styles after writing %s again", VALUES[i])
+                    .isEqualTo(initialStyles + i + 1);
+                assertThat(row.getCell(i).getCellStyle().getDataFormatString()).as("Format of %s", VALUES[i])
+                    .isNotEqualTo("General");
+            }
+        }
+    }
+}
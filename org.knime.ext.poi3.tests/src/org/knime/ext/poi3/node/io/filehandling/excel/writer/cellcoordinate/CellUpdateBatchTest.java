@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.junit.jupiter.api.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+
+/**
+ * Tests for {@link CellUpdateBatch}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class CellUpdateBatchTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(
+        new DataColumnSpecCreator("address", StringCell.TYPE).createSpec(),
+        new DataColumnSpecCreator("value", IntCell.TYPE).createSpec());
+
+    private static CellUpdateBatch createBatch(final String... addresses) throws InvalidSettingsException {
+        final var batch = new CellUpdateBatch(0, SPEC, SpreadsheetVersion.EXCEL2007);
+        for (var i = 0; i < addresses.length; i++) {
+            final DataCell value = i % 2 == 0 ? new IntCell(i) : DataType.getMissingCell();
+            batch.add(new DefaultRow("Row" + i, new StringCell(addresses[i]), value));
+        }
+        return batch;
+    }
+
+    @Test
+    void testSortedInRowMajorOrder() throws InvalidSettingsException {
+        final var batch = createBatch("C2", "2: 1", "A2", "D1", "1:3");
+        batch.sort();
+        assertThat(batch.size()).as("Number of updates").isEqualTo(5);
+        final var rows = new int[batch.size()];
+        final var columns = new int[batch.size()];
+        for (var i = 0; i < batch.size(); i++) {
+            rows[i] = batch.getRow(i);
+            columns[i] = batch.getColumn(i);
+        }
+        assertThat(rows).as("Rows").containsExactly(0, 0, 1, 1, 2);
+        assertThat(columns).as("Columns").containsExactly(1, 3, 0, 2, 0);
+        assertThat(batch.getValue(3)).as("Value of C2").isEqualTo(new IntCell(0));
+        assertThat(batch.getWriterIndex(3)).as("Writer of C2").isOne();
+        assertThat(batch.getWriterIndex(0)).as("Writer of a missing value").isZero();
+    }
+
+    @Test
+    void testLastUpdateOfDuplicatesWins() throws InvalidSettingsException {
+        final var batch = createBatch("B2", "A1", "2:2", "b2", "1:1", "C3");
+        batch.sort();
+        assertThat(batch.size()).as("Number of updated cells").isEqualTo(3);
+        assertThat(batch.getRow(0)).as("Row of A1").isZero();
+        assertThat(batch.getValue(0)).as("Last value of A1").isEqualTo(new IntCell(4));
+        assertThat(batch.getRow(1)).as("Row of B2").isOne();
+        assertThat(batch.getColumn(1)).as("Column of B2").isOne();
+        assertThat(batch.getValue(1).isMissing()).as("Last value of B2 is missing").isTrue();
+        assertThat(batch.getWriterIndex(1)).as("Writer of the last value of B2").isZero();
+        assertThat(batch.getColumn(2)).as("Column of C3").isEqualTo(2);
+    }
+
+    @Test
+    void testInvalidAddresses() {
+        assertThatThrownBy(() -> createBatch("1:x")).as("Invalid row").isInstanceOf(InvalidSettingsException.class)
+            .hasMessageContaining("is not an integer");
+        assertThatThrownBy(() -> createBatch("XFE1")).as("Column beyond the limit")
+            .isInstanceOf(InvalidSettingsException.class).hasMessageContaining("exceeds the limits");
+        assertThatThrownBy(() -> createBatch("1:2:3")).as("Three parts")
+            .isInstanceOf(InvalidSettingsException.class).hasMessageContaining("format");
+    }
+
+    @Test
+    void testTrailingColonsAreIgnored() throws InvalidSettingsException {
+        final var ref = CellUpdateBatch.parseCellAddress("3:2:");
+        assertThat(ref.getColumn()).as("Column").isEqualTo(2);
+        assertThat(ref.getRow()).as("Row").isOne();
+    }
+}
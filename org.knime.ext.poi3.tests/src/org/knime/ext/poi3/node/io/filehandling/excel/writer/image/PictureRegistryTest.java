@@ -0,0 +1,90 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PictureRegistry}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PictureRegistryTest {
+
+    /**
+     * Tests that identical pictures are added once per workbook and share the picture index.
+     *
+     * @throws IOException if a workbook cannot be closed
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testAddPicture() throws IOException {
+        final byte[] logo = {(byte)0x89, 'P', 'N', 'G', 1, 2, 3};
+        final byte[] icon = {(byte)0x89, 'P', 'N', 'G', 4, 5, 6, 7};
+        try (final var wb = new XSSFWorkbook(); final var other = new XSSFWorkbook()) {
+            final var registry = new PictureRegistry();
+            final int logoIdx = registry.addPicture(wb, logo);
+            final int iconIdx = registry.addPicture(wb, icon);
+            assertThat(iconIdx).as("Index of a different picture").isNotEqualTo(logoIdx);
+            assertThat(registry.addPicture(wb, logo.clone())).as("Index of a repeated picture").isEqualTo(logoIdx);
+            assertThat(registry.size()).as("Distinct pictures").isEqualTo(2);
+            assertThat(wb.getAllPictures()).as("Pictures in the workbook").hasSize(2);
+
+            final var otherRegistry = new PictureRegistry();
+            otherRegistry.addPicture(other, logo);
+            assertThat(otherRegistry.size()).as("Distinct pictures of another workbook").isOne();
+            assertThat(other.getAllPictures()).as("Pictures in another workbook").hasSize(1);
+        }
+    }
+}
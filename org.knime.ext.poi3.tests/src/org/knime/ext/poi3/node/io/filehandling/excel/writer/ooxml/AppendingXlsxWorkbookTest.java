@@ -0,0 +1,343 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellFormulaType;
+
+/**
+ * Tests for {@link AppendingXlsxWorkbook}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class AppendingXlsxWorkbookTest {
+
+    /**
+     * Tests that sheets are added, replaced and appended to while the untouched sheets and styles are retained.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testAppend(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var existing = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(existing)) {
+            final var style = wb.createCellStyle();
+            style.setFillForegroundColor(IndexedColors.RED.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            final var untouched = wb.createSheet("untouched");
+            final var styled = untouched.createRow(0).createCell(0);
+            styled.setCellValue("shared string");
+            styled.setCellStyle(style);
+            final var appended = wb.createSheet("appended");
+            appended.createRow(0).createCell(0).setCellValue("header");
+            appended.createRow(1).createCell(0).setCellValue(1);
+            wb.createSheet("overwritten").createRow(5).createCell(0).setCellValue("old");
+            wb.write(out);
+        }
+
+        final var result = tempPath.resolve("result.xlsx");
+        try (final var wb = AppendingXlsxWorkbook.open(existing);
+                final var out = new BufferedOutputStream(Files.newOutputStream(result))) {
+            assertThat(wb.containsExistingSheet("APPENDED")).as("Sheet names are case-insensitive").isTrue();
+            assertThat(wb.getExistingLastRowNum("appended")).as("Last row of the existing sheet").isOne();
+            final var appended = wb.createAppendingSheet("appended");
+            appended.createRow(2).createCell(0).setCellValue(2);
+            wb.createOverwritingSheet("overwritten").createRow(0).createCell(0).setCellValue("new");
+            final var style = wb.createCellStyle();
+            style.setFillForegroundColor(IndexedColors.BLUE.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            final var added = wb.createSheet("added").createRow(0).createCell(0);
+            added.setCellValue("added");
+            added.setCellStyle(style);
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(result.toFile())) {
+            assertThat(wb.getNumberOfSheets()).as("Number of sheets").isEqualTo(4);
+            assertThat(wb.getSheetName(3)).as("Name of the added sheet").isEqualTo("added");
+            final var styled = wb.getSheet("untouched").getRow(0).getCell(0);
+            assertThat(styled.getStringCellValue()).as("Value of the untouched sheet").isEqualTo("shared string");
+            assertThat(styled.getCellStyle().getFillForegroundColor()).as("Existing style")
+                .isEqualTo(IndexedColors.RED.getIndex());
+            final var appended = wb.getSheet("appended");
+            assertThat(appended.getLastRowNum()).as("Last row of the appended sheet").isEqualTo(2);
+            assertThat(appended.getRow(1).getCell(0).getNumericCellValue()).as("Existing row").isEqualTo(1);
+            assertThat(appended.getRow(2).getCell(0).getNumericCellValue()).as("Appended row").isEqualTo(2);
+            final var overwritten = wb.getSheet("overwritten");
+            assertThat(overwritten.getLastRowNum()).as("Last row of the overwritten sheet").isZero();
+            assertThat(overwritten.getRow(0).getCell(0).getStringCellValue()).as("Overwritten value")
+                .isEqualTo("new");
+            final var added = wb.getSheet("added").getRow(0).getCell(0);
+            assertThat(added.getStringCellValue()).as("Value of the added sheet").isEqualTo("added");
+            assertThat(added.getCellStyle().getFillForegroundColor()).as("New style")
+                .isEqualTo(IndexedColors.BLUE.getIndex());
+        }
+    }
+
+    /**
+     * Tests that the cells of an updating sheet replace or get inserted into the existing sheet, keeping the existing
+     * styles and cells.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testUpdate(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var existing = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(existing)) {
+            final var style = wb.createCellStyle();
+            style.setFillForegroundColor(IndexedColors.RED.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            final var sheet = wb.createSheet("updated");
+            final var styled = sheet.createRow(0).createCell(0);
+            styled.setCellValue("old");
+            styled.setCellStyle(style);
+            sheet.createRow(1).createCell(1).setCellValue(2);
+            sheet.createRow(3).createCell(0).setCellFormula("B2*2");
+            wb.write(out);
+        }
+
+        final var result = tempPath.resolve("result.xlsx");
+        try (final var wb = AppendingXlsxWorkbook.open(existing);
+                final var out = new BufferedOutputStream(Files.newOutputStream(result))) {
+            final var updated = wb.createUpdatingSheet("updated");
+            final var row = updated.createRow(0);
+            row.createCell(0).setCellValue("new");
+            row.createCell(2).setCellValue(3);
+            updated.createRow(2).createCell(0).setCellValue(4);
+            updated.createRow(4).createCell(0).setCellValue(6);
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(result.toFile())) {
+            assertThat(wb.getNumberOfSheets()).as("Number of sheets").isOne();
+            final var sheet = wb.getSheet("updated");
+            final var replaced = sheet.getRow(0).getCell(0);
+            assertThat(replaced.getStringCellValue()).as("Replaced value").isEqualTo("new");
+            assertThat(replaced.getCellStyle().getFillForegroundColor()).as("Style of the replaced cell")
+                .isEqualTo(IndexedColors.RED.getIndex());
+            assertThat(sheet.getRow(0).getCell(2).getNumericCellValue()).as("Inserted cell").isEqualTo(3);
+            assertThat(sheet.getRow(1).getCell(1).getNumericCellValue()).as("Untouched cell").isEqualTo(2);
+            assertThat(sheet.getRow(2).getCell(0).getNumericCellValue()).as("Inserted row").isEqualTo(4);
+            assertThat(sheet.getRow(3).getCell(0).getCellFormula()).as("Untouched formula").isEqualTo("B2*2");
+            assertThat(sheet.getRow(4).getCell(0).getNumericCellValue()).as("Appended row").isEqualTo(6);
+        }
+    }
+
+    /**
+     * Tests that the dimensions of appended and updated sheets cover the new cells, and that the workbook is
+     * recalculated on load.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testDimensionAndRecalculation(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var existing = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(existing)) {
+            final var appended = wb.createSheet("appended");
+            appended.createRow(0).createCell(0).setCellValue("header");
+            appended.createRow(1).createCell(0).setCellValue(1);
+            final var updated = wb.createSheet("updated");
+            updated.createRow(0).createCell(0).setCellValue(1);
+            updated.createRow(1).createCell(1).setCellFormula("A1*2");
+            wb.write(out);
+        }
+
+        final var result = tempPath.resolve("result.xlsx");
+        try (final var wb = AppendingXlsxWorkbook.open(existing);
+                final var out = new BufferedOutputStream(Files.newOutputStream(result))) {
+            wb.createAppendingSheet("appended").createRow(2).createCell(2).setCellValue(2);
+            wb.createUpdatingSheet("updated").createRow(5).createCell(3).setCellValue(3);
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(result.toFile())) {
+            assertThat(getDimension(wb.getSheet("appended"))).as("Dimension of the appended sheet")
+                .isEqualTo("A1:C3");
+            assertThat(getDimension(wb.getSheet("updated"))).as("Dimension of the updated sheet")
+                .isEqualTo("A1:D6");
+            assertThat(wb.getForceFormulaRecalculation()).as("Full recalculation on load").isTrue();
+        }
+    }
+
+    /**
+     * Tests that the drawings and images of an overwritten sheet are dropped while those of the other sheets are
+     * retained.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testOverwriteDropsOrphanedDrawings(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var existing = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(existing)) {
+            addPicture(wb, wb.createSheet("overwritten"), new byte[]{1, 2, 3});
+            addPicture(wb, wb.createSheet("untouched"), new byte[]{4, 5, 6});
+            wb.write(out);
+        }
+
+        final var result = tempPath.resolve("result.xlsx");
+        try (final var wb = AppendingXlsxWorkbook.open(existing);
+                final var out = new BufferedOutputStream(Files.newOutputStream(result))) {
+            wb.createOverwritingSheet("overwritten").createRow(0).createCell(0).setCellValue("new");
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(result.toFile())) {
+            final var overwritten = wb.getSheet("overwritten");
+            assertThat(overwritten.getRow(0).getCell(0).getStringCellValue()).as("Overwritten value")
+                .isEqualTo("new");
+            assertThat(overwritten.getDrawingPatriarch()).as("Drawing of the overwritten sheet").isNull();
+            final var untouched = wb.getSheet("untouched").getDrawingPatriarch();
+            assertThat(untouched).as("Drawing of the untouched sheet").isNotNull();
+            assertThat(untouched.getShapes()).as("Pictures of the untouched sheet").hasSize(1);
+            assertThat(wb.getPackage().getPartsByContentType(XSSFRelation.DRAWINGS.getContentType()))
+                .as("Drawings in the package").hasSize(1);
+            assertThat(wb.getAllPictures()).as("Images in the package").hasSize(1);
+            assertThat(wb.getAllPictures().get(0).getData()).as("Retained image").containsExactly(4, 5, 6);
+        }
+    }
+
+    /**
+     * Tests that shared and array formulas are detected, and that their cells are not replaced by patching the sheet.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testSharedAndArrayFormulas(@TempDir final Path tempPath) throws IOException {
+        final var existing = tempPath.resolve("existing.xlsx");
+        try (final var wb = new XSSFWorkbook(); final var out = Files.newOutputStream(existing)) {
+            addSharedFormula(wb.createSheet("shared"));
+            final var array = wb.createSheet("array");
+            array.createRow(0).createCell(0).setCellValue(1);
+            array.createRow(1).createCell(0).setCellValue(2);
+            array.setArrayFormula("A1:A2*2", CellRangeAddress.valueOf("B1:B2"));
+            final var plain = wb.createSheet("plain");
+            plain.createRow(0).createCell(0).setCellValue(1);
+            plain.getRow(0).createCell(1).setCellFormula("A1*2");
+            wb.write(out);
+        }
+
+        try (final var wb = AppendingXlsxWorkbook.open(existing)) {
+            assertThat(wb.containsSharedOrArrayFormulas("shared")).as("Shared formula").isTrue();
+            assertThat(wb.containsSharedOrArrayFormulas("array")).as("Array formula").isTrue();
+            assertThat(wb.containsSharedOrArrayFormulas("plain")).as("Plain formula").isFalse();
+            wb.createUpdatingSheet("shared").createRow(0).createCell(1).setCellValue(10);
+            assertThatThrownBy(() -> wb.write(OutputStream.nullOutputStream()))
+                .as("Replacing the first cell of a shared formula").isInstanceOf(IOException.class)
+                .hasMessageContaining("B1");
+            wb.dispose();
+        }
+    }
+
+    /**
+     * Adds the values 1 to 3 in A1:A3 and the formula A1*2 in B1, shared by B2 and B3.
+     *
+     * @param sheet the sheet
+     */
+    private static void addSharedFormula(final XSSFSheet sheet) {
+        for (var i = 0; i < 3; i++) {
+            final var row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i + 1d);
+            final var formula = row.createCell(1).getCTCell().addNewF();
+            formula.setT(STCellFormulaType.SHARED);
+            formula.setSi(0);
+            if (i == 0) {
+                formula.setRef("B1:B3");
+                formula.setStringValue("A1*2");
+            }
+        }
+    }
+
+    private static void addPicture(final XSSFWorkbook wb, final XSSFSheet sheet, final byte[] data) {
+        final var index = wb.addPicture(data, Workbook.PICTURE_TYPE_PNG);
+        final var anchor = wb.getCreationHelper().createClientAnchor();
+        anchor.setCol1(1);
+        anchor.setRow1(1);
+        sheet.createDrawingPatriarch().createPicture(anchor, index);
+    }
+
+    private static String getDimension(final XSSFSheet sheet) {
+        return sheet.getCTWorksheet().getDimension().getRef();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for {@link BlockDeflaterOutputStream} and {@link DeflateUtils}, which compress data spanning several blocks.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class BlockDeflaterOutputStreamTest {
+
+    /** Three and a half blocks, such that blocks get primed with a dictionary and the last block is incomplete. */
+    private static final int SIZE = 7 * BlockDeflaterOutputStream.BLOCK_SIZE / 2;
+
+    /** Rows of a sheet with random numbers, which compress similar to real sheets. */
+    private static byte[] createData() {
+        final var random = new Random(42);
+        final var sb = new StringBuilder(SIZE + 100);
+        for (var row = 1; sb.length() < SIZE; row++) {
+            sb.append("<row r=\"").append(row).append("\"><c r=\"A").append(row).append("\"><v>")
+                .append(random.nextInt(100_000)).append("</v></c><c r=\"B").append(row).append("\" t=\"s\"><v>")
+                .append(random.nextInt(50)).append("</v></c></row>");
+        }
+        sb.setLength(SIZE);
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Deflates the data at once, as {@link java.util.zip.DeflaterOutputStream} does. */
+    private static byte[] deflateSequentially(final byte[] data, final int level) {
+        final var deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            final var out = new ByteArrayOutputStream();
+            final var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] deflated, final int expectedSize) throws DataFormatException {
+        final var inflater = new Inflater(true);
+        try {
+            inflater.setInput(deflated);
+            final var result = new byte[expectedSize + 1];
+            var length = 0;
+            while (!inflater.finished() && length < result.length) {
+                final var n = inflater.inflate(result, length, result.length - length);
+                assertThat(n > 0 || !inflater.needsInput()).as("Inflater makes progress").isTrue();
+                if (n == 0) {
+                    break;
+                }
+                length += n;
+            }
+            assertThat(inflater.finished()).as("End of the deflate stream").isTrue();
+            final var inflated = new byte[length];
+            System.arraycopy(result, 0, inflated, 0, length);
+            return inflated;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** Writes the blocks followed by an empty last segment, which finishes the deflate stream. */
+    private static byte[] deflateInBlocks(final byte[] data, final BlockDeflaterOutputStream stream,
+        final ByteArrayOutputStream out) throws IOException {
+        try (stream) {
+            // writes of odd sizes that straddle the block boundaries
+            for (var offset = 0; offset < data.length; offset += 10_007) {
+                stream.write(data, offset, Math.min(10_007, data.length - offset));
+            }
+        }
+        out.write(DeflateUtils.deflate(new byte[0], true));
+        return out.toByteArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {Deflater.DEFAULT_COMPRESSION, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9})
+    void testReadBack(final int level) throws IOException, DataFormatException {
+        final var data = createData();
+        final var sequential = deflateSequentially(data, level);
+        assertThat(inflate(sequential, data.length)).as("Sequentially deflated data").isEqualTo(data);
+
+        final var out = new ByteArrayOutputStream();
+        final var blocks = deflateInBlocks(data, new BlockDeflaterOutputStream(out, level), out);
+        assertThat(inflate(blocks, data.length)).as("Data deflated in blocks").isEqualTo(data);
+        // the dictionaries keep the blocks almost as small as the sequential output, the sync flushes add some bytes
+        assertThat(blocks.length).as("Size of the data deflated in blocks")
+            .isLessThanOrEqualTo(sequential.length + sequential.length / 50 + 64);
+
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var concurrentOut = new ByteArrayOutputStream();
+            final var concurrent = deflateInBlocks(data,
+                new BlockDeflaterOutputStream(concurrentOut, level, executor::submit, 2), concurrentOut);
+            assertThat(concurrent).as("Data deflated in concurrently compressed blocks").isEqualTo(blocks);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
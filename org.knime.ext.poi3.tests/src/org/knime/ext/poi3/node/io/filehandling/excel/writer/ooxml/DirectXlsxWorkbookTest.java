@@ -0,0 +1,156 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link DirectXlsxWorkbook}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class DirectXlsxWorkbookTest {
+
+    /** More rows than SXSSF keeps in memory, such that most rows are streamed to disk. */
+    private static final int NUM_ROWS = 1_000;
+
+    /**
+     * Tests that the rows streamed to disk end up in a valid file, including sheets without rows.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testWriteReadBack(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var file = tempPath.resolve("test.xlsx");
+        try (final var wb = new DirectXlsxWorkbook(false);
+                final var out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            final var sheet = wb.createSheet("data");
+            for (var i = 0; i < NUM_ROWS; i++) {
+                final var row = sheet.createRow(i);
+                row.createCell(0).setCellValue("row " + i);
+                row.createCell(1).setCellValue(i);
+            }
+            sheet.setColumnWidth(0, 20 * 256);
+            wb.createSheet("empty");
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(file.toFile())) {
+            assertThat(wb.getNumberOfSheets()).as("Number of sheets").isEqualTo(2);
+            final var sheet = wb.getSheet("data");
+            assertThat(sheet.getLastRowNum()).as("Index of the last row").isEqualTo(NUM_ROWS - 1);
+            for (var i = 0; i < NUM_ROWS; i++) {
+                final var row = sheet.getRow(i);
+                assertThat(row.getCell(0).getStringCellValue()).as("String cell of row %d", i).isEqualTo("row " + i);
+                assertThat(row.getCell(1).getNumericCellValue()).as("Numeric cell of row %d", i).isEqualTo(i);
+            }
+            assertThat(sheet.getColumnWidth(0)).as("Column width set after the rows were written")
+                .isEqualTo(20 * 256);
+            assertThat(wb.getSheet("empty").getPhysicalNumberOfRows()).as("Rows of the empty sheet").isZero();
+        }
+    }
+
+    /**
+     * Tests that categorical strings are written to the shared strings table, while distinct strings are written
+     * inline once their column turned out to be of high cardinality.
+     *
+     * @param tempPath temp dir
+     * @throws IOException in case we cannot save or read the file
+     * @throws InvalidFormatException in case the written file has a wrong format
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testWriteSharedStrings(@TempDir final Path tempPath) throws IOException, InvalidFormatException {
+        final var file = tempPath.resolve("shared.xlsx");
+        final var numRows = 5_000;
+        try (final var wb = new DirectXlsxWorkbook(true);
+                final var out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            wb.addSharedString("header");
+            final var sheet = wb.createSheet("data");
+            final var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("header");
+            header.createCell(1).setCellValue("header");
+            for (var i = 1; i <= numRows; i++) {
+                final var row = sheet.createRow(i);
+                row.createCell(0).setCellValue("category " + (i % 3));
+                row.createCell(1).setCellValue(" id " + i + " ");
+            }
+            wb.write(out);
+            wb.dispose();
+        }
+
+        try (final var wb = new XSSFWorkbook(file.toFile())) {
+            final var sheet = wb.getSheet("data");
+            assertThat(sheet.getRow(0).getCell(1).getStringCellValue()).as("Header").isEqualTo("header");
+            for (var i = 1; i <= numRows; i++) {
+                final var row = sheet.getRow(i);
+                assertThat(row.getCell(0).getStringCellValue()).as("Categorical cell of row %d", i)
+                    .isEqualTo("category " + (i % 3));
+                assertThat(row.getCell(1).getStringCellValue()).as("Distinct cell of row %d", i)
+                    .isEqualTo(" id " + i + " ");
+            }
+            assertThat(wb.getSharedStringSource().getUniqueCount()).as("Number of shared strings")
+                .isGreaterThanOrEqualTo(4).isLessThan(numRows);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.knime.ext.poi3.Fixtures;
+import org.knime.filehandling.core.connections.DefaultFSConnectionFactory;
+import org.knime.filehandling.core.connections.FSConnection;
+import org.knime.filehandling.core.connections.FSPath;
+
+/**
+ * Tests for {@link PipedUpload}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PipedUploadTest {
+
+    private FSConnection m_connection;
+
+    private Path m_dir;
+
+    private FSPath m_target;
+
+    private byte[] m_original;
+
+    @BeforeEach
+    void copyFixture(@TempDir final Path tempDir) throws IOException {
+        final var file = tempDir.resolve("test.xlsx");
+        try (final var in = PipedUploadTest.class.getResourceAsStream(Fixtures.XLSX)) {
+            Files.copy(in, file);
+        }
+        m_original = Files.readAllBytes(file);
+        m_dir = tempDir;
+        m_connection = DefaultFSConnectionFactory.createLocalFSConnection();
+        m_target = m_connection.getFileSystem().getPath(file.toString());
+    }
+
+    @AfterEach
+    void closeConnection() {
+        m_connection.close();
+    }
+
+    /**
+     * Tests that the file the data is read from is left untouched if writing fails halfway.
+     *
+     * @throws IOException if the files cannot be accessed
+     */
+    @Test
+    void testAbortKeepsTarget() throws IOException {
+        final var upload = new PipedUpload(m_target);
+        try (final var in = Files.newInputStream(m_target)) {
+            // exceed a chunk, such that data has been uploaded before the failure
+            final var written = Math.max(m_original.length / 2, (1 << 16) + 1);
+            final var out = upload.getOutputStream();
+            out.write(in.readNBytes(written));
+            for (var i = m_original.length; i < written; i++) {
+                out.write(0);
+            }
+        }
+        upload.abort();
+
+        assertThat(Files.readAllBytes(m_target)).as("Content of the target").isEqualTo(m_original);
+        assertThat(listFiles()).as("Files in the directory").containsExactly("test.xlsx");
+    }
+
+    /**
+     * Tests that the target is replaced once the upload is finished.
+     *
+     * @throws IOException if the files cannot be accessed
+     */
+    @Test
+    void testFinishReplacesTarget() throws IOException {
+        final var data = new byte[3 * (1 << 16) + 7];
+        Arrays.fill(data, (byte)42);
+        final var upload = new PipedUpload(m_target);
+        try (final var in = Files.newInputStream(m_target)) {
+            upload.getOutputStream().write(data);
+            assertThat(in.readAllBytes()).as("Content of the target while uploading").isEqualTo(m_original);
+        }
+        upload.finish();
+
+        assertThat(Files.readAllBytes(m_target)).as("Content of the target").isEqualTo(data);
+        assertThat(listFiles()).as("Files in the directory").containsExactly("test.xlsx");
+    }
+
+    private String[] listFiles() throws IOException {
+        try (final var files = Files.list(m_dir)) {
+            return files.map(file -> file.getFileName().toString()).toArray(String[]::new);
+        }
+    }
+}
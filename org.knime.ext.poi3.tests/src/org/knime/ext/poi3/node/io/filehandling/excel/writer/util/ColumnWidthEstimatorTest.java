@@ -0,0 +1,100 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ColumnWidthEstimator}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ColumnWidthEstimatorTest {
+
+    /**
+     * Tests that the estimated widths grow with the displayed text and that only the sampled rows are measured.
+     *
+     * @throws IOException if the workbook cannot be closed
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    void testEstimateWidths() throws IOException {
+        try (final var wb = new XSSFWorkbook()) {
+            final var sheet = wb.createSheet();
+            final var estimator = new ColumnWidthEstimator(wb, 2);
+            final String[][] values = {{"iiii", "1234"}, {"WWWW", "short\nlines"}, {"a much longer value", "x"}};
+            for (var i = 0; i < values.length && estimator.isSampling(); i++) {
+                final var row = sheet.createRow(i);
+                for (var j = 0; j < values[i].length; j++) {
+                    row.createCell(j).setCellValue(values[i][j]);
+                    estimator.measure(j, row.getCell(j));
+                }
+                estimator.endRow();
+            }
+            final var numbers = sheet.createRow(3);
+            numbers.createCell(2).setCellValue(123456.0);
+            estimator.measure(2, numbers.getCell(2));
+            estimator.setColumnWidths(sheet, 4);
+
+            assertThat(estimator.isSampling()).as("Sampling after two rows").isFalse();
+            assertThat(sheet.getColumnWidth(0)).as("Width of wide characters")
+                .isGreaterThan(4 * 256 + 256 / 2).isLessThan(9 * 256);
+            assertThat(sheet.getColumnWidth(1)).as("Width of the longest line").isGreaterThan(4 * 256)
+                .isLessThan(7 * 256);
+            assertThat(sheet.getColumnWidth(2)).as("Width of six digits").isBetween(6 * 256, 7 * 256);
+            assertThat(sheet.getColumnWidth(3)).as("Width of a column without cells")
+                .isEqualTo(sheet.getDefaultColumnWidth() * 256);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ExcelWriterProperties}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("static-method")
+final class ExcelWriterPropertiesTest {
+
+    @Test
+    void testDefaults() {
+        assertThat(ExcelWriterProperties.useDirectXlsxWriter()).as("direct writer").isTrue();
+        assertThat(ExcelWriterProperties.useSharedStrings()).as("shared strings").isFalse();
+        assertThat(ExcelWriterProperties.useApproximateAutoSize()).as("approximate auto-size").isFalse();
+        assertThat(ExcelWriterProperties.getAutoSizeSampleRows()).as("sampled rows").isEqualTo(Long.MAX_VALUE);
+        assertThat(ExcelWriterProperties.getCompressionLevel()).as("compression level")
+            .isEqualTo(Deflater.DEFAULT_COMPRESSION);
+        assertThat(ExcelWriterProperties.useConcurrentSheets()).as("concurrent sheets").isFalse();
+        assertThat(ExcelWriterProperties.useStreamingAppend()).as("streaming append").isFalse();
+        assertThat(ExcelWriterProperties.useStreamingUpdate()).as("streaming update").isTrue();
+    }
+
+    @Test
+    void testInvalidValuesFallBackToTheDefaults() {
+        System.setProperty(ExcelWriterProperties.DIRECT_XLSX_PROPERTY, "yes");
+        System.setProperty(ExcelWriterProperties.AUTOSIZE_MODE_PROPERTY, "fast");
+        System.setProperty(ExcelWriterProperties.COMPRESSION_LEVEL_PROPERTY, "42");
+        try {
+            assertThat(ExcelWriterProperties.useDirectXlsxWriter()).as("direct writer").isTrue();
+            assertThat(ExcelWriterProperties.useApproximateAutoSize()).as("approximate auto-size").isFalse();
+            assertThat(ExcelWriterProperties.getCompressionLevel()).as("compression level")
+                .isEqualTo(Deflater.DEFAULT_COMPRESSION);
+        } finally {
+            System.clearProperty(ExcelWriterProperties.DIRECT_XLSX_PROPERTY);
+            System.clearProperty(ExcelWriterProperties.AUTOSIZE_MODE_PROPERTY);
+            System.clearProperty(ExcelWriterProperties.COMPRESSION_LEVEL_PROPERTY);
+        }
+    }
+
+    @Test
+    void testSwitches() {
+        System.setProperty(ExcelWriterProperties.SHARED_STRINGS_PROPERTY, "TRUE");
+        System.setProperty(ExcelWriterProperties.AUTOSIZE_MODE_PROPERTY, "Approximate");
+        try {
+            assertThat(ExcelWriterProperties.useSharedStrings()).as("shared strings").isTrue();
+            assertThat(ExcelWriterProperties.useApproximateAutoSize()).as("approximate auto-size").isTrue();
+        } finally {
+            System.clearProperty(ExcelWriterProperties.SHARED_STRINGS_PROPERTY);
+            System.clearProperty(ExcelWriterProperties.AUTOSIZE_MODE_PROPERTY);
+        }
+    }
+}
@@ -51,17 +51,24 @@
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
+import javax.crypto.SecretKey;
+
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.hssf.model.InternalWorkbook;
 import org.apache.poi.hssf.record.RecordFactoryInputStream;
 import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
 import org.apache.poi.poifs.filesystem.DirectoryEntry;
 import org.apache.poi.poifs.filesystem.DirectoryNode;
 import org.apache.poi.poifs.filesystem.DocumentInputStream;
@@ -71,6 +78,9 @@
 import org.knime.core.node.defaultnodesettings.SettingsModelAuthentication.AuthenticationType;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.CredentialsProvider;
+import org.knime.ext.poi3.node.io.filehandling.excel.crypt.AgileDecryptingChannel;
+import org.knime.ext.poi3.node.io.filehandling.excel.crypt.ChannelZipEntrySource;
+import org.knime.ext.poi3.node.io.filehandling.excel.crypt.SecretKeyCache;
 
 /**
  * Utility for dealing with password protected Excel files.
@@ -83,6 +93,12 @@ public final class CryptUtil {
 
     private static final String PASSWD_MISSING = "The password is missing";
 
+    /**
+     * System property to disable ({@code false}) decrypting agile encrypted OOXML files on demand, in which case they
+     * are decrypted completely before being read.
+     */
+    private static final String DECRYPT_ON_DEMAND_PROPERTY = "knime.excel.reader.decryptOnDemand";
+
     private CryptUtil() {
         // hidden
     }
@@ -143,7 +159,7 @@ public static void verifyPasswordForOLE2(final POIFSFileSystem fs, final String
         throws EncryptedDocumentException, IOException {
         final var root = fs.getRoot();
         if (isEncryptedOOXML(root)) {
-            verifyPasswordForEncryptedOOXML(root, password);
+            getSecretKeyForEncryptedOOXML(new EncryptionInfo(root), password);
             return;
         }
         // (encrypted) XLS?
@@ -192,6 +208,68 @@ public static Decryptor verifyPasswordForEncryptedOOXML(final DirectoryNode root
         }
     }
 
+    /**
+     * Verifies that the given password can be used to decrypt the workbook contents (incl. using the default password
+     * when no password is passed) and returns the secret key. In contrast to
+     * {@link #verifyPasswordForEncryptedOOXML(DirectoryNode, String)} the keys of agile encrypted files are cached.
+     *
+     * @param info the encryption info of the file
+     * @param password password to decrypt with
+     * @return the secret key to decrypt the content with
+     *
+     * @throws EncryptedDocumentException if the password is incorrect or missing
+     * @throws IOException if password verification throws an error
+     * @see #verifyPassword(EncryptionInfo, String)
+     */
+    public static SecretKey getSecretKeyForEncryptedOOXML(final EncryptionInfo info, final String password)
+            throws EncryptedDocumentException, IOException {
+        if (password != null) {
+            final var key = verifyPassword(info, password);
+            if (key == null) {
+                throw new EncryptedDocumentException(PASSWD_INCORRECT);
+            }
+            return key;
+        }
+        // password is null, so check with the default password
+        final var key = verifyPassword(info, Decryptor.DEFAULT_PASSWORD);
+        if (key == null) {
+            throw new EncryptedDocumentException(PASSWD_MISSING);
+        }
+        return key;
+    }
+
+    /**
+     * Verifies the password of an encrypted OOXML file. The secret keys of agile encrypted files are kept in the
+     * {@link SecretKeyCache}, such that verifying the password for the same file again, e.g. when reading the spec and
+     * then the data, does not repeat the expensive key derivation.
+     *
+     * @param info the encryption info of the file
+     * @param password the password to verify
+     * @return the secret key to decrypt the content with, or {@code null} if the password is incorrect
+     * @throws IOException if password verification throws an error
+     */
+    public static SecretKey verifyPassword(final EncryptionInfo info, final String password) throws IOException {
+        final var agile = info.getEncryptionMode() == EncryptionMode.agile;
+        if (agile) {
+            final var cached = SecretKeyCache.get(info, password);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final var decryptor = Decryptor.getInstance(info);
+        try {
+            if (!decryptor.verifyPassword(password)) {
+                return null;
+            }
+        } catch (final GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+        if (agile) {
+            SecretKeyCache.put(info, password, decryptor.getSecretKey());
+        }
+        return decryptor.getSecretKey();
+    }
+
     /**
      * Find the workbook document in the given directory node (should be the root of the POIFS).
      *
@@ -242,6 +320,11 @@ public static InputStream getDecryptedStream(final DirectoryNode root, final Str
         if (!isEncryptedOOXML(root)) {
             return null;
         }
+        final var info = new EncryptionInfo(root);
+        if (canDecryptOnDemand(info)) {
+            final var key = getSecretKeyForEncryptedOOXML(info, password);
+            return Channels.newInputStream(AgileDecryptingChannel.open(root, info, key));
+        }
         final var decryptor = verifyPasswordForEncryptedOOXML(root, password);
         try {
             return decryptor.getDataStream(root);
@@ -250,6 +333,41 @@ public static InputStream getDecryptedStream(final DirectoryNode root, final Str
         }
     }
 
+    /**
+     * Checks whether the package of the encrypted OOXML file can be decrypted on demand, i.e. via
+     * {@link #openDecryptedPackage(Path, EncryptionInfo, SecretKey)}, which is the case for agile encryption.
+     *
+     * @param info the encryption info of the file
+     * @return {@code true} if the package can be decrypted on demand
+     */
+    public static boolean canDecryptOnDemand(final EncryptionInfo info) {
+        return info.getEncryptionMode() == EncryptionMode.agile
+            && Boolean.parseBoolean(System.getProperty(DECRYPT_ON_DEMAND_PROPERTY, "true"));
+    }
+
+    /**
+     * Opens the package of an agile encrypted OOXML file read-only. The package is decrypted on demand while it is
+     * read, i.e. only the parts that are actually read are decrypted.
+     *
+     * @param file the encrypted file
+     * @param info the encryption info of the file, see {@link #canDecryptOnDemand(EncryptionInfo)}
+     * @param key the secret key of the file, see {@link #verifyPassword(EncryptionInfo, String)}
+     * @return the package
+     * @throws IOException if the file could not be read
+     * @throws InvalidFormatException if the decrypted package is invalid
+     */
+    @SuppressWarnings("resource") // the channel is closed with the package
+    public static OPCPackage openDecryptedPackage(final Path file, final EncryptionInfo info, final SecretKey key)
+        throws IOException, InvalidFormatException {
+        final var channel = AgileDecryptingChannel.open(file, info, key);
+        try {
+            return OPCPackage.open(new ChannelZipEntrySource(channel));
+        } catch (final IOException | InvalidFormatException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
     /**
      * Gets the password used for encryption/decryption of Excel files based on the given authentication settings model
      * and credential provider.
@@ -0,0 +1,212 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Counters of a single execution of an Excel node, e.g. the bytes copied to temporary files or the time the parser
+ * waited for its rows to be consumed. The counters are thread-safe, but meant to be updated once per read, sheet or
+ * save instead of once per row.
+ *
+ * <p>
+ * The counters are always summarized in the debug log of the node. If the system property
+ * {@value #FLOW_VARIABLES_PROPERTY} is {@code true}, they are also pushed as flow variables, see
+ * {@link #getFlowVariables(Scope)}. The node passes its counters to each read or writer of an execution.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ExcelMetrics {
+
+    /** System property to enable ({@code true}) pushing the counters of an execution as flow variables. */
+    private static final String FLOW_VARIABLES_PROPERTY = "knime.excel.metrics.flowVariables";
+
+    private static final String FLOW_VARIABLE_PREFIX = "excel_";
+
+    /** Whether a counter is collected when reading or writing. */
+    public enum Scope {
+            /** Counters of the Excel Reader. */
+            READ,
+            /** Counters of the Excel Writer and the Excel Cell Updater. */
+            WRITE;
+    }
+
+    private enum Unit {
+            BYTES, NANOS, COUNT;
+    }
+
+    /** The counters. */
+    public enum Metric {
+            /** Bytes downloaded, copied or decrypted to local temporary files before parsing. */
+            COPIED_BYTES("copied_bytes", Scope.READ, Unit.BYTES),
+            /** Compressed size of the parsed sheets, 0 for xls files. */
+            SHEET_COMPRESSED_BYTES("sheet_compressed_bytes", Scope.READ, Unit.BYTES),
+            /** Inflated bytes of the sheets that were parsed, 0 for xls files. */
+            SHEET_INFLATED_BYTES("sheet_inflated_bytes", Scope.READ, Unit.BYTES),
+            /** Unique entries of the shared strings tables, 0 for xls files. */
+            SHARED_STRINGS("shared_strings", Scope.READ, Unit.COUNT),
+            /** Rows handed over by the parsers, including the skipped ones. */
+            ROWS_PARSED("rows_parsed", Scope.READ, Unit.COUNT),
+            /** Hidden rows that were parsed but skipped. */
+            ROWS_SKIPPED("rows_skipped", Scope.READ, Unit.COUNT),
+            /** Non-empty cells handed over by the parsers, including the ones of skipped rows. */
+            CELLS_PARSED("cells_parsed", Scope.READ, Unit.COUNT),
+            /** Non-empty cells of the skipped rows. */
+            CELLS_SKIPPED("cells_skipped", Scope.READ, Unit.COUNT),
+            /** Time the parsers waited for their rows to be consumed. */
+            PARSER_BLOCKED("parser_blocked_ms", Scope.READ, Unit.NANOS),
+            /** Time the consumers waited for the parsers. */
+            CONSUMER_BLOCKED("consumer_blocked_ms", Scope.READ, Unit.NANOS),
+            /** Rows of the input tables that were written. */
+            ROWS_WRITTEN("rows_written", Scope.WRITE, Unit.COUNT),
+            /** Cells of the input tables that were written, including missing cells. */
+            CELLS_WRITTEN("cells_written", Scope.WRITE, Unit.COUNT),
+            /** Bytes of temporary files the workbook was saved to before it was moved or copied to the target. */
+            TEMP_FILE_BYTES("temp_file_bytes", Scope.WRITE, Unit.BYTES),
+            /** Bytes of the saved workbook. */
+            SAVED_BYTES("saved_bytes", Scope.WRITE, Unit.BYTES),
+            /** Time spent saving the workbook, including moving or copying it to the target. */
+            SAVE_TIME("save_ms", Scope.WRITE, Unit.NANOS);
+
+        private final String m_name;
+
+        private final Scope m_scope;
+
+        private final Unit m_unit;
+
+        Metric(final String name, final Scope scope, final Unit unit) {
+            m_name = name;
+            m_scope = scope;
+            m_unit = unit;
+        }
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+
+    private final AtomicLongArray m_values = new AtomicLongArray(METRICS.length);
+
+    /**
+     * @return {@code true} if the counters of an execution should be pushed as flow variables
+     */
+    public static boolean isFlowVariableOutputEnabled() {
+        return Boolean.getBoolean(FLOW_VARIABLES_PROPERTY);
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param metric the counter
+     * @param value the value to add, nanoseconds for times
+     */
+    public void add(final Metric metric, final long value) {
+        if (value != 0) {
+            m_values.addAndGet(metric.ordinal(), value);
+        }
+    }
+
+    /**
+     * @param metric the counter
+     * @return the value of the counter, nanoseconds for times
+     */
+    public long get(final Metric metric) {
+        return m_values.get(metric.ordinal());
+    }
+
+    /**
+     * Returns the counters of a scope as flow variables, named {@code excel_<counter>}. Times are converted to
+     * milliseconds.
+     *
+     * @param scope the scope of the counters
+     * @return the values by flow variable name, in a fixed order
+     */
+    public Map<String, Long> getFlowVariables(final Scope scope) {
+        final Map<String, Long> variables = new LinkedHashMap<>();
+        for (final var metric : METRICS) {
+            if (metric.m_scope == scope) {
+                final var value = get(metric);
+                variables.put(FLOW_VARIABLE_PREFIX + metric.m_name,
+                    metric.m_unit == Unit.NANOS ? TimeUnit.NANOSECONDS.toMillis(value) : value);
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Summarizes the counters of a scope in a single line, e.g. for the debug log.
+     *
+     * @param scope the scope of the counters
+     * @return the summary
+     */
+    public String summarize(final Scope scope) {
+        final var sb = new StringBuilder();
+        for (final var metric : METRICS) {
+            if (metric.m_scope != scope) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            final var value = get(metric);
+            sb.append(metric.name().toLowerCase(Locale.ROOT).replace('_', ' ')).append(": ");
+            sb.append(switch (metric.m_unit) {
+                case BYTES -> FileUtils.byteCountToDisplaySize(value);
+                case NANOS -> TimeUnit.NANOSECONDS.toMillis(value) + " ms";
+                case COUNT -> Long.toString(value);
+            });
+        }
+        return sb.toString();
+    }
+}
@@ -50,15 +50,32 @@
 package org.knime.ext.poi3.node.io.filehandling.excel;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.poi.ss.usermodel.Workbook;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.streamable.RowInput;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.DirectXlsxWorkbook;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.WorkbookHandler;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetUtils;
 import org.knime.filehandling.core.connections.FSPath;
 
 /**
@@ -67,6 +84,9 @@
  *
  * Finally, the workbook is saved to disk.
  *
+ * The tables of a new xlsx file can be written concurrently to their sheets, see
+ * {@link ExcelWriterProperties#useConcurrentSheets()}.
+ *
  * @author Mark Ortmann, KNIME GmbH, Berlin, Germany
  * @author Moditha Hewasinghage,, KNIME GmbH, Berlin, Germany
  * @author Jannik Löscher, KNIME GmbH, Konstanz, Germany
@@ -74,6 +94,9 @@
  */
 public class ExcelMultiRowInputWriter {
 
+    /** How often the node thread checks for cancellation while the tables are written concurrently. */
+    private static final long CANCEL_CHECK_INTERVAL_MS = 500;
+
     private final ExcelTableConfig m_cfg;
 
     /**
@@ -128,20 +151,26 @@ public void writeTables(final FSPath outPath, final RowInput[] tables, final int
             ExcelCellWriterFactory.createFactory(wb, m_cfg.getMissingValPattern().orElse(null));
 
         final String[] sheetNames = m_cfg.getSheetNames();
-        for (var i = 0; i < tables.length; i++) {
-            exec.checkCanceled();
-            final var rowInput = tables[i];
-            final var writer = wbHandler.createTableWriter(m_cfg, cellWriterFactory);
-            if (coordinateColumnIndices != null) {
-                writer.writeCellsFromCoordinates(wb, sheetNames[i], rowInput, coordinateColumnIndices[i], m);
-            } else {
-                writer.writeTable(wb, sheetNames[i], rowInput, m);
+        if (coordinateColumnIndices == null && canWriteConcurrently(wb, tables)) {
+            writeTablesConcurrently(wb, sheetNames, tables, wbHandler, cellWriterFactory, exec, m);
+        } else {
+            for (var i = 0; i < tables.length; i++) {
+                exec.checkCanceled();
+                final var rowInput = tables[i];
+                final var writer = wbHandler.createTableWriter(m_cfg, cellWriterFactory);
+                if (coordinateColumnIndices != null) {
+                    writer.writeCellsFromCoordinates(wb, sheetNames[i], rowInput, coordinateColumnIndices[i], m);
+                } else {
+                    writer.writeTable(wb, sheetNames[i], rowInput, m);
+                }
             }
         }
         if (m_cfg.evaluate()) {
             final var formulaCtx = exec.createSubExecutionContext(0.05);
             formulaCtx.setMessage("Evaluating formulas");
+            final var event = ExcelWriteEvent.start(Phase.EVALUATE_FORMULAS);
             creationHelper.createFormulaEvaluator().evaluateAll();
+            event.complete(outPath, 0, 0);
             formulaCtx.setProgress(1);
         }
 
@@ -150,4 +179,161 @@ public void writeTables(final FSPath outPath, final RowInput[] tables, final int
         exec.setProgress(1);
     }
 
+    /**
+     * The tables can be written concurrently if they are written to new sheets of a new workbook whose sheets are
+     * streamed independently of each other. Exactly auto-sizing columns is excluded, since POI measures the cells with
+     * shared, non thread-safe helpers.
+     */
+    private boolean canWriteConcurrently(final Workbook wb, final RowInput[] tables) {
+        return tables.length > 1 && wb instanceof DirectXlsxWorkbook
+            && (!m_cfg.useAutoSize() || ExcelWriterProperties.useApproximateAutoSize())
+            && ExcelWriterProperties.useConcurrentSheets();
+    }
+
+    /**
+     * Writes each table on its own thread of the {@link Lane#WRITE} lane, such that the sheets are serialized and
+     * compressed concurrently. Afterwards, the sheets are brought into the same order as if they had been written one
+     * after another.
+     */
+    private void writeTablesConcurrently(final Workbook wb, final String[] sheetNames, final RowInput[] tables,
+        final WorkbookHandler wbHandler, final ExcelCellWriterFactory cellWriterFactory, final ExecutionContext exec,
+        final ExcelProgressMonitor m)
+        throws IOException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        final var abort = new AtomicBoolean();
+        final List<Future<Void>> futures = new ArrayList<>(tables.length);
+        var completed = false;
+        try {
+            for (var i = 0; i < tables.length; i++) {
+                final var sheetName = sheetNames[i];
+                final var rowInput = new AbortableRowInput(tables[i], abort);
+                final var writer = wbHandler.createTableWriter(m_cfg, cellWriterFactory);
+                futures.add(ExcelTaskScheduler.submit(Lane.WRITE, () -> {
+                    writer.writeTable(wb, sheetName, rowInput, m);
+                    return null;
+                }));
+            }
+            for (final var future : futures) {
+                waitFor(future, exec);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                // the other writers stop at their next row, they must be done before the workbook gets closed
+                abort.set(true);
+                awaitTermination(futures);
+            }
+        }
+        restoreSheetOrder(wb, sheetNames);
+    }
+
+    private static void waitFor(final Future<Void> future, final ExecutionContext exec)
+        throws IOException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        while (true) {
+            try {
+                future.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) { // NOSONAR just check whether we got canceled
+                exec.checkCanceled();
+            } catch (ExecutionException e) {
+                final var cause = e.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                } else if (cause instanceof InvalidSettingsException ise) {
+                    throw ise;
+                } else if (cause instanceof CanceledExecutionException cee) {
+                    throw cee;
+                } else if (cause instanceof InterruptedException ie) {
+                    throw ie;
+                } else if (cause instanceof RuntimeException rex) {
+                    throw rex;
+                } else if (cause instanceof Error err) {
+                    throw err;
+                }
+                throw new IOException(cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private static void awaitTermination(final List<Future<Void>> futures) {
+        var interrupted = false;
+        for (final var future : futures) {
+            while (!future.isDone()) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) { // NOSONAR interrupt flag is restored below
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) { // NOSONAR only the first failure is reported
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Moves the sheets of the tables, including the additional sheets of tables exceeding the row limit of a sheet,
+     * into the order of the tables.
+     */
+    private static void restoreSheetOrder(final Workbook wb, final String[] sheetNames) {
+        var position = 0;
+        var moved = false;
+        for (final var sheetName : sheetNames) {
+            var name = sheetName;
+            for (long idx = 1; name != null && wb.getSheetIndex(name) >= 0; idx++) {
+                if (wb.getSheetIndex(name) != position) {
+                    wb.setSheetOrder(name, position);
+                    moved = true;
+                }
+                position++;
+                name = getAdditionalSheetName(sheetName, idx);
+            }
+        }
+        if (moved) {
+            // the sheet that was created first is the active one, as with tables written one after another
+            wb.setActiveSheet(0);
+        }
+    }
+
+    private static String getAdditionalSheetName(final String sheetName, final long idx) {
+        try {
+            return SheetUtils.createUniqueSheetName(sheetName, idx);
+        } catch (InvalidSettingsException e) { // NOSONAR the writer could not have created a sheet with that name
+            return null;
+        }
+    }
+
+    /**
+     * {@link RowInput} that stops providing rows once one of the concurrently written tables failed.
+     */
+    private static final class AbortableRowInput extends RowInput {
+
+        private final RowInput m_input;
+
+        private final AtomicBoolean m_abort;
+
+        AbortableRowInput(final RowInput input, final AtomicBoolean abort) {
+            m_input = input;
+            m_abort = abort;
+        }
+
+        @Override
+        public DataTableSpec getDataTableSpec() {
+            return m_input.getDataTableSpec();
+        }
+
+        @Override
+        public DataRow poll() throws InterruptedException {
+            if (m_abort.get()) {
+                throw new InterruptedException("Writing the table was aborted.");
+            }
+            return m_input.poll();
+        }
+
+        @Override
+        public void close() {
+            m_input.close();
+        }
+    }
+
 }
@@ -0,0 +1,587 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.ThreadUtils;
+
+/**
+ * JVM-wide scheduler for the background tasks of the Excel nodes, e.g. downloading remote files to a local temporary
+ * copy or running the parser that feeds an {@code ExcelRead}.
+ *
+ * <p>
+ * Tasks are assigned to a {@link Lane}. Every lane has its own pool of threads and runs at most a configurable number
+ * of tasks concurrently (see {@link Lane#getSystemProperty()}). Tasks that cannot be started right away are queued and
+ * started in a round-robin fashion, first across workflows and then across the nodes of a workflow, such that a single
+ * node (e.g. inside a parallel loop) cannot starve the other nodes of the JVM.
+ * </p>
+ *
+ * <p>
+ * On Java 21 and later, the I/O and parse lanes run their tasks on virtual threads, such that tasks waiting on remote
+ * I/O or for their rows to be consumed share a small pool of carrier threads. Only the I/O lane allows more concurrent
+ * tasks on virtual threads, the limit of the parse lane depends on the number of cores in both cases (see
+ * {@link Lane#PARSE}). Canceling a task interrupts its (virtual or platform) thread in both cases.
+ * </p>
+ *
+ * <p>
+ * Note that tasks of the {@link Lane#PARSE} lane are usually long-running, since parsers block until their rows are
+ * consumed. A caller must therefore never wait for a queued parse task while it keeps another parse task of its own
+ * from completing.
+ * </p>
+ *
+ * <p>
+ * A task submitted from a task of the same lane is run right away on the thread of the submitting task, which already
+ * holds a slot of that lane. Otherwise, tasks waiting for tasks of their own lane could occupy all slots and wait for
+ * each other forever, e.g. a spec check on the I/O lane that downloads its remote file.
+ * </p>
+ *
+ * <p>
+ * The fairness only applies to queued tasks: a started task is never preempted and keeps its slot until it completes.
+ * Hence, a workflow that starts as many long-running tasks as a lane has slots, e.g. many concurrent reads of large
+ * files, holds all of them until its first task completes. A freed slot is then given to the queued tasks of the
+ * workflow with the fewest running tasks, such that the other workflows get their slots before its further tasks.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ExcelTaskScheduler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelTaskScheduler.class);
+
+    /** Tasks waiting longer than this for a free slot are reported in the debug log. */
+    private static final long WAIT_LOG_THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * System property to disable ({@code false}) the use of virtual threads for the lanes that support them. Virtual
+     * threads are used by default if the Java runtime supports them (Java 21 and later).
+     */
+    private static final String VIRTUAL_THREADS_PROPERTY = "knime.excel.scheduler.virtualThreads";
+
+    /** Key used for tasks that are not submitted from within a node, e.g. dialogs. */
+    private static final Object NO_CONTEXT_KEY = new Object();
+
+    /** The lane whose task the current thread is running, if any. */
+    private static final ThreadLocal<FairLane> CURRENT_LANE = new ThreadLocal<>();
+
+    /**
+     * The lanes of the scheduler, each with its own thread pool and concurrency limit.
+     */
+    public enum Lane {
+            /** I/O-bound tasks like copying remote files to a local temporary file. */
+            IO("KNIME-Excel-IO-", "knime.excel.scheduler.io.threads",
+                Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 256),
+            /**
+             * CPU-bound, long-running tasks like the parsers producing the rows of a read. The limit depends on the
+             * number of cores only, also when running on virtual threads, since every running parser keeps a part of
+             * the sheet in memory. A parser blocked until its rows are consumed keeps its slot, hence reads beyond
+             * the limit are queued even on virtual threads, unless the limit is raised via the system property.
+             */
+            PARSE("KNIME-Excel-Parser-", "knime.excel.scheduler.parse.threads",
+                Math.max(2, 2 * Runtime.getRuntime().availableProcessors()),
+                Math.max(2, 2 * Runtime.getRuntime().availableProcessors())),
+            /** CPU-bound tasks serializing the sheets of a workbook that is written. */
+            WRITE("KNIME-Excel-Writer-", "knime.excel.scheduler.write.threads",
+                Runtime.getRuntime().availableProcessors(), -1),
+            /**
+             * Short, CPU-bound leaf tasks like compressing a block of data. Tasks of this lane must never wait for
+             * other tasks, such that tasks of the other lanes can safely wait for them.
+             */
+            COMPUTE("KNIME-Excel-Compute-", "knime.excel.scheduler.compute.threads",
+                Runtime.getRuntime().availableProcessors(), -1);
+
+        private final String m_threadNamePrefix;
+
+        private final String m_systemProperty;
+
+        private final int m_defaultConcurrency;
+
+        private final int m_defaultVirtualConcurrency;
+
+        /**
+         * @param defaultVirtualConcurrency the default limit when running on virtual threads or {@code -1} if the lane
+         *            must always run on platform threads
+         */
+        Lane(final String threadNamePrefix, final String systemProperty, final int defaultConcurrency,
+            final int defaultVirtualConcurrency) {
+            m_threadNamePrefix = threadNamePrefix;
+            m_systemProperty = systemProperty;
+            m_defaultConcurrency = defaultConcurrency;
+            m_defaultVirtualConcurrency = defaultVirtualConcurrency;
+        }
+
+        /**
+         * @return the name of the system property that overrides the number of concurrently running tasks
+         */
+        public String getSystemProperty() {
+            return m_systemProperty;
+        }
+
+        boolean supportsVirtualThreads() {
+            return m_defaultVirtualConcurrency > 0;
+        }
+
+        int getConcurrency(final boolean virtual) {
+            final var defaultConcurrency = virtual ? m_defaultVirtualConcurrency : m_defaultConcurrency;
+            final var configured = Integer.getInteger(m_systemProperty, defaultConcurrency);
+            if (configured < 1) {
+                LOGGER.warnWithFormat("Ignoring invalid value %d of system property \"%s\", using %d instead.",
+                    configured, m_systemProperty, defaultConcurrency);
+                return defaultConcurrency;
+            }
+            return configured;
+        }
+    }
+
+    private static final Map<Lane, FairLane> LANES = new EnumMap<>(Lane.class);
+
+    static {
+        for (final var lane : Lane.values()) {
+            LANES.put(lane, new FairLane(lane));
+        }
+    }
+
+    private ExcelTaskScheduler() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * Submits a task to the given lane. The {@link NodeContext} of the calling thread is made available to the task.
+     *
+     * @param <T> the result type of the task
+     * @param lane the lane to run the task on
+     * @param task the task
+     * @return a future representing the pending result, canceling it removes the task from the queue or interrupts it
+     */
+    public static <T> Future<T> submit(final Lane lane, final Callable<T> task) {
+        return LANES.get(lane).submit(ThreadUtils.callableWithContext(task));
+    }
+
+    /**
+     * Submits a task to the given lane. The {@link NodeContext} of the calling thread is made available to the task.
+     *
+     * @param lane the lane to run the task on
+     * @param task the task
+     * @return a future representing the pending completion of the task
+     */
+    public static Future<?> submit(final Lane lane, final Runnable task) { // NOSONAR consistent with ExecutorService
+        return LANES.get(lane).submit(Executors.callable(ThreadUtils.runnableWithContext(task)));
+    }
+
+    /**
+     * @param lane the lane to get the statistics for
+     * @return a snapshot of the current statistics of the lane
+     */
+    public static LaneStatistics getStatistics(final Lane lane) {
+        return LANES.get(lane).getStatistics();
+    }
+
+    /**
+     * Creates a factory for virtual threads if enabled and supported by the Java runtime. The Java 21 API is accessed
+     * reflectively since this bundle is still compiled against Java 17.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return the factory, or empty if platform threads are to be used
+     */
+    private static Optional<ThreadFactory> createVirtualThreadFactory(final String namePrefix) {
+        if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+            return Optional.empty();
+        }
+        try {
+            final var builderClass = Class.forName("java.lang.Thread$Builder");
+            final var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final var namedBuilder =
+                builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return Optional.of((ThreadFactory)builderClass.getMethod("factory").invoke(namedBuilder));
+        } catch (ReflectiveOperationException | ClassCastException e) { // NOSONAR expected on Java 17
+            LOGGER.debug("Virtual threads are not available, using platform threads for Excel tasks.");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Determines the key identifying the workflow (project) and node the calling thread works for.
+     *
+     * @return array of workflow key and node key
+     */
+    private static Object[] getFairnessKeys() {
+        return NodeContextUtil.getNodeID() //
+            .map(nodeId -> new Object[]{NodeContextUtil.getProjectID(nodeId), nodeId}) //
+            .orElseGet(() -> new Object[]{NO_CONTEXT_KEY, NO_CONTEXT_KEY});
+    }
+
+    /**
+     * Snapshot of the statistics of a {@link Lane}.
+     */
+    public static final class LaneStatistics {
+
+        private final Lane m_lane;
+
+        private final boolean m_virtual;
+
+        private final int m_maxConcurrency;
+
+        private final int m_activeCount;
+
+        private final int m_queueLength;
+
+        private final long m_startedCount;
+
+        private final long m_totalWaitNanos;
+
+        private final long m_maxWaitNanos;
+
+        LaneStatistics(final Lane lane, final boolean virtual, final int maxConcurrency, final int activeCount,
+            final int queueLength, final long startedCount, final long totalWaitNanos, final long maxWaitNanos) {
+            m_lane = lane;
+            m_virtual = virtual;
+            m_maxConcurrency = maxConcurrency;
+            m_activeCount = activeCount;
+            m_queueLength = queueLength;
+            m_startedCount = startedCount;
+            m_totalWaitNanos = totalWaitNanos;
+            m_maxWaitNanos = maxWaitNanos;
+        }
+
+        /**
+         * @return the lane the statistics belong to
+         */
+        public Lane getLane() {
+            return m_lane;
+        }
+
+        /**
+         * @return whether the tasks of the lane run on virtual threads
+         */
+        public boolean isVirtual() {
+            return m_virtual;
+        }
+
+        /**
+         * @return the maximum number of concurrently running tasks
+         */
+        public int getMaxConcurrency() {
+            return m_maxConcurrency;
+        }
+
+        /**
+         * @return the number of currently running tasks
+         */
+        public int getActiveCount() {
+            return m_activeCount;
+        }
+
+        /**
+         * @return the number of tasks waiting for a free slot
+         */
+        public int getQueueLength() {
+            return m_queueLength;
+        }
+
+        /**
+         * @return the number of tasks that were started so far
+         */
+        public long getStartedCount() {
+            return m_startedCount;
+        }
+
+        /**
+         * @return the average time tasks waited in the queue before being started
+         */
+        public Duration getAverageWaitTime() {
+            return m_startedCount == 0 ? Duration.ZERO : Duration.ofNanos(m_totalWaitNanos / m_startedCount);
+        }
+
+        /**
+         * @return the maximum time a task waited in the queue before being started
+         */
+        public Duration getMaxWaitTime() {
+            return Duration.ofNanos(m_maxWaitNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s lane (%s threads): %d/%d active, %d queued, %d started, avg. wait %d ms, max. wait %d ms", m_lane,
+                m_virtual ? "virtual" : "platform", m_activeCount, m_maxConcurrency, m_queueLength, m_startedCount,
+                getAverageWaitTime().toMillis(), getMaxWaitTime().toMillis());
+        }
+    }
+
+    /**
+     * A bounded executor that queues tasks per workflow and node and dispatches them round-robin.
+     */
+    static final class FairLane {
+
+        private final Lane m_lane;
+
+        private final boolean m_virtual;
+
+        private final int m_maxConcurrency;
+
+        /** Runs the tasks that got a slot, either on a new virtual thread or on a cached platform thread. */
+        private final Executor m_threads;
+
+        /** Queued tasks by workflow key, then by node key. Iteration order is the round-robin order. */
+        private final LinkedHashMap<Object, LinkedHashMap<Object, ArrayDeque<LaneTask<?>>>> m_queues =
+            new LinkedHashMap<>();
+
+        /** The number of running tasks by workflow key. */
+        private final Map<Object, Integer> m_activeByWorkflow = new HashMap<>();
+
+        private int m_activeCount;
+
+        private int m_queueLength;
+
+        private long m_startedCount;
+
+        private long m_totalWaitNanos;
+
+        private long m_maxWaitNanos;
+
+        FairLane(final Lane lane) {
+            this(lane, lane.supportsVirtualThreads() ? createVirtualThreadFactory(lane.m_threadNamePrefix)
+                : Optional.<ThreadFactory> empty());
+        }
+
+        private FairLane(final Lane lane, final Optional<ThreadFactory> virtualFactory) {
+            this(lane, virtualFactory.isPresent(), lane.getConcurrency(virtualFactory.isPresent()),
+                createThreads(lane, virtualFactory));
+        }
+
+        /**
+         * @param lane the lane, only used for logging and statistics
+         * @param virtual whether the threads are virtual
+         * @param maxConcurrency the maximum number of concurrently running tasks
+         * @param threads runs the tasks that got a slot
+         */
+        FairLane(final Lane lane, final boolean virtual, final int maxConcurrency, final Executor threads) {
+            m_lane = lane;
+            m_virtual = virtual;
+            m_maxConcurrency = maxConcurrency;
+            m_threads = threads;
+        }
+
+        private static Executor createThreads(final Lane lane, final Optional<ThreadFactory> virtualFactory) {
+            if (virtualFactory.isPresent()) {
+                // virtual threads are cheap, we create one per task; the tasks carry their NodeContext themselves
+                final var factory = virtualFactory.get();
+                return r -> factory.newThread(r).start();
+            }
+            final var threadIdx = new AtomicLong();
+            // threads are only created for tasks that got a slot, so this pool never exceeds the concurrency limit
+            return Executors.newCachedThreadPool(
+                r -> ThreadUtils.threadWithContext(r, lane.m_threadNamePrefix + threadIdx.getAndIncrement()));
+        }
+
+        <T> Future<T> submit(final Callable<T> callable) {
+            final var keys = getFairnessKeys();
+            return submit(callable, keys[0], keys[1]);
+        }
+
+        /**
+         * @param workflowKey the key of the workflow the task is queued for
+         * @param nodeKey the key of the node the task is queued for
+         */
+        <T> Future<T> submit(final Callable<T> callable, final Object workflowKey, final Object nodeKey) {
+            final var task = new LaneTask<>(this, callable, workflowKey, nodeKey);
+            if (CURRENT_LANE.get() == this) {
+                // the submitting task already holds a slot, waiting for a free one could deadlock
+                task.run();
+                return task;
+            }
+            synchronized (this) {
+                if (m_activeCount < m_maxConcurrency) {
+                    start(task);
+                } else {
+                    m_queues.computeIfAbsent(task.m_workflowKey, k -> new LinkedHashMap<>())
+                        .computeIfAbsent(task.m_nodeKey, k -> new ArrayDeque<>()).add(task);
+                    m_queueLength++;
+                    LOGGER.debug(() -> "Queued task since all slots are in use; " + getStatistics());
+                }
+            }
+            return task;
+        }
+
+        /** Must be called while holding the monitor. */
+        private void start(final LaneTask<?> task) {
+            m_activeCount++;
+            m_activeByWorkflow.merge(task.m_workflowKey, 1, Integer::sum);
+            final var waitNanos = System.nanoTime() - task.m_submitNanos;
+            m_startedCount++;
+            m_totalWaitNanos += waitNanos;
+            m_maxWaitNanos = Math.max(m_maxWaitNanos, waitNanos);
+            if (waitNanos > WAIT_LOG_THRESHOLD_NANOS) {
+                LOGGER.debugWithFormat("%s task waited %d ms for a free slot.", m_lane,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            m_threads.execute(() -> {
+                CURRENT_LANE.set(this);
+                try {
+                    task.run();
+                } finally {
+                    CURRENT_LANE.remove();
+                    onTaskDone(task);
+                }
+            });
+        }
+
+        private synchronized void onTaskDone(final LaneTask<?> task) {
+            m_activeCount--;
+            m_activeByWorkflow.computeIfPresent(task.m_workflowKey, (k, n) -> n == 1 ? null : (n - 1));
+            final var next = pollNext();
+            if (next != null) {
+                start(next);
+            }
+        }
+
+        /**
+         * Polls the next task of the workflow with the fewest running tasks, the first in round-robin order if several
+         * workflows have equally many. Must be called while holding the monitor.
+         */
+        private LaneTask<?> pollNext() {
+            Object workflowKey = null;
+            var minActive = Integer.MAX_VALUE;
+            for (final var key : m_queues.keySet()) {
+                final int active = m_activeByWorkflow.getOrDefault(key, 0);
+                if (active < minActive) {
+                    workflowKey = key;
+                    minActive = active;
+                }
+            }
+            if (workflowKey == null) {
+                return null;
+            }
+            final var nodeQueues = m_queues.remove(workflowKey);
+            final Iterator<Map.Entry<Object, ArrayDeque<LaneTask<?>>>> nodeIter = nodeQueues.entrySet().iterator();
+            final var nodeEntry = nodeIter.next();
+            final var task = nodeEntry.getValue().poll();
+            m_queueLength--;
+            // move the node and the workflow to the end of the round-robin order, or drop them if they are empty
+            nodeIter.remove();
+            if (!nodeEntry.getValue().isEmpty()) {
+                nodeQueues.put(nodeEntry.getKey(), nodeEntry.getValue());
+            }
+            if (!nodeQueues.isEmpty()) {
+                m_queues.put(workflowKey, nodeQueues);
+            }
+            return task;
+        }
+
+        private synchronized void remove(final LaneTask<?> task) {
+            final var nodeQueues = m_queues.get(task.m_workflowKey);
+            if (nodeQueues == null) {
+                return;
+            }
+            final var queue = nodeQueues.get(task.m_nodeKey);
+            if (queue != null && queue.remove(task)) {
+                m_queueLength--;
+                if (queue.isEmpty()) {
+                    nodeQueues.remove(task.m_nodeKey);
+                    if (nodeQueues.isEmpty()) {
+                        m_queues.remove(task.m_workflowKey);
+                    }
+                }
+            }
+        }
+
+        synchronized LaneStatistics getStatistics() {
+            return new LaneStatistics(m_lane, m_virtual, m_maxConcurrency, m_activeCount, m_queueLength, m_startedCount,
+                m_totalWaitNanos, m_maxWaitNanos);
+        }
+    }
+
+    /**
+     * Future of a task scheduled on a {@link FairLane}, remembering when and for whom it was submitted.
+     */
+    private static final class LaneTask<T> extends FutureTask<T> {
+
+        private final FairLane m_lane;
+
+        private final Object m_workflowKey;
+
+        private final Object m_nodeKey;
+
+        private final long m_submitNanos = System.nanoTime();
+
+        LaneTask(final FairLane lane, final Callable<T> callable, final Object workflowKey, final Object nodeKey) {
+            super(callable);
+            m_lane = lane;
+            m_workflowKey = workflowKey;
+            m_nodeKey = nodeKey;
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final var canceled = super.cancel(mayInterruptIfRunning);
+            if (canceled) {
+                // a task that was not started yet must not occupy its place in the queue
+                m_lane.remove(this);
+            }
+            return canceled;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel;
+
+import java.util.Optional;
+
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Determines the node and workflow (project) the calling thread works for, e.g. to share resources fairly between
+ * workflows or to release resources once a workflow is closed.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class NodeContextUtil {
+
+    private NodeContextUtil() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * @return the ID of the node the calling thread works for, or empty if there is no {@link NodeContext}, e.g. in
+     *         dialogs or tests
+     */
+    public static Optional<NodeID> getNodeID() {
+        final var ctx = NodeContext.getContext();
+        final var nc = ctx == null ? null : ctx.getNodeContainer();
+        return nc == null ? Optional.empty() : Optional.of(nc.getID());
+    }
+
+    /**
+     * @return the ID of the workflow project the calling thread works for, or empty if there is no
+     *         {@link NodeContext}
+     */
+    public static Optional<NodeID> getProjectID() {
+        return getNodeID().map(NodeContextUtil::getProjectID);
+    }
+
+    /**
+     * Determines the project containing the node, i.e. the ancestor whose parent is the {@link NodeID#ROOTID root}.
+     *
+     * @param nodeId the ID of a node
+     * @return the ID of the project containing the node, the given ID if it is a project itself
+     */
+    public static NodeID getProjectID(final NodeID nodeId) {
+        var projectId = nodeId;
+        while (projectId.getPrefix() != null && !NodeID.ROOTID.equals(projectId.getPrefix())) {
+            projectId = projectId.getPrefix();
+        }
+        return projectId;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import org.apache.poi.poifs.crypt.CryptoFunctions;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionHeader;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+
+/**
+ * Read-only channel on the package of an agile encrypted OOXML file, which is decrypted on demand.
+ *
+ * <p>
+ * The segments of agile encrypted packages are encrypted independently, hence any position can be read without
+ * decrypting the preceding data. A zip reader on this channel thus only decrypts the central directory and the entries
+ * it actually reads. The segments are decrypted in blocks of {@value #BLOCK_SIZE} bytes, which are cached. While the
+ * channel is read sequentially, the following blocks are decrypted ahead concurrently on the {@link Lane#COMPUTE} lane.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class AgileDecryptingChannel implements SeekableByteChannel {
+
+    private static final int SEGMENTS_PER_BLOCK = 16;
+
+    private static final int BLOCK_SIZE = SEGMENTS_PER_BLOCK * AgileEncryptingOutputStream.SEGMENT_SIZE;
+
+    /** The number of cached blocks, if not decrypting more blocks ahead. */
+    private static final int MIN_CACHED_BLOCKS = 64;
+
+    private final EncryptedPackage m_package;
+
+    private final long m_encryptedSize;
+
+    private final Closeable m_resource;
+
+    private final long m_size;
+
+    private final SecretKey m_key;
+
+    private final EncryptionHeader m_header;
+
+    private final int m_readAhead;
+
+    private final Map<Long, Future<byte[]>> m_blocks;
+
+    private long m_position;
+
+    private long m_lastBlock = -1;
+
+    private boolean m_open = true;
+
+    /** Reads the encrypted package, must support concurrent reads. */
+    @FunctionalInterface
+    private interface EncryptedPackage {
+        void read(long position, byte[] dst) throws IOException;
+    }
+
+    private AgileDecryptingChannel(final EncryptedPackage encryptedPackage, final long encryptedSize,
+        final Closeable resource, final SecretKey key, final EncryptionHeader header) throws IOException {
+        m_package = encryptedPackage;
+        m_encryptedSize = encryptedSize;
+        m_resource = resource;
+        m_key = key;
+        m_header = header;
+        final var sizePrefix = new byte[Long.BYTES];
+        encryptedPackage.read(0, sizePrefix);
+        m_size = ByteBuffer.wrap(sizePrefix).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        if (m_size < 0 || m_size > encryptedSize - Long.BYTES) {
+            throw new IOException("The size of the encrypted package is invalid.");
+        }
+        final var maxConcurrency = ExcelTaskScheduler.getStatistics(Lane.COMPUTE).getMaxConcurrency();
+        // two blocks per thread keep all threads busy while the reader waits for the next block
+        m_readAhead = maxConcurrency < 2 ? 0 : (2 * maxConcurrency);
+        final var cachedBlocks = Math.max(MIN_CACHED_BLOCKS, 2 * m_readAhead);
+        m_blocks = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Future<byte[]>> eldest) {
+                if (size() > cachedBlocks) {
+                    // interrupting a task would close the file channel it reads from
+                    eldest.getValue().cancel(false);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Opens the package of an agile encrypted OOXML file, which is read directly from the file unless it is so small
+     * that it is stored in the mini stream of the OLE2 file.
+     *
+     * @param file the encrypted OOXML file
+     * @param info the encryption info of the file, must be {@link EncryptionMode#agile agile}
+     * @param key the secret key of the file, i.e. the password has already been verified
+     * @return the channel
+     * @throws IOException if the file could not be read
+     */
+    @SuppressWarnings("resource") // the file channel is closed by the returned channel
+    public static AgileDecryptingChannel open(final Path file, final EncryptionInfo info, final SecretKey key)
+        throws IOException {
+        CheckUtils.checkArgument(info.getEncryptionMode() == EncryptionMode.agile, "The file is not agile encrypted.");
+        final var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            final var location = CompoundFileReader.locate(channel, Decryptor.DEFAULT_POIFS_ENTRY);
+            if (location == null) {
+                channel.close();
+                try (final var fs = new POIFSFileSystem(file.toFile(), true)) {
+                    return open(fs.getRoot(), info, key);
+                }
+            }
+            return new AgileDecryptingChannel((position, dst) -> location.read(channel, position, dst),
+                location.getSize(), channel, key, info.getHeader());
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the package of an agile encrypted OOXML file, whose encrypted package is read into memory.
+     *
+     * @param root the root of the encrypted OOXML file
+     * @param info the encryption info of the file, must be {@link EncryptionMode#agile agile}
+     * @param key the secret key of the file, i.e. the password has already been verified
+     * @return the channel
+     * @throws IOException if the encrypted package could not be read
+     */
+    public static AgileDecryptingChannel open(final DirectoryNode root, final EncryptionInfo info,
+        final SecretKey key) throws IOException {
+        CheckUtils.checkArgument(info.getEncryptionMode() == EncryptionMode.agile, "The file is not agile encrypted.");
+        final byte[] data;
+        try (final var in = root.createDocumentInputStream(Decryptor.DEFAULT_POIFS_ENTRY)) {
+            data = in.readAllBytes();
+        }
+        return new AgileDecryptingChannel((position, dst) -> {
+            if (position + dst.length > data.length) {
+                throw new EOFException("Attempt to read beyond the end of the encrypted package.");
+            }
+            System.arraycopy(data, (int)position, dst, 0, dst.length);
+        }, data.length, null, key, info.getHeader());
+    }
+
+    @Override
+    public synchronized int read(final ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (m_position >= m_size) {
+            return -1;
+        }
+        var read = 0;
+        while (dst.hasRemaining() && m_position < m_size) {
+            final var block = getBlock(m_position / BLOCK_SIZE);
+            final var offset = (int)(m_position % BLOCK_SIZE);
+            final var n = Math.min(dst.remaining(), block.length - offset);
+            dst.put(block, offset, n);
+            m_position += n;
+            read += n;
+        }
+        return read;
+    }
+
+    private byte[] getBlock(final long index) throws IOException {
+        if (m_readAhead > 0 && (index == m_lastBlock || index == m_lastBlock + 1)) {
+            final var lastBlock = (m_size - 1) / BLOCK_SIZE;
+            for (var i = index + 1; i <= Math.min(index + m_readAhead, lastBlock); i++) {
+                final var next = i;
+                m_blocks.computeIfAbsent(next,
+                    k -> ExcelTaskScheduler.submit(Lane.COMPUTE, () -> decryptBlock(next)));
+            }
+        }
+        m_lastBlock = index;
+        var block = m_blocks.get(index);
+        if (block == null) {
+            block = CompletableFuture.completedFuture(decrypt(index));
+            m_blocks.put(index, block);
+        }
+        return await(block);
+    }
+
+    private byte[] decrypt(final long index) throws IOException {
+        try {
+            return decryptBlock(index);
+        } catch (final GeneralSecurityException e) {
+            throw new IOException("Decryption of Excel file failed.", e);
+        }
+    }
+
+    /** Reads and decrypts the segments of the block, which is truncated to the size of the package. */
+    private byte[] decryptBlock(final long index) throws IOException, GeneralSecurityException {
+        final var start = index * BLOCK_SIZE;
+        final var length = (int)Math.min(BLOCK_SIZE, m_size - start);
+        final var blockSize = m_header.getBlockSize();
+        final var encryptedLength = (int)Math.min((length + blockSize - 1L) / blockSize * blockSize,
+            m_encryptedSize - Long.BYTES - start);
+        if (encryptedLength % blockSize != 0) {
+            throw new IOException("The encrypted package is truncated.");
+        }
+        final var data = new byte[encryptedLength];
+        m_package.read(Long.BYTES + start, data);
+
+        final var blockKey = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        Cipher cipher = null;
+        for (var offset = 0; offset < encryptedLength; offset += AgileEncryptingOutputStream.SEGMENT_SIZE) {
+            blockKey.clear();
+            blockKey.putInt((int)(index * SEGMENTS_PER_BLOCK + offset / AgileEncryptingOutputStream.SEGMENT_SIZE));
+            final var iv = CryptoFunctions.generateIv(m_header.getHashAlgorithm(), m_header.getKeySalt(),
+                blockKey.array(), blockSize);
+            if (cipher == null) {
+                cipher = CryptoFunctions.getCipher(m_key, m_header.getCipherAlgorithm(), m_header.getChainingMode(),
+                    iv, Cipher.DECRYPT_MODE, "NoPadding");
+            } else {
+                cipher.init(Cipher.DECRYPT_MODE, m_key, new IvParameterSpec(iv));
+            }
+            cipher.doFinal(data, offset, Math.min(AgileEncryptingOutputStream.SEGMENT_SIZE, encryptedLength - offset),
+                data, offset);
+        }
+        return length == encryptedLength ? data : Arrays.copyOf(data, length);
+    }
+
+    private static byte[] await(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final var ioe = new InterruptedIOException("Interrupted while decrypting the data.");
+            ioe.initCause(e);
+            throw ioe;
+        } catch (ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Decryption of Excel file failed.", cause);
+        }
+    }
+
+    @Override
+    public int write(final ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return m_position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(final long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+        m_position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        ensureOpen();
+        return m_size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return m_open;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (m_open) {
+            m_open = false;
+            m_blocks.values().forEach(f -> f.cancel(false));
+            m_blocks.clear();
+            if (m_resource != null) {
+                m_resource.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!m_open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.knime.core.util.FileUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+import org.knime.filehandling.core.connections.FSFiles;
+
+/**
+ * Output stream that encrypts the written package (e.g. an xlsx file) with the agile encryption of [MS-OFFCRYPTO] and
+ * writes the password protected file on {@link #finish()}.
+ *
+ * <p>
+ * The package is encrypted in independent segments of {@value #SEGMENT_SIZE} bytes, which are encrypted concurrently on
+ * the {@link Lane#COMPUTE} lane and spooled to a temporary file. On {@link #finish()} the OLE2 container is assembled
+ * by copying the spooled segments, hence the package is never held in memory. The parameters are the same as used by
+ * POI's agile encryptor, i.e. AES-128 in CBC mode and SHA-1 with 100000 iterations for the password.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class AgileEncryptingOutputStream extends OutputStream {
+
+    /** The number of bytes that are encrypted with the same initialization vector. */
+    static final int SEGMENT_SIZE = 4096;
+
+    /** The number of segments encrypted by one task. */
+    private static final int SEGMENTS_PER_BATCH = 16;
+
+    private static final int BATCH_SIZE = SEGMENTS_PER_BATCH * SEGMENT_SIZE;
+
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA1";
+
+    private static final String CIPHER = "AES/CBC/NoPadding";
+
+    private static final int HASH_SIZE = 20;
+
+    private static final int KEY_BITS = 128;
+
+    private static final int BLOCK_SIZE = 16;
+
+    private static final int SALT_SIZE = 16;
+
+    private static final int SPIN_COUNT = 100000;
+
+    private static final byte[] VERIFIER_INPUT_BLOCK =
+        {(byte)0xfe, (byte)0xa7, (byte)0xd2, (byte)0x76, (byte)0x3b, (byte)0x4b, (byte)0x9e, (byte)0x79};
+
+    private static final byte[] VERIFIER_VALUE_BLOCK =
+        {(byte)0xd7, (byte)0xaa, (byte)0x0f, (byte)0x6d, (byte)0x30, (byte)0x61, (byte)0x34, (byte)0x4e};
+
+    private static final byte[] KEY_VALUE_BLOCK =
+        {(byte)0x14, (byte)0x6e, (byte)0x0b, (byte)0xe7, (byte)0xab, (byte)0xac, (byte)0xd0, (byte)0xd6};
+
+    private static final byte[] INTEGRITY_KEY_BLOCK =
+        {(byte)0x5f, (byte)0xb2, (byte)0xad, (byte)0x01, (byte)0x0c, (byte)0xb9, (byte)0xe1, (byte)0xf6};
+
+    private static final byte[] INTEGRITY_VALUE_BLOCK =
+        {(byte)0xa0, (byte)0x67, (byte)0x7f, (byte)0x02, (byte)0xb2, (byte)0x2c, (byte)0x84, (byte)0x33};
+
+    private static final String PASSWORD_KEY_ENCRYPTOR =
+        "http://schemas.microsoft.com/office/2006/keyEncryptor/password";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OutputStream m_out;
+
+    private final byte[] m_secretKey = random(KEY_BITS / 8);
+
+    private final byte[] m_keySalt = random(SALT_SIZE);
+
+    private final byte[] m_hmacKey = random(HASH_SIZE);
+
+    private final byte[] m_passwordSalt = random(SALT_SIZE);
+
+    private final byte[] m_encryptedVerifierInput;
+
+    private final byte[] m_encryptedVerifierValue;
+
+    private final byte[] m_encryptedKeyValue;
+
+    private final int m_maxPendingBatches;
+
+    private final Deque<Future<byte[]>> m_pendingBatches = new ArrayDeque<>();
+
+    private final Path m_spoolFile;
+
+    private final OutputStream m_spool;
+
+    private byte[] m_batch = new byte[BATCH_SIZE];
+
+    private int m_batchLength;
+
+    private long m_size;
+
+    private boolean m_closed;
+
+    /**
+     * Constructor.
+     *
+     * @param out the stream the encrypted file is written to on {@link #finish()}, it is not closed
+     * @param password the password to encrypt the package with
+     * @throws IOException if the temporary file could not be created
+     */
+    public AgileEncryptingOutputStream(final OutputStream out, final String password) throws IOException {
+        m_out = out;
+        try {
+            final var passwordHash = hashPassword(password, m_passwordSalt);
+            final var verifierInput = random(SALT_SIZE);
+            m_encryptedVerifierInput = encryptWithPassword(passwordHash, VERIFIER_INPUT_BLOCK, verifierInput);
+            m_encryptedVerifierValue = encryptWithPassword(passwordHash, VERIFIER_VALUE_BLOCK,
+                MessageDigest.getInstance(HASH_ALGORITHM).digest(verifierInput));
+            m_encryptedKeyValue = encryptWithPassword(passwordHash, KEY_VALUE_BLOCK, m_secretKey);
+        } catch (final GeneralSecurityException e) {
+            throw new IOException("Encryption of Excel file failed.", e);
+        }
+        final var maxConcurrency = ExcelTaskScheduler.getStatistics(Lane.COMPUTE).getMaxConcurrency();
+        // two batches per thread keep all threads busy while the writer waits for the oldest batch
+        m_maxPendingBatches = maxConcurrency < 2 ? 0 : (2 * maxConcurrency);
+        m_spoolFile = FileUtil.createTempFile("knime-excel-", ".crypt").toPath();
+        m_spool = Files.newOutputStream(m_spoolFile);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        m_batch[m_batchLength++] = (byte)b;
+        if (m_batchLength == BATCH_SIZE) {
+            submitBatch();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        var offset = off;
+        var remaining = len;
+        while (remaining > 0) {
+            final var n = Math.min(remaining, BATCH_SIZE - m_batchLength);
+            System.arraycopy(b, offset, m_batch, m_batchLength, n);
+            m_batchLength += n;
+            offset += n;
+            remaining -= n;
+            if (m_batchLength == BATCH_SIZE) {
+                submitBatch();
+            }
+        }
+    }
+
+    private void submitBatch() throws IOException {
+        if (m_closed) {
+            throw new IOException("Stream closed.");
+        }
+        final var batch = m_batch;
+        final var length = m_batchLength;
+        final var firstSegment = m_size / SEGMENT_SIZE;
+        m_size += length;
+        m_batch = new byte[BATCH_SIZE];
+        m_batchLength = 0;
+        if (m_maxPendingBatches == 0) {
+            try {
+                m_spool.write(encryptBatch(batch, length, firstSegment));
+            } catch (final GeneralSecurityException e) {
+                throw new IOException("Encryption of Excel file failed.", e);
+            }
+        } else {
+            m_pendingBatches.add(
+                ExcelTaskScheduler.submit(Lane.COMPUTE, () -> encryptBatch(batch, length, firstSegment)));
+            while (m_pendingBatches.size() >= m_maxPendingBatches) {
+                m_spool.write(await(m_pendingBatches.poll()));
+            }
+        }
+    }
+
+    /** Encrypts the segments of the batch in place, the last segment is padded to the block size. */
+    private byte[] encryptBatch(final byte[] batch, final int length, final long firstSegment)
+        throws GeneralSecurityException {
+        final var cipher = Cipher.getInstance(CIPHER);
+        final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        final var key = new SecretKeySpec(m_secretKey, "AES");
+        final var blockKey = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        final var encryptedLength = roundUp(length, BLOCK_SIZE);
+        for (var offset = 0; offset < encryptedLength; offset += SEGMENT_SIZE) {
+            blockKey.clear();
+            blockKey.putInt((int)(firstSegment + offset / SEGMENT_SIZE));
+            digest.update(m_keySalt);
+            final var iv = Arrays.copyOf(digest.digest(blockKey.array()), BLOCK_SIZE);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+            cipher.doFinal(batch, offset, Math.min(SEGMENT_SIZE, encryptedLength - offset), batch, offset);
+        }
+        return encryptedLength == batch.length ? batch : Arrays.copyOf(batch, encryptedLength);
+    }
+
+    private static byte[] await(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final var ioe = new InterruptedIOException("Interrupted while encrypting the data.");
+            ioe.initCause(e);
+            throw ioe;
+        } catch (ExecutionException e) {
+            throw new IOException("Encryption of Excel file failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Does not encrypt the current, incomplete batch, since a segment can only be encrypted once it is complete.
+     */
+    @Override
+    public void flush() {
+        // nothing to do
+    }
+
+    /**
+     * Encrypts the remaining data and writes the encrypted file to the underlying stream, which is not closed.
+     *
+     * @throws IOException if encrypting or writing failed
+     */
+    public void finish() throws IOException {
+        if (m_batchLength > 0) {
+            submitBatch();
+        }
+        while (!m_pendingBatches.isEmpty()) {
+            m_spool.write(await(m_pendingBatches.poll()));
+        }
+        m_spool.close();
+        m_closed = true;
+
+        final var packageSize = Long.BYTES + Files.size(m_spoolFile);
+        if (packageSize > CompoundFileWriter.MAX_STREAM_SIZE) {
+            throw new IOException("The encrypted Excel file is too large.");
+        }
+        final Mac hmac;
+        try {
+            hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(new SecretKeySpec(m_hmacKey, HMAC_ALGORITHM));
+        } catch (final GeneralSecurityException e) {
+            throw new IOException("Encryption of Excel file failed.", e);
+        }
+
+        final var writer = new CompoundFileWriter();
+        addDataSpaces(writer);
+        // the package is written first, since its HMAC is part of the encryption info
+        writer.addStream(writer.getRoot(), "EncryptedPackage", packageSize, out -> {
+            final var sizePrefix =
+                ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(m_size).array();
+            hmac.update(sizePrefix);
+            out.write(sizePrefix);
+            try (final var in = Files.newInputStream(m_spoolFile)) {
+                final var buffer = new byte[BATCH_SIZE];
+                for (var n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                    hmac.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+        });
+        // the encrypted HMAC value always has the same length, which determines the size of the encryption info
+        final var infoSize = createEncryptionInfo(new byte[roundUp(HASH_SIZE, BLOCK_SIZE)]).length;
+        writer.addStream(writer.getRoot(), "EncryptionInfo", infoSize,
+            out -> out.write(createEncryptionInfo(encryptIntegrity(INTEGRITY_VALUE_BLOCK, hmac.doFinal()))));
+        writer.write(m_out);
+    }
+
+    /**
+     * Releases the resources of the stream. The encrypted file is not written unless {@link #finish()} was called.
+     */
+    @Override
+    public void close() throws IOException {
+        m_closed = true;
+        m_pendingBatches.forEach(f -> f.cancel(true));
+        m_pendingBatches.clear();
+        try {
+            m_spool.close();
+        } finally {
+            FSFiles.deleteSafely(m_spoolFile);
+        }
+    }
+
+    private byte[] createEncryptionInfo(final byte[] encryptedHmacValue) throws IOException {
+        final var encoder = Base64.getEncoder();
+        final var cipherAttributes = String.format("saltSize=\"%d\" blockSize=\"%d\" keyBits=\"%d\" hashSize=\"%d\" "
+            + "cipherAlgorithm=\"AES\" cipherChaining=\"ChainingModeCBC\" hashAlgorithm=\"SHA1\"", SALT_SIZE,
+            BLOCK_SIZE, KEY_BITS, HASH_SIZE);
+        final var descriptor = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n"
+            + "<encryption xmlns=\"http://schemas.microsoft.com/office/2006/encryption\" xmlns:p=\""
+            + PASSWORD_KEY_ENCRYPTOR + "\">"
+            + "<keyData " + cipherAttributes + " saltValue=\"" + encoder.encodeToString(m_keySalt) + "\"/>"
+            + "<dataIntegrity encryptedHmacKey=\""
+            + encoder.encodeToString(encryptIntegrity(INTEGRITY_KEY_BLOCK, m_hmacKey))
+            + "\" encryptedHmacValue=\"" + encoder.encodeToString(encryptedHmacValue) + "\"/>"
+            + "<keyEncryptors><keyEncryptor uri=\"" + PASSWORD_KEY_ENCRYPTOR + "\">"
+            + "<p:encryptedKey spinCount=\"" + SPIN_COUNT + "\" " + cipherAttributes
+            + " saltValue=\"" + encoder.encodeToString(m_passwordSalt)
+            + "\" encryptedVerifierHashInput=\"" + encoder.encodeToString(m_encryptedVerifierInput)
+            + "\" encryptedVerifierHashValue=\"" + encoder.encodeToString(m_encryptedVerifierValue)
+            + "\" encryptedKeyValue=\"" + encoder.encodeToString(m_encryptedKeyValue) + "\"/>"
+            + "</keyEncryptor></keyEncryptors></encryption>";
+        final var xml = descriptor.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(8 + xml.length).order(ByteOrder.LITTLE_ENDIAN) //
+            .putShort((short)4) // major version
+            .putShort((short)4) // minor version
+            .putInt(0x40) // flags: agile
+            .put(xml) //
+            .array();
+    }
+
+    /** Encrypts a value of the data integrity with the secret key. */
+    private byte[] encryptIntegrity(final byte[] blockKey, final byte[] value) throws IOException {
+        try {
+            final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            digest.update(m_keySalt);
+            final var iv = Arrays.copyOf(digest.digest(blockKey), BLOCK_SIZE);
+            return encrypt(m_secretKey, iv, value);
+        } catch (final GeneralSecurityException e) {
+            throw new IOException("Encryption of Excel file failed.", e);
+        }
+    }
+
+    private static byte[] hashPassword(final String password, final byte[] salt) throws GeneralSecurityException {
+        final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        digest.update(salt);
+        var hash = digest.digest(password.getBytes(StandardCharsets.UTF_16LE));
+        final var iteration = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (var i = 0; i < SPIN_COUNT; i++) {
+            iteration.clear();
+            digest.update(iteration.putInt(i).array());
+            hash = digest.digest(hash);
+        }
+        return hash;
+    }
+
+    /** Encrypts a value of the key encryptor with the key derived from the password hash and the block key. */
+    private byte[] encryptWithPassword(final byte[] passwordHash, final byte[] blockKey, final byte[] value)
+        throws GeneralSecurityException {
+        final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        digest.update(passwordHash);
+        final var key = resize(digest.digest(blockKey), KEY_BITS / 8);
+        return encrypt(key, m_passwordSalt, value);
+    }
+
+    /** Encrypts the value, which is padded with zeros to the block size. */
+    private static byte[] encrypt(final byte[] key, final byte[] iv, final byte[] value)
+        throws GeneralSecurityException {
+        final var cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        return cipher.doFinal(Arrays.copyOf(value, roundUp(value.length, BLOCK_SIZE)));
+    }
+
+    /** Truncates the value or pads it with 0x36, as done for derived keys. */
+    private static byte[] resize(final byte[] value, final int size) {
+        final var resized = Arrays.copyOf(value, size);
+        if (value.length < size) {
+            Arrays.fill(resized, value.length, size, (byte)0x36);
+        }
+        return resized;
+    }
+
+    private static int roundUp(final int value, final int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    private static byte[] random(final int size) {
+        final var bytes = new byte[size];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    /** Adds the data spaces declaring that the package is encrypted, see [MS-OFFCRYPTO] 2.1. */
+    private static void addDataSpaces(final CompoundFileWriter writer) {
+        final var dataSpaces = writer.addStorage(writer.getRoot(), "\u0006DataSpaces");
+
+        final var version = new LittleEndianBuffer();
+        version.putUnicode("Microsoft.Container.DataSpaces");
+        version.putVersions();
+        writer.addStream(dataSpaces, "Version", version.toByteArray());
+
+        final var map = new LittleEndianBuffer();
+        map.putInt(8); // header length
+        map.putInt(1); // entry count
+        final var entry = new LittleEndianBuffer();
+        entry.putInt(1); // reference component count
+        entry.putInt(0); // reference component type: stream
+        entry.putUnicode("EncryptedPackage");
+        entry.putUnicode("StrongEncryptionDataSpace");
+        map.putInt(Integer.BYTES + entry.size());
+        map.put(entry.toByteArray());
+        writer.addStream(dataSpaces, "DataSpaceMap", map.toByteArray());
+
+        final var definition = new LittleEndianBuffer();
+        definition.putInt(8); // header length
+        definition.putInt(1); // transform reference count
+        definition.putUnicode("StrongEncryptionTransform");
+        writer.addStream(writer.addStorage(dataSpaces, "DataSpaceInfo"), "StrongEncryptionDataSpace",
+            definition.toByteArray());
+
+        final var transform = new LittleEndianBuffer();
+        final var transformId = new LittleEndianBuffer();
+        transformId.putInt(1); // transform type
+        transformId.putUnicode("{FF9A3F03-56EF-4613-BDD5-5A41C1D07246}");
+        // length of the header up to the transform name, including the length itself (0x58)
+        transform.putInt(Integer.BYTES + transformId.size());
+        transform.put(transformId.toByteArray());
+        transform.putUnicode("Microsoft.Container.EncryptionTransform");
+        transform.putVersions();
+        transform.putInt(0); // empty encryption name
+        transform.putInt(0); // encryption block size
+        transform.putInt(0); // cipher mode
+        transform.putInt(4); // reserved
+        final var transformInfo = writer.addStorage(dataSpaces, "TransformInfo");
+        writer.addStream(writer.addStorage(transformInfo, "StrongEncryptionTransform"), "\u0006Primary",
+            transform.toByteArray());
+    }
+
+    /** Builds the little endian structures of the data spaces. */
+    private static final class LittleEndianBuffer extends ByteArrayOutputStream {
+
+        void putInt(final int value) {
+            write(value);
+            write(value >>> 8);
+            write(value >>> 16);
+            write(value >>> 24);
+        }
+
+        /** Writes a length prefixed UTF-16 string padded to a multiple of 4 bytes. */
+        void putUnicode(final String value) {
+            final var bytes = value.getBytes(StandardCharsets.UTF_16LE);
+            putInt(bytes.length);
+            put(bytes);
+            put(new byte[roundUp(bytes.length, 4) - bytes.length]);
+        }
+
+        /** Writes the reader, updater and writer version 1.0. */
+        void putVersions() {
+            for (var i = 0; i < 3; i++) {
+                putInt(1); // major 1, minor 0
+            }
+        }
+
+        void put(final byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Locates the sectors of a stream in an OLE2 compound file, such that the stream can be read at arbitrary positions
+ * directly from the file. Only streams stored in regular sectors are supported, i.e. no streams smaller than the mini
+ * stream cutoff.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class CompoundFileReader {
+
+    private static final byte[] SIGNATURE =
+        {(byte)0xD0, (byte)0xCF, 0x11, (byte)0xE0, (byte)0xA1, (byte)0xB1, 0x1A, (byte)0xE1};
+
+    private static final int HEADER_SIZE = 512;
+
+    private static final int HEADER_DIFAT_ENTRIES = 109;
+
+    private static final int DIRECTORY_ENTRY_SIZE = 128;
+
+    private static final int END_OF_CHAIN = 0xFFFFFFFE;
+
+    private static final int NO_STREAM = 0xFFFFFFFF;
+
+    private static final byte TYPE_STREAM = 2;
+
+    private CompoundFileReader() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * The sectors of a stream.
+     */
+    static final class StreamLocation {
+
+        private final int m_sectorSize;
+
+        private final int[] m_sectors;
+
+        private final long m_size;
+
+        private StreamLocation(final int sectorSize, final int[] sectors, final long size) {
+            m_sectorSize = sectorSize;
+            m_sectors = sectors;
+            m_size = size;
+        }
+
+        /**
+         * @return the size of the stream
+         */
+        long getSize() {
+            return m_size;
+        }
+
+        /**
+         * Reads the stream at the given position, the file channel is not modified and can be read concurrently.
+         *
+         * @param file the compound file
+         * @param position the position within the stream
+         * @param dst the buffer to fill completely
+         * @throws IOException if the stream ends before the buffer is filled or reading failed
+         */
+        void read(final FileChannel file, final long position, final byte[] dst) throws IOException {
+            if (position + dst.length > m_size) {
+                throw new EOFException("Attempt to read beyond the end of the stream.");
+            }
+            var pos = position;
+            var off = 0;
+            while (off < dst.length) {
+                var sector = (int)(pos / m_sectorSize);
+                final var inSector = (int)(pos % m_sectorSize);
+                // read consecutive sectors at once
+                var length = (long)m_sectorSize - inSector;
+                while (off + length < dst.length && sector + 1 < m_sectors.length
+                    && m_sectors[sector + 1] == m_sectors[sector] + 1) {
+                    length += m_sectorSize;
+                    sector++;
+                }
+                final var n = (int)Math.min(length, dst.length - (long)off);
+                final var fileOffset = (m_sectors[(int)(pos / m_sectorSize)] + 1L) * m_sectorSize + inSector;
+                readFully(file, fileOffset, ByteBuffer.wrap(dst, off, n));
+                off += n;
+                pos += n;
+            }
+        }
+    }
+
+    /**
+     * Locates a stream in the root storage of a compound file.
+     *
+     * @param file the compound file
+     * @param name the name of the stream
+     * @return the location of the stream or {@code null} if there is no such stream or it is stored in the mini stream
+     * @throws IOException if the file is no valid compound file or reading failed
+     */
+    static StreamLocation locate(final FileChannel file, final String name) throws IOException {
+        final var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(file, 0, header);
+        if (!Arrays.equals(header.array(), 0, SIGNATURE.length, SIGNATURE, 0, SIGNATURE.length)) {
+            throw new IOException("The file is no OLE2 compound file.");
+        }
+        final var sectorShift = header.getShort(30);
+        if (sectorShift != 9 && sectorShift != 12) {
+            throw new IOException("Unsupported sector size in OLE2 compound file.");
+        }
+        final var sectorSize = 1 << sectorShift;
+        final var fat = readFat(file, header, sectorSize);
+
+        final var directory = readChain(file, fat, header.getInt(48), sectorSize);
+        final var entries = directory.capacity() / DIRECTORY_ENTRY_SIZE;
+        // the root entry is the first entry, its children are a tree of siblings
+        final var pending = new ArrayDeque<Integer>();
+        final var visited = new BitSet(entries);
+        pending.add(directory.getInt(76));
+        while (!pending.isEmpty()) {
+            final int id = pending.poll();
+            if (id == NO_STREAM || id < 0 || id >= entries || visited.get(id)) {
+                continue;
+            }
+            visited.set(id);
+            final var offset = id * DIRECTORY_ENTRY_SIZE;
+            pending.add(directory.getInt(offset + 68));
+            pending.add(directory.getInt(offset + 72));
+            if (directory.get(offset + 66) == TYPE_STREAM && name.equals(getName(directory, offset))) {
+                var size = directory.getLong(offset + 120);
+                if (sectorShift == 9) {
+                    // the upper bits of the size may be garbage in version 3 files
+                    size &= 0xFFFFFFFFL;
+                }
+                if (size < (header.getInt(56) & 0xFFFFFFFFL)) {
+                    return null;
+                }
+                final var sectors = chain(fat, directory.getInt(offset + 116));
+                if ((long)sectors.length * sectorSize < size) {
+                    throw new IOException("The stream '" + name + "' of the OLE2 compound file is truncated.");
+                }
+                return new StreamLocation(sectorSize, sectors, size);
+            }
+        }
+        return null;
+    }
+
+    private static String getName(final ByteBuffer directory, final int offset) {
+        final var length = Math.min(Math.max(directory.getShort(offset + 64) - 2, 0), 62);
+        return new String(directory.array(), offset, length, StandardCharsets.UTF_16LE);
+    }
+
+    private static int[] readFat(final FileChannel file, final ByteBuffer header, final int sectorSize)
+        throws IOException {
+        final var idsPerSector = sectorSize / Integer.BYTES;
+        final var fatSectors = header.getInt(44);
+        if (fatSectors < 0 || (long)fatSectors * sectorSize > file.size()) {
+            throw new IOException("Invalid number of FAT sectors in OLE2 compound file.");
+        }
+        final var fatSectorIds = new int[fatSectors];
+        for (var i = 0; i < Math.min(fatSectors, HEADER_DIFAT_ENTRIES); i++) {
+            fatSectorIds[i] = header.getInt(76 + i * Integer.BYTES);
+        }
+        var difatSector = header.getInt(68);
+        final var difat = ByteBuffer.allocate(sectorSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (var i = HEADER_DIFAT_ENTRIES; i < fatSectors;) {
+            if (difatSector == END_OF_CHAIN || difatSector < 0) {
+                throw new IOException("The DIFAT of the OLE2 compound file is truncated.");
+            }
+            difat.clear();
+            readFully(file, (difatSector + 1L) * sectorSize, difat);
+            for (var j = 0; j < idsPerSector - 1 && i < fatSectors; j++, i++) {
+                fatSectorIds[i] = difat.getInt(j * Integer.BYTES);
+            }
+            difatSector = difat.getInt(sectorSize - Integer.BYTES);
+        }
+        final var fat = ByteBuffer.allocate(fatSectors * sectorSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (final var sector : fatSectorIds) {
+            readFully(file, (sector + 1L) * sectorSize, fat.limit(fat.position() + sectorSize));
+        }
+        final var ids = new int[fatSectors * idsPerSector];
+        fat.flip();
+        fat.asIntBuffer().get(ids);
+        return ids;
+    }
+
+    private static ByteBuffer readChain(final FileChannel file, final int[] fat, final int start,
+        final int sectorSize) throws IOException {
+        final var sectors = chain(fat, start);
+        final var buffer = ByteBuffer.allocate(sectors.length * sectorSize).order(ByteOrder.LITTLE_ENDIAN);
+        for (final var sector : sectors) {
+            readFully(file, (sector + 1L) * sectorSize, buffer.limit(buffer.position() + sectorSize));
+        }
+        return buffer.clear();
+    }
+
+    private static int[] chain(final int[] fat, final int start) throws IOException {
+        var sectors = new int[16];
+        var length = 0;
+        for (var sector = start; sector != END_OF_CHAIN; sector = fat[sector]) {
+            if (sector < 0 || sector >= fat.length || length == fat.length) {
+                throw new IOException("Invalid sector chain in OLE2 compound file.");
+            }
+            if (length == sectors.length) {
+                sectors = Arrays.copyOf(sectors, length * 2);
+            }
+            sectors[length++] = sector;
+        }
+        return Arrays.copyOf(sectors, length);
+    }
+
+    private static void readFully(final FileChannel file, final long position, final ByteBuffer dst)
+        throws IOException {
+        var pos = position;
+        while (dst.hasRemaining()) {
+            final var n = file.read(dst, pos);
+            if (n < 0) {
+                throw new EOFException("Unexpected end of the OLE2 compound file.");
+            }
+            pos += n;
+        }
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Writes an OLE2 compound file (version 3, i.e. with 512 byte sectors) whose stream contents are only requested while
+ * the file is written, such that large streams can be copied from disk instead of being held in memory.
+ *
+ * <p>
+ * The sectors are laid out as the FAT, the DIFAT, the streams of at least {@value #MINI_STREAM_CUTOFF} bytes, the
+ * directory, the mini FAT and the mini stream holding the smaller streams. The contents are therefore requested in the
+ * order the streams were added, first the large ones and then the small ones. As the small streams come last, their
+ * contents may depend on data computed while writing the large streams, their sizes must be known upfront though.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class CompoundFileWriter {
+
+    /** The maximal size of a stream in a version 3 compound file. */
+    static final long MAX_STREAM_SIZE = 0x80000000L;
+
+    private static final int SECTOR_SIZE = 512;
+
+    private static final int MINI_SECTOR_SIZE = 64;
+
+    private static final int MINI_STREAM_CUTOFF = 4096;
+
+    private static final int DIRECTORY_ENTRY_SIZE = 128;
+
+    private static final int MAX_NAME_LENGTH = 31;
+
+    private static final int IDS_PER_SECTOR = SECTOR_SIZE / Integer.BYTES;
+
+    private static final int HEADER_DIFAT_ENTRIES = 109;
+
+    private static final int FREE_SECT = 0xFFFFFFFF;
+
+    private static final int END_OF_CHAIN = 0xFFFFFFFE;
+
+    private static final int FAT_SECT = 0xFFFFFFFD;
+
+    private static final int DIF_SECT = 0xFFFFFFFC;
+
+    private static final int NO_STREAM = 0xFFFFFFFF;
+
+    private static final byte TYPE_STORAGE = 1;
+
+    private static final byte TYPE_STREAM = 2;
+
+    private static final byte TYPE_ROOT = 5;
+
+    private static final byte COLOR_RED = 0;
+
+    private static final byte COLOR_BLACK = 1;
+
+    private static final byte[] SIGNATURE =
+        {(byte)0xD0, (byte)0xCF, 0x11, (byte)0xE0, (byte)0xA1, (byte)0xB1, 0x1A, (byte)0xE1};
+
+    /** Compares the names of siblings as required by the red-black tree of the directory. */
+    private static final Comparator<Entry> SIBLING_ORDER = Comparator.<Entry> comparingInt(e -> e.m_name.length())
+        .thenComparing(e -> e.m_name.toUpperCase(Locale.ROOT));
+
+    /**
+     * The content of a stream.
+     */
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * Writes the content of the stream.
+         *
+         * @param out the stream to write to, must not be closed
+         * @throws IOException if writing fails
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A storage or stream of the compound file.
+     */
+    static final class Entry {
+
+        private final String m_name;
+
+        private final byte m_type;
+
+        private final long m_size;
+
+        private final Content m_content;
+
+        private final List<Entry> m_children = new ArrayList<>();
+
+        private int m_id;
+
+        private int m_start = END_OF_CHAIN;
+
+        private int m_left = NO_STREAM;
+
+        private int m_right = NO_STREAM;
+
+        private int m_child = NO_STREAM;
+
+        private byte m_color = COLOR_BLACK;
+
+        private Entry(final String name, final byte type, final long size, final Content content) {
+            m_name = name;
+            m_type = type;
+            m_size = size;
+            m_content = content;
+        }
+
+        private boolean isStream() {
+            return m_type == TYPE_STREAM;
+        }
+
+        private boolean isMini() {
+            return isStream() && m_size < MINI_STREAM_CUTOFF;
+        }
+    }
+
+    private final Entry m_root = new Entry("Root Entry", TYPE_ROOT, 0, null);
+
+    /**
+     * @return the root storage
+     */
+    Entry getRoot() {
+        return m_root;
+    }
+
+    /**
+     * Adds a storage.
+     *
+     * @param parent the storage to add the storage to
+     * @param name the name of the storage
+     * @return the added storage
+     */
+    Entry addStorage(final Entry parent, final String name) {
+        return add(parent, new Entry(name, TYPE_STORAGE, 0, null));
+    }
+
+    /**
+     * Adds a stream.
+     *
+     * @param parent the storage to add the stream to
+     * @param name the name of the stream
+     * @param data the content of the stream
+     */
+    void addStream(final Entry parent, final String name, final byte[] data) {
+        addStream(parent, name, data.length, out -> out.write(data));
+    }
+
+    /**
+     * Adds a stream whose content is requested while writing the file.
+     *
+     * @param parent the storage to add the stream to
+     * @param name the name of the stream
+     * @param size the number of bytes the content consists of
+     * @param content the content of the stream
+     */
+    void addStream(final Entry parent, final String name, final long size, final Content content) {
+        CheckUtils.checkArgument(size >= 0 && size <= MAX_STREAM_SIZE, "Invalid size %d of stream '%s'.", size, name);
+        add(parent, new Entry(name, TYPE_STREAM, size, content));
+    }
+
+    private static Entry add(final Entry parent, final Entry entry) {
+        CheckUtils.checkArgument(parent.m_type != TYPE_STREAM, "Entries can only be added to storages.");
+        CheckUtils.checkArgument(!entry.m_name.isEmpty() && entry.m_name.length() <= MAX_NAME_LENGTH,
+            "Invalid name '%s', names must consist of 1 to %d characters.", entry.m_name, MAX_NAME_LENGTH);
+        CheckUtils.checkArgument(parent.m_children.stream().noneMatch(e -> SIBLING_ORDER.compare(e, entry) == 0),
+            "Duplicate name '%s'.", entry.m_name);
+        parent.m_children.add(entry);
+        return entry;
+    }
+
+    /**
+     * Writes the compound file.
+     *
+     * @param out the stream to write to, it is not closed
+     * @throws IOException if writing fails
+     */
+    void write(final OutputStream out) throws IOException {
+        final var entries = new ArrayList<Entry>();
+        collect(m_root, entries);
+        final var layout = new Layout(entries);
+        for (final var entry : entries) {
+            if (!entry.m_children.isEmpty()) {
+                final var siblings = entry.m_children.stream().sorted(SIBLING_ORDER).toList();
+                // the deepest level of the balanced tree
+                final var redDepth = 31 - Integer.numberOfLeadingZeros(siblings.size());
+                entry.m_child = buildTree(siblings, 0, redDepth);
+            }
+        }
+
+        writeHeader(out, layout);
+        writeFat(out, layout);
+        writeDifat(out, layout);
+        for (final var entry : entries) {
+            if (entry.isStream() && !entry.isMini()) {
+                writeContent(out, entry, SECTOR_SIZE);
+            }
+        }
+        writeDirectory(out, entries, layout);
+        writeMiniFat(out, entries, layout);
+        var miniStreamLength = 0L;
+        for (final var entry : entries) {
+            if (entry.isMini()) {
+                miniStreamLength += writeContent(out, entry, MINI_SECTOR_SIZE);
+            }
+        }
+        pad(out, miniStreamLength, SECTOR_SIZE);
+        out.flush();
+    }
+
+    private static void collect(final Entry entry, final List<Entry> entries) {
+        entry.m_id = entries.size();
+        entries.add(entry);
+        for (final var child : entry.m_children) {
+            collect(child, entries);
+        }
+    }
+
+    /**
+     * Builds a balanced tree of the given sorted siblings and returns the id of its root. All levels of the tree but
+     * the deepest one are full, hence coloring the nodes of the deepest level red (unless it's the root) yields a valid
+     * red-black tree, in which all paths have the same number of black nodes.
+     */
+    private static int buildTree(final List<Entry> siblings, final int depth, final int redDepth) {
+        if (siblings.isEmpty()) {
+            return NO_STREAM;
+        }
+        final var mid = siblings.size() / 2;
+        final var entry = siblings.get(mid);
+        entry.m_color = depth > 0 && depth == redDepth ? COLOR_RED : COLOR_BLACK;
+        entry.m_left = buildTree(siblings.subList(0, mid), depth + 1, redDepth);
+        entry.m_right = buildTree(siblings.subList(mid + 1, siblings.size()), depth + 1, redDepth);
+        return entry.m_id;
+    }
+
+    private static void writeHeader(final OutputStream out, final Layout layout) throws IOException {
+        final var header = newSector();
+        header.put(SIGNATURE);
+        header.position(24);
+        header.putShort((short)0x003E); // minor version
+        header.putShort((short)0x0003); // major version
+        header.putShort((short)0xFFFE); // byte order
+        header.putShort((short)9); // sector shift
+        header.putShort((short)6); // mini sector shift
+        header.position(44);
+        header.putInt(layout.m_fatSectors);
+        header.putInt(layout.m_directoryStart);
+        header.putInt(0); // transaction signature
+        header.putInt(MINI_STREAM_CUTOFF);
+        header.putInt(layout.m_miniFatSectors > 0 ? layout.m_miniFatStart : END_OF_CHAIN);
+        header.putInt(layout.m_miniFatSectors);
+        header.putInt(layout.m_difatSectors > 0 ? layout.m_difatStart : END_OF_CHAIN);
+        header.putInt(layout.m_difatSectors);
+        for (var i = 0; i < HEADER_DIFAT_ENTRIES; i++) {
+            header.putInt(i < layout.m_fatSectors ? i : FREE_SECT);
+        }
+        out.write(header.array());
+    }
+
+    private static void writeFat(final OutputStream out, final Layout layout) throws IOException {
+        final var sector = newSector();
+        var chain = 0;
+        for (var id = 0; id < layout.m_fatSectors * IDS_PER_SECTOR; id++) {
+            if (id < layout.m_fatSectors) {
+                sector.putInt(FAT_SECT);
+            } else if (id < layout.m_difatStart + layout.m_difatSectors) {
+                sector.putInt(DIF_SECT);
+            } else {
+                // the chains are consecutive and ordered by their start
+                while (chain < layout.m_chains.size() && id >= layout.m_chains.get(chain)[1]) {
+                    chain++;
+                }
+                if (chain == layout.m_chains.size() || id < layout.m_chains.get(chain)[0]) {
+                    sector.putInt(FREE_SECT);
+                } else {
+                    sector.putInt(id + 1 == layout.m_chains.get(chain)[1] ? END_OF_CHAIN : (id + 1));
+                }
+            }
+            if (!sector.hasRemaining()) {
+                out.write(sector.array());
+                sector.clear();
+            }
+        }
+    }
+
+    private static void writeDifat(final OutputStream out, final Layout layout) throws IOException {
+        final var sector = newSector();
+        var fatSector = HEADER_DIFAT_ENTRIES;
+        for (var i = 0; i < layout.m_difatSectors; i++) {
+            for (var j = 0; j < IDS_PER_SECTOR - 1; j++, fatSector++) {
+                sector.putInt(fatSector < layout.m_fatSectors ? fatSector : FREE_SECT);
+            }
+            sector.putInt(i + 1 < layout.m_difatSectors ? (layout.m_difatStart + i + 1) : END_OF_CHAIN);
+            out.write(sector.array());
+            sector.clear();
+        }
+    }
+
+    private static void writeDirectory(final OutputStream out, final List<Entry> entries, final Layout layout)
+        throws IOException {
+        final var sector = newSector();
+        for (var i = 0; i < layout.m_directorySectors * (SECTOR_SIZE / DIRECTORY_ENTRY_SIZE); i++) {
+            if (i < entries.size()) {
+                final var entry = entries.get(i);
+                final var name = entry.m_name.getBytes(StandardCharsets.UTF_16LE);
+                final var start = sector.position();
+                sector.put(name);
+                sector.position(start + 64);
+                sector.putShort((short)(name.length + 2));
+                sector.put(entry.m_type);
+                sector.put(entry.m_color);
+                sector.putInt(entry.m_left);
+                sector.putInt(entry.m_right);
+                sector.putInt(entry.m_child);
+                sector.position(start + 116); // skip CLSID, state bits and time stamps
+                if (entry.m_type == TYPE_ROOT) {
+                    sector.putInt(layout.m_miniStreamSize > 0 ? layout.m_miniStreamStart : END_OF_CHAIN);
+                    sector.putLong(layout.m_miniStreamSize);
+                } else {
+                    sector.putInt(entry.isStream() ? entry.m_start : 0);
+                    sector.putLong(entry.m_size);
+                }
+            } else {
+                final var start = sector.position();
+                sector.position(start + 68);
+                sector.putInt(NO_STREAM);
+                sector.putInt(NO_STREAM);
+                sector.putInt(NO_STREAM);
+                sector.position(start + DIRECTORY_ENTRY_SIZE);
+            }
+            if (!sector.hasRemaining()) {
+                out.write(sector.array());
+                Arrays.fill(sector.array(), (byte)0);
+                sector.clear();
+            }
+        }
+    }
+
+    private static void writeMiniFat(final OutputStream out, final List<Entry> entries, final Layout layout)
+        throws IOException {
+        final var sector = newSector();
+        var written = 0;
+        for (final var entry : entries) {
+            if (entry.isMini() && entry.m_size > 0) {
+                final var end = entry.m_start + sectors(entry.m_size, MINI_SECTOR_SIZE);
+                for (var id = entry.m_start; id < end; id++) {
+                    sector.putInt(id + 1 == end ? END_OF_CHAIN : (id + 1));
+                    written++;
+                    if (!sector.hasRemaining()) {
+                        out.write(sector.array());
+                        sector.clear();
+                    }
+                }
+            }
+        }
+        if (written % IDS_PER_SECTOR != 0) {
+            while (sector.hasRemaining()) {
+                sector.putInt(FREE_SECT);
+            }
+            out.write(sector.array());
+        }
+    }
+
+    /** Writes the content of the stream padded to the given sector size and returns the number of written bytes. */
+    private static long writeContent(final OutputStream out, final Entry entry, final int sectorSize)
+        throws IOException {
+        final var counter = new CountingOutputStream(out);
+        entry.m_content.writeTo(counter);
+        if (counter.m_count != entry.m_size) {
+            throw new IOException(String.format("The stream '%s' consists of %d bytes instead of the declared %d.",
+                entry.m_name, counter.m_count, entry.m_size));
+        }
+        return entry.m_size + pad(out, entry.m_size, sectorSize);
+    }
+
+    private static int pad(final OutputStream out, final long length, final int sectorSize) throws IOException {
+        final var padding = (int)((sectorSize - length % sectorSize) % sectorSize);
+        out.write(new byte[padding]);
+        return padding;
+    }
+
+    private static ByteBuffer newSector() {
+        return ByteBuffer.allocate(SECTOR_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int sectors(final long size, final int sectorSize) {
+        return (int)((size + sectorSize - 1) / sectorSize);
+    }
+
+    /** The position of all parts in the file, also assigns the start sectors of the streams. */
+    private static final class Layout {
+
+        private int m_fatSectors;
+
+        private int m_difatSectors;
+
+        private final int m_difatStart;
+
+        private final int m_directoryStart;
+
+        private final int m_directorySectors;
+
+        private final int m_miniFatStart;
+
+        private final int m_miniFatSectors;
+
+        private final int m_miniStreamStart;
+
+        private final long m_miniStreamSize;
+
+        /** The chains of consecutive sectors, as start (inclusive) and end (exclusive) sector. */
+        private final List<int[]> m_chains = new ArrayList<>();
+
+        Layout(final List<Entry> entries) throws IOException {
+            long regularSectors = 0;
+            var miniSectors = 0;
+            for (final var entry : entries) {
+                if (entry.isMini()) {
+                    entry.m_start = entry.m_size > 0 ? miniSectors : END_OF_CHAIN;
+                    miniSectors += sectors(entry.m_size, MINI_SECTOR_SIZE);
+                } else if (entry.isStream()) {
+                    regularSectors += sectors(entry.m_size, SECTOR_SIZE);
+                }
+            }
+            m_miniStreamSize = (long)miniSectors * MINI_SECTOR_SIZE;
+            m_miniFatSectors = sectors(miniSectors, IDS_PER_SECTOR);
+            m_directorySectors = sectors((long)entries.size() * DIRECTORY_ENTRY_SIZE, SECTOR_SIZE);
+            final var otherSectors =
+                regularSectors + m_directorySectors + m_miniFatSectors + sectors(m_miniStreamSize, SECTOR_SIZE);
+
+            // the FAT needs to cover its own sectors and those of the DIFAT
+            int fatSectors;
+            do {
+                fatSectors = m_fatSectors;
+                m_fatSectors = sectors(otherSectors + m_fatSectors + m_difatSectors, IDS_PER_SECTOR);
+                m_difatSectors = m_fatSectors > HEADER_DIFAT_ENTRIES
+                    ? sectors(m_fatSectors - (long)HEADER_DIFAT_ENTRIES, IDS_PER_SECTOR - 1) : 0;
+            } while (fatSectors != m_fatSectors);
+            if (otherSectors + m_fatSectors + m_difatSectors >= (END_OF_CHAIN & 0xFFFFFFFFL) - 4) {
+                throw new IOException("The compound file is too large.");
+            }
+
+            m_difatStart = m_fatSectors;
+            var next = m_difatStart + m_difatSectors;
+            for (final var entry : entries) {
+                if (entry.isStream() && !entry.isMini() && entry.m_size > 0) {
+                    entry.m_start = next;
+                    next = addChain(next, sectors(entry.m_size, SECTOR_SIZE));
+                }
+            }
+            m_directoryStart = next;
+            next = addChain(next, m_directorySectors);
+            m_miniFatStart = next;
+            next = addChain(next, m_miniFatSectors);
+            m_miniStreamStart = next;
+            addChain(next, sectors(m_miniStreamSize, SECTOR_SIZE));
+        }
+
+        private int addChain(final int start, final int length) {
+            if (length > 0) {
+                m_chains.add(new int[]{start, start + length});
+            }
+            return start + length;
+        }
+    }
+
+    /** Counts the bytes written to the underlying stream, which is not closed. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long m_count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            m_count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            m_count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.crypt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.WorkflowEvent;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.ext.poi3.node.io.filehandling.excel.NodeContextUtil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+
+/**
+ * In-memory cache of the secret keys of encrypted files whose password has been verified, such that reading the same
+ * file again does not repeat the expensive key derivation (e.g. 100000 SHA-512 iterations for agile encryption).
+ *
+ * <p>
+ * The keys are cached per workflow and removed when the workflow is closed or after they have not been used for
+ * {@value #DEFAULT_EXPIRY_SECONDS} seconds (configurable via the system property {@value #EXPIRY_PROPERTY}, 0
+ * disables the cache). Keys of files read outside of a workflow are not cached, since they would not be removed
+ * before they expire. An entry is identified by a keyed hash of the file's verifier, which is unique per encryption,
+ * and the password. The key of the hash is generated randomly per session, hence neither passwords nor hashes that
+ * could be brute-forced outside of the session are kept in memory. The cached key bytes are wiped on removal, every
+ * returned key is a copy taken while the bytes are guaranteed not to be wiped.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class SecretKeyCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SecretKeyCache.class);
+
+    private static final String EXPIRY_PROPERTY = "knime.excel.crypt.keyCacheExpiry";
+
+    private static final long DEFAULT_EXPIRY_SECONDS = 600;
+
+    private static final int MAX_ENTRIES = 2048;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final byte[] SESSION_SECRET = new byte[32];
+
+    private static final long EXPIRY_SECONDS = Math.max(0, Long.getLong(EXPIRY_PROPERTY, DEFAULT_EXPIRY_SECONDS));
+
+    private static final Cache<EntryKey, CachedKey> CACHE = CacheBuilder.newBuilder() //
+        .maximumSize(MAX_ENTRIES) //
+        .expireAfterAccess(EXPIRY_SECONDS, TimeUnit.SECONDS) //
+        .removalListener((RemovalListener<EntryKey, CachedKey>)n -> n.getValue().wipe()) //
+        .build();
+
+    static {
+        new SecureRandom().nextBytes(SESSION_SECRET);
+        try {
+            WorkflowManager.ROOT.addListener(event -> {
+                if (event.getType() == WorkflowEvent.Type.NODE_REMOVED) {
+                    invalidateWorkflow(event.getID());
+                }
+            });
+        } catch (final RuntimeException e) { // NOSONAR the cache still expires its entries
+            LOGGER.debug("Could not register the listener removing the keys of closed workflows.", e);
+        }
+    }
+
+    private SecretKeyCache() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * Returns the cached secret key of the file.
+     *
+     * @param info the encryption info of the file
+     * @param password the verified password
+     * @return the secret key, or {@code null} if it is not cached
+     */
+    public static SecretKey get(final EncryptionInfo info, final String password) {
+        return NodeContextUtil.getProjectID().map(workflow -> get(info, password, workflow)).orElse(null);
+    }
+
+    /**
+     * Returns the cached secret key of the file read by the given workflow.
+     *
+     * @param info the encryption info of the file
+     * @param password the verified password
+     * @param workflow the id of the workflow (project)
+     * @return the secret key, or {@code null} if it is not cached
+     */
+    static SecretKey get(final EncryptionInfo info, final String password, final NodeID workflow) {
+        if (EXPIRY_SECONDS == 0) {
+            return null;
+        }
+        final var entryKey = createEntryKey(info, password, workflow);
+        final var key = entryKey == null ? null : CACHE.getIfPresent(entryKey);
+        return key == null ? null : key.copy(info.getHeader().getCipherAlgorithm().jceId);
+    }
+
+    /**
+     * Caches the secret key of the file.
+     *
+     * @param info the encryption info of the file
+     * @param password the verified password
+     * @param key the secret key
+     */
+    public static void put(final EncryptionInfo info, final String password, final SecretKey key) {
+        NodeContextUtil.getProjectID().ifPresent(workflow -> put(info, password, key, workflow));
+    }
+
+    /**
+     * Caches the secret key of the file read by the given workflow.
+     *
+     * @param info the encryption info of the file
+     * @param password the verified password
+     * @param key the secret key
+     * @param workflow the id of the workflow (project)
+     */
+    static void put(final EncryptionInfo info, final String password, final SecretKey key, final NodeID workflow) {
+        if (EXPIRY_SECONDS == 0 || key == null || key.getEncoded() == null) {
+            return;
+        }
+        final var entryKey = createEntryKey(info, password, workflow);
+        if (entryKey != null) {
+            CACHE.put(entryKey, new CachedKey(key.getEncoded()));
+        }
+    }
+
+    /**
+     * Removes all cached keys.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * Removes the cached keys of a workflow, called when the workflow is closed.
+     *
+     * @param projectId the id of the workflow (project)
+     */
+    static void invalidateWorkflow(final NodeID projectId) {
+        CACHE.asMap().keySet().removeIf(k -> projectId.equals(k.m_workflow));
+    }
+
+    private static EntryKey createEntryKey(final EncryptionInfo info, final String password,
+        final NodeID workflow) {
+        final var verifier = info.getVerifier();
+        try {
+            final var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(SESSION_SECRET, HMAC_ALGORITHM));
+            for (final var value : new byte[][]{info.getHeader().getKeySalt(), verifier.getSalt(),
+                verifier.getEncryptedVerifier(), verifier.getEncryptedVerifierHash(), verifier.getEncryptedKey()}) {
+                // length prefixed, such that the concatenation is unambiguous
+                final var bytes = value == null ? new byte[0] : value;
+                mac.update((byte)(bytes.length >>> 8));
+                mac.update((byte)bytes.length);
+                mac.update(bytes);
+            }
+            mac.update(password.getBytes(StandardCharsets.UTF_16LE));
+            return new EntryKey(workflow, Base64.getEncoder().encodeToString(mac.doFinal()));
+        } catch (final GeneralSecurityException e) {
+            LOGGER.debug("Could not hash the verifier of the encrypted file, the key is not cached.", e);
+            return null;
+        }
+    }
+
+    /**
+     * The bytes of a cached key. Copying and wiping them are mutually exclusive, such that a key removed while it is
+     * returned is either copied completely or not at all.
+     */
+    private static final class CachedKey {
+
+        private byte[] m_bytes;
+
+        CachedKey(final byte[] bytes) {
+            m_bytes = bytes;
+        }
+
+        /**
+         * @param algorithm the algorithm of the key
+         * @return a copy of the key, or {@code null} if it has been wiped
+         */
+        synchronized SecretKey copy(final String algorithm) {
+            // the key spec copies the bytes
+            return m_bytes == null ? null : new SecretKeySpec(m_bytes, algorithm);
+        }
+
+        synchronized void wipe() {
+            if (m_bytes != null) {
+                Arrays.fill(m_bytes, (byte)0);
+                m_bytes = null;
+            }
+        }
+    }
+
+    private static final class EntryKey {
+
+        private final NodeID m_workflow;
+
+        private final String m_hash;
+
+        EntryKey(final NodeID workflow, final String hash) {
+            m_workflow = workflow;
+            m_hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof EntryKey other && m_workflow.equals(other.m_workflow) && m_hash.equals(other.m_hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(m_workflow, m_hash);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event of a phase of reading an Excel file. Unless a recording enables it, creating and
+ * completing the event does not record anything and costs next to nothing.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@Name("org.knime.excel.ReadPhase")
+@Label("Excel Read Phase")
+@Category({"KNIME", "Excel"})
+@Description("A phase of reading an Excel file")
+@StackTrace(false)
+public final class ExcelReadEvent extends Event {
+
+    /** The phases of a read. */
+    public enum Phase {
+            /** Copying or downloading a file that is not local. */
+            COPY_TO_TEMP("Copy to temporary file"),
+            /** Opening the package or, for xls files, loading the workbook. */
+            OPEN_PACKAGE("Open package"),
+            /** Verifying the password and decrypting the package or setting up its decryption on demand. */
+            DECRYPT("Decrypt"),
+            /** Loading the shared strings table, counting its entries. */
+            LOAD_SHARED_STRINGS("Load shared strings"),
+            /** Loading the styles. */
+            LOAD_STYLES("Load styles"),
+            /** Listing the sheets and checking them for emptiness, counting the sheets. */
+            SCAN_SHEETS("Scan sheets"),
+            /** Parsing the selected sheet on the parser thread, counting the rows handed over to the consumer. */
+            PARSE_SHEET("Parse sheet"),
+            /** Consuming the parsed rows, counting the consumed rows. */
+            CONSUME_ROWS("Consume rows");
+
+        private final String m_label;
+
+        Phase(final String label) {
+            m_label = label;
+        }
+    }
+
+    // the fields are named without prefix, as their names are the names of the recorded fields
+
+    @Label("Phase")
+    String phase; // NOSONAR recorded field
+
+    @Label("File")
+    String file; // NOSONAR recorded field
+
+    @Label("Bytes")
+    @Description("The bytes copied, read or parsed, 0 if unknown")
+    @DataAmount
+    long bytes; // NOSONAR recorded field
+
+    @Label("Count")
+    @Description("The rows, shared strings or sheets, depending on the phase")
+    long count; // NOSONAR recorded field
+
+    @Label("Blocked")
+    @Description("The time spent waiting for the other side of the row queue")
+    @Timespan
+    long blocked; // NOSONAR recorded field
+
+    private ExcelReadEvent(final Phase phase) {
+        this.phase = phase.m_label;
+    }
+
+    /**
+     * Creates and begins the event of a phase.
+     *
+     * @param phase the phase
+     * @return the begun event
+     */
+    public static ExcelReadEvent start(final Phase phase) {
+        final var event = new ExcelReadEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param source the file that is read, formatted only if the event is recorded
+     * @param byteCount the bytes copied, read or parsed, 0 if unknown
+     * @param itemCount the rows, shared strings or sheets, depending on the phase
+     */
+    public void complete(final Object source, final long byteCount, final long itemCount) {
+        complete(source, byteCount, itemCount, 0);
+    }
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param source the file that is read, formatted only if the event is recorded
+     * @param byteCount the bytes copied, read or parsed, 0 if unknown
+     * @param itemCount the rows, shared strings or sheets, depending on the phase
+     * @param blockedNanos the nanoseconds spent waiting for the other side of the row queue
+     */
+    public void complete(final Object source, final long byteCount, final long itemCount, final long blockedNanos) {
+        end();
+        if (shouldCommit()) {
+            file = String.valueOf(source);
+            bytes = byteCount;
+            count = itemCount;
+            blocked = blockedNanos;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event of a phase of writing an Excel file. Unless a recording enables it, creating and
+ * completing the event does not record anything and costs next to nothing.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+@Name("org.knime.excel.WritePhase")
+@Label("Excel Write Phase")
+@Category({"KNIME", "Excel"})
+@Description("A phase of writing an Excel file")
+@StackTrace(false)
+public final class ExcelWriteEvent extends Event {
+
+    /** The phases of a write. */
+    public enum Phase {
+            /** Writing the rows of a table or the updated cells to a sheet, counting the rows or cells. */
+            WRITE_ROWS("Write rows"),
+            /** Sizing the columns of a sheet to their content. */
+            AUTO_SIZE("Auto-size columns"),
+            /** Evaluating the formulas of the workbook. */
+            EVALUATE_FORMULAS("Evaluate formulas"),
+            /** Serializing the workbook, including its encryption. */
+            SAVE("Save"),
+            /** Writing the encrypted workbook, part of saving it. */
+            ENCRYPT("Encrypt"),
+            /** Copying the saved temporary file to the target. */
+            COPY_TEMP_FILE("Copy temporary file");
+
+        private final String m_label;
+
+        Phase(final String label) {
+            m_label = label;
+        }
+    }
+
+    // the fields are named without prefix, as their names are the names of the recorded fields
+
+    @Label("Phase")
+    String phase; // NOSONAR recorded field
+
+    @Label("Target")
+    @Description("The sheet or file written")
+    String target; // NOSONAR recorded field
+
+    @Label("Bytes")
+    @Description("The bytes written, 0 if unknown")
+    @DataAmount
+    long bytes; // NOSONAR recorded field
+
+    @Label("Count")
+    @Description("The rows or cells, depending on the phase")
+    long count; // NOSONAR recorded field
+
+    private ExcelWriteEvent(final Phase phase) {
+        this.phase = phase.m_label;
+    }
+
+    /**
+     * Creates and begins the event of a phase.
+     *
+     * @param phase the phase
+     * @return the begun event
+     */
+    public static ExcelWriteEvent start(final Phase phase) {
+        final var event = new ExcelWriteEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param destination the sheet name or file that is written, formatted only if the event is recorded
+     * @param byteCount the bytes written, 0 if unknown
+     * @param itemCount the rows or cells, depending on the phase
+     */
+    public void complete(final Object destination, final long byteCount, final long itemCount) {
+        end();
+        if (shouldCommit()) {
+            target = String.valueOf(destination);
+            bytes = byteCount;
+            count = itemCount;
+            commit();
+        }
+    }
+}
@@ -54,17 +54,22 @@
 import org.knime.core.webui.node.dialog.defaultdialog.NodeParametersInputImpl;
 import org.knime.core.webui.node.dialog.defaultdialog.internal.file.DefaultFileChooserFilters;
 import org.knime.core.webui.node.dialog.defaultdialog.internal.file.MultiFileSelection;
-import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
-import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelUtils;
-import org.knime.filehandling.core.connections.FSFiles;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelMetadataReader;
+import org.knime.filehandling.core.connections.FSPath;
 import org.knime.node.parameters.NodeParametersInput;
 import org.knime.node.parameters.updates.StateProvider;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Intermediate state provider reading all relevant information from the selected Excel file (or the first one for a
  * multi-file selection). The result is used by other state providers to provide choices etc. in the UI.
@@ -74,6 +79,12 @@
 class ExcelFileContentInfoStateProvider implements StateProvider<ExcelFileContentInfoStateProvider.ExcelFileInfo> {
     private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelFileContentInfoStateProvider.class);
 
+    /** The metadata of the files by their fingerprint, kept across the updates of the dialog. */
+    private static final Cache<FileFingerprint, ExcelFileMetadata> METADATA_CACHE = CacheBuilder.newBuilder() //
+        .maximumSize(64) //
+        .expireAfterAccess(10, TimeUnit.MINUTES) //
+        .build();
+
     Supplier<MultiFileSelection<DefaultFileChooserFilters>> m_fileSelection;
 
     Supplier<EncryptionParameters> m_encryption;
@@ -108,13 +119,7 @@ public ExcelFileInfo computeState(final NodeParametersInput context) {
                     yield m_encryption.get().m_credentials.toCredentials(credentialsProvider).getPassword();
                 }
             };
-            try (final var inputStream = FSFiles.newInputStream(path)) {
-                CryptUtil.verifyPassword(inputStream, password);
-            }
-            try (final var inputStream = FSFiles.newInputStream(path)) {
-                final var sheetNames = ExcelUtils.readSheetNames(inputStream, password);
-                return new ExcelFileInfo(false, sheetNames);
-            }
+            return new ExcelFileInfo(false, readMetadata(path, password).getSheetNames());
         } catch (final EncryptedDocumentException e) { // NOSONAR swallowing exception is intentional
             return new ExcelFileInfo(true, Collections.emptyList());
         } catch (final Exception e) {
@@ -124,6 +129,23 @@ public ExcelFileInfo computeState(final NodeParametersInput context) {
         }
     }
 
+    /**
+     * Reads the metadata of the file in a single pass or takes it from the cache. The metadata of encrypted files is
+     * not cached, such that the password is verified on every update.
+     */
+    private static ExcelFileMetadata readMetadata(final FSPath path, final String password) throws IOException {
+        final var fingerprint = FileFingerprint.of(path);
+        final var cached = METADATA_CACHE.getIfPresent(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        final var metadata = ExcelMetadataReader.read(path, password);
+        if (!metadata.isEncrypted()) {
+            METADATA_CACHE.put(fingerprint, metadata);
+        }
+        return metadata;
+    }
+
     static class ExcelFileInfo {
         private final List<String> m_sheetNames;
 
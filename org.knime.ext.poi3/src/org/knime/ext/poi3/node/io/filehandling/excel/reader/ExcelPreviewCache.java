@@ -0,0 +1,375 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
+import org.knime.filehandling.core.connections.FSPath;
+import org.knime.filehandling.core.node.table.reader.config.TableReadConfig;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessible;
+import org.knime.filehandling.core.node.table.reader.read.Read;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+/**
+ * In-memory cache of the first rows parsed from a sheet for the preview in the dialog of the Excel Reader.
+ *
+ * <p>
+ * Every change of a setting in the dialog reads the file again. An entry is identified by the
+ * {@link FileFingerprint fingerprint} of the file and the settings the parser depends on, e.g. the sheet, the area
+ * and the handling of hidden rows and columns. Settings such as the column header row or skipping empty rows are
+ * applied by the reads decorating the parsed rows, hence changing them replays the cached rows without touching the
+ * file. If more rows are consumed than cached, the file is parsed again and the cached rows are skipped.
+ * </p>
+ * <p>
+ * At most {@value #DEFAULT_ROWS} rows per sheet (configurable via the system property {@value #ROWS_PROPERTY}) and
+ * {@value #MAX_CELLS} cells in total are cached. Entries are removed after they have not been used for
+ * {@value #DEFAULT_EXPIRY_SECONDS} seconds (configurable via the system property {@value #EXPIRY_PROPERTY}, 0
+ * disables the cache). The content of password protected files is not cached.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ExcelPreviewCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelPreviewCache.class);
+
+    private static final String EXPIRY_PROPERTY = "knime.excel.reader.previewCacheExpiry";
+
+    private static final long DEFAULT_EXPIRY_SECONDS = 600;
+
+    private static final String ROWS_PROPERTY = "knime.excel.reader.previewCacheRows";
+
+    /** Covers the rows scanned for the spec by default plus some header and skipped rows. */
+    private static final int DEFAULT_ROWS = 20000;
+
+    private static final long MAX_CELLS = 2_000_000;
+
+    /** The cells a single entry may hold, such that the entries of a few sheets fit into the cache. */
+    private static final long MAX_CELLS_PER_ENTRY = MAX_CELLS / 4;
+
+    private static final long EXPIRY_SECONDS = Math.max(0, Long.getLong(EXPIRY_PROPERTY, DEFAULT_EXPIRY_SECONDS));
+
+    private static final int MAX_ROWS = Math.max(0, Integer.getInteger(ROWS_PROPERTY, DEFAULT_ROWS));
+
+    private static final Cache<List<Object>, Entry> CACHE = CacheBuilder.newBuilder() //
+        // a single segment, otherwise the weight of an entry is limited by the weight of a segment
+        .concurrencyLevel(1) //
+        .maximumWeight(MAX_CELLS) //
+        .weigher((Weigher<List<Object>, Entry>)(k, e) -> e.m_weight) //
+        .expireAfterAccess(EXPIRY_SECONDS, TimeUnit.SECONDS) //
+        .build();
+
+    private ExcelPreviewCache() {
+        // Hide constructor, utils class
+    }
+
+    /** Creates the {@link ExcelRead} parsing the file. */
+    @FunctionalInterface
+    interface ReadFactory {
+
+        /**
+         * @param path the path of the file
+         * @param config the config of the read
+         * @param sheetNamesConsumer the consumer of the sheet names, can be {@code null}
+         * @return the read
+         * @throws IOException if the file can't be read
+         */
+        ExcelRead create(FSPath path, TableReadConfig<ExcelTableReaderConfig> config,
+            Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException;
+    }
+
+    /**
+     * Opens a read of the rows of the file, which replays the cached rows if present and otherwise caches the rows
+     * parsed from the file.
+     *
+     * @param path the path of the file
+     * @param config the config of the read
+     * @param sheetNamesConsumer the consumer of the sheet names, can be {@code null}
+     * @param factory creates the read parsing the file
+     * @return the read
+     * @throws IOException if the file can't be read
+     */
+    @SuppressWarnings("resource") // the source read is closed by the returned read
+    static PreviewRead open(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ReadFactory factory) throws IOException {
+        final var key = EXPIRY_SECONDS == 0 || MAX_ROWS == 0 ? null : createKey(path, config);
+        final var entry = key == null ? null : CACHE.getIfPresent(key);
+        if (entry != null) {
+            LOGGER.debug(() -> "Replaying %d cached rows of %s".formatted(entry.m_rows.size(), key.get(0)));
+            if (sheetNamesConsumer != null && entry.m_sheetNames != null) {
+                sheetNamesConsumer.accept(entry.m_sheetNames);
+            }
+            return new ReplayRead(entry, () -> factory.create(path, config, null));
+        }
+        final var sheetNames = new AtomicReference<Map<String, Boolean>>();
+        final var source = factory.create(path, config, names -> {
+            sheetNames.set(names);
+            if (sheetNamesConsumer != null) {
+                sheetNamesConsumer.accept(names);
+            }
+        });
+        return new RecordingRead(key, source, sheetNames);
+    }
+
+    private static List<Object> createKey(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config)
+        throws IOException {
+        final var excelConfig = config.getReaderSpecificConfig();
+        if (CryptUtil.getPassword(excelConfig.getAuthenticationSettingsModel(),
+            excelConfig.getCredentialsProvider()) != null) {
+            // the decrypted content of protected files is not kept beyond the read
+            return null;
+        }
+        final var partial = excelConfig.getAreaOfSheetToRead() == AreaOfSheetToRead.PARTIAL;
+        // the first row to read and the row filters are applied by the reads decorating the parsed rows
+        return Arrays.asList(FileFingerprint.of(path), excelConfig.getSheetSelection(), excelConfig.getSheetName(),
+            excelConfig.getSheetIdx(), partial ? excelConfig.getReadFromCol() : null,
+            partial ? excelConfig.getReadToCol() : null, partial ? excelConfig.getReadToRow() : null,
+            excelConfig.isSkipHiddenCols(), excelConfig.isSkipHiddenRows(), excelConfig.isUse15DigitsPrecision(),
+            excelConfig.isReplaceEmptyStringsWithMissings(), excelConfig.isReevaluateFormulas(),
+            excelConfig.getFormulaErrorHandling(), excelConfig.getErrorPattern(), excelConfig.isUseRawSettings(),
+            // the parser moves the RowID column to the front
+            config.useRowIDIdx() ? excelConfig.getRowIDCol() : null);
+    }
+
+    private static final class Entry {
+
+        private final List<RandomAccessible<ExcelCell>> m_rows;
+
+        /** Whether the rows are all rows of the sheet. */
+        private final boolean m_complete;
+
+        private final Set<Integer> m_hiddenColumns;
+
+        private final Map<String, Boolean> m_sheetNames;
+
+        private final int m_weight;
+
+        Entry(final List<RandomAccessible<ExcelCell>> rows, final boolean complete, final Set<Integer> hiddenColumns,
+            final Map<String, Boolean> sheetNames, final long cells) {
+            m_rows = rows;
+            m_complete = complete;
+            m_hiddenColumns = hiddenColumns;
+            m_sheetNames = sheetNames;
+            m_weight = (int)Math.min(Integer.MAX_VALUE, cells + rows.size());
+        }
+
+        boolean covers(final Entry other) {
+            return m_complete || m_rows.size() >= other.m_rows.size();
+        }
+    }
+
+    /**
+     * A {@link Read} of the rows of a sheet that also provides the hidden columns of the sheet.
+     */
+    abstract static class PreviewRead implements Read<ExcelCell> {
+
+        /**
+         * @return the indices of the hidden columns, see {@link ExcelRead#getHiddenColumns()}
+         */
+        abstract Set<Integer> getHiddenColumns();
+    }
+
+    /** Caches the first rows of the source read once it is closed without failure. */
+    private static final class RecordingRead extends PreviewRead {
+
+        /** The key of the entry, {@code null} if the rows are not cached. */
+        private final List<Object> m_key;
+
+        private final ExcelRead m_source;
+
+        private final AtomicReference<Map<String, Boolean>> m_sheetNames;
+
+        private final List<RandomAccessible<ExcelCell>> m_rows = new ArrayList<>();
+
+        private long m_cells;
+
+        private boolean m_recording;
+
+        private boolean m_complete;
+
+        private boolean m_failed;
+
+        RecordingRead(final List<Object> key, final ExcelRead source,
+            final AtomicReference<Map<String, Boolean>> sheetNames) {
+            m_key = key;
+            m_source = source;
+            m_sheetNames = sheetNames;
+            m_recording = key != null;
+        }
+
+        @Override
+        public RandomAccessible<ExcelCell> next() throws IOException {
+            final RandomAccessible<ExcelCell> row;
+            try {
+                row = m_source.next();
+            } catch (final IOException | RuntimeException e) {
+                m_failed = true;
+                throw e;
+            }
+            if (row == null) {
+                m_complete = true;
+            } else if (m_recording) {
+                m_recording = m_rows.size() < MAX_ROWS && m_cells + row.size() <= MAX_CELLS_PER_ENTRY;
+                if (m_recording) {
+                    m_rows.add(row);
+                    m_cells += row.size();
+                }
+            }
+            return row;
+        }
+
+        @Override
+        Set<Integer> getHiddenColumns() {
+            return m_source.getHiddenColumns();
+        }
+
+        @Override
+        public OptionalLong getMaxProgress() {
+            return m_source.getMaxProgress();
+        }
+
+        @Override
+        public long getProgress() {
+            return m_source.getProgress();
+        }
+
+        @Override
+        public void close() throws IOException {
+            final var hiddenColumns = m_source.getHiddenColumns();
+            m_source.close();
+            if (m_key == null || m_failed || hiddenColumns == null || (m_rows.isEmpty() && !m_complete)) {
+                return;
+            }
+            // rows that were not recorded due to the limits are not part of the entry
+            final var entry = new Entry(m_rows, m_complete && m_recording, Set.copyOf(hiddenColumns),
+                m_sheetNames.get(), m_cells);
+            CACHE.asMap().merge(m_key, entry, (old, cur) -> cur.covers(old) ? cur : old);
+        }
+    }
+
+    /** Replays the cached rows and continues with the rows parsed from the file if they are not complete. */
+    private static final class ReplayRead extends PreviewRead {
+
+        private final Entry m_entry;
+
+        private final ExcelReadSupplier m_sourceSupplier;
+
+        private ExcelRead m_source;
+
+        private int m_idx;
+
+        ReplayRead(final Entry entry, final ExcelReadSupplier sourceSupplier) {
+            m_entry = entry;
+            m_sourceSupplier = sourceSupplier;
+        }
+
+        @Override
+        public RandomAccessible<ExcelCell> next() throws IOException {
+            if (m_idx < m_entry.m_rows.size()) {
+                return m_entry.m_rows.get(m_idx++);
+            }
+            if (m_entry.m_complete) {
+                return null;
+            }
+            if (m_source == null) {
+                LOGGER.debug("More rows than cached are read, parsing the file again.");
+                m_source = m_sourceSupplier.get();
+                for (var i = 0; i < m_idx; i++) {
+                    if (m_source.next() == null) {
+                        return null;
+                    }
+                }
+            }
+            return m_source.next();
+        }
+
+        @Override
+        Set<Integer> getHiddenColumns() {
+            return m_entry.m_hiddenColumns;
+        }
+
+        @Override
+        public OptionalLong getMaxProgress() {
+            return m_source == null ? OptionalLong.empty() : m_source.getMaxProgress();
+        }
+
+        @Override
+        public long getProgress() {
+            return m_source == null ? 0 : m_source.getProgress();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (m_source != null) {
+                m_source.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExcelReadSupplier {
+        ExcelRead get() throws IOException;
+    }
+}
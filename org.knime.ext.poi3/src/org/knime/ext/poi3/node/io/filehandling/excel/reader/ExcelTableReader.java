@@ -52,7 +52,9 @@
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -64,6 +66,7 @@
 import org.apache.poi.xssf.XLSBUnsupportedException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
@@ -102,10 +105,34 @@ public final class ExcelTableReader implements TableReader<ExcelTableReaderConfi
     /** Contains the names of the sheets as keys and whether it is the first non-empty sheet as value. */
     private Map<String, Boolean> m_sheetNames;
 
+    /** Whether the first rows of the sheets are cached for the preview in the dialog, see {@link ExcelPreviewCache}. */
+    private final boolean m_usePreviewCache;
+
+    /** The metrics of the execution the reads count into, {@code null} if none are collected, e.g. in the dialog. */
+    private volatile ExcelMetrics m_metrics;
+
+    /**
+     * Constructor.
+     */
+    public ExcelTableReader() {
+        this(false);
+    }
+
+    /**
+     * @param usePreviewCache whether the first rows of the sheets are taken from and put into the
+     *            {@link ExcelPreviewCache}, which is only meant for the preview in the dialog
+     */
+    ExcelTableReader(final boolean usePreviewCache) {
+        m_usePreviewCache = usePreviewCache;
+    }
+
     @SuppressWarnings("resource") // decorated read will be closed in AbstractReadDecorator#close
     @Override
     public Read<ExcelCell> read(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config)
         throws IOException {
+        if (m_usePreviewCache) {
+            return decorateRead(ExcelPreviewCache.open(path, config, null, this::getExcelRead), config);
+        }
         return decorateRead(getExcelRead(path, config, null), config);
     }
 
@@ -118,18 +145,31 @@ private void setSheeNames(final Map<String, Boolean> sheetNames) {
     public TypedReaderTableSpec<KNIMECellType> readSpec(final FSPath path,
         final TableReadConfig<ExcelTableReaderConfig> config, final ExecutionMonitor exec) throws IOException {
 
-        final TableSpecGuesser<FSPath, KNIMECellType, ExcelCell> guesser = createGuesser();
-
-        try (var read = getExcelRead(path, config, this::setSheeNames)) {
-            // sheet names are already retrieved, notify a potential listener from the dialog
-            return ExcelColNameUtils.assignNamesIfMissing(
-                guesser.guessSpec(decorateReadForSpecGuessing(read, config), config, exec, path), config,
-                read.getHiddenColumns());
+        try {
+            if (m_usePreviewCache) {
+                try (var read = ExcelPreviewCache.open(path, config, this::setSheeNames, this::getExcelRead)) {
+                    return guessSpec(read, read::getHiddenColumns, path, config, exec);
+                }
+            }
+            try (var read = getExcelRead(path, config, this::setSheeNames)) {
+                return guessSpec(read, read::getHiddenColumns, path, config, exec);
+            }
         } finally {
+            // sheet names are already retrieved, notify a potential listener from the dialog
             notifyChangeListener();
         }
     }
 
+    @SuppressWarnings("resource") // decorated read will be closed in AbstractReadDecorator#close
+    private static TypedReaderTableSpec<KNIMECellType> guessSpec(final Read<ExcelCell> read,
+        final Supplier<Set<Integer>> hiddenColumns, final FSPath path,
+        final TableReadConfig<ExcelTableReaderConfig> config, final ExecutionMonitor exec) throws IOException {
+        final TableSpecGuesser<FSPath, KNIMECellType, ExcelCell> guesser = createGuesser();
+        return ExcelColNameUtils.assignNamesIfMissing(
+            guesser.guessSpec(decorateReadForSpecGuessing(read, config), config, exec, path), config,
+            hiddenColumns.get());
+    }
+
     @SuppressWarnings("resource") // decorated read will be closed in AbstractReadDecorator#close
     @Override
     public void checkSpecs(final TypedReaderTableSpec<KNIMECellType> spec, final FSPath path,
@@ -147,7 +187,7 @@ public void checkSpecs(final TypedReaderTableSpec<KNIMECellType> spec, final FSP
     }
 
     @SuppressWarnings("resource") // decorated reads will be closed in AbstractReadDecorator#close
-    private static Read<ExcelCell> decorateRead(final ExcelRead excelRead,
+    private static Read<ExcelCell> decorateRead(final Read<ExcelCell> excelRead,
         final TableReadConfig<ExcelTableReaderConfig> config) {
         Read<ExcelCell> read = excelRead;
         if (config.useColumnHeaderIdx()) {
@@ -157,7 +197,7 @@ private static Read<ExcelCell> decorateRead(final ExcelRead excelRead,
     }
 
     @SuppressWarnings("resource") // decorated reads will be closed in AbstractReadDecorator#close
-    private static ExtractColumnHeaderRead<ExcelCell> decorateReadForSpecGuessing(final ExcelRead excelRead,
+    private static ExtractColumnHeaderRead<ExcelCell> decorateReadForSpecGuessing(final Read<ExcelCell> excelRead,
         final TableReadConfig<ExcelTableReaderConfig> config) {
         final ExtractColumnHeaderRead<ExcelCell> extractColHeaderRead =
             new DefaultExtractColumnHeaderRead<>(excelRead, config);
@@ -165,18 +205,20 @@ private static ExtractColumnHeaderRead<ExcelCell> decorateReadForSpecGuessing(fi
         return new WrapperExtractColumnHeaderRead(read, extractColHeaderRead::getColumnHeaders);
     }
 
-    private static ExcelRead getExcelRead(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
+    private ExcelRead getExcelRead(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
         final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
         final boolean reevaluateFormulas = config.getReaderSpecificConfig().isReevaluateFormulas();
+        final var collected = m_metrics;
+        final var metrics = collected != null ? collected : new ExcelMetrics();
         try {
             final String pathLowerCase = path.toString().toLowerCase(Locale.US);
             if (pathLowerCase.endsWith(".xlsb")) {
-                return createXLSBRead(path, config, sheetNamesConsumer);
+                return createXLSBRead(path, config, sheetNamesConsumer, metrics);
             }
             if (!reevaluateFormulas && (pathLowerCase.endsWith(".xlsx") || pathLowerCase.endsWith(".xlsm"))) {
-                return createXLSXRead(path, config, sheetNamesConsumer);
+                return createXLSXRead(path, config, sheetNamesConsumer, metrics);
             }
-            return new XLSRead(path, config, sheetNamesConsumer);
+            return new XLSRead(path, config, sheetNamesConsumer, metrics);
         } catch (ODFNotOfficeXmlFileException e) {
             // ODF (open office) files are xml files and, hence, not detected as invalid file format by the above check
             // however, ODF files are not supported
@@ -184,7 +226,7 @@ private static ExcelRead getExcelRead(final FSPath path, final TableReadConfig<E
         } catch (XLSBUnsupportedException e) { // NOSONAR
             // we handle this exception by creating the proper Read.
             // user must have specified a file not ending with ".xlsb" but being an xlsb file
-            final var xlsbRead = new XLSBRead(path, config, sheetNamesConsumer);
+            final var xlsbRead = new XLSBRead(path, config, sheetNamesConsumer, metrics);
             if (reevaluateFormulas) {
                 // we just put a debug message as it is also written when creating the preview and we don't want to
                 // spam the console (of regular users)
@@ -206,24 +248,24 @@ private static ExcelRead getExcelRead(final FSPath path, final TableReadConfig<E
     }
 
     private static ExcelRead createXLSBRead(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
         try {
-            return new XLSBRead(path, config, sheetNamesConsumer);
+            return new XLSBRead(path, config, sheetNamesConsumer, metrics);
         } catch (OLE2NotOfficeXmlFileException e) { // NOSONAR
             // Happens if an xls file has been specified that ends with xlsb.
             // We do not fail but simply use the XLSParser instead.
-            return new XLSRead(path, config, sheetNamesConsumer);
+            return new XLSRead(path, config, sheetNamesConsumer, metrics);
         }
     }
 
     private static ExcelRead createXLSXRead(final FSPath path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
         try {
-            return new XLSXRead(path, config, sheetNamesConsumer);
+            return new XLSXRead(path, config, sheetNamesConsumer, metrics);
         } catch (OLE2NotOfficeXmlFileException e) { // NOSONAR
             // Happens if an xls file has been specified that ends with xlsx or xlsm.
             // We do not fail but simply use the XLSParser instead.
-            return new XLSRead(path, config, sheetNamesConsumer);
+            return new XLSRead(path, config, sheetNamesConsumer, metrics);
         }
     }
 
@@ -249,6 +291,15 @@ private static TableSpecGuesser<FSPath, KNIMECellType, ExcelCell> createGuesser(
         return new TableSpecGuesser<>(TYPE_HIERARCHY, ExcelCell::getStringValue);
     }
 
+    /**
+     * Sets the metrics of an execution, which all reads created until they are unset count into.
+     *
+     * @param metrics the metrics of the execution, or {@code null} to stop collecting them
+     */
+    void setMetrics(final ExcelMetrics metrics) {
+        m_metrics = metrics;
+    }
+
     void setChangeListener(final ChangeListener l) {
         m_listener = l;
     }
@@ -69,6 +69,7 @@
 import org.knime.filehandling.core.defaultnodesettings.filtermode.SettingsModelFilterMode.FilterMode;
 import org.knime.filehandling.core.node.table.reader.CommonTableReaderNodeModel;
 import org.knime.filehandling.core.node.table.reader.GenericTableReader;
+import org.knime.filehandling.core.node.table.reader.MultiTableReader;
 import org.knime.filehandling.core.node.table.reader.ProductionPathProvider;
 import org.knime.filehandling.core.node.table.reader.ReadAdapterFactory;
 import org.knime.filehandling.core.node.table.reader.config.tablespec.ConfigID;
@@ -86,6 +87,9 @@
     extends BackwardsCompatibleWebUITableReaderNodeFactory<ExcelTableReaderNodeParameters, //
             MultiFileSelectionPath, ExcelTableReaderConfig, KNIMECellType, ExcelCell, ExcelMultiTableReadConfig> {
 
+    /** The table reader {@link #createReader()} returns while a node model is created, {@code null} otherwise. */
+    private ExcelTableReader m_nextReader;
+
     @SuppressWarnings("javadoc")
     public ExcelTableReaderNodeFactory() {
         super(ExcelTableReaderNodeParameters.class);
@@ -117,15 +121,31 @@ protected NodeDescription createNodeDescription() {
         createNodeModel(final NodeCreationConfiguration creationConfig) {
         final Supplier<ExcelMultiTableReadConfig> configCreator = () -> createConfig(creationConfig);
         final var pathSettings = createPathSettings(creationConfig);
-        final var reader = createMultiTableReader();
+        final var tableReader = new ExcelTableReader();
+        final var reader = createMultiTableReaderWith(tableReader);
         final var serializer = createSerializer();
         final var portConfig = creationConfig.getPortConfig();
         final var legacySourceSettings = createLegacySourceSettings(creationConfig);
         return portConfig.isPresent()
-            ? new ExcelTableReaderNodeModel(configCreator, pathSettings, reader, serializer, portConfig.get(),
-                legacySourceSettings, this::isLegacyConfiguration)
-            : new ExcelTableReaderNodeModel(configCreator, pathSettings, reader, serializer, legacySourceSettings,
-                this::isLegacyConfiguration);
+            ? new ExcelTableReaderNodeModel(configCreator, pathSettings, reader, tableReader, serializer,
+                portConfig.get(), legacySourceSettings, this::isLegacyConfiguration)
+            : new ExcelTableReaderNodeModel(configCreator, pathSettings, reader, tableReader, serializer,
+                legacySourceSettings, this::isLegacyConfiguration);
+    }
+
+    /**
+     * Creates the multi table reader of a node model that reads with the given table reader, such that the node model
+     * can pass the metrics of its executions to the reader.
+     */
+    private synchronized MultiTableReader<FSPath, ExcelTableReaderConfig, KNIMECellType>
+        createMultiTableReaderWith(final ExcelTableReader tableReader) {
+        // createMultiTableReader() gets its table reader from createReader()
+        m_nextReader = tableReader;
+        try {
+            return createMultiTableReader();
+        } finally {
+            m_nextReader = null;
+        }
     }
 
     @Override
@@ -134,8 +154,9 @@ protected ReadAdapterFactory<KNIMECellType, ExcelCell> getReadAdapterFactory() {
     }
 
     @Override
-    protected GenericTableReader<FSPath, ExcelTableReaderConfig, KNIMECellType, ExcelCell> createReader() {
-        return new ExcelTableReader();
+    protected synchronized GenericTableReader<FSPath, ExcelTableReaderConfig, KNIMECellType, ExcelCell>
+        createReader() {
+        return m_nextReader != null ? m_nextReader : new ExcelTableReader();
     }
 
     @Override
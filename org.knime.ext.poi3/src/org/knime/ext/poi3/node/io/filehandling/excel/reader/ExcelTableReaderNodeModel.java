@@ -54,6 +54,7 @@
 import org.knime.base.node.io.filehandling.webui.reader2.MultiFileSelectionPath;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.context.ports.PortsConfiguration;
 import org.knime.core.node.port.PortObject;
@@ -61,6 +62,9 @@
 import org.knime.core.node.streamable.PartitionInfo;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.workflow.VariableType.LongType;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Scope;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.node.table.reader.BackwardsCompatibleCommonTableReaderNodeModel;
@@ -77,28 +81,50 @@
 final class ExcelTableReaderNodeModel extends
     BackwardsCompatibleCommonTableReaderNodeModel<FSPath, MultiFileSelectionPath, ExcelTableReaderConfig, KNIMECellType, ExcelMultiTableReadConfig> {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelTableReaderNodeModel.class);
+
+    /** The table reader of the multi table reader, which the reads of an execution are created by. */
+    private final ExcelTableReader m_excelTableReader;
+
     ExcelTableReaderNodeModel(final Supplier<ExcelMultiTableReadConfig> config,
         final MultiFileSelectionPath pathSettingsModel,
         final MultiTableReader<FSPath, ExcelTableReaderConfig, KNIMECellType> tableReader,
+        final ExcelTableReader excelTableReader,
         final CommonTableReaderNodeFactory.ConfigAndSourceSerializer<FSPath, MultiFileSelectionPath, ExcelTableReaderConfig, KNIMECellType, ExcelMultiTableReadConfig> serializer,
         final SourceSettings<FSPath> legacySourceSettings, final Predicate<NodeSettingsRO> isLegacySettingsPredicate) {
         super(config, pathSettingsModel, tableReader, serializer, legacySourceSettings, isLegacySettingsPredicate);
+        m_excelTableReader = excelTableReader;
     }
 
     ExcelTableReaderNodeModel(final Supplier<ExcelMultiTableReadConfig> config,
         final MultiFileSelectionPath pathSettingsModel,
         final MultiTableReader<FSPath, ExcelTableReaderConfig, KNIMECellType> tableReader,
+        final ExcelTableReader excelTableReader,
         final CommonTableReaderNodeFactory.ConfigAndSourceSerializer<FSPath, MultiFileSelectionPath, ExcelTableReaderConfig, KNIMECellType, ExcelMultiTableReadConfig> serializer,
         final PortsConfiguration portsConfig, final SourceSettings<FSPath> legacySourceSettings,
         final Predicate<NodeSettingsRO> isLegacySettingsPredicate) {
         super(config, pathSettingsModel, tableReader, serializer, portsConfig, legacySourceSettings,
             isLegacySettingsPredicate);
+        m_excelTableReader = excelTableReader;
     }
 
     @Override
     protected PortObject[] execute(final PortObject[] inObjects, final ExecutionContext exec) throws Exception {
         setCredentialsProvider();
-        return super.execute(inObjects, exec);
+        final var metrics = new ExcelMetrics();
+        m_excelTableReader.setMetrics(metrics);
+        final PortObject[] result;
+        try {
+            result = super.execute(inObjects, exec);
+        } finally {
+            m_excelTableReader.setMetrics(null);
+            LOGGER.debug(() -> "Excel Reader metrics: " + metrics.summarize(Scope.READ));
+        }
+        if (ExcelMetrics.isFlowVariableOutputEnabled()) {
+            metrics.getFlowVariables(Scope.READ).forEach((name, value) -> pushFlowVariable(name, LongType.INSTANCE,
+                value));
+        }
+        return result;
     }
 
     @Override
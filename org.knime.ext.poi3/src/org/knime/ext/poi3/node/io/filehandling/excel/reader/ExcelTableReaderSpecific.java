@@ -96,7 +96,8 @@ default ExcelMultiTableReadConfig createMultiTableReadConfig(final NodeParameter
         @SuppressWarnings("unchecked")
         @Override
         default ExcelTableReader createTableReader() {
-            return new ExcelTableReader();
+            // the reader is only used by the dialog, which repeatedly reads the same rows while settings change
+            return new ExcelTableReader(true);
         }
 
     }
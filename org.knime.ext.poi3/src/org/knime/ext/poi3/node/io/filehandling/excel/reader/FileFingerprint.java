@@ -0,0 +1,110 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+import org.knime.filehandling.core.connections.FSLocation;
+import org.knime.filehandling.core.connections.FSPath;
+
+/**
+ * Identifies the content of a file by its location, size and modification time, such that results computed from the
+ * file can be cached across dialog updates and are invalidated once the file is changed.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class FileFingerprint {
+
+    private final FSLocation m_location;
+
+    private final long m_size;
+
+    private final FileTime m_lastModified;
+
+    /** The file key of the file system, e.g. the inode, can be {@code null}. */
+    private final Object m_fileKey;
+
+    private FileFingerprint(final FSLocation location, final BasicFileAttributes attributes) {
+        m_location = location;
+        m_size = attributes.size();
+        m_lastModified = attributes.lastModifiedTime();
+        m_fileKey = attributes.fileKey();
+    }
+
+    /**
+     * Creates the fingerprint of the file.
+     *
+     * @param path the path of the file
+     * @return the fingerprint of the file
+     * @throws IOException if the attributes of the file can't be read
+     */
+    static FileFingerprint of(final FSPath path) throws IOException {
+        return new FileFingerprint(path.toFSLocation(), Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof FileFingerprint other && m_size == other.m_size && m_location.equals(other.m_location)
+            && m_lastModified.equals(other.m_lastModified) && Objects.equals(m_fileKey, other.m_fileKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(m_location, m_size, m_lastModified, m_fileKey);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d bytes, modified %s)", m_location.getPath(), m_size, m_lastModified);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+
+/**
+ * The metadata of an Excel file, i.e. its format, whether it is encrypted and the sheets it contains, as read by the
+ * {@link ExcelMetadataReader}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ExcelFileMetadata {
+
+    /** The format of an Excel file. */
+    public enum Format {
+            /** The binary format of Excel 97-2003. */
+            XLS,
+            /** The Office Open XML format, including macro-enabled files. */
+            XLSX,
+            /** The binary Office Open format. */
+            XLSB
+    }
+
+    /** The visibility of a sheet. */
+    public enum Visibility {
+            /** The sheet is visible. */
+            VISIBLE,
+            /** The sheet is hidden but can be unhidden in Excel. */
+            HIDDEN,
+            /** The sheet is hidden and can only be unhidden programmatically. */
+            VERY_HIDDEN
+    }
+
+    /** The metadata of a sheet. */
+    public static final class SheetMetadata {
+
+        private final String m_name;
+
+        private final Visibility m_visibility;
+
+        private final CellRangeAddress m_dimension;
+
+        /**
+         * @param name the name of the sheet
+         * @param visibility the visibility of the sheet
+         * @param dimension the used range of the sheet, {@code null} if unknown
+         */
+        SheetMetadata(final String name, final Visibility visibility, final CellRangeAddress dimension) {
+            m_name = name;
+            m_visibility = visibility;
+            m_dimension = dimension;
+        }
+
+        /**
+         * @return the name of the sheet
+         */
+        public String getName() {
+            return m_name;
+        }
+
+        /**
+         * @return the visibility of the sheet
+         */
+        public Visibility getVisibility() {
+            return m_visibility;
+        }
+
+        /**
+         * Returns the used range of the sheet as stored in the file. It is not available for encrypted XLS files and
+         * may be missing or outdated if the file was not written by Excel.
+         *
+         * @return the used range of the sheet, if known
+         */
+        public Optional<CellRangeAddress> getDimension() {
+            return Optional.ofNullable(m_dimension).map(CellRangeAddress::copy);
+        }
+    }
+
+    private final Format m_format;
+
+    private final boolean m_encrypted;
+
+    private final List<SheetMetadata> m_sheets;
+
+    ExcelFileMetadata(final Format format, final boolean encrypted, final List<SheetMetadata> sheets) {
+        m_format = format;
+        m_encrypted = encrypted;
+        m_sheets = List.copyOf(sheets);
+    }
+
+    /**
+     * @return the format of the file
+     */
+    public Format getFormat() {
+        return m_format;
+    }
+
+    /**
+     * @return {@code true} if the file is password protected
+     */
+    public boolean isEncrypted() {
+        return m_encrypted;
+    }
+
+    /**
+     * @return the metadata of the sheets in the order of the workbook
+     */
+    public List<SheetMetadata> getSheets() {
+        return m_sheets;
+    }
+
+    /**
+     * @return the names of the sheets in the order of the workbook
+     */
+    public List<String> getSheetNames() {
+        return m_sheets.stream().map(SheetMetadata::getName).toList();
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.reader.read;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FilePassRecord;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.RecordInputStream;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.XMLHelper;
+import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.crypt.AgileDecryptingChannel;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.Format;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.SheetMetadata;
+import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelFileMetadata.Visibility;
+
+/**
+ * Reads the {@link ExcelFileMetadata metadata} of an Excel file without loading the workbook.
+ *
+ * <p>
+ * For XLSX and XLSB files only the central directory of the zip file, the workbook part with its relationships and the
+ * beginning of each sheet part up to its dimension are read. For XLS files only the records of the workbook globals,
+ * which contain the BoundSheet records, and the records at the beginning of each sheet are read. Encrypted XLSX files
+ * are decrypted on demand if they are agile encrypted, i.e. only the read parts are decrypted.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ExcelMetadataReader {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelMetadataReader.class);
+
+    /** Enough bytes to determine the {@link FileMagic} of a file. */
+    private static final int MAGIC_LENGTH = 64;
+
+    private static final String DEFAULT_WORKBOOK_PART = "xl/workbook.xml";
+
+    private static final String OFFICE_DOCUMENT_RELATIONSHIP = "/officeDocument";
+
+    /**
+     * The types of the relationships of sheets, which are the ones read by POI's {@code XSSFReader.SheetIterator}.
+     * Other parts listed as sheets of the workbook, e.g. dialog sheets, are skipped. Only the end of the types is
+     * compared, since the namespace of strict OOXML differs.
+     */
+    private static final List<String> SHEET_RELATIONSHIPS = List.of("/worksheet", "/chartsheet", "/xlMacrosheet");
+
+    /** BrtBeginSheetData, the sheet data follows the dimension of an XLSB sheet. */
+    private static final int XLSB_BEGIN_SHEET_DATA = 145;
+
+    /** BrtWsDim, the dimension of an XLSB sheet. */
+    private static final int XLSB_SHEET_DIMENSION = 148;
+
+    /** BrtEndBundleShs, the end of the sheets of an XLSB workbook. */
+    private static final int XLSB_END_SHEETS = 144;
+
+    /** BrtBundleSh, a sheet of an XLSB workbook. */
+    private static final int XLSB_SHEET = 156;
+
+    private ExcelMetadataReader() {
+        // Hide constructor, utils class
+    }
+
+    /** Called for each record, returns {@code false} to stop reading. */
+    @FunctionalInterface
+    private interface RecordVisitor<T> {
+        boolean visit(T t) throws IOException;
+    }
+
+    /**
+     * Reads the metadata of an Excel file.
+     *
+     * @param path the path of the file
+     * @param password the password of the file, can be {@code null}
+     * @return the metadata of the file
+     * @throws IOException if the file could not be read or has an unsupported format
+     * @throws EncryptedDocumentException if the password is missing or incorrect
+     */
+    public static ExcelFileMetadata read(final Path path, final String password) throws IOException {
+        try (final var channel = Files.newByteChannel(path, StandardOpenOption.READ)) {
+            return read(channel, password);
+        }
+    }
+
+    /**
+     * Reads the metadata of an Excel file. The channel is read from its beginning and may be closed.
+     *
+     * @param channel the channel of the file
+     * @param password the password of the file, can be {@code null}
+     * @return the metadata of the file
+     * @throws IOException if the file could not be read or has an unsupported format
+     * @throws EncryptedDocumentException if the password is missing or incorrect
+     */
+    public static ExcelFileMetadata read(final SeekableByteChannel channel, final String password)
+        throws IOException {
+        final var magic = readMagic(channel);
+        return switch (magic) {
+            case OOXML -> readOOXML(channel, false);
+            // XLS file or encrypted XLSX
+            case OLE2 -> readOLE2(channel, password);
+            default -> throw new IOException("Unsupported file format \"%s\"".formatted(magic));
+        };
+    }
+
+    private static FileMagic readMagic(final SeekableByteChannel channel) throws IOException {
+        final var header = ByteBuffer.allocate(MAGIC_LENGTH);
+        channel.position(0);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // read until the buffer is full or the file ends
+        }
+        channel.position(0);
+        // the remainder of the buffer of short files stays zero
+        return FileMagic.valueOf(header.array());
+    }
+
+    @SuppressWarnings("resource") // the POIFS file system closes the stream it is read from
+    private static ExcelFileMetadata readOLE2(final SeekableByteChannel channel, final String password)
+        throws IOException {
+        // only files can be read at random positions, other channels are read into memory
+        try (final var fs = channel instanceof FileChannel fileChannel ? new POIFSFileSystem(fileChannel, true)
+            : new POIFSFileSystem(Channels.newInputStream(channel))) {
+            final var root = fs.getRoot();
+            if (!CryptUtil.isEncryptedOOXML(root)) {
+                CryptUtil.verifyPasswordForOLE2(fs, password);
+                return readXLS(root, password);
+            }
+            // verifying the password derives the key, which is then used to decrypt the file
+            final var info = new EncryptionInfo(root);
+            if (CryptUtil.canDecryptOnDemand(info)) {
+                final var key = CryptUtil.getSecretKeyForEncryptedOOXML(info, password);
+                try (final var decrypted = AgileDecryptingChannel.open(root, info, key)) {
+                    return readOOXML(decrypted, true);
+                }
+            }
+            final var decryptor = CryptUtil.verifyPasswordForEncryptedOOXML(root, password);
+            try (final var decrypted = decryptor.getDataStream(root)) {
+                return readOOXML(new SeekableInMemoryByteChannel(IOUtils.toByteArray(decrypted)), true);
+            } catch (final GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------
+    // XLS
+    // ---------------------------------------------------------------------------------------------------------------
+
+    private static ExcelFileMetadata readXLS(final DirectoryNode root, final String password) throws IOException {
+        final var workbookName = HSSFWorkbook.getWorkbookDirEntryName(root);
+        final var encrypted = isEncryptedXLS(root, workbookName);
+        final var boundSheets = new ArrayList<BoundSheetRecord>();
+        Biff8EncryptionKey.setCurrentUserPassword(password);
+        try (final var in = root.createDocumentInputStream(workbookName)) {
+            final var records = new RecordFactoryInputStream(in, false);
+            // the workbook globals end with the first EOF record, the sheets follow
+            for (var r = records.nextRecord(); r != null && !(r instanceof EOFRecord); r = records.nextRecord()) {
+                if (r instanceof BoundSheetRecord boundSheet) {
+                    boundSheets.add(boundSheet);
+                }
+            }
+        } finally {
+            Biff8EncryptionKey.setCurrentUserPassword(null);
+        }
+        final var sheets = new ArrayList<SheetMetadata>(boundSheets.size());
+        for (final var boundSheet : boundSheets) {
+            final Visibility visibility;
+            if (boundSheet.isVeryHidden()) {
+                visibility = Visibility.VERY_HIDDEN;
+            } else {
+                visibility = boundSheet.isHidden() ? Visibility.HIDDEN : Visibility.VISIBLE;
+            }
+            // the records of encrypted files can only be decrypted from the beginning of the stream
+            final var dimension =
+                encrypted ? null : readXLSDimension(root, workbookName, boundSheet.getPositionOfBof());
+            sheets.add(new SheetMetadata(boundSheet.getSheetname(), visibility, dimension));
+        }
+        return new ExcelFileMetadata(Format.XLS, encrypted, sheets);
+    }
+
+    private static boolean isEncryptedXLS(final DirectoryNode root, final String workbookName) throws IOException {
+        try (final var in = root.createDocumentInputStream(workbookName)) {
+            final var records = new RecordInputStream(in);
+            // the FILEPASS record of an encrypted file immediately follows the BOF record of the workbook globals
+            for (var i = 0; i < 2 && records.hasNextRecord(); i++) {
+                records.nextRecord();
+                if (records.getSid() == FilePassRecord.sid) {
+                    return true;
+                }
+                records.readRemainder();
+            }
+        }
+        return false;
+    }
+
+    private static CellRangeAddress readXLSDimension(final DirectoryNode root, final String workbookName,
+        final int positionOfBof) {
+        try (final var in = root.createDocumentInputStream(workbookName)) {
+            IOUtils.skipFully(in, positionOfBof);
+            final var records = new RecordInputStream(in);
+            while (records.hasNextRecord()) {
+                records.nextRecord();
+                final var sid = records.getSid();
+                if (sid == DimensionsRecord.sid) {
+                    final var dimension = new DimensionsRecord(records);
+                    // the last row and column are exclusive
+                    return dimension.getLastRow() <= dimension.getFirstRow() ? null
+                        : new CellRangeAddress(dimension.getFirstRow(), dimension.getLastRow() - 1,
+                            dimension.getFirstCol(), dimension.getLastCol() - 1);
+                }
+                if (sid == RowRecord.sid || sid == EOFRecord.sid) {
+                    // the dimension precedes the rows of a sheet
+                    return null;
+                }
+                records.readRemainder();
+            }
+        } catch (final IOException | RuntimeException e) { // NOSONAR the dimension is optional
+            LOGGER.debug("Could not read the dimension of a sheet.", e);
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------
+    // XLSX and XLSB
+    // ---------------------------------------------------------------------------------------------------------------
+
+    private static ExcelFileMetadata readOOXML(final SeekableByteChannel channel, final boolean encrypted)
+        throws IOException {
+        // only the central directory and the entries that are read are accessed
+        try (final var zip = ZipFile.builder().setSeekableByteChannel(channel).get()) {
+            final var workbookPart = getWorkbookPart(zip);
+            final var sheetParts = readSheetRelationships(zip, workbookPart);
+            final var binary = workbookPart.toLowerCase(Locale.ROOT).endsWith(".bin");
+            final var sheets = new ArrayList<SheetMetadata>();
+            final var entry = getEntry(zip, workbookPart);
+            if (entry == null) {
+                throw new IOException("The workbook part \"%s\" is missing.".formatted(workbookPart));
+            }
+            try (final var in = zip.getInputStream(entry)) {
+                if (binary) {
+                    readXLSBRecords(in, r -> readXLSBSheet(zip, r, sheetParts, sheets));
+                } else {
+                    readXML(workbookPart, in, reader -> readXLSXSheet(zip, reader, sheetParts, sheets));
+                }
+            }
+            return new ExcelFileMetadata(binary ? Format.XLSB : Format.XLSX, encrypted, sheets);
+        }
+    }
+
+    private static boolean readXLSXSheet(final ZipFile zip, final XMLStreamReader reader,
+        final Map<String, String> sheetParts, final List<SheetMetadata> sheets) {
+        final var sheetPart = "sheet".equals(reader.getLocalName()) ? sheetParts.get(getRelationshipId(reader)) : null;
+        if (sheetPart != null) {
+            final var visibility = switch (String.valueOf(reader.getAttributeValue(null, "state"))) {
+                case "hidden" -> Visibility.HIDDEN;
+                case "veryHidden" -> Visibility.VERY_HIDDEN;
+                default -> Visibility.VISIBLE;
+            };
+            final var dimension = readDimension(zip, sheetPart, false);
+            sheets.add(new SheetMetadata(reader.getAttributeValue(null, "name"), visibility, dimension));
+        }
+        return true;
+    }
+
+    /** The relationship ID is an attribute of the relationships namespace, which differs for strict OOXML. */
+    private static String getRelationshipId(final XMLStreamReader reader) {
+        for (var i = 0; i < reader.getAttributeCount(); i++) {
+            final var namespace = reader.getAttributeNamespace(i);
+            if ("id".equals(reader.getAttributeLocalName(i)) && namespace != null && !namespace.isEmpty()) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean readXLSBSheet(final ZipFile zip, final XLSBRecord sheetRecord,
+        final Map<String, String> sheetParts, final List<SheetMetadata> sheets) throws IOException {
+        if (sheetRecord.m_type == XLSB_END_SHEETS) {
+            return false;
+        }
+        if (sheetRecord.m_type == XLSB_SHEET) {
+            final var data = sheetRecord.m_data;
+            final var visibility = switch (data.getInt()) {
+                case 1 -> Visibility.HIDDEN;
+                case 2 -> Visibility.VERY_HIDDEN;
+                default -> Visibility.VISIBLE;
+            };
+            data.getInt(); // tab ID
+            final var sheetPart = sheetParts.get(readXLSBString(data));
+            final var name = readXLSBString(data);
+            if (sheetPart != null) {
+                sheets.add(new SheetMetadata(name, visibility, readDimension(zip, sheetPart, true)));
+            }
+        }
+        return true;
+    }
+
+    private static CellRangeAddress readDimension(final ZipFile zip, final String sheetPart, final boolean binary) {
+        final var entry = sheetPart == null ? null : getEntry(zip, sheetPart);
+        if (entry == null) {
+            return null;
+        }
+        final var dimension = new CellRangeAddress[1];
+        try (final var in = zip.getInputStream(entry)) {
+            if (binary) {
+                readXLSBRecords(in, r -> {
+                    if (r.m_type == XLSB_SHEET_DIMENSION) {
+                        final var data = r.m_data;
+                        final var firstRow = data.getInt();
+                        final var lastRow = data.getInt();
+                        dimension[0] = new CellRangeAddress(firstRow, lastRow, data.getInt(), data.getInt());
+                    }
+                    return r.m_type != XLSB_SHEET_DIMENSION && r.m_type != XLSB_BEGIN_SHEET_DATA;
+                });
+            } else {
+                readXML(sheetPart, in, reader -> {
+                    if ("dimension".equals(reader.getLocalName())) {
+                        dimension[0] = CellRangeAddress.valueOf(reader.getAttributeValue(null, "ref"));
+                    }
+                    return !"dimension".equals(reader.getLocalName()) && !"sheetData".equals(reader.getLocalName());
+                });
+            }
+        } catch (final IOException | RuntimeException e) { // NOSONAR the dimension is optional
+            LOGGER.debug("Could not read the dimension of the sheet \"" + sheetPart + "\".", e);
+        }
+        return dimension[0];
+    }
+
+    /** Reads the part of the workbook from the relationships of the package, which is xl/workbook.xml by default. */
+    private static String getWorkbookPart(final ZipFile zip) throws IOException {
+        final var entry = getEntry(zip, "_rels/.rels");
+        if (entry == null) {
+            return DEFAULT_WORKBOOK_PART;
+        }
+        final var workbookPart = new String[]{DEFAULT_WORKBOOK_PART};
+        try (final var in = zip.getInputStream(entry)) {
+            readXML(entry.getName(), in, reader -> {
+                final var type = reader.getAttributeValue(null, "Type");
+                if ("Relationship".equals(reader.getLocalName()) && type != null
+                    && type.endsWith(OFFICE_DOCUMENT_RELATIONSHIP)) {
+                    workbookPart[0] = resolve("", reader.getAttributeValue(null, "Target"));
+                    return false;
+                }
+                return true;
+            });
+        }
+        return workbookPart[0];
+    }
+
+    /**
+     * Reads the relationships of the workbook part to its sheets.
+     *
+     * @return the resolved targets by the IDs of the relationships
+     */
+    private static Map<String, String> readSheetRelationships(final ZipFile zip, final String part)
+        throws IOException {
+        final var dirEnd = part.lastIndexOf('/') + 1;
+        final var relsPart = part.substring(0, dirEnd) + "_rels/" + part.substring(dirEnd) + ".rels";
+        final var entry = getEntry(zip, relsPart);
+        if (entry == null) {
+            return Collections.emptyMap();
+        }
+        final var targets = new HashMap<String, String>();
+        try (final var in = zip.getInputStream(entry)) {
+            readXML(relsPart, in, reader -> {
+                if ("Relationship".equals(reader.getLocalName())
+                    && !"External".equals(reader.getAttributeValue(null, "TargetMode"))
+                    && isSheetRelationship(reader.getAttributeValue(null, "Type"))) {
+                    targets.put(reader.getAttributeValue(null, "Id"),
+                        resolve(part, reader.getAttributeValue(null, "Target")));
+                }
+                return true;
+            });
+        }
+        return targets;
+    }
+
+    private static boolean isSheetRelationship(final String type) {
+        return type != null && SHEET_RELATIONSHIPS.stream().anyMatch(type::endsWith);
+    }
+
+    /** Resolves the target of a relationship against the part it originates from, yielding a zip entry name. */
+    private static String resolve(final String sourcePart, final String target) {
+        final var path = target.startsWith("/") ? target
+            : (sourcePart.substring(0, sourcePart.lastIndexOf('/') + 1) + target);
+        final var segments = new ArrayDeque<String>();
+        for (final var segment : path.split("/")) {
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !".".equals(segment)) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /** Part names are case-insensitive, hence the entry is searched ignoring the case if there is no exact match. */
+    private static ZipArchiveEntry getEntry(final ZipFile zip, final String name) {
+        final var entry = zip.getEntry(name);
+        if (entry != null) {
+            return entry;
+        }
+        return Collections.list(zip.getEntries()).stream() //
+            .filter(e -> e.getName().equalsIgnoreCase(name)) //
+            .findFirst() //
+            .orElse(null);
+    }
+
+    /** Passes the start elements of the XML to the visitor until it returns {@code false}. */
+    private static void readXML(final String part, final InputStream in,
+        final RecordVisitor<XMLStreamReader> visitor) throws IOException {
+        try {
+            final var reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && !visitor.visit(reader)) {
+                        return;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not parse the part \"%s\".".formatted(part), e);
+        }
+    }
+
+    /** A record of an XLSB part, whose data is read in little-endian order. */
+    private static final class XLSBRecord {
+
+        private final int m_type;
+
+        private final ByteBuffer m_data;
+
+        XLSBRecord(final int type, final byte[] data) {
+            m_type = type;
+            m_data = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /** Passes the records of the XLSB part to the visitor until it returns {@code false}. */
+    private static void readXLSBRecords(final InputStream in, final RecordVisitor<XLSBRecord> visitor)
+        throws IOException {
+        for (var type = readXLSBVarInt(in, 2); type >= 0; type = readXLSBVarInt(in, 2)) {
+            final var size = readXLSBVarInt(in, 4);
+            if (size < 0) {
+                throw new EOFException("Unexpected end of the XLSB record " + type + ".");
+            }
+            if (!visitor.visit(new XLSBRecord(type, IOUtils.toByteArray(in, size)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads a variable-length integer, which stores 7 bits per byte and uses the high bit to indicate whether another
+     * byte follows.
+     *
+     * @return the value or -1 if the stream ended before the first byte
+     */
+    private static int readXLSBVarInt(final InputStream in, final int maxBytes) throws IOException {
+        var value = 0;
+        for (var i = 0; i < maxBytes; i++) {
+            final var b = in.read();
+            if (b < 0) {
+                if (i == 0) {
+                    return -1;
+                }
+                throw new EOFException("Unexpected end of an XLSB record header.");
+            }
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    /** Reads an XLWideString, i.e. the number of characters followed by the UTF-16LE characters. */
+    private static String readXLSBString(final ByteBuffer data) throws IOException {
+        final var length = data.getInt();
+        // 0xFFFFFFFF denotes a null string
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || 2L * length > data.remaining()) {
+            throw new IOException("Invalid length of a string in an XLSB record: " + length);
+        }
+        final var bytes = new byte[2 * length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_16LE);
+    }
+}
@@ -56,6 +56,10 @@
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.AreaOfSheetToRead;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
@@ -104,6 +108,18 @@ public abstract class ExcelParserRunnable implements Runnable {
 
     private int m_rowCount;
 
+    /** The number of rows handed over to the read. */
+    private long m_queuedRows;
+
+    /** The number of hidden rows handed over to the read, which skips them. */
+    private long m_skippedRows;
+
+    /** The number of non-empty cells handed over to the read. */
+    private long m_queuedCells;
+
+    /** The number of non-empty cells of the skipped rows. */
+    private long m_skippedCells;
+
     /**
      * Constructor.
      *
@@ -130,6 +146,7 @@ protected ExcelParserRunnable(final ExcelRead read, final TableReadConfig<ExcelT
     @Override
     public void run() {
         LOGGER.debug("Excel sheet parsing started");
+        final var event = ExcelReadEvent.start(Phase.PARSE_SHEET);
         Throwable t = null;
         try {
             parse();
@@ -143,6 +160,7 @@ public void run() {
             // AP-22737: since we read sheet contents from a File now instead of from an InputStream (see AP-20714),
             // and the file is backed by a FileChannel, we can receive ClosedByInterruptedExceptions, too.
             // Receiving one of those means that the parser currently waited for IO on the channel and was interrupted.
+            // This is the same whether the parser runs on a platform or a virtual thread (see ExcelTaskScheduler).
             // Since AP-24316: we need to scan the causes, too, because who knows how often it is wrapped
             // (wrapped for XLSB via LittleEndianInputStream (via XSSFBParser), not wrapped for XLSX)
             // Handle XLSX with instanceof check, XLSB via causes
@@ -155,6 +173,9 @@ public void run() {
                 LOGGER.debug("Excel sheet parsing problem", e);
             }
         } finally {
+            final var parsedBytes = getParsedBytes();
+            event.complete(m_read.getPath(), parsedBytes, m_queuedRows, m_read.getParserBlockedNanos());
+            addMetrics(m_read.getMetrics(), parsedBytes);
             if (t != null) {
                 m_read.setThrowable(t);
             }
@@ -178,6 +199,15 @@ public void run() {
         }
     }
 
+    private void addMetrics(final ExcelMetrics metrics, final long parsedBytes) {
+        metrics.add(Metric.SHEET_INFLATED_BYTES, parsedBytes);
+        metrics.add(Metric.ROWS_PARSED, m_queuedRows);
+        metrics.add(Metric.ROWS_SKIPPED, m_skippedRows);
+        metrics.add(Metric.CELLS_PARSED, m_queuedCells);
+        metrics.add(Metric.CELLS_SKIPPED, m_skippedCells);
+        metrics.add(Metric.PARSER_BLOCKED, m_read.getParserBlockedNanos());
+    }
+
     /**
      * Close resources held after parsing finished.
      * @throws IOException
@@ -191,6 +221,15 @@ public void run() {
      */
     protected abstract void parse() throws Throwable; // NOSONAR throw anything and treat it in the main thread
 
+    /**
+     * Returns the number of bytes of the sheet parsed so far, for diagnostics only.
+     *
+     * @return the number of parsed bytes, 0 if unknown
+     */
+    protected long getParsedBytes() {
+        return 0;
+    }
+
     /**
      * Adds the {@link RandomAccessible} to the blocking queue of the runnable.
      *
@@ -205,6 +244,13 @@ protected void addToQueue(final List<ExcelCell> cells, final boolean isRowHidden
             }
             m_read.addToQueue(VisibilityAwareRandomAccessible.createUnsafe(
                 RandomAccessibleUtils.createFromArrayUnsafe(cells.toArray(new ExcelCell[0])), isRowHidden));
+            m_queuedRows++;
+            final var nonEmptyCells = countNonEmpty(cells);
+            m_queuedCells += nonEmptyCells;
+            if (isRowHidden) {
+                m_skippedRows++;
+                m_skippedCells += nonEmptyCells;
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             LOGGER.debug("Excel parser interrupted while filling queue");
@@ -213,6 +259,16 @@ protected void addToQueue(final List<ExcelCell> cells, final boolean isRowHidden
         }
     }
 
+    private static int countNonEmpty(final List<ExcelCell> cells) {
+        var count = 0;
+        for (final var cell : cells) {
+            if (cell != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Adds the given number of empty {@link RandomAccessible}s to the blocking queue of the runnable.
      *
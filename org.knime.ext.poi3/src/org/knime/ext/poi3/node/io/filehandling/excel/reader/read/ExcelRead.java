@@ -67,10 +67,7 @@
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -81,7 +78,12 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.message.Message;
 import org.knime.core.util.FileUtil;
-import org.knime.core.util.ThreadUtils;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
 import org.knime.filehandling.core.connections.FSPath;
@@ -105,12 +107,6 @@ public abstract class ExcelRead implements Read<ExcelCell> {
 
     private static final int BLOCKING_QUEUE_SIZE = 100;
 
-    private static final AtomicLong CACHED_THREAD_POOL_INDEX = new AtomicLong();
-
-    /** Threadpool that can be used to parse new sheets. */
-    private static final ExecutorService CACHED_THREAD_POOL = Executors.newCachedThreadPool(
-        r -> ThreadUtils.threadWithContext(r, "KNIME-Excel-Parser-" + CACHED_THREAD_POOL_INDEX.getAndIncrement()));
-
     /** The poison pill put into the blocking to indicate end of parsing. */
     static final RandomAccessible<ExcelCell> POISON_PILL =
         RandomAccessibleUtils.createFromArray(new ExcelCell(KNIMECellType.STRING, "POISON"));
@@ -128,6 +124,20 @@ public abstract class ExcelRead implements Read<ExcelCell> {
     /** Iterator collecting RandomAccessibles from the parser thread. */
     private final RandomAccessibleIterator m_randomAccessibleIterator = new RandomAccessibleIterator();
 
+    /** The time the parser thread waited for space in the queue, only accessed by the parser thread. */
+    private long m_parserBlockedNanos;
+
+    /** The time the consumer waited for parsed rows. */
+    private long m_consumerBlockedNanos;
+
+    private long m_consumedRows;
+
+    /** The event spanning the consumption of the rows, completed once the read is closed. */
+    private ExcelReadEvent m_consumeEvent = ExcelReadEvent.start(Phase.CONSUME_ROWS);
+
+    /** The metrics of the execution, the counters of this read are added once they are final. */
+    private final ExcelMetrics m_metrics;
+
     /** The path of the underlying source. */
     private final Path m_path;
 
@@ -146,16 +156,18 @@ public abstract class ExcelRead implements Read<ExcelCell> {
      * @param path the path of the file to read
      * @param config the Excel table read config
      * @param sheetNamesConsumer
+     * @param metrics the metrics of the execution the read counts into
      * @throws IOException if a stream can not be created from the provided file.
      */
     protected ExcelRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
         m_path = path;
         m_config = config;
+        m_metrics = metrics;
 
         if (path instanceof FSPath fsPath) {
             // our code always calls the ExcelRead with FSPath instances
-            m_localFile = resolveToLocalOrTempFile(fsPath);
+            m_localFile = resolveToLocalOrTempFile(fsPath, m_metrics);
         } else {
             // in the rare case that we get a non-FSPath, we just assume that the file is already local
             m_localFile = CompletableFuture.completedFuture(path.toFile());
@@ -200,7 +212,7 @@ decompressed contents into main memory, which can exceed the heap space (and was
            because we have to go through InputStream.
            (for configuration options of POI see https://poi.apache.org/components/configuration.html)
      */
-    private static Future<File> resolveToLocalOrTempFile(final FSPath path) {
+    private static Future<File> resolveToLocalOrTempFile(final FSPath path, final ExcelMetrics metrics) {
         if (!Files.isRegularFile(path)) {
             throw new IllegalArgumentException(
                 "Can only resolve regular files, not path denoting: \"%s\"".formatted(path.toString()));
@@ -209,8 +221,7 @@ private static Future<File> resolveToLocalOrTempFile(final FSPath path) {
                 .<Future<File>>map(CompletableFuture::completedFuture)
                 .orElseGet(() ->
                     // package the download (copy to temp file) into a callable to make it cancelable through the UI
-                    CACHED_THREAD_POOL.submit(ThreadUtils.callableWithContext(() -> copyToTemp(path))
-                ));
+                    ExcelTaskScheduler.submit(Lane.IO, () -> copyToTemp(path, metrics)));
     }
 
     /**
@@ -244,11 +255,12 @@ private static Optional<File> resolveToLocal(final FSPath path) {
      * The temp file is deleted when the file system of the given path is closed (or the JVM exits).
      *
      * @param path path to copy
+     * @param metrics the metrics to add the copied bytes to
      * @return temp file
      * @throws IOException while copying
      * @see {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}
      */
-    private static File copyToTemp(final FSPath path) throws IOException {
+    private static File copyToTemp(final FSPath path, final ExcelMetrics metrics) throws IOException {
         final var fileName = path.getFileName().toString();
         // we use the real extension so any file type detection that uses the extension will work
         final var ext = FilenameUtils.getExtension(fileName);
@@ -259,7 +271,11 @@ private static File copyToTemp(final FSPath path) throws IOException {
             fileSystem.registerCloseable(() -> Files.deleteIfExists(tempPath));
         }
         LOGGER.debug(() -> "Caching Excel file at \"%s\" to temporary file \"%s\"".formatted(path, tempFile));
+        final var event = ExcelReadEvent.start(Phase.COPY_TO_TEMP);
         Files.copy(path, tempPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        final var copiedBytes = tempFile.length();
+        event.complete(path, copiedBytes, 0);
+        metrics.add(Metric.COPIED_BYTES, copiedBytes);
         return tempFile;
     }
 
@@ -282,7 +298,25 @@ public final RandomAccessible<ExcelCell> next() throws IOException {
         if (m_throwableDuringParsing.get() != null) {
             close();
         }
-        return hasNext ? m_randomAccessibleIterator.next() : null;
+        if (!hasNext) {
+            return null;
+        }
+        m_consumedRows++;
+        return m_randomAccessibleIterator.next();
+    }
+
+    /**
+     * @return the path of the file that is read
+     */
+    protected final Path getPath() {
+        return m_path;
+    }
+
+    /**
+     * @return the metrics of the execution this read counts into
+     */
+    protected final ExcelMetrics getMetrics() {
+        return m_metrics;
     }
 
     /**
@@ -312,7 +346,7 @@ private void startParserThread() throws IOException {
         try {
             // create and start the thread
             final ExcelParserRunnable runnable = createParser(getFile());
-            m_parserThread = CACHED_THREAD_POOL.submit(ThreadUtils.runnableWithContext(runnable));
+            m_parserThread = ExcelTaskScheduler.submit(Lane.PARSE, runnable);
         } catch (InvalidOperationException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -331,6 +365,11 @@ private File getFile() throws IOException {
 
     @Override
     public final void close() throws IOException {
+        if (m_consumeEvent != null) {
+            m_consumeEvent.complete(m_path, 0, m_consumedRows, m_consumerBlockedNanos);
+            m_consumeEvent = null;
+            m_metrics.add(Metric.CONSUMER_BLOCKED, m_consumerBlockedNanos);
+        }
         // cancel the thread
         if (m_parserThread != null && m_parserThread.cancel(true)) {
             LOGGER.debug("Canceled parser thread");
@@ -371,7 +410,19 @@ public final void close() throws IOException {
      * @throws InterruptedException if {@link ArrayBlockingQueue#put(Object)} is interrupted while waiting
      */
     protected void addToQueue(final RandomAccessible<ExcelCell> randomAccessible) throws InterruptedException {
-        m_queueRandomAccessibles.put(randomAccessible);
+        if (!m_queueRandomAccessibles.offer(randomAccessible)) {
+            final var start = System.nanoTime();
+            m_queueRandomAccessibles.put(randomAccessible);
+            m_parserBlockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return the nanoseconds the parser thread waited for space in the queue so far, to be called by the parser
+     *         thread
+     */
+    long getParserBlockedNanos() {
+        return m_parserBlockedNanos;
     }
 
     /**
@@ -403,7 +454,13 @@ public boolean hasNext() {
             // faster? -> check that once we have more features implemented with different xlsx files
             if (m_randomAccessibles.isEmpty()) {
                 try {
-                    m_randomAccessibles.add(m_queueRandomAccessibles.take());
+                    var next = m_queueRandomAccessibles.poll();
+                    if (next == null) {
+                        final var start = System.nanoTime();
+                        next = m_queueRandomAccessibles.take();
+                        m_consumerBlockedNanos += System.nanoTime() - start;
+                    }
+                    m_randomAccessibles.add(next);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     return false;
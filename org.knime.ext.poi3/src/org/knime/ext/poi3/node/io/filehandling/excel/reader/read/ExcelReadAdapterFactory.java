@@ -257,8 +257,14 @@ private static TreeTypeHierarchy<KNIMECellType, ExcelCell> createHierarchy() {
 
     private static TypeTester<KNIMECellType, ExcelCell> createTypeTester(final KNIMECellType type,
                                                                          final KNIMECellType... compatibleTypes) {
-        return TypeTester.createTypeTester(type,
-                e -> type == e.getType() || Arrays.binarySearch(compatibleTypes, e.getType()) >= 0);
+        // the tester is called for every sampled cell, hence the accepted types are resolved once upfront
+        final var types = KNIMECellType.values();
+        final var accepted = new boolean[types.length];
+        for (final var candidate : types) {
+            accepted[candidate.ordinal()] =
+                type == candidate || Arrays.binarySearch(compatibleTypes, candidate) >= 0;
+        }
+        return TypeTester.createTypeTester(type, e -> accepted[e.getType().ordinal()]);
     }
 
     @Override
@@ -71,12 +71,14 @@
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.xssf.binary.XSSFBSheetHandler;
+import org.apache.poi.xssf.binary.XSSFBStylesTable;
 import org.apache.poi.xssf.eventusermodel.XSSFBReader;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
 import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
 import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
 import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.Styles;
 import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.util.CheckUtils;
@@ -169,10 +171,29 @@ public static List<String> listSheetNames(final Workbook workbook) {
      */
     public static Map<String, Boolean> getSheetNames(final XMLReader xmlReader, final XSSFReader reader,
         final SharedStrings sharedStrings) throws InvalidFormatException, IOException, SAXException {
+        return getSheetNames(xmlReader, reader, reader.getStylesTable(), sharedStrings);
+    }
+
+    /**
+     * Returns a map that contains the names of the sheets contained in the file read by the specified
+     * {@link XSSFReader} as keys and whether it is the first non-empty sheet as value.
+     *
+     * @param xmlReader the xml reader
+     * @param reader the xssf reader
+     * @param styles the styles, which the reader parses anew each time they are requested from it
+     * @param sharedStrings the shared strings table
+     * @return the map of sheet names and whether a sheet is the first with data
+     * @throws InvalidFormatException
+     * @throws IOException
+     * @throws SAXException
+     */
+    public static Map<String, Boolean> getSheetNames(final XMLReader xmlReader, final XSSFReader reader,
+        final Styles styles, final SharedStrings sharedStrings)
+        throws InvalidFormatException, IOException, SAXException {
         final Map<String, Boolean> sheetNames = new LinkedHashMap<>(); // LinkedHashMap to retain order
         var nonEmptySheetFound = false;
         xmlReader.setContentHandler(
-            new XSSFSheetXMLHandler(reader.getStylesTable(), sharedStrings, new IsEmpty(), new DataFormatter(), false));
+            new XSSFSheetXMLHandler(styles, sharedStrings, new IsEmpty(), new DataFormatter(), false));
         final SheetIterator sheetsData = (SheetIterator)reader.getSheetsData();
         while (sheetsData.hasNext()) {
             try (final var inputStream = sheetsData.next()) {
@@ -219,13 +240,29 @@ public static List<String> listSheetNames(final XSSFReader reader) throws Invali
      */
     public static Map<String, Boolean> getSheetNames(final XSSFBReader reader, final SharedStrings sharedStrings)
         throws InvalidFormatException, IOException {
+        return getSheetNames(reader, reader.getXSSFBStylesTable(), sharedStrings);
+    }
+
+    /**
+     * Returns a map that contains the names of the sheets contained in the file read by the specified
+     * {@link XSSFBReader} as keys and whether it is the first non-empty sheet as value.
+     *
+     * @param reader the xssfb reader
+     * @param styles the styles, which the reader parses anew each time they are requested from it
+     * @param sharedStrings the shared strings table
+     * @return the map of sheet names and whether a sheet is the first with data
+     * @throws InvalidFormatException
+     * @throws IOException
+     */
+    public static Map<String, Boolean> getSheetNames(final XSSFBReader reader, final XSSFBStylesTable styles,
+        final SharedStrings sharedStrings) throws InvalidFormatException, IOException {
         final Map<String, Boolean> sheetNames = new LinkedHashMap<>(); // LinkedHashMap to retain order
         var nonEmptySheetFound = false;
         final SheetIterator sheetsData = (SheetIterator)reader.getSheetsData();
         while (sheetsData.hasNext()) {
             try (final var inputStream = sheetsData.next()) {
                 final var xssfbSheetHandler = new XSSFBSheetHandler(inputStream,
-                    reader.getXSSFBStylesTable(), ((XSSFBReader.SheetIterator)sheetsData).getXSSFBSheetComments(),
+                    styles, ((XSSFBReader.SheetIterator)sheetsData).getXSSFBSheetComments(),
                     sharedStrings, new IsEmpty(), new DataFormatter(), false);
                 if (nonEmptySheetFound) {
                     sheetNames.put(sheetsData.getSheetName(), false);
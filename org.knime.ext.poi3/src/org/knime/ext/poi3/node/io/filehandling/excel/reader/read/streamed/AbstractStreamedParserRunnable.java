@@ -119,6 +119,11 @@ protected void closeResources() throws IOException {
         }
     }
 
+    @Override
+    protected long getParsedBytes() {
+        return m_sheetStream.getByteCount();
+    }
+
     /**
      * Returns the indexes of the hidden columns.
      *
@@ -66,6 +66,8 @@
 import org.apache.poi.openxml4j.exceptions.OLE2NotOfficeXmlFileException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.ZipPackagePart;
 import org.apache.poi.poifs.crypt.Decryptor;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
 import org.apache.poi.poifs.filesystem.FileMagic;
@@ -73,6 +75,10 @@
 import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
 import org.knime.core.util.FileUtil;
 import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelParserRunnable;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
@@ -92,12 +98,13 @@ public abstract class AbstractStreamedRead extends ExcelRead {
      * @param path the path of the file to read
      * @param config the Excel table read config
      * @param sheetNamesConsumer
+     * @param metrics the metrics of the execution the read counts into
      * @throws IOException if an I/O exception occurs
      */
     protected AbstractStreamedRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
-            final Consumer<Map<String, Boolean>> sheetNamesConsumer)
+            final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics)
         throws IOException {
-        super(path, config, sheetNamesConsumer);
+        super(path, config, sheetNamesConsumer, metrics);
         // don't do any initializations here, super constructor will call #createParser(InputStream)
     }
 
@@ -125,7 +132,13 @@ protected ExcelParserRunnable createParser(final File file) throws IOException {
     @SuppressWarnings("resource") // pkg ownership handed to parser
     private AbstractStreamedParserRunnable createParserFromOOXML(final File file)
             throws InvalidFormatException, IOException {
+        final var event = ExcelReadEvent.start(Phase.OPEN_PACKAGE);
         final var pkg = OPCPackage.open(file, PackageAccess.READ);
+        event.complete(getPath(), file.length(), 0);
+        return createParserFromPackage(pkg);
+    }
+
+    private AbstractStreamedParserRunnable createParserFromPackage(final OPCPackage pkg) throws IOException {
         try {
             // ownership of pkg handed to parser
             return createStreamedParser(pkg);
@@ -151,6 +164,16 @@ private AbstractStreamedParserRunnable createParserFromOLE2(final File file)
                 throw createPasswordProtectedFileException(null);
             }
             final var info = new EncryptionInfo(fs);
+            final var event = ExcelReadEvent.start(Phase.DECRYPT);
+            if (CryptUtil.canDecryptOnDemand(info)) {
+                final var key = CryptUtil.verifyPassword(info, password);
+                if (key == null) {
+                    throw createPasswordIncorrectException(null);
+                }
+                final var pkg = CryptUtil.openDecryptedPackage(file.toPath(), info, key);
+                event.complete(getPath(), 0, 0);
+                return createParserFromPackage(pkg);
+            }
             final var d = Decryptor.getInstance(info);
             if (!d.verifyPassword(password)) {
                 throw createPasswordIncorrectException(null);
@@ -162,7 +185,10 @@ private AbstractStreamedParserRunnable createParserFromOLE2(final File file)
                 // encrypted fails with "Truncated ZIP file"
                 final var tempFile = FileUtil.createTempFile("tempXlsx", ".xlsx", FileUtil.getWorkflowTempDir(), true);
                 try {
-                    Files.copy(decryptedStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    final var decryptedBytes =
+                        Files.copy(decryptedStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    event.complete(getPath(), decryptedBytes, 0);
+                    getMetrics().add(Metric.COPIED_BYTES, decryptedBytes);
                     return createParserFromOOXML(tempFile);
                 } catch (final IOException | InvalidFormatException e) {
                     Files.deleteIfExists(tempFile.toPath());
@@ -181,6 +207,20 @@ private AbstractStreamedParserRunnable createParserFromOLE2(final File file)
      */
     protected abstract AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg) throws IOException;
 
+    /**
+     * Adds the counters of the package to the metrics of the execution.
+     *
+     * @param sharedStrings the number of unique shared strings
+     * @param sheetPart the part of the selected sheet
+     */
+    protected void addPackageMetrics(final long sharedStrings, final PackagePart sheetPart) {
+        getMetrics().add(Metric.SHARED_STRINGS, sharedStrings);
+        if (sheetPart instanceof ZipPackagePart zipPart) {
+            // the compressed size is unknown (-1) for some zip sources
+            getMetrics().add(Metric.SHEET_COMPRESSED_BYTES, Math.max(0, zipPart.getZipArchive().getCompressedSize()));
+        }
+    }
+
     /**
      * @param sheetsData the sheet iterator
      * @param selectedSheet the name of the selected sheet
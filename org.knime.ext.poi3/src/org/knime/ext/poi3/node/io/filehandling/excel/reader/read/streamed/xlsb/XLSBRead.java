@@ -57,9 +57,13 @@
 import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.xssf.binary.XSSFBSharedStringsTable;
+import org.apache.poi.xssf.binary.XSSFBStylesTable;
 import org.apache.poi.xssf.eventusermodel.XSSFBReader;
 import org.apache.poi.xssf.eventusermodel.XSSFBReader.SheetIterator;
 import org.apache.poi.xssf.model.SharedStrings;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelUtils;
@@ -82,11 +86,12 @@ public final class XLSBRead extends AbstractStreamedRead {
      *
      * @param path the path of the file to read
      * @param config the Excel table read config
+     * @param metrics the metrics of the execution the read counts into
      * @throws IOException if an I/O exception occurs
      */
     public XLSBRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
-        super(path, config, sheetNamesConsumer);
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
+        super(path, config, sheetNamesConsumer, metrics);
         // don't do any initializations here, super constructor will call #createParser(InputStream)
     }
 
@@ -95,9 +100,17 @@ public XLSBRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> c
     public AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg) throws IOException {
         try {
             final var xssfbReader = new XSSFBReader(pkg);
+            var event = ExcelReadEvent.start(Phase.LOAD_SHARED_STRINGS);
             final var sst = new XSSFBSharedStringsTable(pkg);
+            event.complete(getPath(), 0, sst.getUniqueCount());
+            // the reader parses the styles anew each time they are requested, so we load them once
+            event = ExcelReadEvent.start(Phase.LOAD_STYLES);
+            final var stylesTable = xssfbReader.getXSSFBStylesTable();
+            event.complete(getPath(), 0, 0);
 
-            final var sheetNames = ExcelUtils.getSheetNames(xssfbReader, sst);
+            event = ExcelReadEvent.start(Phase.SCAN_SHEETS);
+            final var sheetNames = ExcelUtils.getSheetNames(xssfbReader, stylesTable, sst);
+            event.complete(getPath(), 0, sheetNames.size());
             if (m_sheetNamesConsumer != null) {
                 m_sheetNamesConsumer.accept(sheetNames);
             }
@@ -107,9 +120,10 @@ public AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg)
             // Hence, we get the size from the part (zip entry) itself and use the bytes passed through the counting
             // sheet stream to estimate the progress.
             m_sheetSize = sheetsData.getSheetPart().getSize();
+            addPackageMetrics(sst.getUniqueCount(), sheetsData.getSheetPart());
 
             // create the parser
-            return new XLSBParserRunnable(this, m_config, pkg, sheetStream, xssfbReader, sst);
+            return new XLSBParserRunnable(this, m_config, pkg, sheetStream, stylesTable, sst);
         } catch (SAXException | OpenXML4JException e) {
             throw new IOException(e.getMessage(), e);
         }
@@ -117,17 +131,17 @@ public AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg)
 
     private static class XLSBParserRunnable extends AbstractStreamedParserRunnable {
 
-        private final XSSFBReader m_xssfReader;
+        private final XSSFBStylesTable m_stylesTable;
 
         private final SharedStrings m_sharedStringsTable;
 
         private final KNIMEDataFormatter m_dataFormatter;
 
         XLSBParserRunnable(final ExcelRead read, final TableReadConfig<ExcelTableReaderConfig> config,
-                final OPCPackage pkg, final CountingInputStream sheetStream, final XSSFBReader xssfReader,
+                final OPCPackage pkg, final CountingInputStream sheetStream, final XSSFBStylesTable stylesTable,
                 final SharedStrings sharedStringsTable) {
             super(read, config, pkg, sheetStream);
-            m_xssfReader = xssfReader;
+            m_stylesTable = stylesTable;
             m_sharedStringsTable = sharedStringsTable;
             // Note: Apache POI does not yet support reading out the information whether 1904 windowing us used or not
             // (missing piece is XSSFBRecordType#BrtWbProp). As 1904 is legacy and barely used anymore, we assume false.
@@ -139,7 +153,7 @@ protected void parse() throws Exception {
             final var sheetContentsHandler = new ExcelTableReaderSheetContentsHandler(m_dataFormatter);
 
             final var sheetHandler = new KNIMEXSSFBSheetXMLHandler(m_sheetStream,
-                m_xssfReader.getXSSFBStylesTable(), m_sharedStringsTable, sheetContentsHandler, m_dataFormatter,
+                m_stylesTable, m_sharedStringsTable, sheetContentsHandler, m_dataFormatter,
                 false);
             sheetHandler.parse();
 
@@ -64,7 +64,11 @@
 import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.eventusermodel.XSSFReader.SheetIterator;
+import org.apache.poi.xssf.model.StylesTable;
 import org.apache.xmlbeans.XmlException;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelRead;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelUtils;
@@ -91,11 +95,12 @@ public final class XLSXRead extends AbstractStreamedRead {
      * @param path the path of the file to read
      * @param config the Excel table read config
      * @param sheetNamesConsumer
+     * @param metrics the metrics of the execution the read counts into
      * @throws IOException if an I/O exception occurs
      */
     public XLSXRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
-        super(path, config, sheetNamesConsumer);
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
+        super(path, config, sheetNamesConsumer, metrics);
         // don't do any initializations here, super constructor will call #createParser(InputStream)
     }
 
@@ -107,9 +112,17 @@ public AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg)
             final var xmlReader = XMLHelper.newXMLReader();
             // disable DTD to prevent almost all XXE attacks, XMLHelper.newXMLReader() did set further security features
             xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            var event = ExcelReadEvent.start(Phase.LOAD_SHARED_STRINGS);
             final var sharedStringsTable = new ReadOnlySharedStringsTable(pkg, false);
-
-            final var sheetNames = ExcelUtils.getSheetNames(xmlReader, xssfReader, sharedStringsTable);
+            event.complete(getPath(), 0, sharedStringsTable.getUniqueCount());
+            // the reader parses the styles anew each time they are requested, so we load them once
+            event = ExcelReadEvent.start(Phase.LOAD_STYLES);
+            final var stylesTable = xssfReader.getStylesTable();
+            event.complete(getPath(), 0, 0);
+
+            event = ExcelReadEvent.start(Phase.SCAN_SHEETS);
+            final var sheetNames = ExcelUtils.getSheetNames(xmlReader, xssfReader, stylesTable, sharedStringsTable);
+            event.complete(getPath(), 0, sheetNames.size());
             if (m_sheetNamesConsumer != null) {
                 m_sheetNamesConsumer.accept(sheetNames);
             }
@@ -121,8 +134,9 @@ public AbstractStreamedParserRunnable createStreamedParser(final OPCPackage pkg)
             // Hence, we get the size from the part (zip entry) itself and use the bytes passed through the counting
             // sheet stream to estimate the progress.
             m_sheetSize = sheetsData.getSheetPart().getSize();
+            addPackageMetrics(sharedStringsTable.getUniqueCount(), sheetsData.getSheetPart());
 
-            return new XLSXParserRunnable(this, m_config, pkg, sheetStream, xmlReader, xssfReader,
+            return new XLSXParserRunnable(this, m_config, pkg, sheetStream, xmlReader, stylesTable,
                 sharedStringsTable, use1904Windowing(xssfReader));
         } catch (SAXException | XmlException | OpenXML4JException | ParserConfigurationException e) {
             throw new IllegalStateException(e.getMessage(), e);
@@ -143,7 +157,7 @@ private static boolean use1904Windowing(final XSSFReader xssfReader)
 
     private static class XLSXParserRunnable extends AbstractStreamedParserRunnable {
 
-        private final XSSFReader m_xssfReader;
+        private final StylesTable m_stylesTable;
 
         private final ReadOnlySharedStringsTable m_sharedStringsTable;
 
@@ -153,11 +167,11 @@ private static class XLSXParserRunnable extends AbstractStreamedParserRunnable {
 
         XLSXParserRunnable(final ExcelRead read, final TableReadConfig<ExcelTableReaderConfig> config,  // NOSONAR
                 final OPCPackage pkg, final CountingInputStream sheetStream,
-                final XMLReader xmlReader, final XSSFReader xssfReader,
+                final XMLReader xmlReader, final StylesTable stylesTable,
                 final ReadOnlySharedStringsTable sharedStringsTable, final boolean use1904Windowing) {
             super(read, config, pkg, sheetStream);
             m_xmlReader = xmlReader;
-            m_xssfReader = xssfReader;
+            m_stylesTable = stylesTable;
             m_sharedStringsTable = sharedStringsTable;
             m_dataFormatter = new KNIMEDataFormatter(use1904Windowing, m_use15DigitsPrecision);
         }
@@ -165,7 +179,7 @@ private static class XLSXParserRunnable extends AbstractStreamedParserRunnable {
         @Override
         protected void parse() throws Exception {
             final var sheetContentsHandler = new ExcelTableReaderSheetContentsHandler(m_dataFormatter);
-            m_xmlReader.setContentHandler(new KNIMEXSSFSheetXMLHandler(m_xssfReader.getStylesTable(),
+            m_xmlReader.setContentHandler(new KNIMEXSSFSheetXMLHandler(m_stylesTable,
                 m_sharedStringsTable, sheetContentsHandler, m_dataFormatter, false));
             m_xmlReader.parse(new InputSource(m_sheetStream));
         }
@@ -62,8 +62,12 @@
 
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
 import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CellValue;
@@ -77,6 +81,9 @@
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelReadEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.ExcelTableReaderConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell;
 import org.knime.ext.poi3.node.io.filehandling.excel.reader.read.ExcelCell.KNIMECellType;
@@ -106,20 +113,25 @@ public final class XLSRead extends ExcelRead {
      *
      * @param path the path of the file to read
      * @param config the Excel table read config
+     * @param metrics the metrics of the execution the read counts into
      * @throws IOException if an I/O exception occurs
      */
     public XLSRead(final Path path, final TableReadConfig<ExcelTableReaderConfig> config,
-        final Consumer<Map<String, Boolean>> sheetNamesConsumer) throws IOException {
-        super(path, config, sheetNamesConsumer);
+        final Consumer<Map<String, Boolean>> sheetNamesConsumer, final ExcelMetrics metrics) throws IOException {
+        super(path, config, sheetNamesConsumer, metrics);
         // don't do any initializations here, super constructor will call #createParser(InputStream)
     }
 
     @SuppressWarnings("resource") // workbook ownership handed to parser
     @Override
     public ExcelParserRunnable createParser(final File file) throws IOException {
+        var event = ExcelReadEvent.start(Phase.OPEN_PACKAGE);
         final var workbook = checkFileFormatAndCreateWorkbook(file);
+        event.complete(getPath(), file.length(), 0);
         try {
+            event = ExcelReadEvent.start(Phase.SCAN_SHEETS);
             final var sheetNames = ExcelUtils.getSheetNames(workbook);
+            event.complete(getPath(), 0, sheetNames.size());
             if (m_sheetNamesConsumer != null) {
                 m_sheetNamesConsumer.accept(sheetNames);
             }
@@ -168,6 +180,12 @@ private Workbook checkFileFormatAndCreateWorkbook(final File file) throws IOExce
         final var password =
             CryptUtil.getPassword(authModel, m_config.getReaderSpecificConfig().getCredentialsProvider());
         try {
+            if (type == FileMagic.OLE2) {
+                final var workbook = createDecryptedXLSXWorkbook(file, password);
+                if (workbook != null) {
+                    return workbook;
+                }
+            }
             return WorkbookFactory.create(file, password, true);
         } catch (final EncryptedDocumentException e) {
             if (password == null) {
@@ -177,6 +195,35 @@ private Workbook checkFileFormatAndCreateWorkbook(final File file) throws IOExce
         }
     }
 
+    /**
+     * Creates the workbook of an encrypted xlsx file whose package is decrypted on demand instead of being decrypted
+     * into memory completely.
+     *
+     * @return the workbook or {@code null} if the file is no encrypted xlsx file that can be decrypted on demand
+     */
+    private static Workbook createDecryptedXLSXWorkbook(final File file, final String password) throws IOException {
+        final OPCPackage pkg;
+        try (final var fs = new POIFSFileSystem(file, true)) {
+            if (!CryptUtil.isEncryptedOOXML(fs.getRoot())) {
+                return null;
+            }
+            final var info = new EncryptionInfo(fs);
+            if (!CryptUtil.canDecryptOnDemand(info)) {
+                return null;
+            }
+            final var key = CryptUtil.getSecretKeyForEncryptedOOXML(info, password);
+            pkg = CryptUtil.openDecryptedPackage(file.toPath(), info, key);
+        } catch (final InvalidFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        try {
+            return new XSSFWorkbook(pkg);
+        } catch (final IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
     @Override
     public OptionalLong getMaxProgress() {
         return m_numMaxRows < 0 ? OptionalLong.empty() : OptionalLong.of(m_numMaxRows);
@@ -54,9 +54,14 @@
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.FilenameUtils;
@@ -96,6 +101,8 @@
 import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.util.FileUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
 import org.knime.filehandling.core.connections.FSConnection;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSLocation;
@@ -117,6 +124,11 @@
  */
 final class ExcelSheetReaderNodeModel extends NodeModel {
 
+    /** Number of files whose sheet names are fetched concurrently. */
+    private static final int MAX_FILES_IN_FLIGHT = 4;
+
+    private static final long CANCEL_CHECK_INTERVAL_MS = 500;
+
     private final NodeModelStatusConsumer m_statusConsumer;
 
     private final SettingsModelReaderFileChooser m_filechooser;
@@ -168,26 +180,68 @@ private void write(final ExecutionContext exec, final RowOutput output) throws I
             double progressSteps = 1d / inputPaths.size();
             var iter = 1;
 
-            for (final var path : inputPaths) {
-                exec.checkCanceled();
-
-                // due to limitations of the POI streaming API we need a local java.io.File
-                // to read sheet names in a memory-efficient streaming way. getLocalFile()
-                // will fetch a local temp copy of any remote files and the closeable file container
-                // makes sure that it gets deleted
-                exec.setMessage(() -> String.format("Fetching file '%s'", path.toString()));
-                try (var fileContainer = getLocalFile(path, conn)) {
+            // the sheet names of the next few files are fetched in the background while we push the rows of the
+            // current file, such that downloads of remote files overlap
+            final var pending = new ArrayDeque<Future<Collection<String>>>();
+            final var toFetch = inputPaths.iterator();
+            try {
+                for (final var path : inputPaths) {
+                    exec.checkCanceled();
+                    while (pending.size() < MAX_FILES_IN_FLIGHT && toFetch.hasNext()) {
+                        final var nextPath = toFetch.next();
+                        pending.add(ExcelTaskScheduler.submit(Lane.IO, () -> readSheetNames(exec, nextPath, conn)));
+                    }
                     exec.setMessage(() -> String.format("Processing file '%s'", path.toString()));
-                    final var localFile = fileContainer.retrieveLocalFile();
-                    rowOffset += writeSheetNames(exec, output, fac, localFile, path, rowOffset);
+                    final var names = waitForSheetNames(exec, pending.poll());
+                    rowOffset += pushRows(exec, fac, path.toFSLocation(), output, names, rowOffset);
+
+                    exec.setProgress(iter * progressSteps);
+                    ++iter;
                 }
+            } finally {
+                pending.forEach(f -> f.cancel(true));
+            }
+        }
+    }
 
-                exec.setProgress(iter * progressSteps);
-                ++iter;
+    private static Collection<String> waitForSheetNames(final ExecutionContext exec,
+        final Future<Collection<String>> future)
+        throws IOException, InterruptedException, CanceledExecutionException {
+        while (true) {
+            exec.checkCanceled();
+            try {
+                return future.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) { // NOSONAR check for cancellation and wait again
+            } catch (final ExecutionException e) {
+                final var cause = e.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                } else if (cause instanceof CanceledExecutionException cee) {
+                    throw cee;
+                } else if (cause instanceof RuntimeException rte) {
+                    throw rte;
+                } else if (cause instanceof Error err) {
+                    throw err;
+                }
+                throw new IOException(cause.getMessage(), cause);
             }
+        }
+    }
 
-        } catch (OpenXML4JException | URISyntaxException e) {
-            throw new IOException(e);
+    /**
+     * Reads the sheet names of the given file. Runs on a thread of the {@link ExcelTaskScheduler}, so the
+     * interrupt-based cancellation of the future has to be supported.
+     */
+    private static Collection<String> readSheetNames(final ExecutionContext exec, final FSPath path,
+        final FSConnection conn) throws IOException, CanceledExecutionException, URISyntaxException,
+        OpenXML4JException {
+        // due to limitations of the POI streaming API we need a local java.io.File
+        // to read sheet names in a memory-efficient streaming way. getLocalFile()
+        // will fetch a local temp copy of any remote files and the closeable file container
+        // makes sure that it gets deleted
+        try (var fileContainer = getLocalFile(path, conn)) {
+            final var localFile = fileContainer.retrieveLocalFile();
+            return readSheetNames(exec, localFile, path);
         }
     }
 
@@ -243,27 +297,22 @@ private static File copyToLocalTempFile(final FSPath path) throws IOException {
     }
 
 
-    private static int writeSheetNames(final ExecutionContext exec, final RowOutput output,
-        final MultiSimpleFSLocationCellFactory fac, final File file, final FSPath path, final int rowOffset)
-        throws InterruptedException, CanceledExecutionException, IOException, OpenXML4JException {
-        final Collection<String> names;
+    private static Collection<String> readSheetNames(final ExecutionContext exec, final File file,
+        final FSPath path) throws CanceledExecutionException, IOException, OpenXML4JException {
         switch (FilenameUtils.getExtension(path.toString()).toUpperCase()) {
             case "XLS":
                 try (final var fs = new POIFSFileSystem(file, true)) {
-                    names = getSheetNamesHSSF(exec, fs);
+                    return getSheetNamesHSSF(exec, fs);
                 }
-                break;
             case "XLSB":
                 try (final var pak = OPCPackage.open(file, PackageAccess.READ)) {
-                    names = getSheetNamesXSSF(exec, new XSSFBReader(pak));
+                    return getSheetNamesXSSF(exec, new XSSFBReader(pak));
                 }
-                break;
             default: // "XLSX", "XLSM"
                 try (final var pak = OPCPackage.open(file, PackageAccess.READ)) {
-                    names = getSheetNamesXSSF(exec, new XSSFReader(pak));
+                    return getSheetNamesXSSF(exec, new XSSFReader(pak));
                 }
         }
-        return pushRows(exec, fac, path.toFSLocation(), output, names, rowOffset);
     }
 
     private static Collection<String> getSheetNamesHSSF(final ExecutionContext exec, final POIFSFileSystem file)
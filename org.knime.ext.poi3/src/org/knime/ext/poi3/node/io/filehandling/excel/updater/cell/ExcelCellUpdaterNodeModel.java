@@ -51,10 +51,12 @@
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -70,6 +72,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -85,11 +88,16 @@
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.VariableType.LongType;
 import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Scope;
 import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMultiRowInputWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.AppendingXlsxWorkbook;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.WorkbookHandler;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
 import org.knime.filehandling.core.defaultnodesettings.status.NodeModelStatusConsumer;
@@ -103,6 +111,8 @@
  */
 public final class ExcelCellUpdaterNodeModel extends NodeModel {
 
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelCellUpdaterNodeModel.class);
+
     /** The maximum progress for creating the excel file. */
     private static final double MAX_EXCEL_PROGRESS = 0.75;
 
@@ -226,9 +236,20 @@ private void write(final ExecutionContext exec, final ExcelProgressMonitor m, fi
 
             exec.setMessage("Opening excel file");
             final var writer = new ExcelMultiRowInputWriter(m_cfg);
+            final var metrics = new ExcelMetrics();
             try (final var wbHandler = getWorkbookHandler(inputPath)) {
+                wbHandler.setMetrics(metrics);
                 writer.writeTables(outputPath, tables, coordinateColumnIndices, wbHandler, exec, m);
             }
+            publishMetrics(metrics);
+        }
+    }
+
+    private void publishMetrics(final ExcelMetrics metrics) {
+        LOGGER.debug(() -> "Excel Cell Updater metrics: " + metrics.summarize(Scope.WRITE));
+        if (ExcelMetrics.isFlowVariableOutputEnabled()) {
+            metrics.getFlowVariables(Scope.WRITE)
+                .forEach((name, value) -> pushFlowVariable(name, LongType.INSTANCE, value));
         }
     }
 
@@ -239,7 +260,21 @@ private static ExecutionContext getExcelWriteSubProgress(final ExecutionContext
     private AppendWorkbookHandler getWorkbookHandler(final Path path) {
         final var auth = m_cfg.getAuthentication();
         final var pw = CryptUtil.getPassword(auth, getCredentialsProvider());
-        return new AppendWorkbookHandler(path, pw);
+        return new AppendWorkbookHandler(path, pw, canUpdateStreaming(pw), m_cfg.getSheetNames());
+    }
+
+    /**
+     * The cells of an xlsx file can be updated without loading the file (see {@link AppendingXlsxWorkbook}) unless
+     * formulas are reevaluated or the file is encrypted. Each sheet must be updated by a single table, since the
+     * cells of a sheet are written in the order of their addresses.
+     */
+    private boolean canUpdateStreaming(final String password) {
+        final var sheetNames = m_cfg.getSheetNames();
+        return ExcelWriterProperties.useStreamingUpdate() && password == null
+            && !m_cfg.evaluate() && Arrays.stream(sheetNames)//
+                .map(name -> name.toLowerCase(Locale.ROOT))//
+                .distinct()//
+                .count() == sheetNames.length;
     }
 
     private static void createOutputFoldersIfMissing(final Path outputFolder, final boolean createMissingFolders)
@@ -342,13 +377,36 @@ static ExcelFormat getExcelFormat(final String path) {
      */
     public static class AppendWorkbookHandler extends WorkbookHandler {
 
-        AppendWorkbookHandler(final Path path, final String secretPassword) {
+        private final boolean m_streamingUpdate;
+
+        private final String[] m_sheetNames;
+
+        private InputStream m_inputStream;
+
+        /**
+         * @param path the path of the file to update
+         * @param secretPassword the password of the file, or {@code null} if it is not encrypted
+         * @param streamingUpdate whether the cells may be updated without loading the file
+         * @param sheetNames the names of the sheets whose cells are updated
+         */
+        AppendWorkbookHandler(final Path path, final String secretPassword, final boolean streamingUpdate,
+            final String... sheetNames) {
             super(getExcelFormat(path.getFileName().toString()), path, secretPassword);
+            m_streamingUpdate = streamingUpdate;
+            m_sheetNames = sheetNames;
         }
 
         @Override
         public Workbook createWorkbook(final String secretPassword) throws IOException {
+            if (m_streamingUpdate && m_format == ExcelFormat.XLSX && isOOXML()) {
+                final var workbook = AppendingXlsxWorkbook.open(m_inputPath);
+                if (canPatch(workbook)) {
+                    return workbook;
+                }
+                workbook.close();
+            }
             final var input = new BufferedInputStream(Files.newInputStream(m_inputPath));
+            m_inputStream = input;
             try {
                 return WorkbookFactory.create(input, secretPassword);
             } catch (final EncryptedDocumentException e) {
@@ -358,6 +416,31 @@ public Workbook createWorkbook(final String secretPassword) throws IOException {
             }
         }
 
+        /** The {@link WorkbookFactory} reads the whole stream, which can therefore be closed before saving. */
+        @Override
+        protected boolean releaseInput() throws IOException {
+            if (m_inputStream == null) {
+                return false;
+            }
+            m_inputStream.close();
+            return true;
+        }
+
+        /**
+         * The cells of shared and array formulas cannot be patched, since the formula is only stored in their first
+         * cell. Such sheets are updated by loading the file, which hands the formula on to the other cells.
+         */
+        private boolean canPatch(final AppendingXlsxWorkbook workbook) throws IOException {
+            for (final var sheetName : m_sheetNames) {
+                if (workbook.containsExistingSheet(sheetName) && workbook.containsSharedOrArrayFormulas(sheetName)) {
+                    LOGGER.debugWithFormat("The sheet '%s' contains shared or array formulas, loading the file to "
+                        + "update its cells.", sheetName);
+                    return false;
+                }
+            }
+            return true;
+        }
+
     }
 
 }
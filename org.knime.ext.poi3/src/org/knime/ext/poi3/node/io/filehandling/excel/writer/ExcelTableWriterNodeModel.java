@@ -51,6 +51,7 @@
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -67,6 +68,8 @@
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.image.png.PNGImageValue;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -88,13 +91,18 @@
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.VariableType.LongType;
 import org.knime.core.util.DesktopUtil;
 import org.knime.core.util.FileUtil;
 import org.knime.ext.poi3.node.io.filehandling.excel.CryptUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Scope;
 import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMultiRowInputWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.AppendingXlsxWorkbook;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.WorkbookHandler;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetUtils;
 import org.knime.filehandling.core.connections.FSCategory;
 import org.knime.filehandling.core.connections.FSConnection;
@@ -189,9 +197,13 @@ private void write(final ExecutionContext exec, final ExcelProgressMonitor m, fi
             createOutputFoldersIfMissing(outputPath.toAbsolutePath().getParent(), fileChooser.isCreateMissingFolders());
             exec.setMessage("Opening excel file");
             final var writer = new ExcelMultiRowInputWriter(m_cfg);
-            try (final var wbHandler = getWorkbookHandler(fileChooser.getFileOverwritePolicy(), outputPath)) {
+            final var metrics = new ExcelMetrics();
+            try (final var wbHandler =
+                getWorkbookHandler(fileChooser.getFileOverwritePolicy(), outputPath, tables)) {
+                wbHandler.setMetrics(metrics);
                 writer.writeTables(outputPath, tables, wbHandler, exec, m);
             }
+            publishMetrics(metrics);
 
             if (m_cfg.getOpenFileAfterExecModel().getBooleanValue() && !isHeadlessOrRemote()
                 && categoryIsSupported(outputPath.toFSLocation().getFSCategory())) {
@@ -200,6 +212,14 @@ && categoryIsSupported(outputPath.toFSLocation().getFSCategory())) {
         }
     }
 
+    private void publishMetrics(final ExcelMetrics metrics) {
+        LOGGER.debug(() -> "Excel Writer metrics: " + metrics.summarize(Scope.WRITE));
+        if (ExcelMetrics.isFlowVariableOutputEnabled()) {
+            metrics.getFlowVariables(Scope.WRITE)
+                .forEach((name, value) -> pushFlowVariable(name, LongType.INSTANCE, value));
+        }
+    }
+
     private void openFile(final SettingsModelWriterFileChooser fileChooser, final FSPath outputPath)
         throws IOException {
         try (final FSConnection connection = fileChooser.getConnection()) {
@@ -253,15 +273,15 @@ private static ExecutionContext getExcelWriteSubProgress(final ExecutionContext
         return exec.createSubExecutionContext(MAX_EXCEL_PROGRESS);
     }
 
-    private WorkbookHandler getWorkbookHandler(final FileOverwritePolicy fileOverwritePolicy, final Path path)
-            throws IOException {
+    private WorkbookHandler getWorkbookHandler(final FileOverwritePolicy fileOverwritePolicy, final Path path,
+        final RowInput[] tables) throws IOException {
         final boolean fileExists = FSFiles.exists(path);
         final var format = m_cfg.getExcelFormat();
 
         final var auth = m_cfg.getAuthentication();
         final var pw = CryptUtil.getPassword(auth, getCredentialsProvider());
         if (fileExists && fileOverwritePolicy == FileOverwritePolicy.APPEND) {
-            return new WriteWorkbookHandler(format, path, m_cfg.evaluate(), pw);
+            return new WriteWorkbookHandler(format, path, m_cfg.evaluate(), pw, canAppendStreaming(tables, pw));
         } else {
             if (fileExists && fileOverwritePolicy == FileOverwritePolicy.FAIL) {
                 throw new IOException(String.format(
@@ -271,6 +291,18 @@ private WorkbookHandler getWorkbookHandler(final FileOverwritePolicy fileOverwri
         }
     }
 
+    /**
+     * Rows can be appended to an xlsx file without loading it (see {@link AppendingXlsxWorkbook}) unless formulas are
+     * evaluated, columns are auto-sized, the file is encrypted or images have to be added to existing drawings.
+     */
+    private boolean canAppendStreaming(final RowInput[] tables, final String password) {
+        return ExcelWriterProperties.useStreamingAppend() && m_cfg.getExcelFormat() == ExcelFormat.XLSX
+            && password == null && !m_cfg.evaluate() && !m_cfg.useAutoSize() && Arrays.stream(tables)//
+                .map(RowInput::getDataTableSpec)//
+                .flatMap(DataTableSpec::stream)//
+                .noneMatch(colSpec -> colSpec.getType().isCompatible(PNGImageValue.class));
+    }
+
     private static void createOutputFoldersIfMissing(final Path outputFolder, final boolean createMissingFolders)
         throws IOException {
         if (!FSFiles.exists(outputFolder)) {
@@ -357,6 +389,10 @@ static class WriteWorkbookHandler extends WorkbookHandler {
 
         private final boolean m_evaluateFormulas;
 
+        private final boolean m_streamingAppend;
+
+        private InputStream m_inputStream;
+
         /**
          * Constructor.
          *
@@ -368,8 +404,14 @@ static class WriteWorkbookHandler extends WorkbookHandler {
 
         WriteWorkbookHandler(final ExcelFormat format, final Path path, final boolean evaluateFormulas,
                 final String password) {
+            this(format, path, evaluateFormulas, password, false);
+        }
+
+        WriteWorkbookHandler(final ExcelFormat format, final Path path, final boolean evaluateFormulas,
+                final String password, final boolean streamingAppend) {
             super(format, path, password);
             m_evaluateFormulas = evaluateFormulas;
+            m_streamingAppend = streamingAppend;
         }
 
         @Override
@@ -387,8 +429,12 @@ public Workbook createWorkbook(final String secretPassword) throws IOException {
                 throw new IOException(
                     String.format("Unsupported format: Unable to append spreadsheets to %s", m_inputPath.toString()));
             }
+            if (m_streamingAppend && isOOXML()) {
+                return AppendingXlsxWorkbook.open(m_inputPath);
+            }
             // if create fails the input stream gets closed otherwise it's closed when invoking close on the workbook
             final var bufferedInputStream = new BufferedInputStream(Files.newInputStream(m_inputPath));
+            m_inputStream = bufferedInputStream;
             try {
                 final var wb = WorkbookFactory.create(bufferedInputStream, secretPassword);
 
@@ -429,5 +475,15 @@ public Workbook createWorkbook(final String secretPassword) throws IOException {
             }
         }
 
+        /** The {@link WorkbookFactory} reads the whole stream, which can therefore be closed before saving. */
+        @Override
+        protected boolean releaseInput() throws IOException {
+            if (m_inputStream == null) {
+                return false;
+            }
+            m_inputStream.close();
+            return true;
+        }
+
     }
 }
@@ -51,9 +51,9 @@
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.function.Function;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.knime.core.data.BooleanValue;
@@ -86,15 +86,15 @@ abstract class AbstractCellWriter implements ExcelCellWriter {
     }
 
     @Override
-    public void write(final DataCell dataCell, final Function<CellType, Cell> cellCreator) throws IOException {
+    public void write(final DataCell dataCell, final CellCreationContext context) throws IOException {
         if (dataCell.isMissing()) {
             if (m_missingValPattern != null) {
-                cellCreator.apply(CellType.STRING).setCellValue(m_missingValPattern);
+                context.createCell(CellType.STRING).setCellValue(m_missingValPattern);
             } else {
-                cellCreator.apply(CellType.BLANK);
+                context.createCell(CellType.BLANK);
             }
         } else {
-            fill(dataCell, cellCreator.apply(getCellType()));
+            fill(dataCell, context.createCell(getCellType()));
         }
     }
 
@@ -233,18 +233,28 @@ abstract class StyledCellWriters extends NumericCellWriters {
     }
 
     /**
-     * Sets the style of the cell.
+     * Resolves the style of a format. The writers resolve their styles on first use and not per cell, since this
+     * requires a synchronized lookup, and not upfront, since every resolved style is added to the workbook.
      *
-     * @param cell the cell whose style has to be set
      * @param format the style format
+     * @return the style of the workbook with the given format
      */
-    void setCellStyle(final Cell cell, final String format) {
-        cell.setCellStyle(m_cellStyleManager.getCellStyle(format));
+    CellStyle getCellStyle(final String format) {
+        return m_cellStyleManager.getCellStyle(format);
     }
 }
 
 final class DateAndTimeCellWriter extends StyledCellWriters {
 
+    private static final int HAS_DATE = 1;
+
+    private static final int HAS_TIME = 2;
+
+    private static final int HAS_MILLIS = 4;
+
+    /** The styles of the variants by their (hasDate, hasTime, hasMillis) bitmask, resolved on first use. */
+    private final CellStyle[] m_styles = new CellStyle[8];
+
     /**
      * Constructor.
      *
@@ -258,30 +268,49 @@ final class DateAndTimeCellWriter extends StyledCellWriters {
     @Override
     void fill(final DataCell dataCell, final Cell cell) {
         final DateAndTimeValue dateAndTime = (DateAndTimeValue)dataCell;
-        String format = "";
-        if (dateAndTime.hasDate()) {
-            format += "yyyy-mm-dd";
+        final var variant = (dateAndTime.hasDate() ? HAS_DATE : 0) | (dateAndTime.hasTime() ? HAS_TIME : 0)
+            | (dateAndTime.hasMillis() ? HAS_MILLIS : 0);
+        var style = m_styles[variant];
+        if (style == null) {
+            style = getCellStyle(getFormat(variant));
+            m_styles[variant] = style;
         }
-        if (dateAndTime.hasDate() && dateAndTime.hasTime()) {
-            format += "T";
+        cell.setCellStyle(style);
+        cell.setCellValue(DateUtil.getExcelDate(dateAndTime.getUTCCalendarClone(), false));
+    }
+
+    private static String getFormat(final int variant) {
+        final var hasDate = (variant & HAS_DATE) != 0;
+        final var hasTime = (variant & HAS_TIME) != 0;
+        final var hasMillis = (variant & HAS_MILLIS) != 0;
+        final var format = new StringBuilder();
+        if (hasDate) {
+            format.append("yyyy-mm-dd");
         }
-        if (dateAndTime.hasTime()) {
-            format += "hh:mm:ss";
+        if (hasDate && hasTime) {
+            format.append("T");
         }
-        if (dateAndTime.hasTime() && dateAndTime.hasMillis()) {
-            format += ".";
+        if (hasTime) {
+            format.append("hh:mm:ss");
         }
-        if (dateAndTime.hasMillis()) {
-            format += "000";
+        if (hasTime && hasMillis) {
+            format.append(".");
         }
-        setCellStyle(cell, format);
-        cell.setCellValue(DateUtil.getExcelDate(dateAndTime.getUTCCalendarClone(), false));
+        if (hasMillis) {
+            format.append("000");
+        }
+        return format.toString();
     }
 
 }
 
 final class LocalDateCellWriter extends StyledCellWriters {
 
+    private static final String FORMAT = "yyyy-mm-dd";
+
+    /** The style of the cells, resolved on first use. */
+    private CellStyle m_style;
+
     /**
      * Constructor.
      *
@@ -295,7 +324,10 @@ final class LocalDateCellWriter extends StyledCellWriters {
     @Override
     void fill(final DataCell dataCell, final Cell cell) {
         final LocalDateValue val = (LocalDateValue)dataCell;
-        setCellStyle(cell, "yyyy-mm-dd");
+        if (m_style == null) {
+            m_style = getCellStyle(FORMAT);
+        }
+        cell.setCellStyle(m_style);
         cell.setCellValue(DateUtil.getExcelDate(val.getLocalDate().atStartOfDay()));
     }
 
@@ -321,6 +353,11 @@ void fill(final DataCell dataCell, final Cell cell) {
 
 final class LocalDateTimeCellWriter extends StyledCellWriters {
 
+    private static final String FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    /** The style of the cells, resolved on first use. */
+    private CellStyle m_style;
+
     /**
      * Constructor.
      *
@@ -334,7 +371,10 @@ final class LocalDateTimeCellWriter extends StyledCellWriters {
     @Override
     void fill(final DataCell dataCell, final Cell cell) {
         final LocalDateTimeValue val = (LocalDateTimeValue)dataCell;
-        setCellStyle(cell, "yyyy-mm-dd hh:mm:ss");
+        if (m_style == null) {
+            m_style = getCellStyle(FORMAT);
+        }
+        cell.setCellStyle(m_style);
         cell.setCellValue(DateUtil.getExcelDate(val.getLocalDateTime()));
     }
 
@@ -342,6 +382,11 @@ void fill(final DataCell dataCell, final Cell cell) {
 
 final class LocalTimeCellWriter extends StyledCellWriters {
 
+    private static final String FORMAT = "hh:mm:ss;@";
+
+    /** The style of the cells, resolved on first use. */
+    private CellStyle m_style;
+
     /**
      * Constructor.
      *
@@ -355,7 +400,10 @@ final class LocalTimeCellWriter extends StyledCellWriters {
     @Override
     void fill(final DataCell dataCell, final Cell cell) {
         final LocalTimeValue val = (LocalTimeValue)dataCell;
-        setCellStyle(cell, "hh:mm:ss;@");
+        if (m_style == null) {
+            m_style = getCellStyle(FORMAT);
+        }
+        cell.setCellStyle(m_style);
         cell.setCellValue(DateUtil.getExcelDate(LocalDateTime.of(LocalDate.of(1900, 1, 1), val.getLocalTime())) % 1);
     }
 
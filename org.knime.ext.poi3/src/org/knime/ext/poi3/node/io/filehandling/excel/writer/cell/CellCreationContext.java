@@ -0,0 +1,106 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cell;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * The position, and optionally the style, of the cell an {@link ExcelCellWriter} creates. A sheet writer reuses a
+ * single context for all of its cells, such that writing a cell allocates nothing besides the cell itself.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class CellCreationContext {
+
+    private Row m_row;
+
+    private int m_column;
+
+    private CellStyle m_style;
+
+    /**
+     * Moves the context to a cell, without style.
+     *
+     * @param row the row of the cell to create
+     * @param column the index of the column of the cell to create
+     * @return this context
+     */
+    public CellCreationContext at(final Row row, final int column) {
+        m_row = row;
+        m_column = column;
+        m_style = null;
+        return this;
+    }
+
+    /**
+     * @param style the style to apply to the created cell, or {@code null} to keep the default style
+     * @return this context
+     */
+    public CellCreationContext withStyle(final CellStyle style) {
+        m_style = style;
+        return this;
+    }
+
+    /**
+     * Creates the cell.
+     *
+     * @param type the type of the cell
+     * @return the created cell
+     */
+    Cell createCell(final CellType type) {
+        final var cell = m_row.createCell(m_column, type);
+        if (m_style != null) {
+            cell.setCellStyle(m_style);
+        }
+        return cell;
+    }
+}
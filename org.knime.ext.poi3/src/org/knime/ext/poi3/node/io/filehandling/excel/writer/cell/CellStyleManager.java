@@ -70,7 +70,10 @@ final class CellStyleManager {
     }
 
     CellStyle getCellStyle(final String format) {
-        return m_cellStyles.computeIfAbsent(format, this::createCellStyle);
+        // sheets might be written concurrently, and creating a style modifies the workbook
+        synchronized (m_wb) {
+            return m_cellStyles.computeIfAbsent(format, this::createCellStyle);
+        }
     }
 
     private CellStyle createCellStyle(final String format) {
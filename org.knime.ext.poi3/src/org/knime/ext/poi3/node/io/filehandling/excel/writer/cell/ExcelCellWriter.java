@@ -49,10 +49,8 @@
 package org.knime.ext.poi3.node.io.filehandling.excel.writer.cell;
 
 import java.io.IOException;
-import java.util.function.Function;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
 import org.knime.core.data.DataCell;
 
 /**
@@ -66,10 +64,10 @@ public interface ExcelCellWriter {
      * Writes the given {@link DataCell} to a {@link Cell}.
      *
      * @param dataCell the data cell to be written
-     * @param cellCreator the function to create a {@link Cell}
+     * @param context the context to create the {@link Cell} with
      * @throws IOException - If the value of the {@link DataCell} cannot be written to the {@link Cell}
      */
-    void write(final DataCell dataCell, final Function<CellType, Cell> cellCreator) throws IOException;
+    void write(final DataCell dataCell, final CellCreationContext context) throws IOException;
 
     /**
      * @param dataCell
@@ -49,10 +49,8 @@
 package org.knime.ext.poi3.node.io.filehandling.excel.writer.cell;
 
 import java.io.IOException;
-import java.util.function.Function;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.knime.core.data.BooleanValue;
 import org.knime.core.data.DataCell;
@@ -69,6 +67,7 @@
 import org.knime.core.data.time.localtime.LocalTimeValue;
 import org.knime.core.data.time.period.PeriodValue;
 import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.DirectXlsxWorkbook;
 import org.knime.filehandling.core.data.location.FSLocationValue;
 
 /**
@@ -85,6 +84,10 @@ public class ExcelCellWriterFactory {
     private ExcelCellWriterFactory(final Workbook wb, final String missingValPattern) {
         m_formatManager = new CellStyleManager(wb);
         m_missingValPattern = missingValPattern;
+        if (wb instanceof DirectXlsxWorkbook directWb) {
+            // missing cells reference the shared pattern, regardless of the cardinality of their column
+            directWb.addSharedString(missingValPattern);
+        }
     }
 
     /**
@@ -133,7 +136,7 @@ public ExcelCellWriter createCellWriter(final DataType type) { // NOSONAR 5 is n
             return new ExcelCellWriter() {
 
                 @Override
-                public void write(final DataCell dataCell, final Function<CellType, Cell> cellCreator) {
+                public void write(final DataCell dataCell, final CellCreationContext context) {
                     // Image are no regular cells and must be treated by the writer itself
                 }
 
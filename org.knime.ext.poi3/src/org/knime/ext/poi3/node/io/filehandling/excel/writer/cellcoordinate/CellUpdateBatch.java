@@ -0,0 +1,303 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate;
+
+import java.util.Arrays;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.StringValue;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * The cell updates of a table of addresses and values, which are parsed and validated when they are
+ * {@link #add(DataRow) added}, such that they can be {@link #sort() sorted} by address and applied row by row.
+ *
+ * <p>
+ * The addresses are kept in a primitive array of keys that combine the (0-based) row, column and the index of the
+ * update, i.e. sorting the keys sorts the updates in row-major order.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class CellUpdateBatch {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CellUpdateBatch.class);
+
+    private static final int COLUMN_BITS = 14;
+
+    private static final int INDEX_BITS = 29;
+
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    /** The maximum number of duplicate addresses listed in the warning. */
+    private static final int MAX_REPORTED_DUPLICATES = 10;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int m_coordinateColumn;
+
+    private final DataTableSpec m_spec;
+
+    private final int m_maxRows;
+
+    private final int m_maxColumns;
+
+    private long[] m_keys = new long[INITIAL_CAPACITY];
+
+    private DataCell[] m_values = new DataCell[INITIAL_CAPACITY];
+
+    private int[] m_writerIndices = new int[INITIAL_CAPACITY];
+
+    private int m_size;
+
+    private boolean m_sorted = true;
+
+    /**
+     * Constructor.
+     *
+     * @param coordinateColumn the index of the column that contains the coordinates
+     * @param spec the table specification of the table containing the coordinates and values
+     * @param version the version of the spreadsheet, which limits the addresses
+     */
+    public CellUpdateBatch(final int coordinateColumn, final DataTableSpec spec, final SpreadsheetVersion version) {
+        m_coordinateColumn = coordinateColumn;
+        m_spec = spec;
+        // the keys hold at most the rows and columns of an xlsx file
+        m_maxRows = Math.min(version.getMaxRows(), 1 << (Long.SIZE - 1 - INDEX_BITS - COLUMN_BITS));
+        m_maxColumns = Math.min(version.getMaxColumns(), 1 << COLUMN_BITS);
+    }
+
+    /**
+     * Adds the update of a row, see
+     * {@link ExcelSheetCellCoordinateWriter#writeCellWithCoordinate(org.apache.poi.ss.usermodel.Sheet, DataRow, int,
+     * DataTableSpec)}.
+     *
+     * @param dataRow a data row specifying the coordinate and value to be written
+     * @throws InvalidSettingsException - If the coordinate is invalid or there are multiple values to insert found in
+     *             the row
+     */
+    public void add(final DataRow dataRow) throws InvalidSettingsException {
+        final var cellCoordinate = getCellCoordinate(dataRow, m_coordinateColumn);
+        final var valueColumn = findValueColumn(dataRow, m_coordinateColumn, m_spec, cellCoordinate);
+        final var ref = parseCellAddress(cellCoordinate);
+        CheckUtils.checkSetting(ref.getRow() < m_maxRows && ref.getColumn() < m_maxColumns,
+            "Resolved address (%s => column %d, row %d) exceeds the limits of a sheet (%d columns, %d rows)",
+            cellCoordinate, ref.getColumn() + 1, ref.getRow() + 1, m_maxColumns, m_maxRows);
+        CheckUtils.checkSetting(m_size <= INDEX_MASK, "Too many cells to update (more than %d).", INDEX_MASK + 1);
+        if (m_size == m_keys.length) {
+            final var capacity = 2 * m_size;
+            m_keys = Arrays.copyOf(m_keys, capacity);
+            m_values = Arrays.copyOf(m_values, capacity);
+            m_writerIndices = Arrays.copyOf(m_writerIndices, capacity);
+        }
+        final var key = toKey(ref.getRow(), ref.getColumn(), m_size);
+        m_sorted &= m_size == 0 || m_keys[m_size - 1] < key;
+        m_keys[m_size] = key;
+        if (valueColumn >= 0) {
+            m_values[m_size] = dataRow.getCell(valueColumn);
+            m_writerIndices[m_size] = valueColumn;
+        } else {
+            m_values[m_size] = DataType.getMissingCell();
+            m_writerIndices[m_size] = m_coordinateColumn;
+        }
+        m_size++;
+    }
+
+    /**
+     * Sorts the updates in row-major order. Of multiple updates of the same cell only the last one is kept, as if the
+     * updates were applied in order, and a warning listing these cells is logged.
+     */
+    public void sort() {
+        if (!m_sorted) {
+            Arrays.sort(m_keys, 0, m_size);
+            m_sorted = true;
+        }
+        // the keys of the same cell are ordered by the index of the update, hence the last one of them is kept
+        final var duplicates = new StringBuilder();
+        var numDuplicates = 0;
+        var kept = 0;
+        for (var i = 0; i < m_size; i++) {
+            final var isLast = i + 1 == m_size || getAddress(i + 1) != getAddress(i);
+            if (!isLast && (i == 0 || getAddress(i - 1) != getAddress(i))) {
+                numDuplicates++;
+                if (numDuplicates <= MAX_REPORTED_DUPLICATES) {
+                    duplicates.append(numDuplicates > 1 ? ", " : "")
+                        .append(new CellReference(getRow(i), getColumn(i)).formatAsString());
+                }
+            }
+            if (isLast) {
+                m_keys[kept++] = m_keys[i];
+            }
+        }
+        m_size = kept;
+        if (numDuplicates > 0) {
+            if (numDuplicates > MAX_REPORTED_DUPLICATES) {
+                duplicates.append(String.format(" and %d more", numDuplicates - MAX_REPORTED_DUPLICATES));
+            }
+            LOGGER.warnWithFormat("The following cells are updated more than once, the last value is written: %s",
+                duplicates);
+        }
+    }
+
+    /**
+     * @return the number of updates
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * @param i the index of the update, in sorted order after {@link #sort()}
+     * @return the (0-based) row of the updated cell
+     */
+    int getRow(final int i) {
+        return (int)(getAddress(i) >>> COLUMN_BITS);
+    }
+
+    /**
+     * @param i the index of the update, in sorted order after {@link #sort()}
+     * @return the (0-based) column of the updated cell
+     */
+    int getColumn(final int i) {
+        return (int)(getAddress(i) & ((1 << COLUMN_BITS) - 1));
+    }
+
+    /**
+     * @param i the index of the update, in sorted order after {@link #sort()}
+     * @return the value to write
+     */
+    DataCell getValue(final int i) {
+        return m_values[(int)(m_keys[i] & INDEX_MASK)];
+    }
+
+    /**
+     * @param i the index of the update, in sorted order after {@link #sort()}
+     * @return the index of the cell writer to write the value with
+     */
+    int getWriterIndex(final int i) {
+        return m_writerIndices[(int)(m_keys[i] & INDEX_MASK)];
+    }
+
+    private long getAddress(final int i) {
+        return m_keys[i] >>> INDEX_BITS;
+    }
+
+    private static long toKey(final int row, final int column, final int index) {
+        return ((((long)row << COLUMN_BITS) | column) << INDEX_BITS) | index;
+    }
+
+    static String getCellCoordinate(final DataRow dataRow, final int coordinateColumn)
+        throws InvalidSettingsException {
+        CheckUtils.checkSetting(dataRow.getNumCells() > coordinateColumn, "Address column index (%d) does not exits",
+            coordinateColumn + 1);
+        final var coordinateContainer = dataRow.getCell(coordinateColumn);
+        CheckUtils.checkSetting(!coordinateContainer.isMissing(), "Address cell must not be missing!");
+        CheckUtils.checkSetting(coordinateContainer instanceof StringValue, "Address cell has to be of type string!");
+        return ((StringValue)coordinateContainer).getStringValue();
+    }
+
+    /**
+     * @return the index of the only non-missing value besides the coordinate, -1 if all values are missing
+     */
+    static int findValueColumn(final DataRow dataRow, final int coordinateColumn, final DataTableSpec spec,
+        final String cellCoordinate) throws InvalidSettingsException {
+        var valueColumn = -1;
+        var idx = 0;
+        for (final DataCell dataCell : dataRow) {
+            if (idx != coordinateColumn && !dataCell.isMissing()) {
+                CheckUtils.checkSetting(valueColumn < 0,
+                    "Found second non-missing value in row \"%s\" and column \"%s\" (%d) for cell %s to update!",
+                    dataRow.getKey(), spec.getColumnSpec(idx).getName(), idx + 1, cellCoordinate);
+                valueColumn = idx;
+            }
+            idx++;
+        }
+        return valueColumn;
+    }
+
+    static CellAddress parseCellAddress(final String cellCoordinate) throws InvalidSettingsException {
+        final CellAddress ref;
+        if (cellCoordinate.indexOf(':') != -1) {
+            final int col;
+            final int row;
+            final var parts = cellCoordinate.split(":");
+            CheckUtils.checkSetting(parts.length == 2,
+                "Expected cell address \"%s\" to be in \"<column number>:<row number>\" format", cellCoordinate);
+            try {
+                col = Integer.parseInt(parts[0].trim()) - 1;
+            } catch (NumberFormatException e) {
+                throw new InvalidSettingsException("Column in '" + cellCoordinate + "' is not an integer!");
+            }
+            try {
+                row = Integer.parseInt(parts[1].trim()) - 1;
+            } catch (NumberFormatException e) {
+                throw new InvalidSettingsException("Row in '" + cellCoordinate + "' is not an integer!");
+            }
+            ref = new CellAddress(row, col);
+        } else {
+            try {
+                ref = new CellAddress(cellCoordinate);
+            } catch (NumberFormatException e) {
+                throw new InvalidSettingsException("Resolved address '" + cellCoordinate + "' is invalid!");
+            }
+        }
+        CheckUtils.checkSetting(ref.getRow() >= 0 && ref.getColumn() >= 0,
+            "Resolved address (%s => column %d, row %d) is illegal", cellCoordinate, ref.getColumn() + 1,
+            ref.getRow() + 1);
+        return ref;
+    }
+}
@@ -52,6 +52,7 @@
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellAddress;
@@ -59,10 +60,8 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
-import org.knime.core.data.StringValue;
 import org.knime.core.data.xml.io.XMLCellWriterFactory;
 import org.knime.core.node.InvalidSettingsException;
-import org.knime.core.node.util.CheckUtils;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.ExcelImageWriter;
 
@@ -104,36 +103,77 @@ public ExcelSheetCellCoordinateWriter(final DataTableSpec spec, final ExcelImage
      */
     public void writeCellWithCoordinate(final Sheet sheet, final DataRow dataRow, final int coordinateColumn,
         final DataTableSpec spec) throws IOException, InvalidSettingsException {
+        final var cellCoordinate = CellUpdateBatch.getCellCoordinate(dataRow, coordinateColumn);
+        final var valueColumn = CellUpdateBatch.findValueColumn(dataRow, coordinateColumn, spec, cellCoordinate);
+        if (valueColumn >= 0) {
+            writeCellToSheetAtCoordinate(sheet, cellCoordinate, dataRow.getCell(valueColumn), valueColumn);
+        } else {
+            writeCellToSheetAtCoordinate(sheet, cellCoordinate, DataType.getMissingCell(), coordinateColumn);
+        }
+    }
 
-        var idx = 0;
-        var found = false;
-        CheckUtils.checkSetting(dataRow.getNumCells() > coordinateColumn, "Address column index (%d) does not exits",
-            coordinateColumn + 1);
-        final var coordinateContainer = dataRow.getCell(coordinateColumn);
-        CheckUtils.checkSetting(!coordinateContainer.isMissing(), "Address cell must not be missing!");
-        CheckUtils.checkSetting(coordinateContainer instanceof StringValue, "Address cell has to be of type string!");
-        final var cellCoordinate = ((StringValue)coordinateContainer).getStringValue();
-        for (final DataCell dataCell : dataRow) {
-            if (idx != coordinateColumn) {
-                if (!dataCell.isMissing() && !found) {
-                    writeCellToSheetAtCoordinate(sheet, cellCoordinate, dataCell, idx);
-                    found = true;
-                } else if (!dataCell.isMissing()) {
-                    CheckUtils.checkSetting(false,
-                        "Found second non-missing value in row \"%s\" and column \"%s\" (%d) for cell %s to update!",
-                        dataRow.getKey(), spec.getColumnSpec(idx).getName(), idx + 1, cellCoordinate);
+    /**
+     * Writes the cells of a sorted batch row by row, such that every row is looked up once and its cells are created
+     * in ascending order. The cells keep the style of the cells they replace, or get the style of their row or column.
+     *
+     * @param sheet the sheet to edit and update
+     * @param batch the {@link CellUpdateBatch#sort() sorted} batch
+     * @throws IOException - If a cell could not be written
+     */
+    public void writeCells(final Sheet sheet, final CellUpdateBatch batch) throws IOException {
+        var i = 0;
+        while (i < batch.size()) {
+            final var rowIdx = batch.getRow(i);
+            var excelRow = sheet.getRow(rowIdx);
+            if (excelRow == null) {
+                excelRow = sheet.createRow(rowIdx);
+                for (; i < batch.size() && batch.getRow(i) == rowIdx; i++) {
+                    writeNewCell(batch, i, excelRow, sheet.getColumnStyle(batch.getColumn(i)));
+                }
+            } else {
+                final var rowStyle = excelRow.getRowStyle();
+                for (; i < batch.size() && batch.getRow(i) == rowIdx; i++) {
+                    final var cell = excelRow.getCell(batch.getColumn(i));
+                    final CellStyle currentStyle;
+                    if (cell != null) {
+                        currentStyle = cell.getCellStyle();
+                        // see writeCellToSheetAtCoordinate
+                        removeCell(excelRow, cell);
+                    } else {
+                        currentStyle = rowStyle != null ? rowStyle : sheet.getColumnStyle(batch.getColumn(i));
+                    }
+                    writeNewCell(batch, i, excelRow, currentStyle);
                 }
             }
-            idx++;
         }
-        if (!found) {
-            writeCellToSheetAtCoordinate(sheet, cellCoordinate, DataType.getMissingCell(), coordinateColumn);
+    }
+
+    /**
+     * Writes the cells of a sorted batch to new rows of the given sheet. The cells are not styled.
+     *
+     * @param sheet the sheet, whose rows must be created in ascending order, e.g. a streamed sheet
+     * @param batch the {@link CellUpdateBatch#sort() sorted} batch
+     * @throws IOException - If a cell could not be written
+     */
+    public void writeCellsToNewRows(final Sheet sheet, final CellUpdateBatch batch) throws IOException {
+        Row excelRow = null;
+        for (var i = 0; i < batch.size(); i++) {
+            if (excelRow == null || excelRow.getRowNum() != batch.getRow(i)) {
+                excelRow = sheet.createRow(batch.getRow(i));
+            }
+            writeNewCell(batch, i, excelRow, null);
         }
     }
 
+    private void writeNewCell(final CellUpdateBatch batch, final int i, final Row excelRow, final CellStyle style)
+        throws IOException {
+        m_cellWriters[batch.getWriterIndex(i)].write(batch.getValue(i),
+            m_cellContext.at(excelRow, batch.getColumn(i)).withStyle(style));
+    }
+
     private void writeCellToSheetAtCoordinate(final Sheet sheet, final String cellCoordinate, final DataCell dataCell,
         final int cellWriterIdx) throws IOException, InvalidSettingsException {
-        final var ref = parseCellAddress(cellCoordinate);
+        final var ref = CellUpdateBatch.parseCellAddress(cellCoordinate);
         final var excelRow = sheet.getRow(ref.getRow());
         final CellStyle currentStyle;
         final Cell cell;
@@ -143,7 +183,7 @@ private void writeCellToSheetAtCoordinate(final Sheet sheet, final String cellCo
                 currentStyle = cell.getCellStyle();
                 // we remove the cell here to be added fresh later to avoid a bug in POI where corrupted data would
                 // be written into a cell when updating a cell of type `inlineStr`
-                excelRow.removeCell(cell);
+                removeCell(excelRow, cell);
             } else {
                 final var rowStyle = excelRow.getRowStyle();
 
@@ -157,46 +197,19 @@ private void writeCellToSheetAtCoordinate(final Sheet sheet, final String cellCo
         }
     }
 
-    private static CellAddress parseCellAddress(final String cellCoordinate) throws InvalidSettingsException {
-        final CellAddress ref;
-        if (cellCoordinate.indexOf(':') != -1) {
-            final int col;
-            final int row;
-            final var parts = cellCoordinate.split(":");
-            CheckUtils.checkSetting(parts.length == 2,
-                "Expected cell address \"%s\" to be in \"<column number>:<row number>\" format", cellCoordinate);
-            try {
-                col = Integer.parseInt(parts[0].trim()) - 1;
-            } catch (NumberFormatException e) {
-                throw new InvalidSettingsException("Column in '" + cellCoordinate + "' is not an integer!");
-            }
-            try {
-                row = Integer.parseInt(parts[1].trim()) - 1;
-            } catch (NumberFormatException e) {
-                throw new InvalidSettingsException("Row in '" + cellCoordinate + "' is not an integer!");
-            }
-            ref = new CellAddress(row, col);
-        } else {
-            try {
-                ref = new CellAddress(cellCoordinate);
-            } catch (NumberFormatException e) {
-                throw new InvalidSettingsException("Resolved address '" + cellCoordinate + "' is invalid!");
-            }
+    /**
+     * Removes a cell. Its formula is removed first, since only that hands the formula of the first cell of a shared
+     * formula on to the next cell sharing it. {@link Row#removeCell(Cell)} would leave the other cells without formula.
+     */
+    private static void removeCell(final Row excelRow, final Cell cell) {
+        if (cell.getCellType() == CellType.FORMULA && !cell.isPartOfArrayFormulaGroup()) {
+            cell.removeFormula();
         }
-        CheckUtils.checkSetting(ref.getRow() >= 0 && ref.getColumn() >= 0,
-            "Resolved address (%s => column %d, row %d) is illegal", cellCoordinate, ref.getColumn() + 1,
-            ref.getRow() + 1);
-        return ref;
-
+        excelRow.removeCell(cell);
     }
 
     private void writeNewCell(final DataCell dataCell, final int idx, final CellAddress ref, final Row excelRow,
         final CellStyle style) throws IOException {
-        m_cellWriters[idx].write(dataCell, t -> applyStyle(excelRow.createCell(ref.getColumn(), t), style));
-    }
-
-    private static Cell applyStyle(final Cell cell, final CellStyle style) {
-        cell.setCellStyle(style);
-        return cell;
+        m_cellWriters[idx].write(dataCell, m_cellContext.at(excelRow, ref.getColumn()).withStyle(style));
     }
 }
@@ -55,14 +55,17 @@
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.util.Units;
-import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.image.png.PNGImageValue;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.CellCreationContext;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriter;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.ExcelImageWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.DirectXlsxWorkbook;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ColumnWidthEstimator;
 
 /**
  * An excel writer that writes individual rows to a given excel {@link Sheet}.
@@ -74,12 +77,19 @@ public class ExcelSheetWriter {
     /** Contains the cell writers used to write cells of differing types. */
     protected final ExcelCellWriter[] m_cellWriters;
 
+    /** The context the cell writers create their cells with, which is reused for all cells. */
+    protected final CellCreationContext m_cellContext = new CellCreationContext();
+
     private final boolean m_writeRowKey;
 
     private final ExcelImageWriter m_imageWriter;
 
+    private final boolean m_hasImages;
+
     private int m_rowIdx;
 
+    private ColumnWidthEstimator m_widthEstimator;
+
     /**
      * Constructor.
      *
@@ -97,6 +107,7 @@ public ExcelSheetWriter(final DataTableSpec spec, final ExcelImageWriter imageWr
         }
         m_writeRowKey = writeRowKey;
         m_imageWriter = imageWriter;
+        m_hasImages = spec.stream().anyMatch(colSpec -> colSpec.getType().isCompatible(PNGImageValue.class));
         m_rowIdx = 0;
     }
 
@@ -109,15 +120,25 @@ public ExcelSheetWriter(final DataTableSpec spec, final ExcelImageWriter imageWr
     public void writeColHeader(final Sheet sheet, final DataTableSpec spec) {
         final var excelRow = sheet.createRow(m_rowIdx);
         ++m_rowIdx;
+        final var directWb = sheet.getWorkbook() instanceof DirectXlsxWorkbook wb ? wb : null;
         var idx = 0;
         if (m_writeRowKey) {
             excelRow.createCell(idx, CellType.STRING).setCellValue("RowID");
             ++idx;
         }
         for (final DataColumnSpec colSpec : spec) {
+            if (directWb != null) {
+                // headers are repeated on every sheet of the file
+                directWb.addSharedString(colSpec.getName());
+            }
             excelRow.createCell(idx, CellType.STRING).setCellValue(colSpec.getName());
             ++idx;
         }
+        if (m_widthEstimator != null) {
+            for (var i = 0; i < idx; i++) {
+                m_widthEstimator.measure(i, excelRow.getCell(i));
+            }
+        }
     }
 
     /**
@@ -134,14 +155,20 @@ public void writeRowToSheet(final Sheet sheet, final DataRow dataRow) throws IOE
             excelRow.createCell(colIdxOffset, CellType.STRING).setCellValue(dataRow.getKey().getString());
             ++colIdxOffset;
         }
-        var idx = 0;
-        for (final DataCell dataCell : dataRow) {
-            final int colIdx = idx + colIdxOffset;
-            m_cellWriters[idx].write(dataCell, t -> excelRow.createCell(colIdx, t));
-            idx++;
+        final var numCells = dataRow.getNumCells();
+        for (var idx = 0; idx < numCells; idx++) {
+            m_cellWriters[idx].write(dataRow.getCell(idx), m_cellContext.at(excelRow, idx + colIdxOffset));
+        }
+        if (m_widthEstimator != null && m_widthEstimator.isSampling()) {
+            for (var i = 0; i < numCells + colIdxOffset; i++) {
+                m_widthEstimator.measure(i, excelRow.getCell(i));
+            }
+            m_widthEstimator.endRow();
+        }
+        if (m_hasImages) {
+            final OptionalInt rowHeight = m_imageWriter.writeImages(sheet, dataRow, m_rowIdx, colIdxOffset);
+            rowHeight.ifPresent(h -> excelRow.setHeightInPoints((float)Units.pixelToPoints(h)));
         }
-        final OptionalInt rowHeight = m_imageWriter.writeImages(sheet, dataRow, m_rowIdx, colIdxOffset);
-        rowHeight.ifPresent(h -> excelRow.setHeightInPoints((float)Units.pixelToPoints(h)));
         ++m_rowIdx;
     }
 
@@ -151,6 +178,20 @@ public void writeRowToSheet(final Sheet sheet, final DataRow dataRow) throws IOE
     public void reset() {
         m_rowIdx = 0;
         m_imageWriter.reset();
+        if (m_widthEstimator != null) {
+            m_widthEstimator.reset();
+        }
+    }
+
+    /**
+     * Sets the estimator that collects the widths of the written cells, such that {@link #autoSizeColumns(Sheet)}
+     * sizes the columns approximately instead of measuring them with POI. Must be called before the first row is
+     * written.
+     *
+     * @param widthEstimator the {@link ColumnWidthEstimator}
+     */
+    public void setColumnWidthEstimator(final ColumnWidthEstimator widthEstimator) {
+        m_widthEstimator = widthEstimator;
     }
 
     /**
@@ -185,6 +226,10 @@ public void setColWidth(final Sheet sheet) {
      */
     public void autoSizeColumns(final Sheet sheet) {
         final int offset = m_writeRowKey ? 1 : 0;
+        if (m_widthEstimator != null) {
+            m_widthEstimator.setColumnWidths(sheet, m_cellWriters.length + offset);
+            return;
+        }
         IntStream.range(0, m_cellWriters.length + offset)//
             .forEach(sheet::autoSizeColumn);
     }
@@ -57,7 +57,6 @@
 import org.apache.poi.ss.usermodel.ClientAnchor.AnchorType;
 import org.apache.poi.ss.usermodel.Drawing;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.image.png.PNGImageContent;
@@ -74,10 +73,14 @@ abstract class AbstractExcelImageWriter implements ExcelImageWriter {
 
     private final int[] m_colWidth;
 
+    private final PictureRegistry m_pictureRegistry;
+
     /**
      * @param spec
+     * @param pictureRegistry the registry of the pictures of the workbook
      */
-    AbstractExcelImageWriter(final DataTableSpec spec) {
+    AbstractExcelImageWriter(final DataTableSpec spec, final PictureRegistry pictureRegistry) {
+        m_pictureRegistry = pictureRegistry;
         m_pngIndices = IntStream.range(0, spec.getNumColumns())//
             .filter(i -> spec.getColumnSpec(i).getType().isCompatible(PNGImageValue.class))//
             .toArray();
@@ -88,9 +91,14 @@ abstract class AbstractExcelImageWriter implements ExcelImageWriter {
     @Override
     public final OptionalInt writeImages(final Sheet sheet, final DataRow row, final int rowIdx,
         final int colIdxOffset) {
-        return IntStream.range(0, m_pngIndices.length)//
-            .map(idx -> writeImages(sheet, row, rowIdx, idx, colIdxOffset))//
-            .max();
+        if (m_pngIndices.length == 0) {
+            return OptionalInt.empty();
+        }
+        var maxHeight = 0;
+        for (var idx = 0; idx < m_pngIndices.length; idx++) {
+            maxHeight = Math.max(maxHeight, writeImages(sheet, row, rowIdx, idx, colIdxOffset));
+        }
+        return OptionalInt.of(maxHeight);
     }
 
     private int writeImages(final Sheet sheet, final DataRow row, final int rowIdx, final int idx,
@@ -107,19 +115,23 @@ private int writeImages(final Sheet sheet, final DataRow row, final int rowIdx,
         }
     }
 
-    private static void createPicture(final Sheet sheet, final int rowIdx, final int colIdx,
+    private void createPicture(final Sheet sheet, final int rowIdx, final int colIdx,
         final PNGImageContent image, final AnchorInfo anchorInfo) {
         @SuppressWarnings("resource")
-        final int pictureIdx = sheet.getWorkbook().addPicture(image.getByteArray(), Workbook.PICTURE_TYPE_PNG);
-
-        Drawing<?> drawing = sheet.getDrawingPatriarch();
-        if (drawing == null) {
-            drawing = sheet.createDrawingPatriarch();
+        final var workbook = sheet.getWorkbook();
+        // sheets might be written concurrently, and pictures and drawings are parts of the workbook
+        synchronized (workbook) {
+            final int pictureIdx = m_pictureRegistry.addPicture(workbook, image.getByteArray());
+
+            Drawing<?> drawing = sheet.getDrawingPatriarch();
+            if (drawing == null) {
+                drawing = sheet.createDrawingPatriarch();
+            }
+            final ClientAnchor anchor =
+                drawing.createAnchor(0, 0, anchorInfo.m_dx, anchorInfo.m_dy, colIdx, rowIdx, colIdx, rowIdx);
+            anchor.setAnchorType(AnchorType.MOVE_AND_RESIZE);
+            drawing.createPicture(anchor, pictureIdx);
         }
-        final ClientAnchor anchor =
-            drawing.createAnchor(0, 0, anchorInfo.m_dx, anchorInfo.m_dy, colIdx, rowIdx, colIdx, rowIdx);
-        anchor.setAnchorType(AnchorType.MOVE_AND_RESIZE);
-        drawing.createPicture(anchor, pictureIdx);
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.image;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Content-addressed registry of the PNG pictures added to a workbook. Identical images, e.g. a logo repeated on every
+ * row, are stored only once, and every further occurrence refers to the picture index of the first one. Pictures
+ * that were part of the workbook before it was written to are not taken into account.
+ *
+ * <p>
+ * A registry belongs to a single workbook. It is created by the
+ * {@link org.knime.ext.poi3.node.io.filehandling.excel.writer.table.WorkbookHandler WorkbookHandler} of the workbook
+ * and passed down to the image writers of all its sheets.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PictureRegistry {
+
+    private final Map<PictureKey, Integer> m_pictureIndices = new HashMap<>();
+
+    /**
+     * Creates an empty registry for a workbook.
+     */
+    public PictureRegistry() {
+        // nothing to initialize
+    }
+
+    /**
+     * Returns the index of the given PNG picture in the workbook, adding the picture only if the workbook does not
+     * contain identical bytes yet. Callers must hold the lock of the workbook.
+     *
+     * @param workbook the workbook this registry belongs to
+     * @param png the bytes of the PNG picture
+     * @return the picture index
+     */
+    int addPicture(final Workbook workbook, final byte[] png) {
+        final var key = new PictureKey(png);
+        final var pictureIdx = m_pictureIndices.get(key);
+        if (pictureIdx != null) {
+            return pictureIdx;
+        }
+        final int newPictureIdx = workbook.addPicture(png, Workbook.PICTURE_TYPE_PNG);
+        m_pictureIndices.put(key, newPictureIdx);
+        return newPictureIdx;
+    }
+
+    /**
+     * @return the number of distinct pictures added via this registry
+     */
+    int size() {
+        return m_pictureIndices.size();
+    }
+
+    /**
+     * Key of a picture. The hash is computed once, and the bytes are only compared if the hashes and lengths match, so
+     * colliding hashes never map different pictures onto the same index.
+     */
+    private static final class PictureKey {
+
+        private final byte[] m_bytes;
+
+        private final int m_hash;
+
+        PictureKey(final byte[] bytes) {
+            m_bytes = bytes;
+            m_hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            // Arrays.equals rejects different lengths before comparing any byte
+            return obj instanceof PictureKey other && other.m_hash == m_hash && Arrays.equals(other.m_bytes, m_bytes);
+        }
+    }
+}
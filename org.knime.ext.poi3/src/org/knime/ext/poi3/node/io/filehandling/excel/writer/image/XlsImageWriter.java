@@ -61,12 +61,22 @@
 public final class XlsImageWriter extends AbstractExcelImageWriter {
 
     /**
-     * Constructor.
+     * Constructor. Identical pictures are only stored once if written by this image writer.
      *
      * @param spec the {@link DataTableSpec}
      */
     public XlsImageWriter(final DataTableSpec spec) {
-        super(spec);
+        this(spec, new PictureRegistry());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param spec the {@link DataTableSpec}
+     * @param pictureRegistry the {@link PictureRegistry} of the workbook, shared by all image writers of its sheets
+     */
+    public XlsImageWriter(final DataTableSpec spec, final PictureRegistry pictureRegistry) {
+        super(spec, pictureRegistry);
     }
 
     @Override
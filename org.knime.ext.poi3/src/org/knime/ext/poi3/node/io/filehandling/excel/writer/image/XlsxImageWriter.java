@@ -62,12 +62,22 @@
 public final class XlsxImageWriter extends AbstractExcelImageWriter {
 
     /**
-     * Constructor.
+     * Constructor. Identical pictures are only stored once if written by this image writer.
      *
      * @param spec the {@link DataTableSpec}
      */
     public XlsxImageWriter(final DataTableSpec spec) {
-        super(spec);
+        this(spec, new PictureRegistry());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param spec the {@link DataTableSpec}
+     * @param pictureRegistry the {@link PictureRegistry} of the workbook, shared by all image writers of its sheets
+     */
+    public XlsxImageWriter(final DataTableSpec spec, final PictureRegistry pictureRegistry) {
+        super(spec, pictureRegistry);
     }
 
     @Override
@@ -0,0 +1,852 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.filehandling.core.connections.FSFiles;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Workbook that appends sheets to an existing xlsx file without loading the file into memory.
+ *
+ * <p>
+ * The new sheets are streamed into a {@link DirectXlsxWorkbook} that only holds the styles (and theme) of the existing
+ * file, such that the style indices of the new cells are valid in the existing file. On save, the parts of the existing
+ * file are copied without recompression, except for
+ * </p>
+ * <ul>
+ * <li>the workbook, its relationships and the content types, which are rewritten to reference the new sheets,</li>
+ * <li>the styles, which are replaced by the styles of the new sheets (a superset of the existing ones),</li>
+ * <li>overwritten sheets, which are replaced by the new sheets of the same name, dropping the parts (e.g. drawings
+ * and images) that only they referenced,</li>
+ * <li>sheets that rows are appended to, whose XML is streamed and gets the new rows spliced in before the end of its
+ * sheet data,</li>
+ * <li>updated sheets, whose XML is streamed and gets the cells of the new sheet patched in, see
+ * {@link SheetCellPatcher},</li>
+ * <li>the calculation chain, which is dropped, since Excel rebuilds it if it's missing.</li>
+ * </ul>
+ * The dimension of appended and updated sheets is extended by the new cells, and the workbook is marked for a full
+ * recalculation on load, since the cached results of existing formulas might depend on the new cells.
+ *
+ * <p>
+ * Strings are written inline, formulas are not evaluated and columns are not auto-sized, since all of these need the
+ * existing sheets.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class AppendingXlsxWorkbook extends DirectXlsxWorkbook {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(AppendingXlsxWorkbook.class);
+
+    private static final String WORKBOOK_PART = "xl/workbook.xml";
+
+    private static final String STYLES_PART = "xl/styles.xml";
+
+    private static final String THEME_PART = "xl/theme/theme1.xml";
+
+    private static final String BINARY_CONTENT_TYPE = "application/octet-stream";
+
+    /** The elements that follow {@code calcPr} in a workbook. */
+    private static final Set<String> CALC_PR_SUCCESSORS = Set.of("oleSize", "customWorkbookViews", "pivotCaches",
+        "smartTagPr", "smartTagTypes", "webPublishing", "fileRecoveryPr", "webPublishObjects", "extLst");
+
+    private static final Pattern NUMBERED_PART = Pattern.compile("(.*?)(\\d*)(\\.[^./]+)");
+
+    private static final byte[] ROW_NAMESPACE =
+        (" xmlns=\"" + OpcUtils.SPREADSHEET_NS + "\"").getBytes(StandardCharsets.UTF_8);
+
+    private final ZipFile m_existing;
+
+    /** The parts of the existing sheets by their (lower case) name. */
+    private final Map<String, String> m_existingSheets;
+
+    private final Set<String> m_appendedSheets = new HashSet<>();
+
+    private final Set<String> m_overwrittenSheets = new HashSet<>();
+
+    private final Set<String> m_updatedSheets = new HashSet<>();
+
+    private AppendingXlsxWorkbook(final XSSFWorkbook base, final ZipFile existing,
+        final Map<String, String> existingSheets) {
+        super(base);
+        m_existing = existing;
+        m_existingSheets = existingSheets;
+        // AP-23021: Power BI does not support the ZIP64 format
+        setZip64Mode(Zip64Mode.AsNeeded);
+    }
+
+    /**
+     * Opens an existing xlsx file for appending. Only the workbook part and the styles are read.
+     *
+     * @param file the existing file, which must not be written to before this workbook is closed
+     * @return the workbook
+     * @throws IOException if the file cannot be read or is not a valid xlsx file
+     */
+    @SuppressWarnings("resource") // the zip file is closed by the workbook
+    public static AppendingXlsxWorkbook open(final Path file) throws IOException {
+        final var existing = ZipFile.builder().setSeekableByteChannel(Files.newByteChannel(file)).get();
+        try {
+            final var workbook = WorkbookParts.read(existing);
+            final var existingSheets = new LinkedHashMap<String, String>();
+            workbook.m_sheets.forEach((name, part) -> existingSheets.put(name.toLowerCase(Locale.ROOT), part));
+            final var skeleton = createSkeleton(existing, workbook);
+            return new AppendingXlsxWorkbook(new XSSFWorkbook(new ByteArrayInputStream(skeleton)), existing,
+                existingSheets);
+        } catch (IOException | RuntimeException e) { // NOSONAR rethrown after closing the file
+            existing.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an in-memory package that contains an empty workbook with the styles and theme of the existing file.
+     */
+    private static byte[] createSkeleton(final ZipFile existing, final WorkbookParts workbook) throws IOException {
+        final var stylesPart = OpcUtils.findTarget(workbook.m_relationships, workbook.m_part, OpcUtils.STYLES_REL);
+        final var themePart = OpcUtils.findTarget(workbook.m_relationships, workbook.m_part, OpcUtils.THEME_REL);
+        final var contentTypes = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<Types xmlns=\"").append(OpcUtils.CONTENT_TYPES_NS).append("\">")
+            .append("<Default Extension=\"rels\" ")
+            .append("ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+            .append("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+            .append("<Override PartName=\"/").append(WORKBOOK_PART)
+            .append("\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        final var relationships = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+            .append("<Relationships xmlns=\"").append(OpcUtils.PACKAGE_RELATIONSHIPS_NS).append("\">");
+        if (stylesPart != null && existing.getEntry(stylesPart) != null) {
+            contentTypes.append("<Override PartName=\"/").append(STYLES_PART)
+                .append("\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+            relationships.append("<Relationship Id=\"rId1\" Type=\"").append(OpcUtils.STYLES_REL)
+                .append("\" Target=\"styles.xml\"/>");
+        }
+        if (themePart != null && existing.getEntry(themePart) != null) {
+            contentTypes.append("<Override PartName=\"/").append(THEME_PART)
+                .append("\" ContentType=\"application/vnd.openxmlformats-officedocument.theme+xml\"/>");
+            relationships.append("<Relationship Id=\"rId2\" Type=\"").append(OpcUtils.THEME_REL)
+                .append("\" Target=\"theme/theme1.xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        relationships.append("</Relationships>");
+
+        final var out = new ByteArrayOutputStream();
+        try (final var zos = new ZipArchiveOutputStream(out)) {
+            OpcUtils.putEntry(zos, OpcUtils.CONTENT_TYPES_PART,
+                contentTypes.toString().getBytes(StandardCharsets.UTF_8));
+            OpcUtils.putEntry(zos, OpcUtils.ROOT_RELATIONSHIPS_PART,
+                ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<Relationships xmlns=\""
+                    + OpcUtils.PACKAGE_RELATIONSHIPS_NS + "\"><Relationship Id=\"rId1\" Type=\""
+                    + OpcUtils.OFFICE_DOCUMENT_REL + "\" Target=\"" + WORKBOOK_PART + "\"/></Relationships>")
+                        .getBytes(StandardCharsets.UTF_8));
+            OpcUtils.putEntry(zos, WORKBOOK_PART,
+                ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<workbook xmlns=\""
+                    + OpcUtils.SPREADSHEET_NS + "\" xmlns:r=\"" + OpcUtils.RELATIONSHIPS_NS
+                    + "\"><sheets/></workbook>").getBytes(StandardCharsets.UTF_8));
+            OpcUtils.putEntry(zos, OpcUtils.getRelationshipsPart(WORKBOOK_PART),
+                relationships.toString().getBytes(StandardCharsets.UTF_8));
+            if (stylesPart != null && existing.getEntry(stylesPart) != null) {
+                OpcUtils.copyRaw(existing, stylesPart, STYLES_PART, zos);
+            }
+            if (themePart != null && existing.getEntry(themePart) != null) {
+                OpcUtils.copyRaw(existing, themePart, THEME_PART, zos);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param sheetName the name of a sheet
+     * @return {@code true} if the existing file contains a sheet with this name
+     */
+    public boolean containsExistingSheet(final String sheetName) {
+        return m_existingSheets.containsKey(sheetName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the index of the last row of an existing sheet. The XML of the sheet is streamed to find it.
+     *
+     * @param sheetName the name of the existing sheet
+     * @return the (0-based) index of the last row, -1 if the sheet has no rows
+     * @throws IOException if the sheet cannot be read
+     */
+    public int getExistingLastRowNum(final String sheetName) throws IOException {
+        final var part = m_existingSheets.get(sheetName.toLowerCase(Locale.ROOT));
+        final var entry = part == null ? null : m_existing.getEntry(part);
+        if (entry == null) {
+            throw new IOException(String.format("The sheet '%s' does not exist.", sheetName));
+        }
+        try (final var in = m_existing.getInputStream(entry)) {
+            final var reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(in);
+            try {
+                var lastRow = -1;
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "row".equals(reader.getLocalName())) {
+                        final var ref = reader.getAttributeValue(null, "r");
+                        // rows without reference follow the previous row
+                        lastRow = ref == null ? (lastRow + 1) : (Integer.parseInt(ref) - 1);
+                    } else if (reader.isEndElement() && "sheetData".equals(reader.getLocalName())) {
+                        break;
+                    }
+                }
+                return lastRow;
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException | NumberFormatException e) {
+            throw new IOException(String.format("The sheet '%s' cannot be read.", sheetName), e);
+        }
+    }
+
+    /**
+     * Checks whether an existing sheet contains shared or array formulas. Their formula is only stored in their first
+     * cell, so the cells of such a sheet cannot be updated by patching its XML, see
+     * {@link #createUpdatingSheet(String)}. The XML of the sheet is streamed to find them.
+     *
+     * @param sheetName the name of the existing sheet
+     * @return {@code true} if the sheet contains the first cell of a shared formula or an array formula
+     * @throws IOException if the sheet cannot be read
+     */
+    public boolean containsSharedOrArrayFormulas(final String sheetName) throws IOException {
+        final var part = m_existingSheets.get(sheetName.toLowerCase(Locale.ROOT));
+        final var entry = part == null ? null : m_existing.getEntry(part);
+        if (entry == null) {
+            throw new IOException(String.format("The sheet '%s' does not exist.", sheetName));
+        }
+        try (final var in = m_existing.getInputStream(entry)) {
+            final var reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && "f".equals(reader.getLocalName())) {
+                        final var type = reader.getAttributeValue(null, "t");
+                        if ("array".equals(type)
+                            || ("shared".equals(type) && reader.getAttributeValue(null, "ref") != null)) {
+                            return true;
+                        }
+                    } else if (reader.isEndElement() && "sheetData".equals(reader.getLocalName())) {
+                        break;
+                    }
+                }
+                return false;
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new IOException(String.format("The sheet '%s' cannot be read.", sheetName), e);
+        }
+    }
+
+    /**
+     * Creates a new sheet.
+     *
+     * @throws IllegalArgumentException if the existing file already contains a sheet with this name
+     */
+    @Override
+    public synchronized SXSSFSheet createSheet(final String sheetname) {
+        final var key = sheetname.toLowerCase(Locale.ROOT);
+        if (containsExistingSheet(sheetname) && !m_overwrittenSheets.contains(key) && !m_appendedSheets.contains(key)
+            && !m_updatedSheets.contains(key)) {
+            throw new IllegalArgumentException("The workbook already contains a sheet named '" + sheetname + "'");
+        }
+        return super.createSheet(sheetname);
+    }
+
+    /**
+     * Creates a sheet that replaces the existing sheet with the same name.
+     *
+     * @param sheetName the name of the existing sheet
+     * @return the new sheet
+     */
+    public synchronized SXSSFSheet createOverwritingSheet(final String sheetName) {
+        m_overwrittenSheets.add(sheetName.toLowerCase(Locale.ROOT));
+        return createSheet(sheetName);
+    }
+
+    /**
+     * Creates a sheet whose rows are appended to the existing sheet with the same name. The rows must be created
+     * after the last row of the existing sheet, see {@link #getExistingLastRowNum(String)}.
+     *
+     * @param sheetName the name of the existing sheet
+     * @return the new sheet
+     */
+    public synchronized SXSSFSheet createAppendingSheet(final String sheetName) {
+        m_appendedSheets.add(sheetName.toLowerCase(Locale.ROOT));
+        return createSheet(sheetName);
+    }
+
+    /**
+     * Creates a sheet whose cells update the cells of the existing sheet with the same name, i.e. replace existing
+     * cells or get inserted. The cells keep the style of the cells they replace, or get the style of their row or
+     * column, unless a style is set. The existing sheet must not contain shared or array formulas, see
+     * {@link #containsSharedOrArrayFormulas(String)}.
+     *
+     * @param sheetName the name of the existing sheet
+     * @return the new sheet
+     */
+    public synchronized SXSSFSheet createUpdatingSheet(final String sheetName) {
+        m_updatedSheets.add(sheetName.toLowerCase(Locale.ROOT));
+        return createSheet(sheetName);
+    }
+
+    @Override
+    public void write(final OutputStream stream) throws IOException {
+        final var staged = FileUtil.createTempFile("knime-excel-staged-", ".xlsx").toPath();
+        try {
+            try (final var out = new BufferedOutputStream(Files.newOutputStream(staged))) {
+                super.write(out);
+            }
+            try (final var stagedZip = ZipFile.builder().setPath(staged).get();
+                    final var zos = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(stream))) {
+                zos.setUseZip64(Zip64Mode.AsNeeded);
+                new Merge(stagedZip).writeTo(zos);
+                zos.finish();
+            }
+        } finally {
+            FSFiles.deleteSafely(staged);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            m_existing.close();
+        }
+    }
+
+    /** The workbook part of a package and its sheets. */
+    private static final class WorkbookParts {
+
+        private final String m_part;
+
+        private final Document m_workbook;
+
+        private final Document m_relationships;
+
+        /** The parts of the sheets by sheet name, in the order of the sheets. */
+        private final Map<String, String> m_sheets = new LinkedHashMap<>();
+
+        private WorkbookParts(final String part, final Document workbook, final Document relationships) {
+            m_part = part;
+            m_workbook = workbook;
+            m_relationships = relationships;
+        }
+
+        static WorkbookParts read(final ZipFile zip) throws IOException {
+            final var part = OpcUtils.findTarget(OpcUtils.parse(zip, OpcUtils.ROOT_RELATIONSHIPS_PART), "",
+                OpcUtils.OFFICE_DOCUMENT_REL);
+            final var workbook = part == null ? null : OpcUtils.parse(zip, part);
+            if (workbook == null) {
+                throw new IOException("The file is not a valid xlsx file, it has no workbook.");
+            }
+            final var relationships = OpcUtils.parse(zip, OpcUtils.getRelationshipsPart(part));
+            final var parts = new WorkbookParts(part, workbook, relationships);
+            final var targets = new HashMap<String, String>();
+            for (final var relationship : OpcUtils.getInternalRelationships(relationships)) {
+                targets.put(relationship.getAttribute("Id"),
+                    OpcUtils.resolve(part, relationship.getAttribute("Target")));
+            }
+            final var sheets = workbook.getElementsByTagNameNS(OpcUtils.SPREADSHEET_NS, "sheet");
+            for (var i = 0; i < sheets.getLength(); i++) {
+                final var sheet = (Element)sheets.item(i);
+                final var target = targets.get(sheet.getAttributeNS(OpcUtils.RELATIONSHIPS_NS, "id"));
+                if (target != null) {
+                    parts.m_sheets.put(sheet.getAttribute("name"), target);
+                }
+            }
+            return parts;
+        }
+    }
+
+    /** Merges the staged package, which holds the new sheets, into the existing package. */
+    private final class Merge {
+
+        private final ZipFile m_staged;
+
+        private final WorkbookParts m_stagedWorkbook;
+
+        private final Document m_stagedContentTypes;
+
+        private final WorkbookParts m_workbook;
+
+        private final Document m_contentTypes;
+
+        /** The names of all parts of the merged package. */
+        private final Set<String> m_partNames = new HashSet<>();
+
+        /** Existing parts that are replaced by staged parts. */
+        private final Map<String, String> m_replaced = new HashMap<>();
+
+        /** Existing sheets with the staged sheets whose rows are appended to them. */
+        private final Map<String, String> m_spliced = new HashMap<>();
+
+        /** Existing sheets with the staged sheets whose cells update them. */
+        private final Map<String, String> m_patched = new HashMap<>();
+
+        /** New parts with the staged parts they are copied from. */
+        private final Map<String, String> m_added = new LinkedHashMap<>();
+
+        /** Parts (relationships) that are written after modification, by name. */
+        private final Map<String, byte[]> m_rewritten = new LinkedHashMap<>();
+
+        /** Existing sheets that are replaced by staged sheets. */
+        private final Set<String> m_overwritten = new HashSet<>();
+
+        /** Existing parts that are not copied. */
+        private final Set<String> m_dropped = new HashSet<>();
+
+        /** The parts copied from the staged package by their staged name. */
+        private final Map<String, String> m_copiedParts = new HashMap<>();
+
+        Merge(final ZipFile staged) throws IOException {
+            m_staged = staged;
+            m_stagedWorkbook = WorkbookParts.read(staged);
+            m_stagedContentTypes = OpcUtils.parse(staged, OpcUtils.CONTENT_TYPES_PART);
+            m_workbook = WorkbookParts.read(m_existing);
+            m_contentTypes = OpcUtils.parse(m_existing, OpcUtils.CONTENT_TYPES_PART);
+            for (final var entry : Collections.list(m_existing.getEntries())) {
+                m_partNames.add(entry.getName());
+            }
+        }
+
+        void writeTo(final ZipArchiveOutputStream zos) throws IOException {
+            mergeStyles();
+            dropCalcChain();
+            for (final var sheet : m_stagedWorkbook.m_sheets.entrySet()) {
+                mergeSheet(sheet.getKey(), sheet.getValue());
+            }
+            dropOrphanedParts();
+            forceFullCalculation();
+            final var workbookRelationships = OpcUtils.getRelationshipsPart(m_workbook.m_part);
+            m_rewritten.put(m_workbook.m_part, OpcUtils.serialize(m_workbook.m_workbook));
+            m_rewritten.put(workbookRelationships, OpcUtils.serialize(m_workbook.m_relationships));
+            m_rewritten.put(OpcUtils.CONTENT_TYPES_PART, OpcUtils.serialize(m_contentTypes));
+
+            for (final var entry : Collections.list(m_existing.getEntries())) {
+                final var name = entry.getName();
+                if (m_dropped.contains(name) || m_rewritten.containsKey(name)) {
+                    continue;
+                }
+                if (m_replaced.containsKey(name)) {
+                    OpcUtils.copyRaw(m_staged, m_replaced.get(name), name, zos);
+                } else if (m_spliced.containsKey(name)) {
+                    rewrite(entry, m_spliced.get(name), AppendingXlsxWorkbook::splice, zos);
+                    LOGGER.debugWithFormat("Appended rows to '%s'.", name);
+                } else if (m_patched.containsKey(name)) {
+                    rewrite(entry, m_patched.get(name), SheetCellPatcher::patch, zos);
+                    LOGGER.debugWithFormat("Updated the cells of '%s'.", name);
+                } else {
+                    zos.addRawArchiveEntry(entry, m_existing.getRawInputStream(entry));
+                }
+            }
+            for (final var added : m_added.entrySet()) {
+                OpcUtils.copyRaw(m_staged, added.getValue(), added.getKey(), zos);
+            }
+            for (final var rewritten : m_rewritten.entrySet()) {
+                OpcUtils.putEntry(zos, rewritten.getKey(), rewritten.getValue());
+            }
+        }
+
+        /** The staged styles are a superset of the existing ones, since the staged workbook started from them. */
+        private void mergeStyles() {
+            final var stagedStyles =
+                OpcUtils.findTarget(m_stagedWorkbook.m_relationships, m_stagedWorkbook.m_part, OpcUtils.STYLES_REL);
+            final var styles = OpcUtils.findTarget(m_workbook.m_relationships, m_workbook.m_part, OpcUtils.STYLES_REL);
+            if (stagedStyles == null) {
+                return;
+            }
+            if (styles != null && m_partNames.contains(styles)) {
+                m_replaced.put(styles, stagedStyles);
+            } else {
+                final var part = copyPart(stagedStyles);
+                addRelationship(m_workbook.m_relationships, OpcUtils.STYLES_REL, part);
+            }
+        }
+
+        private void dropCalcChain() {
+            for (final var relationship : OpcUtils.getInternalRelationships(m_workbook.m_relationships)) {
+                if (OpcUtils.CALC_CHAIN_REL.equals(relationship.getAttribute("Type"))) {
+                    final var part = OpcUtils.resolve(m_workbook.m_part, relationship.getAttribute("Target"));
+                    relationship.getParentNode().removeChild(relationship);
+                    m_dropped.add(part);
+                    removeOverride(part);
+                }
+            }
+        }
+
+        private void mergeSheet(final String name, final String stagedPart) throws IOException {
+            final var key = name.toLowerCase(Locale.ROOT);
+            final var existingPart = m_existingSheets.get(key);
+            if (m_appendedSheets.contains(key) && existingPart != null) {
+                if (m_staged.getEntry(OpcUtils.getRelationshipsPart(stagedPart)) != null) {
+                    LOGGER.warnWithFormat("Only the rows of the cells are appended to sheet '%s', images and other "
+                        + "objects are skipped.", name);
+                }
+                m_spliced.put(existingPart, stagedPart);
+            } else if (m_updatedSheets.contains(key) && existingPart != null) {
+                m_patched.put(existingPart, stagedPart);
+            } else if (existingPart != null) {
+                m_replaced.put(existingPart, stagedPart);
+                m_overwritten.add(existingPart);
+                m_dropped.add(OpcUtils.getRelationshipsPart(existingPart));
+                copyRelatedParts(stagedPart, existingPart);
+            } else {
+                final var part = copyPart(stagedPart);
+                final var id = addRelationship(m_workbook.m_relationships, OpcUtils.WORKSHEET_REL, part);
+                addSheet(name, id);
+                copyRelatedParts(stagedPart, part);
+            }
+        }
+
+        /**
+         * Drops the parts that are only referenced by the overwritten sheets, e.g. their drawings and images, which
+         * would otherwise remain in the package without being used.
+         */
+        private void dropOrphanedParts() throws IOException {
+            final var orphaned = new HashSet<String>();
+            for (final var sheet : m_overwritten) {
+                collectTargets(sheet, orphaned, Set.of());
+            }
+            if (orphaned.isEmpty()) {
+                return;
+            }
+            // parts that are still referenced, e.g. images shared with other sheets, are kept
+            final var referenced = new HashSet<String>();
+            collectTargets("", referenced, m_overwritten);
+            orphaned.removeAll(referenced);
+            for (final var part : orphaned) {
+                m_dropped.add(part);
+                m_dropped.add(OpcUtils.getRelationshipsPart(part));
+                removeOverride(part);
+                LOGGER.debugWithFormat("Dropped '%s' of an overwritten sheet.", part);
+            }
+        }
+
+        /** Collects the parts (transitively) referenced by an existing part, not following the excluded parts. */
+        private void collectTargets(final String source, final Set<String> targets, final Set<String> excluded)
+            throws IOException {
+            if (excluded.contains(source)) {
+                return;
+            }
+            final var relationships = source.equals(m_workbook.m_part) ? m_workbook.m_relationships
+                : OpcUtils.parse(m_existing, OpcUtils.getRelationshipsPart(source));
+            for (final var relationship : OpcUtils.getInternalRelationships(relationships)) {
+                final var target = OpcUtils.resolve(source, relationship.getAttribute("Target"));
+                if (targets.add(target)) {
+                    collectTargets(target, targets, excluded);
+                }
+            }
+        }
+
+        /**
+         * Marks the workbook for a full recalculation on load, since the calculation chain is dropped and the cached
+         * results of existing formulas might depend on the new cells.
+         */
+        private void forceFullCalculation() {
+            final var workbook = m_workbook.m_workbook;
+            final var calcPrs = workbook.getElementsByTagNameNS(OpcUtils.SPREADSHEET_NS, "calcPr");
+            final Element calcPr;
+            if (calcPrs.getLength() > 0) {
+                calcPr = (Element)calcPrs.item(0);
+            } else {
+                final var root = workbook.getDocumentElement();
+                final var prefix = root.getPrefix();
+                calcPr = workbook.createElementNS(OpcUtils.SPREADSHEET_NS,
+                    prefix == null ? "calcPr" : (prefix + ":calcPr"));
+                var successor = root.getFirstChild();
+                while (successor != null && !(OpcUtils.SPREADSHEET_NS.equals(successor.getNamespaceURI())
+                    && CALC_PR_SUCCESSORS.contains(successor.getLocalName()))) {
+                    successor = successor.getNextSibling();
+                }
+                root.insertBefore(calcPr, successor);
+            }
+            calcPr.setAttribute("fullCalcOnLoad", "1");
+        }
+
+        /** Copies the parts referenced by a staged part and rewrites its relationships to their new names. */
+        private void copyRelatedParts(final String stagedPart, final String part) throws IOException {
+            final var relationships = OpcUtils.parse(m_staged, OpcUtils.getRelationshipsPart(stagedPart));
+            if (relationships == null) {
+                return;
+            }
+            for (final var relationship : OpcUtils.getInternalRelationships(relationships)) {
+                final var stagedTarget = OpcUtils.resolve(stagedPart, relationship.getAttribute("Target"));
+                var target = m_copiedParts.get(stagedTarget);
+                if (target == null) {
+                    target = copyPart(stagedTarget);
+                    copyRelatedParts(stagedTarget, target);
+                }
+                relationship.setAttribute("Target", "/" + target);
+            }
+            final var relationshipsPart = OpcUtils.getRelationshipsPart(part);
+            m_partNames.add(relationshipsPart);
+            m_rewritten.put(relationshipsPart, OpcUtils.serialize(relationships));
+        }
+
+        /** Copies a staged part under a name that is not used by the existing package. */
+        private String copyPart(final String stagedPart) {
+            final var matcher = NUMBERED_PART.matcher(stagedPart);
+            var name = stagedPart;
+            if (matcher.matches()) {
+                for (var i = 1; m_partNames.contains(name); i++) {
+                    name = matcher.group(1) + i + matcher.group(3);
+                }
+            } else {
+                for (var i = 1; m_partNames.contains(name); i++) {
+                    name = stagedPart + i;
+                }
+            }
+            m_partNames.add(name);
+            m_added.put(name, stagedPart);
+            m_copiedParts.put(stagedPart, name);
+            addContentType(stagedPart, name);
+            return name;
+        }
+
+        private void addContentType(final String stagedPart, final String part) {
+            final var root = m_contentTypes.getDocumentElement();
+            final var overrides = m_stagedContentTypes.getElementsByTagNameNS(OpcUtils.CONTENT_TYPES_NS, "Override");
+            for (var i = 0; i < overrides.getLength(); i++) {
+                final var override = (Element)overrides.item(i);
+                if (override.getAttribute("PartName").equals("/" + stagedPart)) {
+                    final var copy = m_contentTypes.createElementNS(OpcUtils.CONTENT_TYPES_NS, "Override");
+                    copy.setAttribute("PartName", "/" + part);
+                    copy.setAttribute("ContentType", override.getAttribute("ContentType"));
+                    root.appendChild(copy);
+                    return;
+                }
+            }
+            // the content type is given by the extension
+            final var extension = part.substring(part.lastIndexOf('.') + 1);
+            if (findDefault(m_contentTypes, extension) == null) {
+                final var stagedDefault = findDefault(m_stagedContentTypes, extension);
+                final var copy = m_contentTypes.createElementNS(OpcUtils.CONTENT_TYPES_NS, "Default");
+                copy.setAttribute("Extension", extension);
+                copy.setAttribute("ContentType",
+                    stagedDefault == null ? BINARY_CONTENT_TYPE : stagedDefault.getAttribute("ContentType"));
+                root.insertBefore(copy, root.getFirstChild());
+            }
+        }
+
+        private Element findDefault(final Document contentTypes, final String extension) {
+            final var defaults = contentTypes.getElementsByTagNameNS(OpcUtils.CONTENT_TYPES_NS, "Default");
+            for (var i = 0; i < defaults.getLength(); i++) {
+                final var element = (Element)defaults.item(i);
+                if (element.getAttribute("Extension").equalsIgnoreCase(extension)) {
+                    return element;
+                }
+            }
+            return null;
+        }
+
+        private void removeOverride(final String part) {
+            final var overrides = m_contentTypes.getElementsByTagNameNS(OpcUtils.CONTENT_TYPES_NS, "Override");
+            for (var i = overrides.getLength() - 1; i >= 0; i--) {
+                final var override = overrides.item(i);
+                if (((Element)override).getAttribute("PartName").equals("/" + part)) {
+                    override.getParentNode().removeChild(override);
+                }
+            }
+        }
+
+        private String addRelationship(final Document relationships, final String type, final String target) {
+            final var ids = new HashSet<String>();
+            final var all = relationships.getElementsByTagNameNS(OpcUtils.PACKAGE_RELATIONSHIPS_NS, "Relationship");
+            for (var i = 0; i < all.getLength(); i++) {
+                ids.add(((Element)all.item(i)).getAttribute("Id"));
+            }
+            var n = ids.size() + 1;
+            while (ids.contains("rId" + n)) {
+                n++;
+            }
+            final var relationship =
+                relationships.createElementNS(OpcUtils.PACKAGE_RELATIONSHIPS_NS, "Relationship");
+            relationship.setAttribute("Id", "rId" + n);
+            relationship.setAttribute("Type", type);
+            relationship.setAttribute("Target", "/" + target);
+            relationships.getDocumentElement().appendChild(relationship);
+            return "rId" + n;
+        }
+
+        private void addSheet(final String name, final String relationshipId) {
+            final var workbook = m_workbook.m_workbook;
+            final var sheets = workbook.getElementsByTagNameNS(OpcUtils.SPREADSHEET_NS, "sheets");
+            final var sheetElements = workbook.getElementsByTagNameNS(OpcUtils.SPREADSHEET_NS, "sheet");
+            var maxId = 0;
+            for (var i = 0; i < sheetElements.getLength(); i++) {
+                final var id = ((Element)sheetElements.item(i)).getAttribute("sheetId");
+                maxId = Math.max(maxId, id.isEmpty() ? 0 : Integer.parseInt(id));
+            }
+            final var sheetsElement = (Element)sheets.item(0);
+            final var prefix = sheetsElement.getPrefix();
+            final var sheet =
+                workbook.createElementNS(OpcUtils.SPREADSHEET_NS, prefix == null ? "sheet" : (prefix + ":sheet"));
+            sheet.setAttribute("name", name);
+            sheet.setAttribute("sheetId", Integer.toString(maxId + 1));
+            final var root = workbook.getDocumentElement();
+            var relPrefix = root.lookupPrefix(OpcUtils.RELATIONSHIPS_NS);
+            if (relPrefix == null) {
+                relPrefix = "r";
+                root.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns:r", OpcUtils.RELATIONSHIPS_NS);
+            }
+            sheet.setAttributeNS(OpcUtils.RELATIONSHIPS_NS, relPrefix + ":id", relationshipId);
+            sheetsElement.appendChild(sheet);
+        }
+
+        /** Streams the existing sheet and rewrites it with the staged sheet, e.g. by splicing in its rows. */
+        private void rewrite(final ZipArchiveEntry entry, final String stagedPart, final SheetRewriter rewriter,
+            final ZipArchiveOutputStream zos) throws IOException {
+            final var file = FileUtil.createTempFile("knime-excel-rewrite-", ".deflated").toPath();
+            try {
+                final var spool = new DeflatedSpool(file.toFile());
+                final CellRangeAddress range;
+                try (final var staged = m_staged.getInputStream(m_staged.getEntry(stagedPart))) {
+                    range = SheetDataScanner.scanCellRange(staged);
+                }
+                try (spool;
+                        final var sheet = new BufferedInputStream(m_existing.getInputStream(entry));
+                        final var staged = m_staged.getInputStream(m_staged.getEntry(stagedPart))) {
+                    rewriter.rewrite(sheet, staged, range, spool);
+                }
+                final var last = DeflateUtils.deflate(new byte[0], true);
+                final var rewrittenEntry = new ZipArchiveEntry(entry.getName());
+                rewrittenEntry.setMethod(ZipEntry.DEFLATED);
+                rewrittenEntry.setTime(entry.getTime());
+                rewrittenEntry.setCrc(spool.getCrc());
+                rewrittenEntry.setSize(spool.getSize());
+                rewrittenEntry.setCompressedSize(spool.getCompressedSize() + last.length);
+                try (final var raw = new SequenceInputStream(spool.openDeflated(), new ByteArrayInputStream(last))) {
+                    zos.addRawArchiveEntry(rewrittenEntry, raw);
+                }
+            } finally {
+                FSFiles.deleteSafely(file);
+            }
+        }
+    }
+
+    /** Rewrites the XML of an existing sheet with the XML of a staged sheet. */
+    @FunctionalInterface
+    private interface SheetRewriter {
+        void rewrite(InputStream sheet, InputStream staged, CellRangeAddress range, OutputStream out)
+            throws IOException;
+    }
+
+    /**
+     * Copies the XML of a sheet and inserts the rows of another sheet at the end of its sheet data.
+     *
+     * @param sheet the XML of the sheet
+     * @param rows the XML of the sheet holding the rows to insert
+     * @param range the range of the inserted cells, which the dimension of the sheet is extended by, or {@code null}
+     *            if there are none
+     * @param out the stream to write the merged XML to
+     * @throws IOException if reading or writing fails, or the XML has no sheet data
+     */
+    static void splice(final InputStream sheet, final InputStream rows, final CellRangeAddress range,
+        final OutputStream out) throws IOException {
+        final var sheetScanner = new SheetDataScanner(sheet);
+        final var kind = sheetScanner.copyToSheetDataExtendingDimension(out, range);
+        if (kind != SheetDataScanner.START && kind != SheetDataScanner.EMPTY) {
+            throw new IOException("The worksheet has no sheet data.");
+        }
+        final var name = sheetScanner.getQualifiedName();
+        if (kind == SheetDataScanner.START) {
+            sheetScanner.writeTag(out);
+            if (sheetScanner.copyToSheetData(out, null) != SheetDataScanner.END) {
+                throw new IOException("The sheet data of the worksheet is not closed.");
+            }
+        } else {
+            out.write(("<" + name + ">").getBytes(StandardCharsets.UTF_8));
+        }
+        final var rowScanner = new SheetDataScanner(rows);
+        if (rowScanner.copyToSheetData(null, null) == SheetDataScanner.START) {
+            // the rows are in the default namespace, which might be another one in the existing sheet
+            final var rowAttributes = name.indexOf(':') >= 0 ? ROW_NAMESPACE : null;
+            if (rowScanner.copyToSheetData(out, rowAttributes) != SheetDataScanner.END) {
+                throw new IOException("The sheet data of the appended rows is not closed.");
+            }
+        }
+        out.write(("</" + name + ">").getBytes(StandardCharsets.UTF_8));
+        sheetScanner.copyRemaining(out);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ * Output stream that deflates the written data in independent blocks, like pigz does, such that the blocks can be
+ * compressed concurrently.
+ *
+ * <p>
+ * Every block is compressed by its own raw {@link Deflater} that is primed with the last 32 KB of the previous block as
+ * dictionary, hence the compression ratio is almost the same as for a single deflater. Each block ends with a
+ * {@link Deflater#SYNC_FLUSH sync flush}, and the compressed blocks are written in order. The written data is therefore
+ * a segment as described in {@link DeflateUtils}, closing the stream does not finish the deflate stream.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class BlockDeflaterOutputStream extends OutputStream {
+
+    /** The number of uncompressed bytes per block. */
+    static final int BLOCK_SIZE = 128 * 1024;
+
+    /** The size of the deflate window, i.e. the maximal distance of back references. */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private final OutputStream m_out;
+
+    private final int m_level;
+
+    private final Function<Callable<byte[]>, Future<byte[]>> m_executor;
+
+    private final int m_maxPendingBlocks;
+
+    private final Deque<Future<byte[]>> m_pendingBlocks = new ArrayDeque<>();
+
+    private byte[] m_block = new byte[BLOCK_SIZE];
+
+    private int m_blockLength;
+
+    private byte[] m_previousBlock;
+
+    private int m_previousBlockLength;
+
+    private boolean m_closed;
+
+    /**
+     * Creates a stream that compresses the blocks in the calling thread.
+     *
+     * @param out the stream the compressed blocks are written to
+     * @param level the compression level
+     */
+    BlockDeflaterOutputStream(final OutputStream out, final int level) {
+        this(out, level, null, 1);
+    }
+
+    /**
+     * Creates a stream that compresses the blocks concurrently.
+     *
+     * @param out the stream the compressed blocks are written to
+     * @param level the compression level
+     * @param executor submits the compression of a block, the task must not wait for other tasks
+     * @param maxPendingBlocks the maximal number of blocks that are submitted but not yet written, which bounds the
+     *            memory used by the stream
+     */
+    BlockDeflaterOutputStream(final OutputStream out, final int level,
+        final Function<Callable<byte[]>, Future<byte[]>> executor, final int maxPendingBlocks) {
+        m_out = out;
+        m_level = level;
+        m_executor = executor;
+        m_maxPendingBlocks = Math.max(1, maxPendingBlocks);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        m_block[m_blockLength++] = (byte)b;
+        if (m_blockLength == BLOCK_SIZE) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        var offset = off;
+        var remaining = len;
+        while (remaining > 0) {
+            final var n = Math.min(remaining, BLOCK_SIZE - m_blockLength);
+            System.arraycopy(b, offset, m_block, m_blockLength, n);
+            m_blockLength += n;
+            offset += n;
+            remaining -= n;
+            if (m_blockLength == BLOCK_SIZE) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Does not compress the current, incomplete block, since small blocks compress worse. Incomplete blocks are only
+     * compressed on {@link #close()}.
+     */
+    @Override
+    public void flush() throws IOException {
+        m_out.flush();
+    }
+
+    private void submitBlock() throws IOException {
+        final var block = m_block;
+        final var length = m_blockLength;
+        final var dictionary = m_previousBlock;
+        final var dictionaryLength = Math.min(m_previousBlockLength, DICTIONARY_SIZE);
+        final var dictionaryOffset = m_previousBlockLength - dictionaryLength;
+        final var level = m_level;
+        final Callable<byte[]> task =
+            () -> deflate(block, length, dictionary, dictionaryOffset, dictionaryLength, level);
+
+        // the blocks are not modified after being submitted, so the next block can use this one as dictionary
+        m_previousBlock = block;
+        m_previousBlockLength = length;
+        m_block = new byte[BLOCK_SIZE];
+        m_blockLength = 0;
+
+        if (m_executor == null) {
+            m_out.write(deflate(block, length, dictionary, dictionaryOffset, dictionaryLength, level));
+        } else {
+            m_pendingBlocks.add(m_executor.apply(task));
+            while (m_pendingBlocks.size() >= m_maxPendingBlocks) {
+                m_out.write(await(m_pendingBlocks.poll()));
+            }
+        }
+    }
+
+    private static byte[] deflate(final byte[] block, final int length, final byte[] dictionary,
+        final int dictionaryOffset, final int dictionaryLength, final int level) {
+        final var deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionaryOffset, dictionaryLength);
+            }
+            deflater.setInput(block, 0, length);
+            final var out = new ByteArrayOutputStream(length / 4 + 64);
+            final var buffer = new byte[BLOCK_SIZE / 2];
+            int n;
+            do {
+                n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, n);
+            } while (n == buffer.length);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] await(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final var ioe = new InterruptedIOException("Interrupted while compressing the data.");
+            ioe.initCause(e);
+            throw ioe;
+        } catch (ExecutionException e) {
+            throw new IOException("Compressing the data failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Compresses the remaining data, writes all blocks and closes the underlying stream. The deflate stream is not
+     * finished, i.e. it ends with a sync flush.
+     */
+    @Override
+    public void close() throws IOException {
+        if (m_closed) {
+            return;
+        }
+        m_closed = true;
+        try {
+            if (m_blockLength > 0) {
+                submitBlock();
+            }
+            while (!m_pendingBlocks.isEmpty()) {
+                m_out.write(await(m_pendingBlocks.poll()));
+            }
+        } finally {
+            m_pendingBlocks.forEach(f -> f.cancel(true));
+            m_pendingBlocks.clear();
+            m_out.close();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
+
+/**
+ * Utility methods to assemble zip entries from independently deflated segments.
+ *
+ * <p>
+ * A segment that is deflated without the zlib wrapper and ends with a {@link Deflater#SYNC_FLUSH sync flush} ends on a
+ * byte boundary without a final block, hence segments can be concatenated to a single valid deflate stream as long as
+ * only the last segment is {@link Deflater#finish() finished}. The CRC of the concatenated data is derived from the
+ * CRCs of the segments via {@link #combineCrc(long, long, long)}.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class DeflateUtils {
+
+    /** The compression level used for the sheets written by the Excel writer. */
+    static final int COMPRESSION_LEVEL = ExcelWriterProperties.getCompressionLevel();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int GF2_DIM = 32;
+
+    private static final long CRC32_POLYNOMIAL = 0xedb88320L;
+
+    private DeflateUtils() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * Creates a stream deflating the data written to it into a segment (see above).
+     *
+     * @param out the stream the deflated data is written to, closed when the returned stream is closed
+     * @return the stream, which compresses the data concurrently on the {@link Lane#COMPUTE} lane unless disabled via
+     *         {@link ExcelWriterProperties#useParallelCompression()}
+     */
+    static OutputStream createSegmentDeflaterStream(final OutputStream out) {
+        final var maxConcurrency = ExcelTaskScheduler.getStatistics(Lane.COMPUTE).getMaxConcurrency();
+        if (maxConcurrency < 2 || !ExcelWriterProperties.useParallelCompression()) {
+            return new BlockDeflaterOutputStream(out, COMPRESSION_LEVEL);
+        }
+        // two blocks per thread keep all threads busy while the writer waits for the oldest block
+        return new BlockDeflaterOutputStream(out, COMPRESSION_LEVEL,
+            task -> ExcelTaskScheduler.submit(Lane.COMPUTE, task), 2 * maxConcurrency);
+    }
+
+    /**
+     * Creates a raw deflater, i.e. one that writes neither the zlib header nor the checksum as required for zip
+     * entries.
+     *
+     * @return a new raw {@link Deflater}, which must be {@link Deflater#end() ended} by the caller
+     */
+    static Deflater createRawDeflater() {
+        return new Deflater(COMPRESSION_LEVEL, true);
+    }
+
+    /**
+     * Deflates the given data into a segment.
+     *
+     * @param data the data to deflate
+     * @param last {@code true} if this is the last segment of the entry, {@code false} if more segments follow
+     * @return the deflated segment
+     */
+    static byte[] deflate(final byte[] data, final boolean last) {
+        final var deflater = createRawDeflater();
+        try {
+            deflater.setInput(data);
+            if (last) {
+                deflater.finish();
+            }
+            final var out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            final var buffer = new byte[BUFFER_SIZE];
+            if (last) {
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int len;
+                do {
+                    len = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, len);
+                } while (len == buffer.length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param data the data
+     * @return the CRC-32 of the data
+     */
+    static long crc(final byte[] data) {
+        final var crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    /**
+     * Combines the CRC-32 of two consecutive blocks of data, the same way as zlib's {@code crc32_combine} does.
+     *
+     * @param crc1 the CRC-32 of the first block
+     * @param crc2 the CRC-32 of the second block
+     * @param len2 the length of the second block
+     * @return the CRC-32 of the concatenation of both blocks
+     */
+    static long combineCrc(final long crc1, final long crc2, final long len2) {
+        if (len2 <= 0) {
+            return crc1;
+        }
+        var even = new long[GF2_DIM];
+        var odd = new long[GF2_DIM];
+
+        // operator for one zero bit in odd
+        odd[0] = CRC32_POLYNOMIAL;
+        long row = 1;
+        for (var n = 1; n < GF2_DIM; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        // operator for two zero bits in even, and for four zero bits in odd
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        // apply len2 zeros to crc1 (the first square puts the operator for one zero byte in even)
+        var result = crc1;
+        var remaining = len2;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((remaining & 1) != 0) {
+                result = gf2MatrixTimes(even, result);
+            }
+            remaining >>= 1;
+            if (remaining == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((remaining & 1) != 0) {
+                result = gf2MatrixTimes(odd, result);
+            }
+            remaining >>= 1;
+        } while (remaining != 0);
+        return (result ^ crc2) & 0xffffffffL;
+    }
+
+    private static long gf2MatrixTimes(final long[] mat, final long vec) {
+        long sum = 0;
+        var v = vec;
+        var i = 0;
+        while (v != 0) {
+            if ((v & 1) != 0) {
+                sum ^= mat[i];
+            }
+            v >>>= 1;
+            i++;
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final long[] square, final long[] mat) {
+        for (var n = 0; n < GF2_DIM; n++) {
+            square[n] = gf2MatrixTimes(mat, mat[n]);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+/**
+ * {@link SheetDataWriter} that deflates the rows of a sheet straight into its temporary file, such that the file can
+ * be copied as is into the zip entry of the sheet (see {@link DirectXlsxWorkbook}).
+ *
+ * <p>
+ * The plain {@link SheetDataWriter} writes uncompressed XML, which is read back and deflated when the workbook is
+ * saved. Here, every row is serialized and compressed exactly once. The deflated data is a segment as described in
+ * {@link DeflateUtils}, i.e. it can be framed by the deflated head and tail of the worksheet XML.
+ * </p>
+ *
+ * <p>
+ * If a {@link SharedStringsDictionary} is given, string cells reference the shared strings table instead of being
+ * written inline. Columns that turn out to hold mostly distinct values (e.g. identifiers) fall back to inline strings,
+ * since sharing them would only grow the dictionary; strings that are already in the dictionary (such as the column
+ * headers and the missing value pattern) are shared in any case.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class DeflatedSheetDataWriter extends SheetDataWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The number of string cells of a column after which its cardinality is checked. */
+    private static final int CARDINALITY_SAMPLE_SIZE = 1000;
+
+    private static final int INITIAL_COLUMNS = 16;
+
+    /**
+     * The spool of the deflated rows. Not final and without initializer, since it's assigned from
+     * {@link #createWriter(File)}, which is called by the constructor of the super class.
+     */
+    private DeflatedSpool m_spool; // NOSONAR see above
+
+    /** The writer of the rows, assigned from {@link #createWriter(File)} as well. */
+    private Writer m_writer; // NOSONAR see above
+
+    private final SharedStringsDictionary m_sharedStrings;
+
+    private int m_rowNum;
+
+    private int[] m_stringCells = new int[INITIAL_COLUMNS];
+
+    private int[] m_addedStrings = new int[INITIAL_COLUMNS];
+
+    private boolean[] m_inlineColumns = new boolean[INITIAL_COLUMNS];
+
+    /**
+     * @param sharedStrings the dictionary of the shared strings table, or {@code null} to write strings inline
+     * @throws IOException if the temporary file cannot be created
+     */
+    DeflatedSheetDataWriter(final SharedStringsDictionary sharedStrings) throws IOException {
+        super();
+        m_sharedStrings = sharedStrings;
+    }
+
+    @Override
+    public Writer createWriter(final File fd) throws IOException {
+        m_spool = new DeflatedSpool(fd);
+        m_writer = new BufferedWriter(new OutputStreamWriter(m_spool, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return m_writer;
+    }
+
+    @Override
+    public void writeRow(final int rownum, final SXSSFRow row) throws IOException {
+        m_rowNum = rownum;
+        super.writeRow(rownum, row);
+    }
+
+    @Override
+    public void writeCell(final int columnIndex, final Cell cell) throws IOException {
+        if (m_sharedStrings != null && cell != null && cell.getCellType() == CellType.STRING) {
+            final var index = lookupSharedString(columnIndex, cell.getStringCellValue());
+            if (index != SharedStringsDictionary.NOT_FOUND) {
+                writeSharedStringCell(columnIndex, cell, index);
+                return;
+            }
+        }
+        super.writeCell(columnIndex, cell);
+    }
+
+    private int lookupSharedString(final int columnIndex, final String value) {
+        if (columnIndex >= m_stringCells.length) {
+            final var length = Math.max(columnIndex + 1, 2 * m_stringCells.length);
+            m_stringCells = Arrays.copyOf(m_stringCells, length);
+            m_addedStrings = Arrays.copyOf(m_addedStrings, length);
+            m_inlineColumns = Arrays.copyOf(m_inlineColumns, length);
+        }
+        final var index = m_sharedStrings.lookup(value, !m_inlineColumns[columnIndex]);
+        final var cells = ++m_stringCells[columnIndex];
+        if (index < SharedStringsDictionary.NOT_FOUND) {
+            final var added = ++m_addedStrings[columnIndex];
+            // more than half of the values are distinct, the column is not categorical
+            if (cells >= CARDINALITY_SAMPLE_SIZE && 2 * added > cells) {
+                m_inlineColumns[columnIndex] = true;
+            }
+            return -index - 2;
+        }
+        return index;
+    }
+
+    private void writeSharedStringCell(final int columnIndex, final Cell cell, final int index) throws IOException {
+        m_writer.write("<c r=\"");
+        m_writer.write(CellReference.convertNumToColString(columnIndex));
+        m_writer.write(Integer.toString(m_rowNum + 1));
+        final var styleIndex = cell.getCellStyle().getIndex() & 0xffff;
+        if (styleIndex != 0) {
+            m_writer.write("\" s=\"");
+            m_writer.write(Integer.toString(styleIndex));
+        }
+        m_writer.write("\" t=\"s\"><v>");
+        m_writer.write(Integer.toString(index));
+        m_writer.write("</v></c>");
+    }
+
+    /**
+     * The rows are not read back, they are copied as deflated data by {@link DirectXlsxWorkbook}. SXSSF injects the
+     * returned (empty) data into the worksheet XML, which marks where the rows belong.
+     */
+    @Override
+    public InputStream getWorksheetXMLInputStream() throws IOException {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+
+    /**
+     * @return the CRC-32 of the uncompressed rows, only valid after the writer has been closed
+     */
+    long getCrc() {
+        return m_spool.getCrc();
+    }
+
+    /**
+     * @return the number of uncompressed bytes, only valid after the writer has been closed
+     */
+    long getSize() {
+        return m_spool.getSize();
+    }
+
+    /**
+     * @return the number of deflated bytes, only valid after the writer has been closed
+     * @throws IOException if the size of the temporary file cannot be determined
+     */
+    long getCompressedSize() throws IOException {
+        return m_spool.getCompressedSize();
+    }
+
+    /**
+     * @return the deflated rows, only valid after the writer has been closed
+     * @throws IOException if the temporary file cannot be opened
+     */
+    InputStream openDeflatedRows() throws IOException {
+        return m_spool.openDeflated();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+/**
+ * Stream that deflates the written data into a file as a segment (see
+ * {@link DeflateUtils#createSegmentDeflaterStream(java.io.OutputStream)}) and keeps track of the CRC and size of the
+ * uncompressed data, such that the file can be copied as is into a zip entry.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class DeflatedSpool extends FilterOutputStream {
+
+    private final File m_file;
+
+    private final CRC32 m_crc = new CRC32();
+
+    private long m_size;
+
+    /**
+     * @param file the file to deflate into
+     * @throws IOException if the file cannot be opened
+     */
+    DeflatedSpool(final File file) throws IOException {
+        super(DeflateUtils.createSegmentDeflaterStream(new FileOutputStream(file)));
+        m_file = file;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        out.write(b);
+        m_crc.update(b);
+        m_size++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        m_crc.update(b, off, len);
+        m_size += len;
+    }
+
+    /**
+     * @return the CRC-32 of the uncompressed data, only valid after the stream has been closed
+     */
+    long getCrc() {
+        return m_crc.getValue();
+    }
+
+    /**
+     * @return the number of uncompressed bytes, only valid after the stream has been closed
+     */
+    long getSize() {
+        return m_size;
+    }
+
+    /**
+     * @return the number of deflated bytes, only valid after the stream has been closed
+     * @throws IOException if the size of the file cannot be determined
+     */
+    long getCompressedSize() throws IOException {
+        return Files.size(m_file.toPath());
+    }
+
+    /**
+     * @return the deflated data, only valid after the stream has been closed
+     * @throws IOException if the file cannot be opened
+     */
+    InputStream openDeflated() throws IOException {
+        return Files.newInputStream(m_file.toPath());
+    }
+}
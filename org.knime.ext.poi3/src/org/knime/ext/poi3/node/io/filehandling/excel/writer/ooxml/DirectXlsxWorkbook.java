@@ -0,0 +1,307 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
+import org.knime.filehandling.core.connections.FSFiles;
+
+/**
+ * {@link SXSSFWorkbook} for new xlsx files that streams the rows of its sheets deflated to disk and copies them as is
+ * into the saved file.
+ *
+ * <p>
+ * The plain {@link SXSSFWorkbook} writes every sheet as uncompressed XML to a temporary file, reads it back when the
+ * workbook is saved and deflates it into the zip entry of the sheet. Here, the rows are deflated once while they are
+ * written (see {@link DeflatedSheetDataWriter}). On save, SXSSF writes the remaining parts (styles, workbook, content
+ * types, empty sheets, ...) to a small template file, whose entries are copied without recompression. The entries of
+ * the sheets are assembled from the deflated head of the worksheet XML, the deflated rows and the deflated tail.
+ * </p>
+ *
+ * <p>
+ * Optionally, strings are written to a shared strings table, which keeps files with categorical string columns small
+ * (see {@link SharedStringsDictionary}). Whether new xlsx files are written by this class at all and whether they use
+ * shared strings is decided by the {@link ExcelWriterProperties}.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class DirectXlsxWorkbook extends SXSSFWorkbook {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(DirectXlsxWorkbook.class);
+
+    private static final byte[] SHEET_DATA_END = "</sheetData>".getBytes(StandardCharsets.UTF_8);
+
+    /** The writers of the sheets, not final since {@link #createSheetDataWriter()} is called by the super class. */
+    private Map<Sheet, DeflatedSheetDataWriter> m_sheetWriters; // NOSONAR see above
+
+    /** The writer created for the sheet that is currently being created. */
+    private DeflatedSheetDataWriter m_lastCreatedWriter; // NOSONAR see above
+
+    /** The mode set via {@link #setZip64Mode(Zip64Mode)}, {@code null} if not set. */
+    private Zip64Mode m_zip64Mode; // NOSONAR see above
+
+    /** The dictionary of the shared strings table, {@code null} if strings are written inline. */
+    private final SharedStringsDictionary m_sharedStrings;
+
+    /**
+     * Creates a new, empty workbook.
+     *
+     * @param sharedStrings whether strings are written to a shared strings table instead of inline
+     */
+    public DirectXlsxWorkbook(final boolean sharedStrings) {
+        super();
+        m_sharedStrings = sharedStrings ? new SharedStringsDictionary() : null;
+    }
+
+    /**
+     * Creates a workbook whose new sheets are streamed on top of the given workbook. The strings are written inline,
+     * since the shared strings table of the given workbook is not known.
+     *
+     * @param base the workbook, e.g. holding the styles of an existing file
+     */
+    DirectXlsxWorkbook(final XSSFWorkbook base) {
+        super(base);
+        m_sharedStrings = null;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        m_lastCreatedWriter = new DeflatedSheetDataWriter(m_sharedStrings);
+        return m_lastCreatedWriter;
+    }
+
+    /**
+     * Adds a string that occurs frequently, e.g. a column header or the missing value pattern, to the shared strings
+     * table such that all cells with this value reference it. Does nothing if strings are written inline.
+     *
+     * @param value the string to share
+     */
+    public void addSharedString(final String value) {
+        if (m_sharedStrings != null && value != null) {
+            m_sharedStrings.add(value);
+        }
+    }
+
+    // creating a sheet is synchronized since the data writer is handed over via m_lastCreatedWriter
+    @Override
+    public synchronized SXSSFSheet createSheet() {
+        return register(super.createSheet());
+    }
+
+    @Override
+    public synchronized SXSSFSheet createSheet(final String sheetname) {
+        return register(super.createSheet(sheetname));
+    }
+
+    private SXSSFSheet register(final SXSSFSheet sheet) {
+        if (m_lastCreatedWriter != null) {
+            if (m_sheetWriters == null) {
+                m_sheetWriters = new IdentityHashMap<>();
+            }
+            m_sheetWriters.put(sheet, m_lastCreatedWriter);
+            m_lastCreatedWriter = null;
+        }
+        return sheet;
+    }
+
+    @Override
+    public synchronized void removeSheetAt(final int index) {
+        final var sheet = getSheetAt(index);
+        super.removeSheetAt(index);
+        if (m_sheetWriters != null) {
+            m_sheetWriters.remove(sheet);
+        }
+    }
+
+    @Override
+    public void setZip64Mode(final Zip64Mode zip64Mode) {
+        super.setZip64Mode(zip64Mode);
+        m_zip64Mode = zip64Mode;
+    }
+
+    @Override
+    public void write(final OutputStream stream) throws IOException {
+        final var template = FileUtil.createTempFile("knime-excel-template-", ".xlsx").toPath();
+        try {
+            try (final var out = new BufferedOutputStream(Files.newOutputStream(template))) {
+                super.write(out);
+            }
+            try (final var zipFile = ZipFile.builder().setPath(template).get();
+                    final var zos = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(stream))) {
+                if (m_zip64Mode != null) {
+                    zos.setUseZip64(m_zip64Mode);
+                }
+                assemble(zipFile, zos, getSheetParts(), getSharedStringsPart());
+                zos.finish();
+            }
+        } finally {
+            FSFiles.deleteSafely(template);
+        }
+    }
+
+    /**
+     * @return the writers of the sheets whose rows were written by this workbook, by the name of their zip entry
+     */
+    private Map<String, DeflatedSheetDataWriter> getSheetParts() {
+        final var parts = new HashMap<String, DeflatedSheetDataWriter>();
+        if (m_sheetWriters == null) {
+            return parts;
+        }
+        for (var i = 0; i < getNumberOfSheets(); i++) {
+            final var writer = m_sheetWriters.get(getSheetAt(i));
+            if (writer != null) {
+                // part names are absolute, zip entry names are not
+                final var partName = getXSSFWorkbook().getSheetAt(i).getPackagePart().getPartName().getName();
+                parts.put(partName.substring(1), writer);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * @return the name of the zip entry of the shared strings table, or {@code null} if it is not replaced
+     */
+    private String getSharedStringsPart() {
+        final var sharedStringsTable = getXSSFWorkbook().getSharedStringSource();
+        if (m_sharedStrings == null || m_sharedStrings.size() == 0 || sharedStringsTable == null) {
+            return null;
+        }
+        return sharedStringsTable.getPackagePart().getPartName().getName().substring(1);
+    }
+
+    private void assemble(final ZipFile template, final ZipArchiveOutputStream zos,
+        final Map<String, DeflatedSheetDataWriter> sheetParts, final String sharedStringsPart) throws IOException {
+        final var entries = template.getEntries();
+        while (entries.hasMoreElements()) {
+            final var entry = entries.nextElement();
+            final var sheetPart = sheetParts.get(entry.getName());
+            if (sheetPart != null) {
+                addSheetEntry(template, entry, sheetPart, zos);
+            } else if (entry.getName().equals(sharedStringsPart)) {
+                LOGGER.debugWithFormat("Writing %d shared strings to '%s'.", m_sharedStrings.size(), entry.getName());
+                final var sharedStringsEntry = new ZipArchiveEntry(entry.getName());
+                sharedStringsEntry.setTime(entry.getTime());
+                zos.putArchiveEntry(sharedStringsEntry);
+                m_sharedStrings.writeXml(zos);
+                zos.closeArchiveEntry();
+            } else {
+                zos.addRawArchiveEntry(entry, template.getRawInputStream(entry));
+            }
+        }
+    }
+
+    private static void addSheetEntry(final ZipFile template, final ZipArchiveEntry entry,
+        final DeflatedSheetDataWriter rows, final ZipArchiveOutputStream zos) throws IOException {
+        final byte[] xml;
+        try (final var in = template.getInputStream(entry)) {
+            xml = in.readAllBytes();
+        }
+        final var split = indexOf(xml, SHEET_DATA_END);
+        if (split < 0) {
+            throw new IOException(String.format("Invalid worksheet XML in '%s'.", entry.getName()));
+        }
+        final var head = Arrays.copyOf(xml, split);
+        final var tail = Arrays.copyOfRange(xml, split, xml.length);
+        final var deflatedHead = DeflateUtils.deflate(head, false);
+        final var deflatedTail = DeflateUtils.deflate(tail, true);
+
+        var crc = DeflateUtils.combineCrc(DeflateUtils.crc(head), rows.getCrc(), rows.getSize());
+        crc = DeflateUtils.combineCrc(crc, DeflateUtils.crc(tail), tail.length);
+
+        final var sheetEntry = new ZipArchiveEntry(entry.getName());
+        sheetEntry.setMethod(ZipEntry.DEFLATED);
+        sheetEntry.setTime(entry.getTime());
+        sheetEntry.setCrc(crc);
+        sheetEntry.setSize(head.length + rows.getSize() + tail.length);
+        sheetEntry.setCompressedSize(deflatedHead.length + rows.getCompressedSize() + deflatedTail.length);
+        LOGGER.debugWithFormat("Copying %d deflated bytes of rows into '%s'.", rows.getCompressedSize(),
+            entry.getName());
+        try (final var deflatedRows = rows.openDeflatedRows();
+                final var raw = new SequenceInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(deflatedHead), deflatedRows),
+                    new ByteArrayInputStream(deflatedTail))) {
+            zos.addRawArchiveEntry(sheetEntry, raw);
+        }
+    }
+
+    /** Returns the index of the last occurrence of the pattern in the data, or -1 if there is none. */
+    private static int indexOf(final byte[] data, final byte[] pattern) {
+        for (var i = data.length - pattern.length; i >= 0; i--) {
+            if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.util.XMLHelper;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * Utilities to read, modify and copy the parts of an OOXML package (i.e. the entries of its zip file) without loading
+ * the package with POI.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class OpcUtils {
+
+    static final String CONTENT_TYPES_PART = "[Content_Types].xml";
+
+    static final String ROOT_RELATIONSHIPS_PART = "_rels/.rels";
+
+    static final String CONTENT_TYPES_NS = "http://schemas.openxmlformats.org/package/2006/content-types";
+
+    static final String PACKAGE_RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    static final String OFFICE_DOCUMENT_REL = RELATIONSHIPS_NS + "/officeDocument";
+
+    static final String WORKSHEET_REL = RELATIONSHIPS_NS + "/worksheet";
+
+    static final String STYLES_REL = RELATIONSHIPS_NS + "/styles";
+
+    static final String THEME_REL = RELATIONSHIPS_NS + "/theme";
+
+    static final String CALC_CHAIN_REL = RELATIONSHIPS_NS + "/calcChain";
+
+    private OpcUtils() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * Parses an XML part.
+     *
+     * @param zip the package
+     * @param part the name of the part, i.e. of its zip entry
+     * @return the parsed part, or {@code null} if the package has no such part
+     * @throws IOException if the part cannot be read or parsed
+     */
+    static Document parse(final ZipFile zip, final String part) throws IOException {
+        final var entry = zip.getEntry(part);
+        if (entry == null) {
+            return null;
+        }
+        try (final var in = zip.getInputStream(entry)) {
+            return XMLHelper.newDocumentBuilder().parse(in);
+        } catch (final SAXException e) {
+            throw new IOException(String.format("The part '%s' is not valid XML.", part), e);
+        }
+    }
+
+    /**
+     * @param document the XML document
+     * @return the serialized document
+     * @throws IOException if the document cannot be serialized
+     */
+    static byte[] serialize(final Document document) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try {
+            document.setXmlStandalone(true);
+            final var transformer = XMLHelper.newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(document), new StreamResult(out));
+        } catch (final TransformerException e) {
+            throw new IOException("Unable to serialize an XML part.", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param part the name of a part
+     * @return the name of the part holding the relationships of the given part
+     */
+    static String getRelationshipsPart(final String part) {
+        final var slash = part.lastIndexOf('/');
+        return part.substring(0, slash + 1) + "_rels/" + part.substring(slash + 1) + ".rels";
+    }
+
+    /**
+     * Resolves the target of a relationship.
+     *
+     * @param sourcePart the name of the part the relationship belongs to, the empty string for the package
+     * @param target the (relative or absolute) target of the relationship
+     * @return the name of the target part
+     */
+    static String resolve(final String sourcePart, final String target) {
+        return URI.create("/" + sourcePart).resolve(target).getPath().substring(1);
+    }
+
+    /**
+     * @param relationships the parsed relationships part, might be {@code null}
+     * @return the internal relationships, i.e. those not pointing outside of the package
+     */
+    static List<Element> getInternalRelationships(final Document relationships) {
+        final var result = new ArrayList<Element>();
+        if (relationships != null) {
+            final var nodes = relationships.getElementsByTagNameNS(PACKAGE_RELATIONSHIPS_NS, "Relationship");
+            for (var i = 0; i < nodes.getLength(); i++) {
+                final var relationship = (Element)nodes.item(i);
+                if (!"External".equals(relationship.getAttribute("TargetMode"))) {
+                    result.add(relationship);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param relationships the parsed relationships part, might be {@code null}
+     * @param sourcePart the name of the part the relationships belong to
+     * @param type the type of the relationship
+     * @return the name of the target part of the first relationship of the given type, or {@code null} if there is none
+     */
+    static String findTarget(final Document relationships, final String sourcePart, final String type) {
+        for (final var relationship : getInternalRelationships(relationships)) {
+            if (type.equals(relationship.getAttribute("Type"))) {
+                return resolve(sourcePart, relationship.getAttribute("Target"));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies an entry without recompressing it.
+     *
+     * @param from the package to copy from
+     * @param part the name of the entry to copy
+     * @param name the name of the copied entry
+     * @param zos the stream to copy to
+     * @throws IOException if copying fails
+     */
+    static void copyRaw(final ZipFile from, final String part, final String name, final ZipArchiveOutputStream zos)
+        throws IOException {
+        final var entry = from.getEntry(part);
+        if (entry == null) {
+            throw new IOException(String.format("The part '%s' does not exist.", part));
+        }
+        final var copy = new ZipArchiveEntry(name);
+        copy.setMethod(entry.getMethod());
+        copy.setCrc(entry.getCrc());
+        copy.setSize(entry.getSize());
+        copy.setCompressedSize(entry.getCompressedSize());
+        copy.setTime(entry.getTime());
+        zos.addRawArchiveEntry(copy, from.getRawInputStream(entry));
+    }
+
+    /**
+     * Adds an entry, which is compressed by the stream.
+     *
+     * @param zos the stream to add the entry to
+     * @param name the name of the entry
+     * @param data the content of the entry
+     * @throws IOException if writing fails
+     */
+    static void putEntry(final ZipArchiveOutputStream zos, final String name, final byte[] data) throws IOException {
+        zos.putArchiveEntry(new ZipArchiveEntry(name));
+        zos.write(data);
+        zos.closeArchiveEntry();
+    }
+}
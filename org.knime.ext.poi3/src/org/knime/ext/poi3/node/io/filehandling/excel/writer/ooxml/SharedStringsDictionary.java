@@ -0,0 +1,311 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
+
+/**
+ * Bounded dictionary of the strings written to the shared strings table of a {@link DirectXlsxWorkbook}.
+ *
+ * <p>
+ * The characters of the strings are kept off-heap in a direct buffer that grows by doubling up to a configurable
+ * maximum (see {@link ExcelWriterProperties#getSharedStringsMaxMemory()}), the heap only holds the hash table and the
+ * location of each string. Once the maximum is reached, no more strings are added and new strings are written inline
+ * by the sheets.
+ * </p>
+ *
+ * <p>
+ * The dictionary is shared by all sheets of a workbook, which might be written concurrently, hence all methods are
+ * synchronized.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class SharedStringsDictionary {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(SharedStringsDictionary.class);
+
+    private static final int INITIAL_MEMORY = 1 << 20;
+
+    private static final int INITIAL_SLOTS = 1 << 12;
+
+    /** Returned by {@link #lookup(String, boolean)} if the string is neither contained nor added. */
+    static final int NOT_FOUND = -1;
+
+    private final int m_maxMemory;
+
+    private ByteBuffer m_chars;
+
+    /** The hash table, contains the index of the string plus one, or zero for empty slots. */
+    private int[] m_slots = new int[INITIAL_SLOTS];
+
+    private int[] m_hashes = new int[INITIAL_SLOTS / 2];
+
+    private int[] m_offsets = new int[INITIAL_SLOTS / 2];
+
+    private int[] m_lengths = new int[INITIAL_SLOTS / 2];
+
+    private int m_size;
+
+    private long m_references;
+
+    private boolean m_full;
+
+    SharedStringsDictionary() {
+        this(ExcelWriterProperties.getSharedStringsMaxMemory());
+    }
+
+    /**
+     * @param maxMemory the maximal number of bytes used for the characters of the strings
+     */
+    SharedStringsDictionary(final int maxMemory) {
+        m_maxMemory = maxMemory;
+        m_chars = ByteBuffer.allocateDirect(Math.min(INITIAL_MEMORY, maxMemory));
+    }
+
+    /**
+     * Looks up the index of a string and counts the reference to it.
+     *
+     * @param value the string
+     * @param add whether to add the string if it's not contained yet
+     * @return the index of the string if it was already contained, {@code -(index + 2)} if it was added, or
+     *         {@link #NOT_FOUND} if it was not added because {@code add} is {@code false} or the dictionary is full
+     */
+    synchronized int lookup(final String value, final boolean add) {
+        final var index = find(value, add);
+        if (index != NOT_FOUND) {
+            m_references++;
+        }
+        return index;
+    }
+
+    /**
+     * Adds a string without referencing it, unless the dictionary is full.
+     *
+     * @param value the string
+     */
+    synchronized void add(final String value) {
+        find(value, true);
+    }
+
+    private int find(final String value, final boolean add) {
+        final var hash = hash(value);
+        final var mask = m_slots.length - 1;
+        var slot = hash & mask;
+        while (m_slots[slot] != 0) {
+            final var index = m_slots[slot] - 1;
+            if (m_hashes[index] == hash && equalsAt(index, value)) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!add || m_full || !reserve(value.length())) {
+            return NOT_FOUND;
+        }
+        final var index = m_size;
+        if (index == m_hashes.length) {
+            final var newLength = 2 * index;
+            m_hashes = Arrays.copyOf(m_hashes, newLength);
+            m_offsets = Arrays.copyOf(m_offsets, newLength);
+            m_lengths = Arrays.copyOf(m_lengths, newLength);
+        }
+        m_hashes[index] = hash;
+        m_offsets[index] = m_chars.position();
+        m_lengths[index] = value.length();
+        for (var i = 0; i < value.length(); i++) {
+            m_chars.putChar(value.charAt(i));
+        }
+        m_size++;
+        m_slots[slot] = index + 1;
+        if (2 * m_size > m_slots.length) {
+            rehash();
+        }
+        return -(index + 2);
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    synchronized int size() {
+        return m_size;
+    }
+
+    private static int hash(final String value) {
+        final var h = value.hashCode();
+        // spread the bits, since the table is indexed by the lower bits only
+        return h ^ (h >>> 16);
+    }
+
+    private boolean equalsAt(final int index, final String value) {
+        final var length = m_lengths[index];
+        if (length != value.length()) {
+            return false;
+        }
+        final var offset = m_offsets[index];
+        for (var i = 0; i < length; i++) {
+            if (m_chars.getChar(offset + 2 * i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Makes sure there is space for the given number of characters, growing the buffer if necessary. */
+    private boolean reserve(final int numChars) {
+        final var required = (long)m_chars.position() + 2L * numChars;
+        if (required <= m_chars.capacity()) {
+            return true;
+        }
+        if (required > m_maxMemory) {
+            m_full = true;
+            LOGGER.debugWithFormat("The shared strings dictionary reached its maximum size of %d MB with %d strings, "
+                + "further strings are written inline.", m_maxMemory >> 20, m_size);
+            return false;
+        }
+        final var newCapacity = (int)Math.min(m_maxMemory, Math.max(required, 2L * m_chars.capacity()));
+        final var grown = ByteBuffer.allocateDirect(newCapacity);
+        m_chars.flip();
+        grown.put(m_chars);
+        m_chars = grown;
+        return true;
+    }
+
+    private void rehash() {
+        final var slots = new int[2 * m_slots.length];
+        final var mask = slots.length - 1;
+        for (var index = 0; index < m_size; index++) {
+            var slot = m_hashes[index] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+        m_slots = slots;
+    }
+
+    /**
+     * Writes the shared strings table part ({@code sharedStrings.xml}).
+     *
+     * @param out the stream to write to, which is flushed but not closed
+     * @throws IOException if writing fails
+     */
+    synchronized void writeXml(final OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"");
+        writer.write(Long.toString(m_references));
+        writer.write("\" uniqueCount=\"");
+        writer.write(Integer.toString(m_size));
+        writer.write("\">");
+        for (var index = 0; index < m_size; index++) {
+            final var offset = m_offsets[index];
+            final var length = m_lengths[index];
+            writer.write("<si><t");
+            if (length > 0 && (isSpace(m_chars.getChar(offset)) || isSpace(m_chars.getChar(offset + 2 * length - 2)))) {
+                writer.write(" xml:space=\"preserve\"");
+            }
+            writer.write('>');
+            for (var i = 0; i < length; i++) {
+                writeEscaped(writer, m_chars.getChar(offset + 2 * i));
+            }
+            writer.write("</t></si>");
+        }
+        writer.write("</sst>");
+        writer.flush();
+    }
+
+    private static boolean isSpace(final char c) {
+        return Character.isWhitespace(c);
+    }
+
+    /** Escapes the same way as the sheet data writer of POI does for inline strings. */
+    private static void writeEscaped(final Writer writer, final char c) throws IOException {
+        switch (c) {
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            case '\n':
+                writer.write("&#xa;");
+                break;
+            case '\r':
+                writer.write("&#xd;");
+                break;
+            case '\t':
+                writer.write("&#x9;");
+                break;
+            default:
+                // characters that are not allowed in XML are replaced, see SheetDataWriter
+                if (c < ' ' || c == '\uFFFE' || c == '\uFFFF') {
+                    writer.write('?');
+                } else {
+                    writer.write(c);
+                }
+                break;
+        }
+    }
+}
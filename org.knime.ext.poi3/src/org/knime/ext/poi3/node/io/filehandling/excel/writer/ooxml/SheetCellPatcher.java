@@ -0,0 +1,396 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+
+/**
+ * Patches the cells of a worksheet with the cells of another worksheet while streaming its XML. Cells that exist in
+ * both are replaced, the other cells are inserted at their position. Everything else is copied as is.
+ *
+ * <p>
+ * A replaced cell keeps the style of the existing cell, an inserted cell gets the style of its row or column, unless
+ * the new cell has a style of its own (e.g. a date format). The rows and cells of both worksheets must be ordered, as
+ * required by the specification.
+ * </p>
+ *
+ * <p>
+ * Replacing the first cell of a shared formula or the cell of an array formula fails, since the formula is only
+ * stored in that cell and the other cells of the formula would lose it.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class SheetCellPatcher {
+
+    private static final byte[] SHEET_DATA = "sheetData".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ROW = "row".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CELL = "c".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] FORMULA = "f".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] COL = "col".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DIMENSION = "dimension".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DEFAULT_NAMESPACE =
+        (" xmlns=\"" + OpcUtils.SPREADSHEET_NS + "\"").getBytes(StandardCharsets.UTF_8);
+
+    private final SheetDataScanner m_sheet;
+
+    private final Cells m_cells;
+
+    private final OutputStream m_out;
+
+    private final CellRangeAddress m_range;
+
+    /** The column styles as triples of the first and last (1-based) column and the style. */
+    private final List<String[]> m_columnStyles = new ArrayList<>();
+
+    /** The namespace declaration of inserted elements if the worksheet uses a prefix for its namespace. */
+    private byte[] m_namespace;
+
+    private SheetCellPatcher(final InputStream sheet, final InputStream cells, final CellRangeAddress range,
+        final OutputStream out) throws IOException {
+        m_sheet = new SheetDataScanner(sheet);
+        m_cells = new Cells(cells);
+        m_range = range;
+        m_out = out;
+    }
+
+    /**
+     * Copies the XML of a worksheet and patches the cells of another worksheet into it.
+     *
+     * @param sheet the XML of the worksheet
+     * @param cells the XML of the worksheet holding the cells to patch
+     * @param range the range of the cells to patch, which the dimension of the worksheet is extended by, or
+     *            {@code null} if there are none
+     * @param out the stream to write the patched XML to
+     * @throws IOException if reading or writing fails, or the XML has no sheet data
+     */
+    static void patch(final InputStream sheet, final InputStream cells, final CellRangeAddress range,
+        final OutputStream out) throws IOException {
+        new SheetCellPatcher(sheet, cells, range, out).patch();
+    }
+
+    private void patch() throws IOException {
+        while (true) {
+            if (!m_sheet.nextTag(m_out)) {
+                throw new IOException("The worksheet has no sheet data.");
+            }
+            if (m_sheet.isStartTag(SHEET_DATA)) {
+                break;
+            }
+            if (m_sheet.isStartTag(COL)) {
+                m_columnStyles.add(new String[]{m_sheet.getAttribute("min"), m_sheet.getAttribute("max"),
+                    m_sheet.getAttribute("style")});
+            }
+            if (m_range != null && m_sheet.isStartTag(DIMENSION)) {
+                m_sheet.writeDimension(m_out, m_range);
+            } else {
+                m_sheet.writeTag(m_out);
+            }
+        }
+        final var name = m_sheet.getQualifiedName();
+        // the cells are in the default namespace, which might be another one in the existing sheet
+        m_namespace = name.indexOf(':') >= 0 ? DEFAULT_NAMESPACE : null;
+        if (m_sheet.isEmptyElement()) {
+            write("<" + name + ">");
+            writeRowsBefore(Integer.MAX_VALUE);
+            write("</" + name + ">");
+        } else {
+            m_sheet.writeTag(m_out);
+            patchRows();
+        }
+        m_sheet.copyRemaining(m_out);
+    }
+
+    private void patchRows() throws IOException {
+        var row = -1;
+        while (m_sheet.nextTag(m_out)) {
+            if (m_sheet.isStartTag(ROW)) {
+                // rows without reference follow the previous row
+                row = parseRow(m_sheet.getAttribute("r"), row);
+                writeRowsBefore(row);
+                if (m_cells.m_row == row) {
+                    patchRow(row);
+                } else {
+                    m_sheet.writeTag(m_out);
+                }
+            } else if (m_sheet.isEndTag(SHEET_DATA)) {
+                writeRowsBefore(Integer.MAX_VALUE);
+                m_sheet.writeTag(m_out);
+                return;
+            } else {
+                m_sheet.writeTag(m_out);
+            }
+        }
+        throw new IOException("The sheet data of the worksheet is not closed.");
+    }
+
+    private void patchRow(final int row) throws IOException {
+        final var name = m_sheet.getQualifiedName();
+        final var customFormat = m_sheet.getAttribute("customFormat");
+        final var rowStyle =
+            "1".equals(customFormat) || "true".equals(customFormat) ? m_sheet.getAttribute("s") : null;
+        final var empty = m_sheet.isEmptyElement();
+        // the spans are an optional hint, which might not cover the inserted cells
+        m_sheet.writeTag(m_out, null, "spans", true);
+        if (!empty) {
+            var column = -1;
+            while (true) {
+                if (!m_sheet.nextTag(m_out)) {
+                    throw new IOException("A row of the worksheet is not closed.");
+                }
+                if (m_sheet.isEndTag(ROW)) {
+                    break;
+                }
+                if (m_sheet.isStartTag(CELL)) {
+                    final var ref = m_sheet.getAttribute("r");
+                    column = ref == null ? (column + 1) : parseColumn(ref);
+                    writeCellsBefore(row, column, rowStyle);
+                    if (m_cells.m_row == row && m_cells.m_column == column) {
+                        final var style = m_sheet.getAttribute("s");
+                        skipReplacedCell(row, column);
+                        writeCell(style, m_namespace);
+                    } else {
+                        copyCell(m_out);
+                    }
+                } else {
+                    m_sheet.writeTag(m_out);
+                }
+            }
+        }
+        writeCellsBefore(row, Integer.MAX_VALUE, rowStyle);
+        write("</" + name + ">");
+    }
+
+    /** Copies the cell whose start tag has just been read. */
+    private void copyCell(final OutputStream out) throws IOException {
+        m_sheet.writeTag(out);
+        if (m_sheet.isEmptyElement()) {
+            return;
+        }
+        while (m_sheet.nextTag(out)) {
+            m_sheet.writeTag(out);
+            if (m_sheet.isEndTag(CELL)) {
+                return;
+            }
+        }
+        throw new IOException("A cell of the worksheet is not closed.");
+    }
+
+    /** Skips the cell whose start tag has just been read, failing if it holds a formula shared with other cells. */
+    private void skipReplacedCell(final int row, final int column) throws IOException {
+        if (m_sheet.isEmptyElement()) {
+            return;
+        }
+        while (m_sheet.nextTag(null)) {
+            if (m_sheet.isStartTag(FORMULA)) {
+                final var type = m_sheet.getAttribute("t");
+                if ("array".equals(type) || ("shared".equals(type) && m_sheet.getAttribute("ref") != null)) {
+                    throw new IOException(String.format(
+                        "The cell %s holds a shared or array formula and cannot be replaced without loading the file.",
+                        new CellReference(row, column).formatAsString()));
+                }
+            }
+            if (m_sheet.isEndTag(CELL)) {
+                return;
+            }
+        }
+        throw new IOException("A cell of the worksheet is not closed.");
+    }
+
+    /** Writes the new rows preceding the given row. */
+    private void writeRowsBefore(final int row) throws IOException {
+        while (m_cells.m_row >= 0 && m_cells.m_row < row) {
+            final var newRow = m_cells.m_row;
+            m_out.write("<row".getBytes(StandardCharsets.US_ASCII));
+            if (m_namespace != null) {
+                m_out.write(m_namespace);
+            }
+            write(" r=\"" + (newRow + 1) + "\">");
+            while (m_cells.m_row == newRow) {
+                writeCell(getColumnStyle(m_cells.m_column), null);
+            }
+            write("</row>");
+        }
+    }
+
+    /** Writes the new cells of a row preceding the given column. */
+    private void writeCellsBefore(final int row, final int column, final String rowStyle) throws IOException {
+        while (m_cells.m_row == row && m_cells.m_column < column) {
+            writeCell(rowStyle != null ? rowStyle : getColumnStyle(m_cells.m_column), m_namespace);
+        }
+    }
+
+    /** Writes the current new cell with the given style, unless it has a style of its own, and advances. */
+    private void writeCell(final String style, final byte[] namespace) throws IOException {
+        final var tag = m_cells.m_tag.toByteArray();
+        // the new cells are named 'c' without prefix
+        m_out.write(tag, 0, 2);
+        if (namespace != null) {
+            m_out.write(namespace);
+        }
+        if (!m_cells.m_styled && style != null && !"0".equals(style)) {
+            write(" s=\"" + style + "\"");
+        }
+        m_out.write(tag, 2, tag.length - 2);
+        m_cells.m_content.writeTo(m_out);
+        m_cells.advance();
+    }
+
+    private String getColumnStyle(final int column) {
+        for (final var columnStyle : m_columnStyles) {
+            try {
+                if (columnStyle[2] != null && Integer.parseInt(columnStyle[0]) <= column + 1
+                    && column + 1 <= Integer.parseInt(columnStyle[1])) {
+                    return columnStyle[2];
+                }
+            } catch (final NumberFormatException e) { // NOSONAR an invalid column range has no style
+            }
+        }
+        return null;
+    }
+
+    private void write(final String s) throws IOException {
+        m_out.write(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int parseRow(final String ref, final int previous) throws IOException {
+        try {
+            return ref == null ? (previous + 1) : (Integer.parseInt(ref) - 1);
+        } catch (final NumberFormatException e) {
+            throw new IOException(String.format("Invalid row reference '%s'.", ref), e);
+        }
+    }
+
+    /**
+     * @param ref a cell reference, e.g. {@code AB12}
+     * @return the (0-based) index of its column
+     */
+    static int parseColumn(final String ref) {
+        var column = 0;
+        for (var i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            column = 26 * column + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /** Cursor over the cells of the worksheet holding the cells to patch. */
+    private static final class Cells {
+
+        private final SheetDataScanner m_scanner;
+
+        private final ByteArrayOutputStream m_tag = new ByteArrayOutputStream();
+
+        private final ByteArrayOutputStream m_content = new ByteArrayOutputStream();
+
+        /** The (0-based) row of the current cell, -1 if there are no further cells. */
+        private int m_row = -1;
+
+        private int m_column;
+
+        private boolean m_styled;
+
+        Cells(final InputStream in) throws IOException {
+            m_scanner = new SheetDataScanner(in);
+            if (m_scanner.copyToSheetData(null, null) == SheetDataScanner.START) {
+                advance();
+            }
+        }
+
+        /** Reads the next cell, including its end tag. */
+        void advance() throws IOException {
+            m_tag.reset();
+            m_content.reset();
+            var row = m_row;
+            m_row = -1;
+            while (m_scanner.nextTag(null)) {
+                if (m_scanner.isStartTag(ROW)) {
+                    row = parseRow(m_scanner.getAttribute("r"), row);
+                    m_column = -1;
+                } else if (m_scanner.isStartTag(CELL)) {
+                    final var ref = m_scanner.getAttribute("r");
+                    m_column = ref == null ? (m_column + 1) : parseColumn(ref);
+                    m_styled = m_scanner.getAttribute("s") != null;
+                    m_scanner.writeTag(m_tag);
+                    if (!m_scanner.isEmptyElement()) {
+                        readContent();
+                    }
+                    m_row = row;
+                    return;
+                } else if (m_scanner.isEndTag(SHEET_DATA)) {
+                    return;
+                }
+            }
+        }
+
+        private void readContent() throws IOException {
+            while (m_scanner.nextTag(m_content)) {
+                m_scanner.writeTag(m_content);
+                if (m_scanner.isEndTag(CELL)) {
+                    return;
+                }
+            }
+            throw new IOException("A patched cell is not closed.");
+        }
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+
+/**
+ * Scans the XML of a worksheet for the tags of its {@code sheetData} element while (optionally) copying it, such that
+ * rows can be spliced into a sheet and cells can be patched without parsing it.
+ *
+ * <p>
+ * Only the tags are inspected, quoted attribute values are skipped. Comments and CDATA sections, which do not occur
+ * in the worksheets written by spreadsheet applications, are not recognized.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class SheetDataScanner {
+
+    /** No further {@code sheetData} tag. */
+    static final int NONE = 0;
+
+    /** A start tag of the {@code sheetData} element. */
+    static final int START = 1;
+
+    /** An empty {@code sheetData} element. */
+    static final int EMPTY = 2;
+
+    /** An end tag of the {@code sheetData} element. */
+    static final int END = 3;
+
+    private static final byte[] SHEET_DATA = "sheetData".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] ROW = "row".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CELL = "c".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] DIMENSION = "dimension".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream m_in;
+
+    private final byte[] m_buffer = new byte[1 << 16];
+
+    private int m_pos;
+
+    private int m_limit;
+
+    private byte[] m_tag = new byte[256];
+
+    private int m_tagLength;
+
+    private int m_nameStart;
+
+    private int m_localNameStart;
+
+    private int m_nameEnd;
+
+    private int m_attributeStart;
+
+    private int m_valueStart;
+
+    private int m_valueEnd;
+
+    /**
+     * @param in the worksheet XML
+     */
+    SheetDataScanner(final InputStream in) {
+        m_in = in;
+    }
+
+    /**
+     * Copies the XML up to the next {@code sheetData} tag, which is not copied.
+     *
+     * @param out the stream to copy to, or {@code null} to skip the XML
+     * @param rowAttributes bytes to insert after the name of every start tag of a row, or {@code null}
+     * @return the kind of the tag, {@link #NONE} if the end of the XML is reached
+     * @throws IOException if reading or writing fails
+     */
+    int copyToSheetData(final OutputStream out, final byte[] rowAttributes) throws IOException {
+        while (nextTag(out)) {
+            final var kind = getSheetDataKind();
+            if (kind != NONE) {
+                return kind;
+            }
+            if (out != null) {
+                writeTag(out, rowAttributes);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Scans the sheet data of a worksheet for the range covered by its cells.
+     *
+     * @param in the worksheet XML
+     * @return the range, or {@code null} if the worksheet has no cells
+     * @throws IOException if reading fails or a row reference is invalid
+     */
+    static CellRangeAddress scanCellRange(final InputStream in) throws IOException {
+        final var scanner = new SheetDataScanner(in);
+        if (scanner.copyToSheetData(null, null) != START) {
+            return null;
+        }
+        var firstRow = Integer.MAX_VALUE;
+        var lastRow = -1;
+        var firstColumn = Integer.MAX_VALUE;
+        var lastColumn = -1;
+        var row = -1;
+        var column = -1;
+        while (scanner.nextTag(null) && !scanner.isEndTag(SHEET_DATA)) {
+            if (scanner.isStartTag(ROW)) {
+                // rows and cells without reference follow the previous one
+                final var ref = scanner.getAttribute("r");
+                try {
+                    row = ref == null ? (row + 1) : (Integer.parseInt(ref) - 1);
+                } catch (final NumberFormatException e) {
+                    throw new IOException(String.format("Invalid row reference '%s'.", ref), e);
+                }
+                column = -1;
+            } else if (scanner.isStartTag(CELL)) {
+                final var ref = scanner.getAttribute("r");
+                column = ref == null ? (column + 1) : new CellReference(ref).getCol();
+                firstRow = Math.min(firstRow, row);
+                lastRow = Math.max(lastRow, row);
+                firstColumn = Math.min(firstColumn, column);
+                lastColumn = Math.max(lastColumn, column);
+            }
+        }
+        return lastRow < 0 ? null : new CellRangeAddress(firstRow, lastRow, firstColumn, lastColumn);
+    }
+
+    /**
+     * Copies the XML up to the next {@code sheetData} tag, which is not copied, and extends the reference of the
+     * {@code dimension} element such that it covers the given range.
+     *
+     * @param out the stream to copy to
+     * @param range the range of the cells added to the sheet, or {@code null} to leave the dimension as is
+     * @return the kind of the tag, {@link #NONE} if the end of the XML is reached
+     * @throws IOException if reading or writing fails
+     */
+    int copyToSheetDataExtendingDimension(final OutputStream out, final CellRangeAddress range) throws IOException {
+        while (nextTag(out)) {
+            final var kind = getSheetDataKind();
+            if (kind != NONE) {
+                return kind;
+            }
+            if (range != null && isStartTag(DIMENSION)) {
+                writeDimension(out, range);
+            } else {
+                writeTag(out);
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Writes the last tag, which is the start tag of the {@code dimension} element, with its reference extended such
+     * that it covers the given range.
+     *
+     * @param out the stream to write to
+     * @param range the range of the cells added to the sheet
+     * @throws IOException if writing fails
+     */
+    void writeDimension(final OutputStream out, final CellRangeAddress range) throws IOException {
+        var extended = range;
+        final var ref = getAttribute("ref");
+        if (ref != null) {
+            try {
+                final var existing = CellRangeAddress.valueOf(ref);
+                if (existing.getFirstRow() >= 0 && existing.getFirstColumn() >= 0) {
+                    extended = new CellRangeAddress(Math.min(existing.getFirstRow(), range.getFirstRow()),
+                        Math.max(existing.getLastRow(), range.getLastRow()),
+                        Math.min(existing.getFirstColumn(), range.getFirstColumn()),
+                        Math.max(existing.getLastColumn(), range.getLastColumn()));
+                }
+            } catch (final IllegalArgumentException e) { // NOSONAR an invalid reference is replaced
+            }
+        }
+        final var attribute = " ref=\"" + extended.formatAsString() + "\"";
+        writeTag(out, attribute.getBytes(StandardCharsets.UTF_8), "ref", false);
+    }
+
+    /**
+     * Copies the XML up to the next tag, which is read but not copied.
+     *
+     * @param out the stream to copy to, or {@code null} to skip the XML
+     * @return {@code false} if the end of the XML is reached
+     * @throws IOException if reading or writing fails
+     */
+    boolean nextTag(final OutputStream out) throws IOException {
+        while (m_pos < m_limit || fill()) {
+            var i = m_pos;
+            while (i < m_limit && m_buffer[i] != '<') {
+                i++;
+            }
+            if (out != null) {
+                out.write(m_buffer, m_pos, i - m_pos);
+            }
+            m_pos = i;
+            if (i < m_limit) {
+                readTag();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param localName the local name of an element
+     * @return {@code true} if the last tag is a start tag or an empty element tag of the given element
+     */
+    boolean isStartTag(final byte[] localName) {
+        return m_tag[1] != '/' && m_tag[1] != '?' && m_tag[1] != '!' && isLocalName(localName);
+    }
+
+    /**
+     * @param localName the local name of an element
+     * @return {@code true} if the last tag is an end tag of the given element
+     */
+    boolean isEndTag(final byte[] localName) {
+        return m_tag[1] == '/' && isLocalName(localName);
+    }
+
+    /**
+     * @return {@code true} if the last tag is an empty element tag
+     */
+    boolean isEmptyElement() {
+        return m_tag[m_tagLength - 2] == '/';
+    }
+
+    /**
+     * Returns the value of an attribute of the last tag. Entities are not resolved.
+     *
+     * @param name the qualified name of the attribute
+     * @return the value, or {@code null} if the tag has no such attribute
+     */
+    String getAttribute(final String name) {
+        return findAttribute(name) ? new String(m_tag, m_valueStart, m_valueEnd - m_valueStart, StandardCharsets.UTF_8)
+            : null;
+    }
+
+    /**
+     * @return the qualified name of the last tag
+     */
+    String getQualifiedName() {
+        return new String(m_tag, m_nameStart, m_nameEnd - m_nameStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the last tag.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    void writeTag(final OutputStream out) throws IOException {
+        out.write(m_tag, 0, m_tagLength);
+    }
+
+    /**
+     * Copies the remaining XML.
+     *
+     * @param out the stream to copy to
+     * @throws IOException if reading or writing fails
+     */
+    void copyRemaining(final OutputStream out) throws IOException {
+        out.write(m_buffer, m_pos, m_limit - m_pos);
+        m_pos = m_limit;
+        m_in.transferTo(out);
+    }
+
+    /**
+     * Writes the last tag with modified attributes.
+     *
+     * @param out the stream to write to
+     * @param attributes bytes to insert after the name, or {@code null}
+     * @param removed the qualified name of an attribute to leave out, or {@code null}
+     * @param open whether to write an empty element tag as start tag
+     * @throws IOException if writing fails
+     */
+    void writeTag(final OutputStream out, final byte[] attributes, final String removed, final boolean open)
+        throws IOException {
+        out.write(m_tag, 0, m_nameEnd);
+        if (attributes != null) {
+            out.write(attributes);
+        }
+        var end = open && isEmptyElement() ? (m_tagLength - 2) : (m_tagLength - 1);
+        if (removed != null && findAttribute(removed)) {
+            out.write(m_tag, m_nameEnd, m_attributeStart - m_nameEnd);
+            // the closing quote is not part of the value
+            out.write(m_tag, m_valueEnd + 1, end - m_valueEnd - 1);
+        } else {
+            out.write(m_tag, m_nameEnd, end - m_nameEnd);
+        }
+        out.write('>');
+    }
+
+    private boolean fill() throws IOException {
+        m_pos = 0;
+        m_limit = Math.max(0, m_in.read(m_buffer));
+        return m_limit > 0;
+    }
+
+    /** Reads the tag starting at the current position, up to and including its closing angle bracket. */
+    private void readTag() throws IOException {
+        m_tagLength = 0;
+        byte quote = 0;
+        while (m_pos < m_limit || fill()) {
+            final var b = m_buffer[m_pos++];
+            if (m_tagLength == m_tag.length) {
+                m_tag = Arrays.copyOf(m_tag, 2 * m_tag.length);
+            }
+            m_tag[m_tagLength++] = b;
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                parseName();
+                return;
+            }
+        }
+        throw new IOException("Unexpected end of the worksheet XML.");
+    }
+
+    private void parseName() {
+        var i = m_tag[1] == '/' ? 2 : 1;
+        m_nameStart = i;
+        m_localNameStart = i;
+        while (i < m_tagLength && !isNameEnd(m_tag[i])) {
+            if (m_tag[i] == ':') {
+                m_localNameStart = i + 1;
+            }
+            i++;
+        }
+        m_nameEnd = i;
+    }
+
+    private static boolean isNameEnd(final byte b) {
+        return isWhitespace(b) || b == '/' || b == '>';
+    }
+
+    /**
+     * Finds an attribute of the last tag and sets {@link #m_attributeStart} to the whitespace in front of it, and
+     * {@link #m_valueStart} and {@link #m_valueEnd} to its (unquoted) value.
+     */
+    private boolean findAttribute(final String name) {
+        final var bytes = name.getBytes(StandardCharsets.UTF_8);
+        var i = m_nameEnd;
+        while (i < m_tagLength) {
+            final var start = i;
+            while (i < m_tagLength && isWhitespace(m_tag[i])) {
+                i++;
+            }
+            final var nameStart = i;
+            while (i < m_tagLength && m_tag[i] != '=' && !isNameEnd(m_tag[i])) {
+                i++;
+            }
+            final var nameEnd = i;
+            while (i < m_tagLength && m_tag[i] != '"' && m_tag[i] != '\'') {
+                if (m_tag[i] == '>') {
+                    return false;
+                }
+                i++;
+            }
+            if (i == m_tagLength) {
+                return false;
+            }
+            final var quote = m_tag[i];
+            final var valueStart = ++i;
+            while (i < m_tagLength && m_tag[i] != quote) {
+                i++;
+            }
+            if (Arrays.equals(m_tag, nameStart, nameEnd, bytes, 0, bytes.length)) {
+                m_attributeStart = start;
+                m_valueStart = valueStart;
+                m_valueEnd = i;
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private boolean isLocalName(final byte[] name) {
+        return Arrays.equals(m_tag, m_localNameStart, m_nameEnd, name, 0, name.length);
+    }
+
+    private int getSheetDataKind() {
+        if (!isLocalName(SHEET_DATA)) {
+            return NONE;
+        }
+        if (m_tag[1] == '/') {
+            return END;
+        }
+        return isEmptyElement() ? EMPTY : START;
+    }
+
+    private void writeTag(final OutputStream out, final byte[] rowAttributes) throws IOException {
+        if (rowAttributes != null && m_tag[1] != '/' && isLocalName(ROW)) {
+            out.write(m_tag, 0, m_nameEnd);
+            out.write(rowAttributes);
+            out.write(m_tag, m_nameEnd, m_tagLength - m_nameEnd);
+        } else {
+            writeTag(out);
+        }
+    }
+}
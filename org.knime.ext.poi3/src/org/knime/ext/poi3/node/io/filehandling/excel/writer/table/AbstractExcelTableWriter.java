@@ -61,10 +61,19 @@
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.Pair;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.CellUpdateBatch;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.ExcelSheetCellCoordinateWriter;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.ExcelSheetWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.PictureRegistry;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.AppendingXlsxWorkbook;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ColumnWidthEstimator;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelProgressMonitor;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetNameExistsHandling;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.SheetUtils;
 
@@ -84,25 +93,45 @@ abstract class AbstractExcelTableWriter implements ExcelTableWriter {
 
     private final int m_maxNumRowsPerSheet;
 
+    private final ExcelMetrics m_metrics;
+
+    private final PictureRegistry m_pictureRegistry;
+
     AbstractExcelTableWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory,
-        final int maxNumRowsPerSheet) {
+        final int maxNumRowsPerSheet, final ExcelMetrics metrics, final PictureRegistry pictureRegistry) {
         m_cfg = cfg;
         m_cellWriterFactory = cellWriterFactory;
         m_maxNumRowsPerSheet = maxNumRowsPerSheet;
+        m_metrics = metrics;
+        m_pictureRegistry = pictureRegistry;
+    }
+
+    /**
+     * @return the {@link PictureRegistry} of the workbook, to be passed to the image writers
+     */
+    final PictureRegistry getPictureRegistry() {
+        return m_pictureRegistry;
     }
 
     @Override
     public final void writeTable(final Workbook workbook, final String sheetName, final RowInput rowInput,
         final ExcelProgressMonitor monitor)
         throws IOException, InvalidSettingsException, CanceledExecutionException, InterruptedException {
+        final var event = ExcelWriteEvent.start(Phase.WRITE_ROWS);
         final ExcelSheetWriter sheetWriter =
             createSheetWriter(rowInput.getDataTableSpec(), m_cellWriterFactory, m_cfg.writeRowKey());
+        if (m_cfg.useAutoSize() && ExcelWriterProperties.useApproximateAutoSize()) {
+            sheetWriter.setColumnWidthEstimator(
+                new ColumnWidthEstimator(workbook, ExcelWriterProperties.getAutoSizeSampleRows()));
+        }
         String curSheetName = sheetName;
         var sheetState = getSheet(workbook, curSheetName, sheetWriter);
         var curSheet = sheetState.getFirst();
         long sheetIdx = 0;
         writeColHeaderIfRequired(sheetWriter, curSheet, sheetState.getSecond(), rowInput.getDataTableSpec());
         var rowIdx = sheetWriter.getRowIndex();
+        long writtenRows = 0;
+        long writtenCells = 0;
 
         DataRow row;
         while ((row = rowInput.poll()) != null) {
@@ -123,7 +152,12 @@ public final void writeTable(final Workbook workbook, final String sheetName, fi
             monitor.updateProgress(curSheetName, rowIdx);
             sheetWriter.writeRowToSheet(curSheet, row);
             ++rowIdx;
+            ++writtenRows;
+            writtenCells += row.getNumCells();
         }
+        event.complete(sheetName, 0, writtenRows);
+        m_metrics.add(Metric.ROWS_WRITTEN, writtenRows);
+        m_metrics.add(Metric.CELLS_WRITTEN, writtenCells);
         finalizeSheet(sheetWriter, curSheet);
     }
 
@@ -136,19 +170,39 @@ public final void writeCellsFromCoordinates(final Workbook workbook, final Strin
             "The edit table has to have at least one column containing the addresses");
         final var sheetWriter = createSheetCoordinateWriter(coordinatesAndValues.getDataTableSpec(),
             m_cellWriterFactory);
-        final var curSheet = workbook.getSheet(sheetName);
-        CheckUtils.checkSetting(curSheet != null, "No sheet called '%s' found!", sheetName);
+        final var appendingWorkbook = workbook instanceof AppendingXlsxWorkbook wb ? wb : null;
+        final var curSheet = appendingWorkbook == null ? workbook.getSheet(sheetName) : null;
+        CheckUtils.checkSetting(curSheet != null
+            || (appendingWorkbook != null && appendingWorkbook.containsExistingSheet(sheetName)),
+            "No sheet called '%s' found!", sheetName);
 
-        long rowIdx = 0;
+        // all updates are validated before the sheet is modified
         final var spec = coordinatesAndValues.getDataTableSpec();
+        final var batch = new CellUpdateBatch(coordinateColumnIndex, spec, workbook.getSpreadsheetVersion());
+        final var event = ExcelWriteEvent.start(Phase.WRITE_ROWS);
+        long rowIdx = 0;
         DataRow row;
         while ((row = coordinatesAndValues.poll()) != null) {
             monitor.checkCanceled();
             monitor.updateProgress(sheetName, rowIdx);
-            sheetWriter.writeCellWithCoordinate(curSheet, row, coordinateColumnIndex, spec);
+            batch.add(row);
             ++rowIdx;
         }
-        finalizeSheet(sheetWriter, curSheet);
+        batch.sort();
+
+        if (appendingWorkbook != null) {
+            // the cells are written to a new sheet, which gets patched into the existing sheet when saving
+            sheetWriter.writeCellsToNewRows(appendingWorkbook.createUpdatingSheet(sheetName), batch);
+        } else {
+            sheetWriter.writeCells(curSheet, batch);
+        }
+        event.complete(sheetName, 0, rowIdx);
+        // each row of the edit table updates a single cell
+        m_metrics.add(Metric.ROWS_WRITTEN, rowIdx);
+        m_metrics.add(Metric.CELLS_WRITTEN, rowIdx);
+        if (curSheet != null) {
+            finalizeSheet(sheetWriter, curSheet);
+        }
     }
 
     /**
@@ -175,24 +229,33 @@ abstract ExcelSheetWriter createSheetWriter(final DataTableSpec spec,
     private void finalizeSheet(final ExcelSheetWriter sheetWriter, final Sheet curSheet) {
         sheetWriter.setColWidth(curSheet);
         if (m_cfg.useAutoSize()) {
+            final var event = ExcelWriteEvent.start(Phase.AUTO_SIZE);
             sheetWriter.autoSizeColumns(curSheet);
+            event.complete(curSheet.getSheetName(), 0, 0);
         }
     }
 
     private Pair<Sheet, Boolean> getSheet(final Workbook workbook, final String curSheetName,
-        final ExcelSheetWriter sheetWriter) throws InvalidSettingsException {
-        final var pair = getOrCreateSheet(workbook, curSheetName, sheetWriter);
-        final var sheet = pair.getFirst();
-        if (m_cfg.useAutoSize() && sheet instanceof SXSSFSheet) {
-            ((SXSSFSheet)sheet).trackAllColumnsForAutoSizing();
+        final ExcelSheetWriter sheetWriter) throws InvalidSettingsException, IOException {
+        // the sheets of different tables might be written concurrently, see ExcelMultiRowInputWriter
+        synchronized (workbook) {
+            final var pair = getOrCreateSheet(workbook, curSheetName, sheetWriter);
+            final var sheet = pair.getFirst();
+            // the approximate mode measures the written cells itself, see ExcelSheetWriter
+            if (m_cfg.useAutoSize() && !ExcelWriterProperties.useApproximateAutoSize() && sheet instanceof SXSSFSheet) {
+                ((SXSSFSheet)sheet).trackAllColumnsForAutoSizing();
+            }
+            sheet.getPrintSetup().setLandscape(m_cfg.useLandscape());
+            sheet.getPrintSetup().setPaperSize(m_cfg.getPaperSize());
+            return pair;
         }
-        sheet.getPrintSetup().setLandscape(m_cfg.useLandscape());
-        sheet.getPrintSetup().setPaperSize(m_cfg.getPaperSize());
-        return pair;
     }
 
     private Pair<Sheet, Boolean> getOrCreateSheet(final Workbook workbook, final String curSheetName,
-        final ExcelSheetWriter sheetWriter) throws InvalidSettingsException {
+        final ExcelSheetWriter sheetWriter) throws InvalidSettingsException, IOException {
+        if (workbook instanceof AppendingXlsxWorkbook appendingWorkbook) {
+            return getOrCreateAppendedSheet(appendingWorkbook, curSheetName, sheetWriter);
+        }
         final var sheetIdx = workbook.getSheetIndex(curSheetName);
         final Sheet sheet;
         var isNew = sheetIdx == -1;
@@ -240,6 +303,34 @@ private Pair<Sheet, Boolean> getOrCreateSheet(final Workbook workbook, final Str
         return Pair.create(sheet, isNew);
     }
 
+    /**
+     * The sheets of an {@link AppendingXlsxWorkbook} are new sheets that either get added to the existing file, replace
+     * an existing sheet or get their rows appended to an existing sheet.
+     */
+    private Pair<Sheet, Boolean> getOrCreateAppendedSheet(final AppendingXlsxWorkbook workbook,
+        final String curSheetName, final ExcelSheetWriter sheetWriter) throws IOException {
+        final var exists = workbook.containsExistingSheet(curSheetName);
+        final var handling = exists ? m_cfg.getSheetNameExistsHandling() : SheetNameExistsHandling.FAIL;
+        final Sheet sheet;
+        var isNew = true;
+        switch (handling) {
+            case APPEND:
+                isNew = false;
+                sheet = workbook.createAppendingSheet(curSheetName);
+                sheetWriter.setRowIndex(workbook.getExistingLastRowNum(curSheetName) + 1);
+                break;
+            case OVERWRITE:
+                sheet = workbook.createOverwritingSheet(curSheetName);
+                break;
+            case FAIL:
+                sheet = workbook.createSheet(curSheetName);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected SheetNameExistsHandling! " + handling);
+        }
+        return Pair.create(sheet, isNew);
+    }
+
     private static Sheet prepareSheetAppend(final Workbook workbook, final int sheetIdx,
         final ExcelSheetWriter sheetWriter) {
         final var sheet = workbook.getSheetAt(sheetIdx);
@@ -0,0 +1,255 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.table;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelTaskScheduler.Lane;
+import org.knime.filehandling.core.connections.FSFiles;
+
+/**
+ * Uploads the data written to its {@link #getOutputStream() stream} to a file on the {@link Lane#IO} lane, such that
+ * writing and uploading overlap. At most {@value #MAX_PENDING_CHUNKS} chunks of {@value #CHUNK_SIZE} bytes are
+ * buffered; the writer is blocked while the upload lags behind.
+ *
+ * <p>
+ * The data is uploaded to a sibling of the target file, which is moved over the target once the upload is
+ * {@link #finish() finished}. The target, which might be the file the data is read from, is therefore left untouched
+ * if writing or uploading fails.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class PipedUpload {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PipedUpload.class);
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int MAX_PENDING_CHUNKS = 64;
+
+    /** How often a blocked writer checks whether the upload failed. */
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final byte[] END = new byte[0];
+
+    private static final byte[] ABORT = new byte[0];
+
+    private final BlockingQueue<byte[]> m_chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+    private final OutputStream m_out = new ChunkOutputStream();
+
+    private final Path m_target;
+
+    private final Path m_tmpPath;
+
+    private final Future<Void> m_upload;
+
+    /**
+     * Starts the upload.
+     *
+     * @param target the file to upload to, which is replaced once the upload is finished
+     */
+    PipedUpload(final Path target) {
+        m_target = target;
+        m_tmpPath = target.resolveSibling(String.format(".%s.%s.tmp", target.getFileName(), UUID.randomUUID()));
+        m_upload = ExcelTaskScheduler.submit(Lane.IO, this::upload);
+    }
+
+    private Void upload() throws IOException, InterruptedException {
+        try (final var out = FSFiles.newOutputStream(m_tmpPath, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE)) {
+            for (var chunk = m_chunks.take(); chunk != END; chunk = m_chunks.take()) { // NOSONAR identity intended
+                if (chunk == ABORT) { // NOSONAR identity intended
+                    throw new IOException("The upload was aborted.");
+                }
+                out.write(chunk);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the stream whose data is uploaded, it does not need to be closed
+     */
+    OutputStream getOutputStream() {
+        return m_out;
+    }
+
+    /**
+     * Uploads the remaining data, waits for the upload to complete and moves the uploaded file over the target.
+     *
+     * @throws IOException if the upload or the move failed, the target is unchanged in that case
+     */
+    void finish() throws IOException {
+        try {
+            m_out.flush();
+            put(END);
+            awaitUpload();
+            try {
+                Files.move(m_tmpPath, m_target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) { // NOSONAR fallback below
+                LOGGER.debugWithFormat("Atomic move to '%s' not supported: %s", m_target, e.getMessage());
+                Files.move(m_tmpPath, m_target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            FSFiles.deleteSafely(m_tmpPath);
+        }
+    }
+
+    /**
+     * Aborts the upload, e.g. because writing failed, and deletes the partially uploaded file. The target is left
+     * untouched.
+     */
+    void abort() {
+        // the writer is the only producer, hence the queue has room for the marker once it is cleared
+        m_chunks.clear();
+        m_chunks.offer(ABORT); // NOSONAR cannot fail on an empty queue
+        try {
+            m_upload.get();
+        } catch (final InterruptedException e) { // NOSONAR interrupt is restored
+            m_upload.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | CancellationException e) { // NOSONAR the upload is expected to fail
+        }
+        FSFiles.deleteSafely(m_tmpPath);
+    }
+
+    private void put(final byte[] chunk) throws IOException {
+        try {
+            while (!m_chunks.offer(chunk, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (m_upload.isDone()) {
+                    awaitUpload();
+                    throw new IOException("The upload ended before all data was written.");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the upload.");
+        }
+    }
+
+    private void awaitUpload() throws IOException {
+        try {
+            m_upload.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the upload.");
+        } catch (final CancellationException e) {
+            throw new IOException("The upload was aborted.", e);
+        } catch (final ExecutionException e) {
+            final var cause = e.getCause();
+            if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("The upload failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /** Collects the written data in chunks, which are handed over when full or flushed. */
+    private final class ChunkOutputStream extends OutputStream {
+
+        private byte[] m_chunk = new byte[CHUNK_SIZE];
+
+        private int m_length;
+
+        @Override
+        public void write(final int b) throws IOException {
+            m_chunk[m_length++] = (byte)b;
+            if (m_length == CHUNK_SIZE) {
+                handOver();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            var written = 0;
+            while (written < len) {
+                final var n = Math.min(len - written, CHUNK_SIZE - m_length);
+                System.arraycopy(b, off + written, m_chunk, m_length, n);
+                m_length += n;
+                written += n;
+                if (m_length == CHUNK_SIZE) {
+                    handOver();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (m_length > 0) {
+                m_chunk = Arrays.copyOf(m_chunk, m_length);
+                handOver();
+            }
+        }
+
+        private void handOver() throws IOException {
+            put(m_chunk);
+            m_chunk = new byte[CHUNK_SIZE];
+            m_length = 0;
+        }
+    }
+}
@@ -50,23 +50,41 @@
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
+import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
 import org.apache.poi.poifs.crypt.EncryptionInfo;
 import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.FileUtil;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics.Metric;
+import org.knime.ext.poi3.node.io.filehandling.excel.crypt.AgileEncryptingOutputStream;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent;
+import org.knime.ext.poi3.node.io.filehandling.excel.jfr.ExcelWriteEvent.Phase;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.PictureRegistry;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelFormat;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelWriterProperties;
+import org.knime.filehandling.core.connections.FSCategory;
 import org.knime.filehandling.core.connections.FSFiles;
+import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
 
 /**
@@ -93,6 +111,11 @@ public abstract class WorkbookHandler implements AutoCloseable {
 
     private String m_password;
 
+    private ExcelMetrics m_metrics = new ExcelMetrics();
+
+    /** The pictures added to the workbook, shared by all its table writers. */
+    private final PictureRegistry m_pictureRegistry = new PictureRegistry();
+
     /**
      * @param format The excel format.
      * @param inputPath The path to an existing excel file which should be loaded into the {@link Workbook}.
@@ -135,7 +158,16 @@ public Workbook getWorkbook() throws IOException {
     public ExcelTableWriter createTableWriter(final ExcelTableConfig cfg,
         final ExcelCellWriterFactory cellWriterFactory) {
         CheckUtils.checkState(m_format != null, "Cannot create a table writer before creating a workbook");
-        return m_format.createWriter(cfg, cellWriterFactory);
+        return m_format.createWriter(cfg, cellWriterFactory, m_metrics, m_pictureRegistry);
+    }
+
+    /**
+     * Sets the metrics of the current execution, which the table writers and saving the workbook count into.
+     *
+     * @param metrics the metrics of the execution
+     */
+    public void setMetrics(final ExcelMetrics metrics) {
+        m_metrics = metrics;
     }
 
     /**
@@ -145,55 +177,175 @@ public ExcelTableWriter createTableWriter(final ExcelTableConfig cfg,
      * @throws IOException
      */
     public void saveFile(final Path outPath) throws IOException {
-        var savePath = outPath;
+        final var start = System.nanoTime();
+        try {
+            saveFileTo(outPath);
+        } finally {
+            m_metrics.add(Metric.SAVE_TIME, System.nanoTime() - start);
+        }
+    }
+
+    private void saveFileTo(final Path outPath) throws IOException {
+        if (m_inputPath == null) {
+            try (final var out = FSFiles.newOutputStream(outPath, FileOverwritePolicy.OVERWRITE.getOpenOptions())) {
+                doSaveFile(out, outPath);
+            } finally {
+                close();
+            }
+            return;
+        }
 
         // if we loaded the Workbook from an existing file, then the Workbook may still hold an
         // open input stream for that file. On some file systems (e.g. SMB) this will lock the
-        // file so that it cannot just be overwritten. Hence we need to write the workbook to a temp
-        // file first and then close the workbook, to release the lock on the existing file. Then we
-        // can replace the original file with the temp file.
-        if (m_inputPath != null) {
-            savePath = FileUtil.createTempFile("knime-excel-", "").toPath();
+        // file so that it cannot just be overwritten. Hence we either write the workbook next to the
+        // existing file and move it over once the workbook is closed, or we upload it next to the existing
+        // file while writing if the workbook is completely loaded and can release the existing file.
+        if (ExcelWriterProperties.useAtomicSave() && isLocal(outPath)) {
+            saveViaSibling(outPath);
+        } else if (ExcelWriterProperties.useAtomicSave() && canMove(outPath) && releaseInput()) {
+            saveViaUpload(outPath);
+        } else {
+            saveViaTempFile(outPath);
         }
+    }
+
+    private boolean isLocal(final Path outPath) {
+        if (!outPath.getFileSystem().equals(m_inputPath.getFileSystem())) {
+            return false;
+        }
+        return outPath.getFileSystem() == FileSystems.getDefault()
+            || (outPath instanceof FSPath fsPath && fsPath.toFSLocation().getFSCategory() == FSCategory.LOCAL);
+    }
 
+    /** Custom URLs can neither be moved nor deleted, such that they are overwritten by copying a temporary file. */
+    private static boolean canMove(final Path outPath) {
+        return !(outPath instanceof FSPath fsPath && fsPath.toFSLocation().getFSCategory() == FSCategory.CUSTOM_URL);
+    }
+
+    /**
+     * Releases the existing file the workbook was loaded from, such that it can be overwritten before the workbook is
+     * closed. This is only possible if the workbook does not read from the file anymore.
+     *
+     * @return {@code true} if the existing file has been released
+     * @throws IOException if releasing the file failed
+     */
+    protected boolean releaseInput() throws IOException {
+        return false;
+    }
+
+    /**
+     * Encrypted and xls files are left to {@link org.apache.poi.ss.usermodel.WorkbookFactory}, which reports them
+     * properly.
+     *
+     * @return {@code true} if the input file is an (unencrypted) OOXML package
+     * @throws IOException if the input file cannot be read
+     */
+    protected boolean isOOXML() throws IOException {
+        try (final var in = FileMagic.prepareToCheckMagic(Files.newInputStream(m_inputPath))) {
+            return FileMagic.valueOf(in) == FileMagic.OOXML;
+        }
+    }
+
+    /** Writes a sibling of the target file, which is moved over the target after closing the workbook. */
+    private void saveViaSibling(final Path outPath) throws IOException {
+        final var fileName = outPath.getFileName().toString();
+        final var tmpPath = outPath.resolveSibling(String.format(".%s.%s.tmp", fileName, UUID.randomUUID()));
         try {
-            doSaveFile(savePath);
-            close();
-            if (savePath != outPath) {
-                // this is effectively a file copy, but we can't use Files.copy() because it tries
-                // to delete the target file, which fails for the Custom/KNIME URL file system
-                try (var in = Files.newInputStream(savePath); var out = Files.newOutputStream(outPath)) {
-                    IOUtils.copyLarge(in, out);
-                }
+            try (final var out = Files.newOutputStream(tmpPath, StandardOpenOption.CREATE_NEW)) {
+                m_metrics.add(Metric.TEMP_FILE_BYTES, doSaveFile(out, tmpPath));
+            } finally {
+                close();
+            }
+            try {
+                Files.move(tmpPath, outPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) { // NOSONAR fallback below
+                LOG.debugWithFormat("Atomic move to '%s' not supported: %s", outPath, e.getMessage());
+                Files.move(tmpPath, outPath, StandardCopyOption.REPLACE_EXISTING);
             }
         } finally {
-            if (savePath != outPath) {
-                FSFiles.deleteSafely(savePath);
+            FSFiles.deleteSafely(tmpPath);
+        }
+    }
+
+    /**
+     * Uploads the workbook next to the target file while it is written, the existing file must already be released.
+     * The existing file is only replaced once the upload is complete.
+     */
+    private void saveViaUpload(final Path outPath) throws IOException {
+        final var upload = new PipedUpload(outPath);
+        try {
+            doSaveFile(upload.getOutputStream(), outPath);
+            upload.finish();
+        } catch (final IOException | RuntimeException e) {
+            upload.abort();
+            throw e;
+        } finally {
+            close();
+        }
+    }
+
+    private void saveViaTempFile(final Path outPath) throws IOException {
+        final var savePath = FileUtil.createTempFile("knime-excel-", "").toPath();
+        try {
+            try (final var out = Files.newOutputStream(savePath)) {
+                m_metrics.add(Metric.TEMP_FILE_BYTES, doSaveFile(out, savePath));
+            } finally {
+                close();
             }
+            // this is effectively a file copy, but we can't use Files.copy() because it tries
+            // to delete the target file, which fails for the Custom/KNIME URL file system
+            final var event = ExcelWriteEvent.start(Phase.COPY_TEMP_FILE);
+            try (var in = Files.newInputStream(savePath); var out = Files.newOutputStream(outPath)) {
+                event.complete(outPath, IOUtils.copyLarge(in, out), 0);
+            }
+        } finally {
+            FSFiles.deleteSafely(savePath);
         }
     }
 
-    private void doSaveFile(final Path path) throws IOException {
+    /**
+     * Writes the workbook to the stream, encrypted if a password is set.
+     *
+     * @return the number of bytes written
+     */
+    private long doSaveFile(final OutputStream out, final Path target) throws IOException {
+        final var event = ExcelWriteEvent.start(Phase.SAVE);
+        final var countingOut = new CountingOutputStream(out);
         if (m_password == null) {
-            writeWorkbook(path);
-            return;
+            writeWorkbook(countingOut);
+        } else {
+            final var encryptEvent = ExcelWriteEvent.start(Phase.ENCRYPT);
+            writeEncryptedWorkbook(countingOut);
+            encryptEvent.complete(target, countingOut.getByteCount(), 0);
         }
+        final var savedBytes = countingOut.getByteCount();
+        event.complete(target, savedBytes, 0);
+        m_metrics.add(Metric.SAVED_BYTES, savedBytes);
+        return savedBytes;
+    }
 
-        // password present -> write with encryption
+    private void writeEncryptedWorkbook(final OutputStream out) throws IOException {
         if (m_format == ExcelFormat.XLS) {
             Biff8EncryptionKey.setCurrentUserPassword(m_password);
-            writeWorkbook(path);
+            writeWorkbook(out);
             Biff8EncryptionKey.setCurrentUserPassword(null);
             return;
         }
         if (m_format == ExcelFormat.XLSX) {
-            writeEncryptedWorkbookToXLSX(path);
+            writeEncryptedWorkbookToXLSX(out);
             return;
         }
         throw new IllegalStateException("Unsupported format: \"%s\"".formatted(m_format));
     }
 
-    private void writeEncryptedWorkbookToXLSX(final Path path) throws IOException {
+    private void writeEncryptedWorkbookToXLSX(final OutputStream out) throws IOException {
+        if (ExcelWriterProperties.useStreamingEncryption()) {
+            try (final var enc = new AgileEncryptingOutputStream(out, m_password)) {
+                writeWorkbook(enc);
+                enc.finish();
+            }
+            return;
+        }
         // see https://poi.apache.org/encryption.html
         var info = new EncryptionInfo(EncryptionMode.agile);
         var enc = info.getEncryptor();
@@ -205,23 +357,21 @@ private void writeEncryptedWorkbookToXLSX(final Path path) throws IOException {
                 throw new IOException("Encryption of Excel file failed.", e);
             }
             // must close enc output stream before writing file system
-            try (final var fos = Files.newOutputStream(path)) {
-                fs.writeFilesystem(fos);
-            }
+            fs.writeFilesystem(out);
+            out.flush();
         }
     }
 
     /**
-     * Write the workbook to the given path, using the workbook's write method.
+     * Write the workbook to the given stream, using the workbook's write method. The stream is not closed.
      *
-     * @param path destination
+     * @param out destination
      * @throws IOException if writing the workbook fails
      */
-    private void writeWorkbook(final Path path) throws IOException {
-        try (final var out = FSFiles.newOutputStream(path, FileOverwritePolicy.OVERWRITE.getOpenOptions());
-                final var buffer = new BufferedOutputStream(out)) {
-            m_workbook.write(buffer);
-        }
+    private void writeWorkbook(final OutputStream out) throws IOException {
+        final var buffer = new BufferedOutputStream(CloseShieldOutputStream.wrap(out));
+        m_workbook.write(buffer);
+        buffer.flush();
     }
 
     @Override
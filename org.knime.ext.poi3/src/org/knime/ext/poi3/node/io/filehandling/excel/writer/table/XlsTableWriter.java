@@ -49,9 +49,11 @@
 package org.knime.ext.poi3.node.io.filehandling.excel.writer.table;
 
 import org.knime.core.data.DataTableSpec;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.ExcelSheetCellCoordinateWriter;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cellcoordinate.ExcelSheetWriter;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.PictureRegistry;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.XlsImageWriter;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.util.ExcelConstants;
 
@@ -69,18 +71,33 @@ public final class XlsTableWriter extends AbstractExcelTableWriter {
      * @param cellWriterFactory the {@link ExcelCellWriterFactory}
      */
     public XlsTableWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory) {
-        super(cfg, cellWriterFactory, ExcelConstants.XLS_MAX_NUM_OF_ROWS);
+        this(cfg, cellWriterFactory, new ExcelMetrics(), new PictureRegistry());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cfg the {@link ExcelTableConfig}
+     * @param cellWriterFactory the {@link ExcelCellWriterFactory}
+     * @param metrics the metrics of the execution to count the written rows and cells in
+     * @param pictureRegistry the {@link PictureRegistry} of the workbook the table is written to
+     */
+    public XlsTableWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory,
+        final ExcelMetrics metrics, final PictureRegistry pictureRegistry) {
+        super(cfg, cellWriterFactory, ExcelConstants.XLS_MAX_NUM_OF_ROWS, metrics, pictureRegistry);
     }
 
     @Override
     ExcelSheetWriter createSheetWriter(final DataTableSpec spec, final ExcelCellWriterFactory cellWriterFactory,
         final boolean writeRowKey) {
-        return new ExcelSheetWriter(spec, new XlsImageWriter(spec), cellWriterFactory, writeRowKey);
+        return new ExcelSheetWriter(spec, new XlsImageWriter(spec, getPictureRegistry()), cellWriterFactory,
+            writeRowKey);
     }
 
     @Override
     ExcelSheetCellCoordinateWriter createSheetCoordinateWriter(final DataTableSpec spec, final ExcelCellWriterFactory cellWriterFactory) {
-        return new ExcelSheetCellCoordinateWriter(spec, new XlsImageWriter(spec), cellWriterFactory);
+        return new ExcelSheetCellCoordinateWriter(spec, new XlsImageWriter(spec, getPictureRegistry()),
+            cellWriterFactory);
     }
 
 }
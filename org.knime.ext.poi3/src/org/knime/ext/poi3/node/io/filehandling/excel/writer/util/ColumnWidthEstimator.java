@@ -0,0 +1,275 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Estimates the widths of auto-sized columns from the cells that are written, as a fast alternative to measuring the
+ * text of every cell with AWT font metrics (see {@link Sheet#autoSizeColumn(int)}).
+ *
+ * <p>
+ * The width of a cell is the sum of the advance widths of its characters relative to the width of the digit zero,
+ * which is the unit of column widths in Excel. The advance widths are taken from a table for the default font of the
+ * workbook. Strings are measured per line, numbers and dates by their (approximate) displayed length. Optionally, only
+ * the first rows of a sheet are measured (see {@link ExcelWriterProperties#getAutoSizeSampleRows()}).
+ * </p>
+ *
+ * <p>
+ * The approximate mode is enabled via {@link ExcelWriterProperties#useApproximateAutoSize()}, the exact mode of POI
+ * remains the default.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ColumnWidthEstimator {
+
+    /** Padding added to the widest cell, in units of the width of the digit zero. */
+    private static final double PADDING = 0.75;
+
+    /** The maximum column width of Excel, in characters. */
+    private static final int MAX_WIDTH = 255;
+
+    /** Width of numbers in the general format, which shows at most 11 characters. */
+    private static final int MAX_GENERAL_NUMBER_LENGTH = 11;
+
+    /** Relative width of characters outside of the tables, e.g. letters of other scripts. */
+    private static final double DEFAULT_CHAR_WIDTH = 1.0;
+
+    /** Relative width of east asian full width characters. */
+    private static final double WIDE_CHAR_WIDTH = 2.0;
+
+    /** Advance widths of the printable ASCII characters (space to tilde) of Calibri, in units per em. */
+    private static final int[] CALIBRI = {463, 544, 731, 1038, 1038, 1465, 1397, 452, 621, 621, 1038, 1038, 511, 627,
+        517, 791, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 548, 548, 1038, 1038, 1038, 941, 1830,
+        1185, 1114, 1092, 1260, 1000, 941, 1292, 1276, 516, 653, 1064, 861, 1751, 1322, 1356, 1058, 1378, 1112, 941, 998,
+        1314, 1162, 1822, 1063, 998, 959, 628, 791, 628, 1038, 1019, 588, 981, 1076, 866, 1076, 1019, 625, 964, 1076,
+        470, 490, 931, 470, 1636, 1076, 1080, 1076, 1076, 714, 801, 686, 1076, 925, 1464, 887, 927, 809, 675, 943, 675,
+        1038};
+
+    /** Advance widths of the printable ASCII characters (space to tilde) of Arial, in units per em. */
+    private static final int[] ARIAL = {569, 569, 727, 1139, 1139, 1821, 1366, 391, 682, 682, 797, 1196, 569, 682, 569,
+        569, 1139, 1139, 1139, 1139, 1139, 1139, 1139, 1139, 1139, 1139, 569, 569, 1196, 1196, 1196, 1139, 2079, 1366,
+        1366, 1479, 1479, 1366, 1251, 1593, 1479, 569, 1024, 1366, 1139, 1706, 1479, 1593, 1366, 1593, 1479, 1366, 1251,
+        1479, 1366, 1933, 1366, 1366, 1251, 569, 569, 569, 961, 1139, 682, 1139, 1139, 1024, 1139, 1139, 569, 1139, 1139,
+        455, 455, 1024, 455, 1706, 1139, 1139, 1139, 1139, 682, 1024, 569, 1139, 1024, 1479, 1024, 1024, 1024, 684, 532,
+        684, 1196};
+
+    private final Workbook m_workbook;
+
+    /** The widths of the printable ASCII characters relative to the digit zero. */
+    private final double[] m_charWidths;
+
+    private final long m_sampleRows;
+
+    /** The widths of the formatted dates by cell style index. */
+    private final Map<Short, Double> m_dateWidths = new HashMap<>();
+
+    private double[] m_maxWidths = new double[16];
+
+    private long m_measuredRows;
+
+    /**
+     * @param workbook the workbook whose default font determines the character widths
+     * @param sampleRows the number of rows per sheet that are measured
+     */
+    public ColumnWidthEstimator(final Workbook workbook, final long sampleRows) {
+        m_workbook = workbook;
+        m_charWidths = getCharWidths(workbook);
+        m_sampleRows = sampleRows;
+    }
+
+    private static double[] getCharWidths(final Workbook workbook) {
+        final String fontName;
+        // the fonts might be modified by concurrently written sheets
+        synchronized (workbook) {
+            fontName = workbook.getNumberOfFonts() > 0 ? workbook.getFontAt(0).getFontName() : null;
+        }
+        final var advanceWidths = "Arial".equalsIgnoreCase(fontName) ? ARIAL : CALIBRI;
+        final double zeroWidth = advanceWidths['0' - ' '];
+        return Arrays.stream(advanceWidths).mapToDouble(w -> w / zeroWidth).toArray();
+    }
+
+    /**
+     * @return {@code true} if the next row should be measured, i.e. the sample is not complete yet
+     */
+    public boolean isSampling() {
+        return m_measuredRows < m_sampleRows;
+    }
+
+    /**
+     * Measures a cell of the current row. Cells of header rows are measured as well, but only the rows that are
+     * completed via {@link #endRow()} count towards the sample.
+     *
+     * @param colIdx the index of the column
+     * @param cell the written cell, might be {@code null}
+     */
+    public void measure(final int colIdx, final Cell cell) {
+        if (cell == null) {
+            return;
+        }
+        final double width;
+        switch (cell.getCellType()) {
+            case STRING:
+                width = getWidth(cell.getStringCellValue());
+                break;
+            case NUMERIC:
+                width = getNumericWidth(cell);
+                break;
+            case BOOLEAN:
+                width = getWidth(cell.getBooleanCellValue() ? "TRUE" : "FALSE");
+                break;
+            default:
+                return;
+        }
+        if (colIdx >= m_maxWidths.length) {
+            m_maxWidths = Arrays.copyOf(m_maxWidths, Math.max(colIdx + 1, 2 * m_maxWidths.length));
+        }
+        m_maxWidths[colIdx] = Math.max(m_maxWidths[colIdx], width);
+    }
+
+    /**
+     * Marks the end of a measured row.
+     */
+    public void endRow() {
+        m_measuredRows++;
+    }
+
+    private double getNumericWidth(final Cell cell) {
+        final var style = cell.getCellStyle();
+        final var dateWidth = m_dateWidths.computeIfAbsent(style.getIndex(), i -> {
+            // the styles might be modified by concurrently written sheets
+            synchronized (m_workbook) {
+                final var format = style.getDataFormatString();
+                return DateUtil.isADateFormat(style.getDataFormat(), format) ? getWidth(getDisplayedFormat(format))
+                    : -1d;
+            }
+        });
+        if (dateWidth >= 0) {
+            return dateWidth;
+        }
+        final var value = cell.getNumericCellValue();
+        final int length;
+        if (value == Math.rint(value) && Math.abs(value) < 1e11) {
+            length = Long.toString((long)value).length();
+        } else {
+            length = Math.min(Double.toString(value).length(), MAX_GENERAL_NUMBER_LENGTH);
+        }
+        // digits are as wide as the zero, the sign is ignored
+        return length;
+    }
+
+    /** Approximates the displayed text of a date format by removing quotes, escapes and sections in brackets. */
+    private static String getDisplayedFormat(final String format) {
+        return format.replaceAll("\\[[^\\]]*\\]|[\"\\\\]", "").replace(";@", "");
+    }
+
+    private double getWidth(final String value) {
+        var max = 0d;
+        var line = 0d;
+        for (var i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+            if (c == '\n') {
+                max = Math.max(max, line);
+                line = 0;
+            } else {
+                line += getCharWidth(c);
+            }
+        }
+        return Math.max(max, line);
+    }
+
+    private double getCharWidth(final char c) {
+        if (c >= ' ' && c <= '~') {
+            return m_charWidths[c - ' '];
+        }
+        if (c >= '\u1100' && (Character.isIdeographic(c) || isWideScript(c))) {
+            return WIDE_CHAR_WIDTH;
+        }
+        return DEFAULT_CHAR_WIDTH;
+    }
+
+    private static boolean isWideScript(final char c) {
+        final var script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA || (c >= '\uFF00' && c <= '\uFF60');
+    }
+
+    /**
+     * Sets the widths of the measured columns.
+     *
+     * @param sheet the sheet whose columns to size
+     * @param numColumns the number of columns to size
+     */
+    public void setColumnWidths(final Sheet sheet, final int numColumns) {
+        for (var colIdx = 0; colIdx < numColumns; colIdx++) {
+            final var width = colIdx < m_maxWidths.length ? m_maxWidths[colIdx] : 0;
+            if (width > 0) {
+                final var chars = Math.min(width + PADDING, MAX_WIDTH);
+                // widths are given in units of 1/256th of a character
+                sheet.setColumnWidth(colIdx, (int)Math.round(chars * 256));
+            }
+        }
+    }
+
+    /**
+     * Resets the measured widths, must be called before the cells of another sheet are measured.
+     */
+    public void reset() {
+        Arrays.fill(m_maxWidths, 0);
+        m_measuredRows = 0;
+    }
+}
@@ -54,7 +54,10 @@
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.PictureRegistry;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.ooxml.DirectXlsxWorkbook;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableWriter;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.XlsTableWriter;
@@ -73,7 +76,9 @@ public enum ExcelFormat {
 
         /** Type referring to a xlsx/xlsm excel file. */
         XLSX(() -> {
-            final var wb = new SXSSFWorkbook();
+            // the direct workbook deflates the rows once while they are written instead of when saving
+            final var wb = ExcelWriterProperties.useDirectXlsxWriter()
+                ? new DirectXlsxWorkbook(ExcelWriterProperties.useSharedStrings()) : new SXSSFWorkbook();
             // AP-23021: Zip64Mode must not be Always (POI default since POI 5.x),
             // since Power BI does not support ZIP64 format. Restore POI 4.x default.
             wb.setZip64Mode(Zip64Mode.AsNeeded);
@@ -117,7 +122,21 @@ public enum ExcelFormat {
      * @return the associated {@link ExcelTableWriter}
      */
     public ExcelTableWriter createWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory) {
-        return m_createWriter.createTableWriter(cfg, cellWriterFactory);
+        return createWriter(cfg, cellWriterFactory, new ExcelMetrics(), new PictureRegistry());
+    }
+
+    /**
+     * Creates the associated {@link ExcelTableWriter} instance.
+     *
+     * @param cfg the {@link ExcelTableConfig}
+     * @param cellWriterFactory the {@link ExcelCellWriterFactory}
+     * @param metrics the {@link ExcelMetrics} of the execution
+     * @param pictureRegistry the {@link PictureRegistry} of the workbook the table is written to
+     * @return the associated {@link ExcelTableWriter}
+     */
+    public ExcelTableWriter createWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory,
+        final ExcelMetrics metrics, final PictureRegistry pictureRegistry) {
+        return m_createWriter.createTableWriter(cfg, cellWriterFactory, metrics, pictureRegistry);
     }
 
     /**
@@ -56,7 +56,8 @@
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableWriter;
 
 /**
- * It allows {@link ExcelTableWriter}s to conveniently update the overall progress.
+ * It allows {@link ExcelTableWriter}s to conveniently update the overall progress. The monitor can be shared by
+ * writers running concurrently.
  *
  * @author Mark Ortmann, KNIME GmbH, Berlin, Germany
  */
@@ -105,7 +106,7 @@ public void checkCanceled() throws CanceledExecutionException {
      * @param sheetName the name of the sheet currently written to
      * @param rowIdx the index of the row currently written
      */
-    public void updateProgress(final String sheetName, final long rowIdx) {
+    public synchronized void updateProgress(final String sheetName, final long rowIdx) {
         final Supplier<String> messageSupplier = () -> String.format("Writing sheet '%s' row %d", sheetName, rowIdx);
         if (m_rowCount > 0) {
             ++m_curIdx;
@@ -0,0 +1,272 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 19, 2026 (KNIME GmbH, Konstanz, Germany): created
+ */
+package org.knime.ext.poi3.node.io.filehandling.excel.writer.util;
+
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * The system properties tuning how the Excel Writer and the Excel Cell Updater write their files. This class is the
+ * only place reading them, every property has exactly one switch documented here.
+ *
+ * <p>
+ * None of the properties changes the values of the written cells. The defaults are the tested configuration, the
+ * properties only exist to fall back to the previous behavior in case of problems with a particular file or system:
+ * </p>
+ * <ul>
+ * <li>{@value #DIRECT_XLSX_PROPERTY} (default {@code true}): new xlsx files are streamed to the zip file by the direct
+ * writer instead of a plain {@code SXSSFWorkbook}.</li>
+ * <li>{@value #SHARED_STRINGS_PROPERTY} (default {@code false}): the direct writer writes the strings of categorical
+ * columns to a shared strings table instead of inline.</li>
+ * <li>{@value #SHARED_STRINGS_MAX_MEMORY_PROPERTY} (default {@code 64}): the maximum memory in MB of the shared strings
+ * of a workbook.</li>
+ * <li>{@value #AUTOSIZE_MODE_PROPERTY} (default {@code exact}): {@code approximate} sizes columns from the widths of
+ * the default font's characters instead of measuring every cell with AWT. Whether columns are auto-sized stays a
+ * setting of the node, the mode only trades the precision of the widths for speed on the executing machine.</li>
+ * <li>{@value #AUTOSIZE_SAMPLE_ROWS_PROPERTY} (default all rows): the number of rows per sheet measured in the
+ * approximate auto-size mode.</li>
+ * <li>{@value #COMPRESSION_LEVEL_PROPERTY} (default {@code -1}, the zip default): the compression level (0-9) of the
+ * sheets of new xlsx files.</li>
+ * <li>{@value #PARALLEL_COMPRESSION_PROPERTY} (default {@code true}): the sheets of new xlsx files are compressed
+ * concurrently.</li>
+ * <li>{@value #CONCURRENT_SHEETS_PROPERTY} (default {@code false}): the tables of a new xlsx file are written to their
+ * sheets concurrently.</li>
+ * <li>{@value #STREAMING_APPEND_PROPERTY} (default {@code false}): sheets are appended to existing xlsx files without
+ * loading them.</li>
+ * <li>{@value #STREAMING_UPDATE_PROPERTY} (default {@code true}): cells of existing xlsx files are updated without
+ * loading them, unless the updated sheets contain shared or array formulas.</li>
+ * <li>{@value #ATOMIC_SAVE_PROPERTY} (default {@code true}): a workbook loaded from an existing file is saved by moving
+ * or uploading it instead of copying a temporary file.</li>
+ * <li>{@value #STREAMING_ENCRYPTION_PROPERTY} (default {@code true}): xlsx files are encrypted while they are written
+ * instead of in memory.</li>
+ * </ul>
+ *
+ * <p>
+ * The properties are deliberately global to the JVM instead of node settings. They choose how a file is produced, not
+ * what it contains, hence they belong to the installation (e.g. {@code -D} lines in the {@code knime.ini}). A node
+ * setting would be saved with every workflow and would outlive the problem it was meant to work around.
+ * </p>
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class ExcelWriterProperties {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ExcelWriterProperties.class);
+
+    /** See {@link #useDirectXlsxWriter()}. */
+    public static final String DIRECT_XLSX_PROPERTY = "knime.excel.writer.direct";
+
+    /** See {@link #useSharedStrings()}. */
+    public static final String SHARED_STRINGS_PROPERTY = "knime.excel.writer.sharedStrings";
+
+    /** See {@link #getSharedStringsMaxMemory()}. */
+    public static final String SHARED_STRINGS_MAX_MEMORY_PROPERTY = "knime.excel.writer.sharedStrings.maxMemory";
+
+    /** See {@link #useApproximateAutoSize()}. */
+    public static final String AUTOSIZE_MODE_PROPERTY = "knime.excel.writer.autosize.mode";
+
+    /** See {@link #getAutoSizeSampleRows()}. */
+    public static final String AUTOSIZE_SAMPLE_ROWS_PROPERTY = "knime.excel.writer.autosize.sampleRows";
+
+    /** See {@link #getCompressionLevel()}. */
+    public static final String COMPRESSION_LEVEL_PROPERTY = "knime.excel.writer.compressionLevel";
+
+    /** See {@link #useParallelCompression()}. */
+    public static final String PARALLEL_COMPRESSION_PROPERTY = "knime.excel.writer.parallelCompression";
+
+    /** See {@link #useConcurrentSheets()}. */
+    public static final String CONCURRENT_SHEETS_PROPERTY = "knime.excel.writer.concurrentSheets";
+
+    /** See {@link #useStreamingAppend()}. */
+    public static final String STREAMING_APPEND_PROPERTY = "knime.excel.writer.streamingAppend";
+
+    /** See {@link #useStreamingUpdate()}. */
+    public static final String STREAMING_UPDATE_PROPERTY = "knime.excel.updater.streaming";
+
+    /** See {@link #useAtomicSave()}. */
+    public static final String ATOMIC_SAVE_PROPERTY = "knime.excel.writer.atomicSave";
+
+    /** See {@link #useStreamingEncryption()}. */
+    public static final String STREAMING_ENCRYPTION_PROPERTY = "knime.excel.writer.streamingEncryption";
+
+    private static final int DEFAULT_SHARED_STRINGS_MAX_MEMORY_MB = 64;
+
+    private ExcelWriterProperties() {
+        // Hide constructor, utils class
+    }
+
+    /**
+     * @return {@code true} if new xlsx files are written by the direct writer instead of a plain SXSSF workbook
+     */
+    public static boolean useDirectXlsxWriter() {
+        return getBoolean(DIRECT_XLSX_PROPERTY, true);
+    }
+
+    /**
+     * @return {@code true} if the direct writer writes strings to a shared strings table
+     */
+    public static boolean useSharedStrings() {
+        return getBoolean(SHARED_STRINGS_PROPERTY, false);
+    }
+
+    /**
+     * @return the maximum number of bytes of the shared strings of a workbook
+     */
+    public static int getSharedStringsMaxMemory() {
+        final var megaBytes =
+            Integer.getInteger(SHARED_STRINGS_MAX_MEMORY_PROPERTY, DEFAULT_SHARED_STRINGS_MAX_MEMORY_MB);
+        if (megaBytes < 1 || megaBytes > 2047) {
+            LOGGER.warnWithFormat("Ignoring invalid value %d of system property \"%s\", using %d instead.", megaBytes,
+                SHARED_STRINGS_MAX_MEMORY_PROPERTY, DEFAULT_SHARED_STRINGS_MAX_MEMORY_MB);
+            return DEFAULT_SHARED_STRINGS_MAX_MEMORY_MB << 20;
+        }
+        return megaBytes << 20;
+    }
+
+    /**
+     * @return {@code true} if columns are auto-sized approximately by a {@link ColumnWidthEstimator} instead of exactly
+     *         by POI
+     */
+    public static boolean useApproximateAutoSize() {
+        final var mode = System.getProperty(AUTOSIZE_MODE_PROPERTY, "exact").toLowerCase(Locale.ROOT);
+        if ("approximate".equals(mode)) {
+            return true;
+        }
+        if (!"exact".equals(mode)) {
+            LOGGER.warnWithFormat("Ignoring invalid value \"%s\" of system property \"%s\", using \"exact\" instead.",
+                mode, AUTOSIZE_MODE_PROPERTY);
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of rows per sheet measured in the approximate auto-size mode
+     */
+    public static long getAutoSizeSampleRows() {
+        final var sampleRows = Long.getLong(AUTOSIZE_SAMPLE_ROWS_PROPERTY, Long.MAX_VALUE);
+        if (sampleRows < 1) {
+            LOGGER.warnWithFormat("Ignoring invalid value %d of system property \"%s\", measuring all rows instead.",
+                sampleRows, AUTOSIZE_SAMPLE_ROWS_PROPERTY);
+            return Long.MAX_VALUE;
+        }
+        return sampleRows;
+    }
+
+    /**
+     * @return the compression level of the sheets of new xlsx files, {@link Deflater#DEFAULT_COMPRESSION} by default
+     */
+    public static int getCompressionLevel() {
+        final var level = Integer.getInteger(COMPRESSION_LEVEL_PROPERTY, Deflater.DEFAULT_COMPRESSION);
+        if (level != Deflater.DEFAULT_COMPRESSION
+            && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            LOGGER.warnWithFormat("Ignoring invalid value %d of system property \"%s\", using the default level.",
+                level, COMPRESSION_LEVEL_PROPERTY);
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        return level;
+    }
+
+    /**
+     * @return {@code true} if the sheets of new xlsx files are compressed concurrently
+     */
+    public static boolean useParallelCompression() {
+        return getBoolean(PARALLEL_COMPRESSION_PROPERTY, true);
+    }
+
+    /**
+     * @return {@code true} if the tables of a new xlsx file may be written to their sheets concurrently
+     */
+    public static boolean useConcurrentSheets() {
+        return getBoolean(CONCURRENT_SHEETS_PROPERTY, false);
+    }
+
+    /**
+     * @return {@code true} if sheets may be appended to existing xlsx files without loading them
+     */
+    public static boolean useStreamingAppend() {
+        return getBoolean(STREAMING_APPEND_PROPERTY, false);
+    }
+
+    /**
+     * @return {@code true} if cells of existing xlsx files may be updated without loading them
+     */
+    public static boolean useStreamingUpdate() {
+        return getBoolean(STREAMING_UPDATE_PROPERTY, true);
+    }
+
+    /**
+     * @return {@code true} if a workbook loaded from an existing file is saved by moving or uploading it instead of
+     *         copying a temporary file
+     */
+    public static boolean useAtomicSave() {
+        return getBoolean(ATOMIC_SAVE_PROPERTY, true);
+    }
+
+    /**
+     * @return {@code true} if xlsx files are encrypted while they are written instead of in memory
+     */
+    public static boolean useStreamingEncryption() {
+        return getBoolean(STREAMING_ENCRYPTION_PROPERTY, true);
+    }
+
+    private static boolean getBoolean(final String property, final boolean defaultValue) {
+        final var value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            LOGGER.warnWithFormat("Ignoring invalid value \"%s\" of system property \"%s\", using %b instead.", value,
+                property, defaultValue);
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
@@ -48,7 +48,9 @@
  */
 package org.knime.ext.poi3.node.io.filehandling.excel.writer.util;
 
+import org.knime.ext.poi3.node.io.filehandling.excel.ExcelMetrics;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.cell.ExcelCellWriterFactory;
+import org.knime.ext.poi3.node.io.filehandling.excel.writer.image.PictureRegistry;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableConfig;
 import org.knime.ext.poi3.node.io.filehandling.excel.writer.table.ExcelTableWriter;
 
@@ -64,7 +66,10 @@ interface TableWriterFunction {
      *
      * @param cfg the {@link ExcelTableConfig}
      * @param cellWriterFactory the {@link ExcelCellWriterFactory}
+     * @param metrics the {@link ExcelMetrics} of the execution
+     * @param pictureRegistry the {@link PictureRegistry} of the workbook
      * @return an instance of {@link ExcelTableWriter}
      */
-    ExcelTableWriter createTableWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory);
+    ExcelTableWriter createTableWriter(final ExcelTableConfig cfg, final ExcelCellWriterFactory cellWriterFactory,
+        final ExcelMetrics metrics, final PictureRegistry pictureRegistry);
 }
\ No newline at end of file